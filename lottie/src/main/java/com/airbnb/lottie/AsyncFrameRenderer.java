@@ -0,0 +1,258 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Renders frames on an executor into a spare bitmap while the UI thread draws the most recently rendered one.
+ * <p>
+ * A bitmap is only erased and rendered into again once the UI thread has drawn two newer frames. Until then the
+ * display list of the view or the frame the render thread is drawing may still reference it. A new bitmap is
+ * allocated when no spare qualifies, so at most four bitmaps are used.
+ * <p>
+ * At most one frame is rendered at a time. Frames that are requested while one is rendering replace each other so
+ * that only the most recent one is rendered once the current one completes. A slow render therefore skips frames
+ * rather than queueing them.
+ */
+class AsyncFrameRenderer implements Runnable {
+  private static final int MAX_SPARES = 2;
+
+  interface Target {
+    /**
+     * Renders the animation at progress into the canvas which is width x height pixels.
+     */
+    @WorkerThread
+    void renderFrame(Canvas canvas, float progress, int width, int height);
+
+    /**
+     * Called on the main thread once a new frame can be drawn.
+     */
+    void onFrameRendered();
+  }
+
+  private final Target target;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable notifyFrameRendered = new Runnable() {
+    @Override public void run() {
+      target.onFrameRendered();
+    }
+  };
+  private final Canvas canvas = new Canvas();
+  private final Executor executor;
+  @Nullable private volatile Thread renderThread;
+
+  private final Object lock = new Object();
+  // Everything below is guarded by lock.
+  /**
+   * The most recently rendered frame.
+   */
+  @Nullable private Bitmap front;
+  private float frontProgress;
+  /**
+   * Previous front buffers that can be rendered into once they are no longer drawn.
+   */
+  private final List<Bitmap> spares = new ArrayList<>(MAX_SPARES);
+  /**
+   * The last two distinct bitmaps that were drawn by {@link #draw(Canvas, Rect, Paint)}.
+   */
+  @Nullable private Bitmap drawn;
+  @Nullable private Bitmap previouslyDrawn;
+  private int width;
+  private int height;
+  private float requestedProgress;
+  private boolean hasRequest;
+  private boolean rendering;
+  /**
+   * Whether the front buffer no longer matches what the animation looks like at its progress.
+   */
+  private boolean frontInvalid;
+  private boolean released;
+  private int skippedFrameCount;
+
+  AsyncFrameRenderer(Target target, Executor executor) {
+    this.target = target;
+    this.executor = executor;
+  }
+
+  /**
+   * Sets the size in pixels that frames are rendered at.
+   */
+  void setSize(int width, int height) {
+    synchronized (lock) {
+      this.width = width;
+      this.height = height;
+    }
+  }
+
+  /**
+   * Re-renders the current frame even if the progress hasn't changed.
+   */
+  void invalidate() {
+    synchronized (lock) {
+      frontInvalid = true;
+    }
+  }
+
+  void requestFrame(float progress) {
+    synchronized (lock) {
+      if (released || width <= 0 || height <= 0) {
+        return;
+      }
+      boolean frontMatches = front != null && !frontInvalid && frontProgress == progress &&
+          front.getWidth() == width && front.getHeight() == height;
+      if (frontMatches && !rendering) {
+        return;
+      }
+      if (hasRequest) {
+        skippedFrameCount++;
+      }
+      requestedProgress = progress;
+      hasRequest = true;
+      if (rendering) {
+        return;
+      }
+      rendering = true;
+    }
+    executor.execute(this);
+  }
+
+  /**
+   * Draws the most recently rendered frame into bounds.
+   *
+   * @return false if no frame has been rendered yet.
+   */
+  boolean draw(Canvas canvas, Rect bounds, Paint paint) {
+    synchronized (lock) {
+      if (front == null) {
+        return false;
+      }
+      canvas.drawBitmap(front, null, bounds, paint);
+      if (front != drawn) {
+        previouslyDrawn = drawn;
+        drawn = front;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Stops rendering frames and drops the buffers. A frame that is currently rendering will still complete.
+   */
+  void release() {
+    synchronized (lock) {
+      released = true;
+      hasRequest = false;
+      front = null;
+      spares.clear();
+      drawn = null;
+      previouslyDrawn = null;
+    }
+  }
+
+  /**
+   * Whether the current thread is rendering a frame.
+   */
+  boolean isRenderThread() {
+    return renderThread == Thread.currentThread();
+  }
+
+  /**
+   * The number of requested frames that were replaced by a newer one before they could be rendered.
+   */
+  int getSkippedFrameCount() {
+    synchronized (lock) {
+      return skippedFrameCount;
+    }
+  }
+
+  @Override public void run() {
+    renderThread = Thread.currentThread();
+    boolean done = false;
+    try {
+      while (true) {
+        float progress;
+        int width;
+        int height;
+        Bitmap buffer;
+        synchronized (lock) {
+          if (released) {
+            rendering = false;
+            done = true;
+            return;
+          }
+          progress = requestedProgress;
+          width = this.width;
+          height = this.height;
+          hasRequest = false;
+          frontInvalid = false;
+          buffer = takeSpare(width, height);
+        }
+        if (buffer == null) {
+          buffer = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        } else {
+          buffer.eraseColor(0);
+        }
+        canvas.setBitmap(buffer);
+        target.renderFrame(canvas, progress, width, height);
+        canvas.setBitmap(null);
+        synchronized (lock) {
+          if (released) {
+            rendering = false;
+            done = true;
+            return;
+          }
+          if (front != null) {
+            if (spares.size() == MAX_SPARES) {
+              spares.remove(0);
+            }
+            spares.add(front);
+          }
+          front = buffer;
+          frontProgress = progress;
+          done = !hasRequest;
+          if (done) {
+            rendering = false;
+          }
+        }
+        handler.post(notifyFrameRendered);
+        if (done) {
+          return;
+        }
+      }
+    } finally {
+      renderThread = null;
+      if (!done) {
+        // Rendering threw. Allow the next request to try again.
+        synchronized (lock) {
+          rendering = false;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns a spare bitmap of the size that hasn't been drawn recently or null. Must be called with lock held.
+   */
+  @Nullable
+  private Bitmap takeSpare(int width, int height) {
+    for (int i = 0; i < spares.size(); i++) {
+      Bitmap spare = spares.get(i);
+      if (spare != drawn && spare != previouslyDrawn && spare.getWidth() == width && spare.getHeight() == height) {
+        spares.remove(i);
+        return spare;
+      }
+    }
+    return null;
+  }
+}
@@ -3,9 +3,11 @@ package com.airbnb.lottie;
 import android.content.Context;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 import androidx.core.os.TraceCompat;
 
+import com.airbnb.lottie.model.LottieCompositionDiskCache;
 import com.airbnb.lottie.network.DefaultLottieNetworkFetcher;
 import com.airbnb.lottie.network.LottieNetworkCacheProvider;
 import com.airbnb.lottie.network.LottieNetworkFetcher;
@@ -13,6 +15,7 @@ import com.airbnb.lottie.network.NetworkCache;
 import com.airbnb.lottie.network.NetworkFetcher;
 
 import java.io.File;
+import java.util.concurrent.Executor;
 
 @RestrictTo(RestrictTo.Scope.LIBRARY)
 public class L {
@@ -32,6 +35,10 @@ public class L {
 
   private static volatile NetworkFetcher networkFetcher;
   private static volatile NetworkCache networkCache;
+  @Nullable private static volatile LottieCompositionDiskCache compositionDiskCache;
+  private static volatile boolean parallelParsingEnabled = false;
+  @Nullable private static volatile Executor parallelParsingExecutor;
+  private static volatile boolean lazyLayerParsingEnabled = false;
 
   private L() {
   }
@@ -89,6 +96,40 @@ public class L {
     cacheProvider = customProvider;
   }
 
+  public static void setCompositionDiskCache(@Nullable LottieCompositionDiskCache diskCache) {
+    compositionDiskCache = diskCache;
+  }
+
+  @Nullable
+  public static LottieCompositionDiskCache compositionDiskCache() {
+    return compositionDiskCache;
+  }
+
+  public static void setParallelParsing(boolean enabled, @Nullable Executor executor) {
+    parallelParsingEnabled = enabled;
+    parallelParsingExecutor = executor;
+  }
+
+  public static void setLazyLayerParsingEnabled(boolean enabled) {
+    lazyLayerParsingEnabled = enabled;
+  }
+
+  public static boolean isLazyLayerParsingEnabled() {
+    return lazyLayerParsingEnabled;
+  }
+
+  /**
+   * Returns the executor that layers should be parsed on concurrently or null if parallel parsing is disabled.
+   */
+  @Nullable
+  public static Executor parallelParsingExecutor() {
+    if (!parallelParsingEnabled) {
+      return null;
+    }
+    Executor executor = parallelParsingExecutor;
+    return executor != null ? executor : LottieTask.EXECUTOR;
+  }
+
   @NonNull
   public static NetworkFetcher networkFetcher(@NonNull Context context) {
     NetworkFetcher local = networkFetcher;
@@ -2,6 +2,8 @@ package com.airbnb.lottie;
 
 import androidx.annotation.NonNull;
 
+import com.airbnb.lottie.model.LottieCompositionDiskCache;
+
 /**
  * Class for initializing the library with custom config
  */
@@ -19,5 +21,9 @@ public class Lottie {
     L.setFetcher(lottieConfig.networkFetcher);
     L.setCacheProvider(lottieConfig.cacheProvider);
     L.setTraceEnabled(lottieConfig.enableSystraceMarkers);
+    L.setCompositionDiskCache(lottieConfig.compositionDiskCacheDir == null ? null :
+        new LottieCompositionDiskCache(lottieConfig.compositionDiskCacheDir, lottieConfig.compositionDiskCacheMaxSize));
+    L.setParallelParsing(lottieConfig.enableParallelParsing, lottieConfig.parallelParsingExecutor);
+    L.setLazyLayerParsingEnabled(lottieConfig.enableLazyLayerParsing);
   }
 }
\ No newline at end of file
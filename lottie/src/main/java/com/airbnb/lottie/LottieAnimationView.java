@@ -4,8 +4,10 @@ import static com.airbnb.lottie.RenderMode.HARDWARE;
 
 import android.animation.Animator;
 import android.animation.ValueAnimator;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.res.ColorStateList;
+import android.content.res.Configuration;
 import android.content.res.TypedArray;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
@@ -100,6 +102,21 @@ import java.util.concurrent.Callable;
   @DrawableRes private int fallbackResource = 0;
 
   private final LottieDrawable lottieDrawable = new LottieDrawable();
+  /**
+   * Registered while the view is attached to a window.
+   */
+  private final ComponentCallbacks2 trimMemoryCallbacks = new ComponentCallbacks2() {
+    @Override public void onTrimMemory(int level) {
+      lottieDrawable.onTrimMemory(level);
+    }
+
+    @Override public void onLowMemory() {
+      lottieDrawable.onTrimMemory(TRIM_MEMORY_COMPLETE);
+    }
+
+    @Override public void onConfigurationChanged(@NonNull Configuration newConfig) {
+    }
+  };
   private boolean isInitialized;
   private String animationName;
   private @RawRes int animationResId;
@@ -263,7 +280,7 @@ import java.util.concurrent.Callable;
   @Override public void invalidateDrawable(@NonNull Drawable dr) {
     if (getDrawable() == lottieDrawable) {
       // We always want to invalidate the root drawable so it redraws the whole drawable.
-      // Eventually it would be great to be able to invalidate just the changed region.
+      // With dirty region tracking, the drawable invalidates just the changed region of the view itself.
       super.invalidateDrawable(lottieDrawable);
     } else {
       // Otherwise work as regular ImageView
@@ -341,6 +358,7 @@ import java.util.concurrent.Callable;
 
   @Override protected void onAttachedToWindow() {
     super.onAttachedToWindow();
+    getContext().registerComponentCallbacks(trimMemoryCallbacks);
     if (!isInEditMode() && (autoPlay || wasAnimatingWhenDetached)) {
       playAnimation();
       // Autoplay from xml should only apply once.
@@ -359,6 +377,10 @@ import java.util.concurrent.Callable;
       cancelAnimation();
       wasAnimatingWhenDetached = true;
     }
+    getContext().unregisterComponentCallbacks(trimMemoryCallbacks);
+    lottieDrawable.releaseFrameCache();
+    lottieDrawable.releaseAsyncRenderingBuffers();
+    lottieDrawable.releaseStaticLayerBitmaps();
     super.onDetachedFromWindow();
   }
 
@@ -1104,12 +1126,77 @@ import java.util.concurrent.Callable;
    * However, if you have multiple mattes and masks (especially large ones) then you
    * should test both render modes. You should also test on pre-Pie and Pie+ devices
    * because the underlying rendering enginge changed significantly.
+   * <p>
+   * {@link RenderMode#FRAME_CACHED} renders each frame once and draws it as a bitmap from then on.
+   *
+   * @see #getFrameCache()
    */
   public void setRenderMode(RenderMode renderMode) {
     this.renderMode = renderMode;
+    lottieDrawable.setRenderMode(renderMode);
     enableOrDisableHardwareLayer();
   }
 
+  /**
+   * Returns the cache used by {@link RenderMode#FRAME_CACHED}. Use it to configure the memory ceiling and eviction
+   * policy.
+   *
+   * @see LottieDrawable#getFrameCache()
+   */
+  @NonNull
+  public LottieFrameCache getFrameCache() {
+    return lottieDrawable.getFrameCache();
+  }
+
+  /**
+   * @see LottieDrawable#setFrameCache(LottieFrameCache)
+   */
+  public void setFrameCache(@Nullable LottieFrameCache frameCache) {
+    lottieDrawable.setFrameCache(frameCache);
+  }
+
+  /**
+   * @see LottieDrawable#setAsyncRenderingEnabled(boolean)
+   */
+  public void setAsyncRenderingEnabled(boolean enabled) {
+    lottieDrawable.setAsyncRenderingEnabled(enabled);
+  }
+
+  /**
+   * @see LottieDrawable#setDirtyRegionTrackingEnabled(boolean)
+   */
+  public void setDirtyRegionTrackingEnabled(boolean enabled) {
+    lottieDrawable.setDirtyRegionTrackingEnabled(enabled);
+  }
+
+  /**
+   * @see LottieDrawable#setReuseUnchangedPixelsEnabled(boolean)
+   */
+  public void setReuseUnchangedPixelsEnabled(boolean enabled) {
+    lottieDrawable.setReuseUnchangedPixelsEnabled(enabled);
+  }
+
+  /**
+   * @see LottieDrawable#setStaticLayerCachingEnabled(boolean)
+   */
+  public void setStaticLayerCachingEnabled(boolean enabled) {
+    lottieDrawable.setStaticLayerCachingEnabled(enabled);
+  }
+
+  /**
+   * @see LottieDrawable#setGradientCacheTolerance(float, int)
+   */
+  public void setGradientCacheTolerance(float pointTolerance, int colorTolerance) {
+    lottieDrawable.setGradientCacheTolerance(pointTolerance, colorTolerance);
+  }
+
+  /**
+   * @see LottieDrawable#setFrameCacheVariant(Object)
+   */
+  public void setFrameCacheVariant(@Nullable Object variant) {
+    lottieDrawable.setFrameCacheVariant(variant);
+  }
+
   /**
    * Sets whether to apply opacity to the each layer instead of shape.
    * <p>
@@ -1148,6 +1235,10 @@ import java.util.concurrent.Callable;
       case SOFTWARE:
         layerType = LAYER_TYPE_SOFTWARE;
         break;
+      case FRAME_CACHED:
+        // Cached frames are drawn as bitmaps which doesn't need a separate layer.
+        layerType = LAYER_TYPE_NONE;
+        break;
       case AUTOMATIC:
         boolean useHardwareLayer = true;
         if (composition != null && composition.hasDashPattern() && Build.VERSION.SDK_INT < Build.VERSION_CODES.P) {
@@ -51,7 +51,15 @@ public class LottieComposition {
   private LongSparseArray<Layer> layerMap;
   private List<Layer> layers;
   // This is stored as a set to avoid duplicates.
-  private Rect bounds;
+  /**
+   * The bounds are kept as ints and only turned into a {@link Rect} when they are asked for so that parsing and
+   * evaluating a composition don't need one.
+   */
+  private int boundsLeft;
+  private int boundsTop;
+  private int boundsRight;
+  private int boundsBottom;
+  @Nullable private volatile Rect bounds;
   private float startFrame;
   private float endFrame;
   private float frameRate;
@@ -65,6 +73,19 @@ public class LottieComposition {
    * was only faster until you had ~4 masks after which it would actually become slower.
    */
   private int maskAndMatteCount = 0;
+  /**
+   * Rough retained size of the parsed model in bytes, excluding images. This is accumulated by the parsers.
+   */
+  private long estimatedModelSize = 0;
+  private boolean initialized = false;
+  /**
+   * False while images are still being loaded in the background after the composition was handed out.
+   */
+  private volatile boolean fullyLoaded = true;
+  /**
+   * Loads the remaining images of a progressively loaded composition. Null once it is fully loaded.
+   */
+  @Nullable private LottieTask<LottieComposition> fullyLoadedTask;
 
   @RestrictTo(RestrictTo.Scope.LIBRARY)
   public void init(Rect bounds, float startFrame, float endFrame, float frameRate,
@@ -72,7 +93,21 @@ public class LottieComposition {
       List<Layer>> precomps, Map<String, LottieImageAsset> images,
       SparseArrayCompat<FontCharacter> characters, Map<String, Font> fonts,
       List<Marker> markers) {
-    this.bounds = bounds;
+    init(bounds.left, bounds.top, bounds.right, bounds.bottom, startFrame, endFrame, frameRate, layers, layerMap,
+        precomps, images, characters, fonts, markers);
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public void init(int left, int top, int right, int bottom, float startFrame, float endFrame, float frameRate,
+      List<Layer> layers, LongSparseArray<Layer> layerMap, Map<String,
+      List<Layer>> precomps, Map<String, LottieImageAsset> images,
+      SparseArrayCompat<FontCharacter> characters, Map<String, Font> fonts,
+      List<Marker> markers) {
+    boundsLeft = left;
+    boundsTop = top;
+    boundsRight = right;
+    boundsBottom = bottom;
+    bounds = null;
     this.startFrame = startFrame;
     this.endFrame = endFrame;
     this.frameRate = frameRate;
@@ -83,29 +118,111 @@ public class LottieComposition {
     this.characters = characters;
     this.fonts = fonts;
     this.markers = markers;
+    initialized = true;
   }
 
+  // The mutators below are synchronized because layers may be parsed concurrently.
   @RestrictTo(RestrictTo.Scope.LIBRARY)
-  public void addWarning(String warning) {
+  public synchronized void addWarning(String warning) {
     Logger.warning(warning);
     warnings.add(warning);
   }
 
   @RestrictTo(RestrictTo.Scope.LIBRARY)
-  public void setHasDashPattern(boolean hasDashPattern) {
+  public synchronized void setHasDashPattern(boolean hasDashPattern) {
     this.hasDashPattern = hasDashPattern;
   }
 
   @RestrictTo(RestrictTo.Scope.LIBRARY)
-  public void incrementMatteOrMaskCount(int amount) {
+  public synchronized void incrementMatteOrMaskCount(int amount) {
     maskAndMatteCount += amount;
   }
 
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public synchronized void addEstimatedModelSize(long bytes) {
+    if (initialized) {
+      // Lazily parsed layer contents were already accounted for. The size must not change while the composition is cached.
+      return;
+    }
+    estimatedModelSize += bytes;
+  }
+
+  /**
+   * The part of {@link #getEstimatedSizeBytes()} that the parsers accounted for, without images.
+   */
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public synchronized long getEstimatedModelSize() {
+    return estimatedModelSize;
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public void setLoading() {
+    fullyLoaded = false;
+  }
+
+  /**
+   * Sets the task that loads the rest of this composition. Fully loaded listeners are added to the task so they are
+   * notified on the main thread like the listeners of any other task.
+   */
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public synchronized void setFullyLoadedTask(LottieTask<LottieComposition> task) {
+    fullyLoadedTask = task;
+  }
+
+  /**
+   * Called by the fully loaded task once all images have been loaded, right before its listeners are notified.
+   */
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public void setFullyLoaded() {
+    fullyLoaded = true;
+  }
+
+  /**
+   * Returns false if this composition was loaded progressively and some of its images are still being loaded.
+   * It can already be drawn but those images will be missing until it is fully loaded.
+   *
+   * @see LottieCompositionFactory#fromZipStreamProgressive(java.util.zip.ZipInputStream, String)
+   */
+  public boolean isFullyLoaded() {
+    return fullyLoaded;
+  }
+
+  /**
+   * Add a listener that will be called on the main thread once all images have been loaded.
+   * If the composition is already fully loaded, the listener will be called synchronously.
+   */
+  public synchronized void addFullyLoadedListener(LottieListener<LottieComposition> listener) {
+    if (fullyLoadedTask == null) {
+      listener.onResult(this);
+      return;
+    }
+    fullyLoadedTask.addListener(listener);
+  }
+
+  public synchronized void removeFullyLoadedListener(LottieListener<LottieComposition> listener) {
+    if (fullyLoadedTask != null) {
+      fullyLoadedTask.removeListener(listener);
+    }
+  }
+
+  /**
+   * Returns a rough estimate of the heap retained by this composition in bytes.
+   * It accounts for layers, keyframes, shape data, glyphs and the bitmaps of all image assets at their declared
+   * size whether or not they have been decoded yet so the value never changes after parsing.
+   */
+  public long getEstimatedSizeBytes() {
+    long size = estimatedModelSize;
+    for (LottieImageAsset image : images.values()) {
+      size += (long) image.getWidth() * image.getHeight() * 4;
+    }
+    return size;
+  }
+
   /**
    * Used to determine if an animation can be drawn with hardware acceleration.
    */
   @RestrictTo(RestrictTo.Scope.LIBRARY)
-  public boolean hasDashPattern() {
+  public synchronized boolean hasDashPattern() {
     return hasDashPattern;
   }
 
@@ -113,11 +230,11 @@ public class LottieComposition {
    * Used to determine if an animation can be drawn with hardware acceleration.
    */
   @RestrictTo(RestrictTo.Scope.LIBRARY)
-  public int getMaskAndMatteCount() {
+  public synchronized int getMaskAndMatteCount() {
     return maskAndMatteCount;
   }
 
-  public ArrayList<String> getWarnings() {
+  public synchronized ArrayList<String> getWarnings() {
     return new ArrayList<>(Arrays.asList(warnings.toArray(new String[warnings.size()])));
   }
 
@@ -135,6 +252,11 @@ public class LottieComposition {
   }
 
   @SuppressWarnings("WeakerAccess") public Rect getBounds() {
+    Rect bounds = this.bounds;
+    if (bounds == null) {
+      bounds = new Rect(boundsLeft, boundsTop, boundsRight, boundsBottom);
+      this.bounds = bounds;
+    }
     return bounds;
   }
 
@@ -158,6 +280,11 @@ public class LottieComposition {
     return layers;
   }
 
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public Map<String, List<Layer>> getPrecomps() {
+    return precomps;
+  }
+
   @RestrictTo(RestrictTo.Scope.LIBRARY)
   @Nullable
   public List<Layer> getPrecomps(String id) {
@@ -5,6 +5,8 @@ import static okio.Okio.buffer;
 import static okio.Okio.source;
 
 import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
 import android.content.res.Configuration;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
@@ -15,21 +17,29 @@ import androidx.annotation.RawRes;
 import androidx.annotation.WorkerThread;
 
 import com.airbnb.lottie.model.LottieCompositionCache;
+import com.airbnb.lottie.model.LottieCompositionDiskCache;
+import com.airbnb.lottie.parser.LottieCompositionBinaryReader;
 import com.airbnb.lottie.parser.LottieCompositionMoshiParser;
 import com.airbnb.lottie.parser.moshi.JsonReader;
 import com.airbnb.lottie.utils.Logger;
+import com.airbnb.lottie.utils.MappedFiles;
 import com.airbnb.lottie.utils.Utils;
 
 import org.json.JSONObject;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Enumeration;
 import java.util.concurrent.Callable;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import okio.BufferedSource;
@@ -57,6 +67,11 @@ public class LottieCompositionFactory {
    */
   private static final byte[] MAGIC = new byte[]{0x50, 0x4b, 0x03, 0x04};
 
+  /**
+   * The version of the app that packaged animations are stored under in the disk cache.
+   */
+  @Nullable private static volatile String appVersion;
+
 
   private LottieCompositionFactory() {
   }
@@ -69,10 +84,44 @@ public class LottieCompositionFactory {
     LottieCompositionCache.getInstance().resize(size);
   }
 
+  /**
+   * Bound the in-memory cache by the estimated heap used by the cached compositions instead of by their count.
+   * Large animations with embedded images will take up a larger share of the budget than small ones.
+   * This must be {@literal >} 0. Calling {@link #setMaxCacheSize(int)} switches back to bounding by count.
+   *
+   * @see LottieComposition#getEstimatedSizeBytes()
+   */
+  public static void setMaxCacheSizeBytes(int maxSizeBytes) {
+    LottieCompositionCache.getInstance().resizeBytes(maxSizeBytes);
+  }
+
+  /**
+   * Call this from {@link android.content.ComponentCallbacks2#onTrimMemory(int)} to shrink the in-memory cache
+   * when the system is low on memory.
+   */
+  public static void onTrimMemory(int level) {
+    LottieCompositionCache.getInstance().trimMemory(level);
+  }
+
   public static void clearCache(Context context) {
     taskCache.clear();
     LottieCompositionCache.getInstance().clear();
     L.networkCache(context).clear();
+    LottieCompositionDiskCache diskCache = L.compositionDiskCache();
+    if (diskCache != null) {
+      diskCache.clear();
+    }
+  }
+
+  /**
+   * Returns the disk cache of parsed compositions or null if it hasn't been enabled.
+   * Use it to check hit rates and load times.
+   *
+   * @see LottieConfig.Builder#setCompositionDiskCacheDir(java.io.File)
+   */
+  @Nullable
+  public static LottieCompositionDiskCache getCompositionDiskCache() {
+    return L.compositionDiskCache();
   }
 
   /**
@@ -193,7 +242,11 @@ public class LottieCompositionFactory {
       if (fileName.endsWith(".zip") || fileName.endsWith(".lottie")) {
         return fromZipStreamSync(new ZipInputStream(context.getAssets().open(fileName)), cacheKey);
       }
-      return fromJsonInputStreamSync(context.getAssets().open(fileName), cacheKey);
+      BufferedSource source = Okio.buffer(source(context.getAssets().open(fileName)));
+      if (isBinary(source)) {
+        return fromBinaryStreamSync(source.inputStream(), cacheKey);
+      }
+      return fromJsonSourceSync(source, cacheKey, appDiskCacheKey(context, "asset_" + fileName));
     } catch (IOException e) {
       return new LottieResult<>(e);
     }
@@ -266,7 +319,10 @@ public class LottieCompositionFactory {
       if (isZipCompressed(source)) {
         return fromZipStreamSync(new ZipInputStream(source.inputStream()), cacheKey);
       }
-      return fromJsonInputStreamSync(source.inputStream(), cacheKey);
+      if (isBinary(source)) {
+        return fromBinaryStreamSync(source.inputStream(), cacheKey);
+      }
+      return fromJsonSourceSync(source, cacheKey, appDiskCacheKey(context, rawResCacheKey(context, rawRes)));
     } catch (Resources.NotFoundException e) {
       return new LottieResult<>(e);
     }
@@ -276,6 +332,39 @@ public class LottieCompositionFactory {
     return "rawRes" + (isNightMode(context) ? "_night_" : "_day_") + resId;
   }
 
+  /**
+   * Returns the disk cache key of an animation that is packaged with the app or null if the disk cache is disabled.
+   * Packaged animations only change when the app does so the version of the app is part of the key.
+   */
+  @Nullable
+  private static String appDiskCacheKey(Context context, String identity) {
+    if (L.compositionDiskCache() == null) {
+      return null;
+    }
+    String appVersion = appVersion(context);
+    return appVersion == null ? null : LottieCompositionDiskCache.keyFor(identity + "@" + appVersion);
+  }
+
+  /**
+   * The last update time is included because debug builds are usually reinstalled without changing the version code.
+   */
+  @SuppressWarnings("deprecation")
+  @Nullable
+  private static String appVersion(Context context) {
+    String appVersion = LottieCompositionFactory.appVersion;
+    if (appVersion == null) {
+      try {
+        PackageInfo info = context.getPackageManager().getPackageInfo(context.getPackageName(), 0);
+        appVersion = info.versionCode + "_" + info.lastUpdateTime;
+      } catch (PackageManager.NameNotFoundException | RuntimeException e) {
+        Logger.warning("Unable to get the version of the app. Packaged animations won't be stored in the disk cache.", e);
+        return null;
+      }
+      LottieCompositionFactory.appVersion = appVersion;
+    }
+    return appVersion;
+  }
+
   /**
    * It is important to include day/night in the cache key so that if it changes, the cache won't return an animation from the wrong bucket.
    */
@@ -310,7 +399,7 @@ public class LottieCompositionFactory {
   @WorkerThread
   private static LottieResult<LottieComposition> fromJsonInputStreamSync(InputStream stream, @Nullable String cacheKey, boolean close) {
     try {
-      return fromJsonReaderSync(JsonReader.of(buffer(source(stream))), cacheKey);
+      return fromJsonSourceSync(buffer(source(stream)), cacheKey, true);
     } finally {
       if (close) {
         closeQuietly(stream);
@@ -365,7 +454,7 @@ public class LottieCompositionFactory {
 
 
     ByteArrayInputStream stream = new ByteArrayInputStream(json.getBytes());
-    return fromJsonReaderSync(JsonReader.of(buffer(source(stream))), cacheKey);
+    return fromJsonSourceSync(buffer(source(stream)), cacheKey, true);
   }
 
   public static LottieTask<LottieComposition> fromJsonReader(final JsonReader reader, @Nullable final String cacheKey) {
@@ -384,10 +473,49 @@ public class LottieCompositionFactory {
   }
 
 
+  @WorkerThread
+  static LottieResult<LottieComposition> fromJsonSourceSync(BufferedSource source, @Nullable String cacheKey, boolean close) {
+    return fromJsonReaderSyncInternal(JsonReader.of(source), cacheKey, close);
+  }
+
+  /**
+   * Parses json from {@code source}, going through the composition disk cache if {@code diskCacheKey} isn't null.
+   * A hit creates the composition from its snapshot without reading the source. Closes the source.
+   */
+  @WorkerThread
+  private static LottieResult<LottieComposition> fromJsonSourceSync(BufferedSource source, @Nullable String cacheKey,
+      @Nullable String diskCacheKey) {
+    LottieCompositionDiskCache diskCache = L.compositionDiskCache();
+    if (diskCache == null || diskCacheKey == null) {
+      return fromJsonSourceSync(source, cacheKey, true);
+    }
+    long startTime = System.nanoTime();
+    ByteBuffer cached = diskCache.get(diskCacheKey);
+    if (cached != null) {
+      LottieResult<LottieComposition> result = fromBinarySync(cached, cacheKey);
+      if (result.getValue() != null) {
+        closeQuietly(source);
+        diskCache.recordHit(System.nanoTime() - startTime);
+        return result;
+      }
+      Logger.warning("Unable to load cached composition. Parsing it again.", result.getException());
+      diskCache.remove(diskCacheKey);
+    }
+
+    // Parse the json like loads without the cache do and write the snapshot in the background.
+    LottieResult<LottieComposition> result = fromJsonSourceSync(source, cacheKey, true);
+    if (result.getValue() != null) {
+      diskCache.putAsync(diskCacheKey, result.getValue());
+    }
+    diskCache.recordMiss(System.nanoTime() - startTime);
+    return result;
+  }
+
   private static LottieResult<LottieComposition> fromJsonReaderSyncInternal(
       com.airbnb.lottie.parser.moshi.JsonReader reader, @Nullable String cacheKey, boolean close) {
     try {
-      LottieComposition composition = LottieCompositionMoshiParser.parse(reader);
+      LottieComposition composition = LottieCompositionMoshiParser.parse(reader, L.parallelParsingExecutor(),
+          L.isLazyLayerParsingEnabled());
       if (cacheKey != null) {
         LottieCompositionCache.getInstance().put(cacheKey, composition);
       }
@@ -402,6 +530,261 @@ public class LottieCompositionFactory {
   }
 
 
+  /**
+   * Auto-closes the stream.
+   *
+   * @see #fromBinaryStreamSync(InputStream, String)
+   */
+  public static LottieTask<LottieComposition> fromBinaryStream(final InputStream stream, @Nullable final String cacheKey) {
+    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+      @Override
+      public LottieResult<LottieComposition> call() {
+        return fromBinaryStreamSync(stream, cacheKey);
+      }
+    });
+  }
+
+  /**
+   * Return a LottieComposition for an InputStream to a snapshot written by
+   * {@link com.airbnb.lottie.parser.LottieCompositionBinaryWriter}. The snapshot is the parsed model so loading it
+   * creates the layers, shapes and keyframes directly without running the json parsers.
+   * Raw resources and assets that are snapshots are detected automatically.
+   * <p>
+   * Snapshots can only be read with the display density and
+   * {@link com.airbnb.lottie.parser.LottieCompositionBinaryReader#VERSION} they were written with. Loading fails
+   * otherwise so keep the json to fall back to.
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromBinaryStreamSync(InputStream stream, @Nullable String cacheKey) {
+    BufferedSource source = buffer(source(stream));
+    try {
+      return fromBinarySync(ByteBuffer.wrap(source.readByteArray()), cacheKey);
+    } catch (IOException e) {
+      return new LottieResult<>(e);
+    } finally {
+      closeQuietly(source);
+    }
+  }
+
+  /**
+   * @see #fromBinarySync(ByteBuffer, String)
+   */
+  public static LottieTask<LottieComposition> fromBinary(final ByteBuffer buffer, @Nullable final String cacheKey) {
+    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+      @Override
+      public LottieResult<LottieComposition> call() {
+        return fromBinarySync(buffer, cacheKey);
+      }
+    });
+  }
+
+  /**
+   * Return a LottieComposition for a buffer containing a snapshot written by
+   * {@link com.airbnb.lottie.parser.LottieCompositionBinaryWriter}. The buffer is read from its current position
+   * and is not modified.
+   *
+   * @see #fromBinaryStreamSync(InputStream, String)
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromBinarySync(ByteBuffer buffer, @Nullable String cacheKey) {
+    try {
+      LottieComposition composition = LottieCompositionBinaryReader.read(buffer);
+      if (cacheKey != null) {
+        LottieCompositionCache.getInstance().put(cacheKey, composition);
+      }
+      return new LottieResult<>(composition);
+    } catch (Exception e) {
+      return new LottieResult<>(e);
+    }
+  }
+
+  /**
+   * Loads a json, zip or binary animation file from disk. The file is memory mapped rather than streamed so large files
+   * aren't copied through intermediate buffers. Binary files and zips whose entries are stored without compression
+   * are read directly from the mapping.
+   */
+  public static LottieTask<LottieComposition> fromFile(final File file, @Nullable final String cacheKey) {
+    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+      @Override
+      public LottieResult<LottieComposition> call() {
+        return fromFileSync(file, cacheKey);
+      }
+    });
+  }
+
+  /**
+   * @see #fromFile(File, String)
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromFileSync(File file, @Nullable String cacheKey) {
+    ByteBuffer buffer;
+    try {
+      buffer = MappedFiles.map(file);
+    } catch (IOException e) {
+      return new LottieResult<>(e);
+    }
+    if (LottieCompositionBinaryReader.hasHeader(buffer)) {
+      return fromBinarySync(buffer, cacheKey);
+    }
+    if (isZipCompressed(buffer)) {
+      List<MappedFiles.StoredEntry> entries = MappedFiles.storedZipEntries(buffer);
+      if (entries != null) {
+        return fromStoredZipEntriesSync(entries, cacheKey);
+      }
+      return fromZipFileSync(file, cacheKey);
+    }
+    String diskCacheKey = L.compositionDiskCache() == null ? null : LottieCompositionDiskCache.keyForFile(file);
+    return fromJsonSourceSync(Okio.buffer(MappedFiles.source(buffer)), cacheKey, diskCacheKey);
+  }
+
+  @WorkerThread
+  private static LottieResult<LottieComposition> fromStoredZipEntriesSync(List<MappedFiles.StoredEntry> entries,
+      @Nullable String cacheKey) {
+    LottieComposition composition = null;
+    Map<String, Bitmap> images = new HashMap<>();
+    for (MappedFiles.StoredEntry entry : entries) {
+      String entryName = entry.name;
+      if (entryName.contains("__MACOSX") || entryName.equalsIgnoreCase("manifest.json")) {
+        continue;
+      }
+      if (entryName.contains(".json")) {
+        composition = fromJsonSourceSync(Okio.buffer(MappedFiles.source(entry.data)), null, true).getValue();
+      } else if (entryName.contains(".png") || entryName.contains(".webp") || entryName.contains(".jpg") || entryName.contains(".jpeg")) {
+        String[] splitName = entryName.split("/");
+        String name = splitName[splitName.length - 1];
+        images.put(name, BitmapFactory.decodeStream(MappedFiles.inputStream(entry.data)));
+      }
+    }
+    return setZipImages(composition, images, cacheKey);
+  }
+
+  /**
+   * Loads a zip or .lottie file from disk. Unlike {@link #fromZipStream(ZipInputStream, String)}, the archive is read
+   * through its central directory so the json is parsed first and only the images that the animation references are
+   * decoded.
+   */
+  public static LottieTask<LottieComposition> fromZipFile(final File file, @Nullable final String cacheKey) {
+    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+      @Override
+      public LottieResult<LottieComposition> call() {
+        return fromZipFileSync(file, cacheKey);
+      }
+    });
+  }
+
+  /**
+   * @see #fromZipFile(File, String)
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromZipFileSync(File file, @Nullable String cacheKey) {
+    return fromZipFileSync(file, cacheKey, false);
+  }
+
+  /**
+   * @param decodeImagesOnFirstDraw If true, images are decoded from the file the first time they are drawn rather than
+   *                                while loading. This shortens loading and avoids decoding images that are never
+   *                                shown at the cost of decoding them on the main thread.
+   * @see #fromZipFile(File, String)
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromZipFileSync(File file, @Nullable String cacheKey,
+      boolean decodeImagesOnFirstDraw) {
+    ZipFile zipFile = null;
+    try {
+      zipFile = new ZipFile(file);
+      LottieComposition composition = null;
+      Map<String, ZipEntry> imageEntries = new HashMap<>();
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        String entryName = entry.getName();
+        if (entryName.contains("__MACOSX") || entryName.equalsIgnoreCase("manifest.json")) {
+          continue;
+        }
+        if (entryName.contains(".json")) {
+          if (composition == null) {
+            composition = fromJsonSourceSync(buffer(source(zipFile.getInputStream(entry))), null, true).getValue();
+          }
+        } else if (entryName.contains(".png") || entryName.contains(".webp") || entryName.contains(".jpg") || entryName.contains(".jpeg")) {
+          String[] splitName = entryName.split("/");
+          imageEntries.put(splitName[splitName.length - 1], entry);
+        }
+      }
+      if (composition == null) {
+        return new LottieResult<>(new IllegalArgumentException("Unable to parse composition"));
+      }
+
+      for (LottieImageAsset asset : composition.getImages().values()) {
+        ZipEntry entry = imageEntries.get(asset.getFileName());
+        if (entry == null) {
+          if (asset.hasBitmap()) {
+            continue;
+          }
+          return new LottieResult<>(new IllegalStateException("There is no image for " + asset.getFileName()));
+        }
+        if (decodeImagesOnFirstDraw) {
+          asset.setLazyBitmapLoader(new ZipFileImageLoader(file, entry.getName()));
+          continue;
+        }
+        Bitmap bitmap = BitmapFactory.decodeStream(zipFile.getInputStream(entry));
+        if (bitmap == null) {
+          return new LottieResult<>(new IllegalStateException("Unable to decode " + asset.getFileName()));
+        }
+        asset.setBitmap(Utils.resizeBitmapIfNeeded(bitmap, asset.getWidth(), asset.getHeight()));
+      }
+
+      if (cacheKey != null) {
+        LottieCompositionCache.getInstance().put(cacheKey, composition);
+      }
+      return new LottieResult<>(composition);
+    } catch (IOException e) {
+      return new LottieResult<>(e);
+    } finally {
+      if (zipFile != null) {
+        try {
+          zipFile.close();
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+
+  /**
+   * Decodes an image from a zip file the first time it is drawn.
+   */
+  private static class ZipFileImageLoader implements ImageAssetDelegate {
+    private final File file;
+    private final String entryName;
+
+    ZipFileImageLoader(File file, String entryName) {
+      this.file = file;
+      this.entryName = entryName;
+    }
+
+    @Nullable @Override public Bitmap fetchBitmap(LottieImageAsset asset) {
+      ZipFile zipFile = null;
+      try {
+        zipFile = new ZipFile(file);
+        ZipEntry entry = zipFile.getEntry(entryName);
+        if (entry == null) {
+          return null;
+        }
+        Bitmap bitmap = BitmapFactory.decodeStream(zipFile.getInputStream(entry));
+        return bitmap == null ? null : Utils.resizeBitmapIfNeeded(bitmap, asset.getWidth(), asset.getHeight());
+      } catch (IOException e) {
+        Logger.warning("Unable to decode " + entryName + " from " + file.getAbsolutePath(), e);
+        return null;
+      } finally {
+        if (zipFile != null) {
+          try {
+            zipFile.close();
+          } catch (IOException ignored) {
+          }
+        }
+      }
+    }
+  }
+
   public static LottieTask<LottieComposition> fromZipStream(final ZipInputStream inputStream, @Nullable final String cacheKey) {
     return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
       @Override
@@ -439,8 +822,7 @@ public class LottieCompositionFactory {
         } else if (entry.getName().equalsIgnoreCase("manifest.json")) { //ignore .lottie manifest
           inputStream.closeEntry();
         } else if (entry.getName().contains(".json")) {
-          com.airbnb.lottie.parser.moshi.JsonReader reader = JsonReader.of(buffer(source(inputStream)));
-          composition = LottieCompositionFactory.fromJsonReaderSyncInternal(reader, null, false).getValue();
+          composition = LottieCompositionFactory.fromJsonSourceSync(buffer(source(inputStream)), null, false).getValue();
         } else if (entryName.contains(".png") || entryName.contains(".webp") || entryName.contains(".jpg") || entryName.contains(".jpeg")) {
           String[] splitName = entryName.split("/");
           String name = splitName[splitName.length - 1];
@@ -454,8 +836,14 @@ public class LottieCompositionFactory {
     } catch (IOException e) {
       return new LottieResult<>(e);
     }
+    return setZipImages(composition, images, cacheKey);
+  }
 
-
+  /**
+   * Sets the images that were read from a zip file on the composition.
+   */
+  private static LottieResult<LottieComposition> setZipImages(@Nullable LottieComposition composition,
+      Map<String, Bitmap> images, @Nullable String cacheKey) {
     if (composition == null) {
       return new LottieResult<>(new IllegalArgumentException("Unable to parse composition"));
     }
@@ -480,6 +868,36 @@ public class LottieCompositionFactory {
     return new LottieResult<>(composition);
   }
 
+  /**
+   * Like {@link #fromZipStream(ZipInputStream, String)} but the task completes as soon as the json and the images that
+   * are visible on the first frame have been loaded so the animation can be shown sooner. The remaining images are
+   * loaded on {@link LottieTask#EXECUTOR}. Use {@link LottieComposition#addFullyLoadedListener(LottieListener)} to be
+   * notified once they have been.
+   * <p>
+   * Images that are still loading are not drawn. {@link LottieDrawable} redraws once they have been loaded.
+   */
+  public static LottieTask<LottieComposition> fromZipStreamProgressive(final ZipInputStream inputStream,
+      @Nullable final String cacheKey) {
+    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+      @Override
+      public LottieResult<LottieComposition> call() {
+        return fromZipStreamProgressiveSync(inputStream, cacheKey);
+      }
+    });
+  }
+
+  /**
+   * Returns as soon as the json and the images that are visible on the first frame have been loaded.
+   * The stream is closed once the remaining images have been loaded on {@link LottieTask#EXECUTOR}.
+   *
+   * @see #fromZipStreamProgressive(ZipInputStream, String)
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromZipStreamProgressiveSync(ZipInputStream inputStream,
+      @Nullable String cacheKey) {
+    return new ProgressiveZipLoader(inputStream, cacheKey).load();
+  }
+
   /**
    * Check if a given InputStream points to a .zip compressed file
    */
@@ -501,8 +919,39 @@ public class LottieCompositionFactory {
 
   }
 
+  private static boolean isZipCompressed(ByteBuffer buffer) {
+    int start = buffer.position();
+    if (buffer.limit() - start < MAGIC.length) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (buffer.get(start + i) != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Check if a given InputStream points to a snapshot written by
+   * {@link com.airbnb.lottie.parser.LottieCompositionBinaryWriter}
+   */
+  private static boolean isBinary(BufferedSource inputSource) {
+    try {
+      BufferedSource peek = inputSource.peek();
+      byte[] header = new byte[4];
+      for (int i = 0; i < header.length; i++) {
+        header[i] = peek.readByte();
+      }
+      peek.close();
+      return LottieCompositionBinaryReader.hasHeader(ByteBuffer.wrap(header));
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
   @Nullable
-  private static LottieImageAsset findImageAssetForFileName(LottieComposition composition, String fileName) {
+  static LottieImageAsset findImageAssetForFileName(LottieComposition composition, String fileName) {
     for (LottieImageAsset asset : composition.getImages().values()) {
       if (asset.getFileName().equals(fileName)) {
         return asset;
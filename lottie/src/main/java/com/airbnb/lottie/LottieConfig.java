@@ -7,6 +7,7 @@ import com.airbnb.lottie.network.LottieNetworkCacheProvider;
 import com.airbnb.lottie.network.LottieNetworkFetcher;
 
 import java.io.File;
+import java.util.concurrent.Executor;
 
 /**
  * Class for custom library configuration.
@@ -18,12 +19,23 @@ public class LottieConfig {
   @Nullable final LottieNetworkFetcher networkFetcher;
   @Nullable final LottieNetworkCacheProvider cacheProvider;
   final boolean enableSystraceMarkers;
+  @Nullable final File compositionDiskCacheDir;
+  final long compositionDiskCacheMaxSize;
+  final boolean enableParallelParsing;
+  @Nullable final Executor parallelParsingExecutor;
+  final boolean enableLazyLayerParsing;
 
   private LottieConfig(@Nullable LottieNetworkFetcher networkFetcher, @Nullable LottieNetworkCacheProvider cacheProvider,
-      boolean enableSystraceMarkers) {
+      boolean enableSystraceMarkers, @Nullable File compositionDiskCacheDir, long compositionDiskCacheMaxSize,
+      boolean enableParallelParsing, @Nullable Executor parallelParsingExecutor, boolean enableLazyLayerParsing) {
     this.networkFetcher = networkFetcher;
     this.cacheProvider = cacheProvider;
     this.enableSystraceMarkers = enableSystraceMarkers;
+    this.compositionDiskCacheDir = compositionDiskCacheDir;
+    this.compositionDiskCacheMaxSize = compositionDiskCacheMaxSize;
+    this.enableParallelParsing = enableParallelParsing;
+    this.parallelParsingExecutor = parallelParsingExecutor;
+    this.enableLazyLayerParsing = enableLazyLayerParsing;
   }
 
   public static final class Builder {
@@ -33,6 +45,13 @@ public class LottieConfig {
     @Nullable
     private LottieNetworkCacheProvider cacheProvider;
     private boolean enableSystraceMarkers = false;
+    @Nullable
+    private File compositionDiskCacheDir;
+    private long compositionDiskCacheMaxSize = 10 * 1024 * 1024;
+    private boolean enableParallelParsing = false;
+    @Nullable
+    private Executor parallelParsingExecutor;
+    private boolean enableLazyLayerParsing = false;
 
     /**
      * Lottie has a default network fetching stack built on {@link java.net.HttpURLConnection}. However, if you would like to hook into your own
@@ -98,9 +117,77 @@ public class LottieConfig {
       return this;
     }
 
+    /**
+     * Enable a disk cache of parsed compositions in this directory. Json animations from raw res, assets, files and
+     * cached urls are stored as snapshots of their model so they don't have to be parsed again after the process
+     * restarts. Json from streams and strings isn't cached. See {@link com.airbnb.lottie.model.LottieCompositionDiskCache}
+     * for how entries are keyed.
+     * <p>
+     * This is disabled by default.
+     *
+     * @see LottieCompositionFactory#getCompositionDiskCache()
+     */
+    @NonNull
+    public Builder setCompositionDiskCacheDir(@NonNull File dir) {
+      compositionDiskCacheDir = dir;
+      return this;
+    }
+
+    /**
+     * The maximum size in bytes of the composition disk cache. Defaults to 10MB.
+     *
+     * @see #setCompositionDiskCacheDir(File)
+     */
+    @NonNull
+    public Builder setCompositionDiskCacheMaxSize(long maxSizeBytes) {
+      if (maxSizeBytes <= 0) {
+        throw new IllegalArgumentException("maxSizeBytes must be > 0");
+      }
+      compositionDiskCacheMaxSize = maxSizeBytes;
+      return this;
+    }
+
+    /**
+     * Parse the layers of the root composition and of all precomps concurrently. This speeds up loading large animations
+     * with many precomps on multi-core devices but adds overhead for small ones.
+     * <p>
+     * Layers are parsed on {@link LottieTask#EXECUTOR} unless an executor is set with
+     * {@link #setParallelParsingExecutor(Executor)}.
+     */
+    @NonNull
+    public Builder setEnableParallelParsing(boolean enable) {
+      enableParallelParsing = enable;
+      return this;
+    }
+
+    /**
+     * The executor to parse layers on when parallel parsing is enabled.
+     *
+     * @see #setEnableParallelParsing(boolean)
+     */
+    @NonNull
+    public Builder setParallelParsingExecutor(@NonNull Executor executor) {
+      parallelParsingExecutor = executor;
+      return this;
+    }
+
+    /**
+     * Defer building the transform, masks and shapes of each layer until the layer is first used. The document is
+     * still read in full and every layer, including the layers of every precomp, is created while loading but those
+     * properties are only tokenized. This cuts parse time and memory for animations with many layers that aren't all
+     * drawn. The remaining work happens when the composition is set on a drawable. Parallel parsing isn't used for
+     * compositions that are parsed lazily.
+     */
+    @NonNull
+    public Builder setEnableLazyLayerParsing(boolean enable) {
+      enableLazyLayerParsing = enable;
+      return this;
+    }
+
     @NonNull
     public LottieConfig build() {
-      return new LottieConfig(networkFetcher, cacheProvider, enableSystraceMarkers);
+      return new LottieConfig(networkFetcher, cacheProvider, enableSystraceMarkers, compositionDiskCacheDir, compositionDiskCacheMaxSize,
+          enableParallelParsing, parallelParsingExecutor, enableLazyLayerParsing);
     }
   }
 }
\ No newline at end of file
@@ -2,13 +2,18 @@ package com.airbnb.lottie;
 
 import android.animation.Animator;
 import android.animation.ValueAnimator;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.ColorFilter;
 import android.graphics.Matrix;
+import android.graphics.Paint;
 import android.graphics.PixelFormat;
+import android.graphics.PorterDuff;
 import android.graphics.Rect;
+import android.graphics.RectF;
 import android.graphics.Typeface;
 import android.graphics.drawable.Animatable;
 import android.graphics.drawable.Drawable;
@@ -24,6 +29,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 import androidx.annotation.RestrictTo;
+import androidx.annotation.VisibleForTesting;
 
 import com.airbnb.lottie.manager.FontAssetManager;
 import com.airbnb.lottie.manager.ImageAssetManager;
@@ -44,6 +50,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This can be used to show an lottie animation in any place that would normally take a drawable.
@@ -71,8 +79,29 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
   private final ValueAnimator.AnimatorUpdateListener progressUpdateListener = new ValueAnimator.AnimatorUpdateListener() {
     @Override
     public void onAnimationUpdate(ValueAnimator animation) {
-      if (compositionLayer != null) {
-        compositionLayer.setProgress(animator.getAnimatedValueAbsolute());
+      if (renderMode == RenderMode.FRAME_CACHED) {
+        // The layers are only updated when a frame that isn't cached yet is drawn.
+        invalidateSelf();
+      } else if (asyncRenderer != null) {
+        // The drawable is invalidated once the frame has been rendered.
+        requestAsyncFrame();
+      } else if (dirtyRegionTrackingEnabled && compositionLayer != null &&
+          (reuseUnchangedPixelsEnabled || !isDrawnByHardwareAcceleratedView())) {
+        updateLayersAndInvalidateDirtyRegion(animator.getAnimatedValueAbsolute());
+      } else if (compositionLayer != null) {
+        updateLayers(animator.getAnimatedValueAbsolute());
+      }
+    }
+  };
+  /**
+   * Redraws once the images of a progressively loaded composition are available.
+   */
+  private final LottieListener<LottieComposition> fullyLoadedListener = new LottieListener<LottieComposition>() {
+    @Override public void onResult(LottieComposition result) {
+      if (composition == result) {
+        clearFrameCache();
+        updateStaticLayers();
+        invalidateSelf();
       }
     }
   };
@@ -105,12 +134,108 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
   private boolean outlineMasksAndMattes;
   private boolean isApplyingOpacityToLayersEnabled;
   private boolean isExtraScaleEnabled = true;
+  private RenderMode renderMode = RenderMode.AUTOMATIC;
+  /**
+   * Null to use {@link LottieFrameCache#getSharedInstance()}.
+   */
+  @Nullable
+  private LottieFrameCache frameCache;
+  /**
+   * The owner of the frames this drawable draws. It has been acquired from the frame cache if it isn't null.
+   */
+  @Nullable
+  private FrameCacheOwner frameCacheOwner;
+  @Nullable
+  private Object frameCacheVariant;
+  /**
+   * Whether anything that isn't part of the composition changes what this drawable looks like.
+   */
+  private boolean hasDynamicProperties;
+  @Nullable
+  private Canvas frameCacheCanvas;
+  private boolean asyncRenderingEnabled;
+  @Nullable
+  private Executor asyncRenderingExecutor;
+  /**
+   * Set on the main thread and read by the render thread while it invalidates the drawable. It is only released with
+   * {@link #asyncRenderLock} held so that it can't change while a frame is rendered.
+   */
+  @Nullable
+  private volatile AsyncFrameRenderer asyncRenderer;
+  /**
+   * Guards the layers, the bounds, the scale and the asset managers while frames are rendered asynchronously. The
+   * render thread holds it for a whole frame so that the frame is drawn from one consistent state.
+   */
+  private final Object asyncRenderLock = new Object();
+  private final AsyncFrameRenderer.Target asyncRenderTarget = new AsyncFrameRenderer.Target() {
+    @Override public void renderFrame(Canvas canvas, float progress, int width, int height) {
+      synchronized (asyncRenderLock) {
+        Rect bounds = getBounds();
+        // The renderer may have been released after this frame was started but before it got the lock.
+        if (!isRenderThread() || compositionLayer == null || bounds.isEmpty()) {
+          return;
+        }
+        compositionLayer.setProgress(progress);
+        canvas.scale(width / (float) bounds.width(), height / (float) bounds.height());
+        drawLayers(canvas, 255);
+      }
+    }
+
+    @Override public void onFrameRendered() {
+      invalidateCallback();
+    }
+  };
+  /**
+   * Draws cached and asynchronously rendered frames.
+   */
+  private final Paint bitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+  private final Matrix canvasMatrix = new Matrix();
+  private final float[] canvasMatrixValues = new float[9];
+  /**
+   * The size of the bounds in pixels of the canvas that is drawn to. Set by {@link #updateBitmapSize(Canvas)}.
+   */
+  private int bitmapWidth;
+  private int bitmapHeight;
   /**
    * True if the drawable has not been drawn since the last invalidateSelf.
    * We can do this to prevent things like bounds from getting recalculated
    * many times.
    */
   private boolean isDirty = false;
+  /**
+   * The number of times {@link #invalidateSelf()} was called. Layers use it to tell whether they changed. It is
+   * incremented by the render thread too while frames are rendered asynchronously.
+   */
+  private final AtomicInteger invalidationCount = new AtomicInteger();
+  private boolean dirtyRegionTrackingEnabled;
+  private boolean reuseUnchangedPixelsEnabled;
+  private boolean staticLayerCachingEnabled;
+  private float gradientPointTolerance;
+  private int gradientColorTolerance;
+  /**
+   * True while the layers are updated for a new frame. Their changes are invalidated as a whole afterwards.
+   */
+  private boolean updatingLayers;
+  /**
+   * True if something other than the progress of the layers changed so the last bounds of the layers may be stale.
+   */
+  private boolean layerBoundsStale = true;
+  /**
+   * True if the retained bitmap of {@link #setReuseUnchangedPixelsEnabled(boolean)} has to be redrawn entirely.
+   */
+  private boolean fullRedrawNeeded = true;
+  /**
+   * The region in composition coordinates that changed since the drawable was last drawn.
+   */
+  private final RectF dirtyRegion = new RectF();
+  private final RectF layersDirtyRegion = new RectF();
+  private final RectF mappedDirtyRegion = new RectF();
+  private final Rect invalidateRect = new Rect();
+  private final Matrix identityMatrix = new Matrix();
+  @Nullable
+  private Bitmap retainedBitmap;
+  @Nullable
+  private Canvas retainedCanvas;
 
   @IntDef({RESTART, REVERSE})
   @Retention(RetentionPolicy.SOURCE)
@@ -198,6 +323,8 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    */
   public void setImagesAssetsFolder(@Nullable String imageAssetsFolder) {
     this.imageAssetsFolder = imageAssetsFolder;
+    releaseFrameCache();
+    updateStaticLayers();
   }
 
   @Nullable
@@ -238,6 +365,9 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     lazyCompositionTasks.clear();
 
     composition.setPerformanceTrackingEnabled(performanceTrackingEnabled);
+    if (!composition.isFullyLoaded()) {
+      composition.addFullyLoadedListener(fullyLoadedListener);
+    }
 
     // Ensure that ImageView updates the drawable width/height so it can
     // properly calculate its drawable matrix.
@@ -268,9 +398,13 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
       return;
     }
     outlineMasksAndMattes = outline;
-    if (compositionLayer != null) {
-      compositionLayer.setOutlineMasksAndMattes(outline);
+    synchronized (asyncRenderLock) {
+      if (compositionLayer != null) {
+        compositionLayer.setOutlineMasksAndMattes(outline);
+      }
     }
+    releaseFrameCache();
+    updateStaticLayers();
   }
 
   @Nullable
@@ -296,6 +430,8 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    */
   public void setApplyingOpacityToLayersEnabled(boolean isApplyingOpacityToLayersEnabled) {
     this.isApplyingOpacityToLayersEnabled = isApplyingOpacityToLayersEnabled;
+    releaseFrameCache();
+    updateStaticLayers();
   }
 
   /**
@@ -307,7 +443,7 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    * <b>Attention:</b> Disable the extra scale mode can downgrade the performance and may lead to larger memory footprint. Please only disable this
    * mode when using animation with a reasonable dimension (smaller than screen size).
    *
-   * @see #drawWithNewAspectRatio(Canvas)
+   * @see #drawWithNewAspectRatio(Canvas, int)
    */
   public void disableExtraScaleModeInFitXY() {
     this.isExtraScaleEnabled = false;
@@ -317,11 +453,322 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     return isApplyingOpacityToLayersEnabled;
   }
 
+  /**
+   * Only {@link RenderMode#FRAME_CACHED} affects the drawable itself. The other render modes are applied by
+   * {@link LottieAnimationView} to its layer type.
+   *
+   * @see LottieAnimationView#setRenderMode(RenderMode)
+   */
+  public void setRenderMode(RenderMode renderMode) {
+    if (this.renderMode == renderMode) {
+      return;
+    }
+    boolean wasFrameCached = this.renderMode == RenderMode.FRAME_CACHED;
+    this.renderMode = renderMode;
+    if (renderMode == RenderMode.FRAME_CACHED) {
+      releaseAsyncRenderingBuffers();
+    }
+    if (wasFrameCached) {
+      // The layers aren't updated while frames are cached.
+      synchronized (asyncRenderLock) {
+        if (compositionLayer != null) {
+          compositionLayer.setProgress(animator.getAnimatedValueAbsolute());
+        }
+      }
+      releaseFrameCache();
+    }
+    invalidateSelf();
+  }
+
+  public RenderMode getRenderMode() {
+    return renderMode;
+  }
+
+  /**
+   * Renders frames on a background thread into one of two bitmaps while {@link #draw(Canvas)} only draws the most
+   * recently rendered bitmap. If rendering a frame takes longer than a frame of the animation, frames are skipped
+   * rather than queued. The drawn frame can lag the animation's progress by about one frame.
+   * <p>
+   * This moves the cost of updating and drawing the layers off of the UI thread for complex animations at the cost of
+   * up to four bitmaps the size of the drawable. Use {@link #releaseAsyncRenderingBuffers()} to free them. Value callbacks are called on the background thread while this is enabled.
+   * <p>
+   * This has no effect with {@link RenderMode#FRAME_CACHED}.
+   */
+  public void setAsyncRenderingEnabled(boolean enabled) {
+    if (asyncRenderingEnabled == enabled) {
+      return;
+    }
+    asyncRenderingEnabled = enabled;
+    if (!enabled) {
+      releaseAsyncRenderingBuffers();
+    }
+    invalidateSelf();
+  }
+
+  public boolean isAsyncRenderingEnabled() {
+    return asyncRenderingEnabled;
+  }
+
+  /**
+   * Sets the executor that frames are rendered on with {@link #setAsyncRenderingEnabled(boolean)}. Defaults to
+   * {@link LottieTask#EXECUTOR}.
+   */
+  public void setAsyncRenderingExecutor(@Nullable Executor executor) {
+    asyncRenderingExecutor = executor;
+    releaseAsyncRenderingBuffers();
+  }
+
+  /**
+   * When the animation progresses, only invalidate the part of the drawable that changed rather than all of it. The
+   * changed region is the union of the bounds of every layer that changed, before and after it changed.
+   * <p>
+   * Views only redraw the invalidated region when they are software rendered. From API 21, hardware accelerated views
+   * ignore the region and record the whole drawable again. The region isn't tracked for them unless
+   * {@link #setReuseUnchangedPixelsEnabled(boolean)} is enabled, which limits what gets drawn into the retained bitmap.
+   * <p>
+   * This has no effect with {@link RenderMode#FRAME_CACHED} or {@link #setAsyncRenderingEnabled(boolean)}.
+   */
+  public void setDirtyRegionTrackingEnabled(boolean enabled) {
+    if (dirtyRegionTrackingEnabled == enabled) {
+      return;
+    }
+    dirtyRegionTrackingEnabled = enabled;
+    if (!enabled) {
+      setReuseUnchangedPixelsEnabled(false);
+    }
+    invalidateSelf();
+  }
+
+  public boolean isDirtyRegionTrackingEnabled() {
+    return dirtyRegionTrackingEnabled;
+  }
+
+  /**
+   * Keeps the last frame in a bitmap the size of the drawable and only redraws the region that changed since. This is
+   * useful when a small part of a large animation changes.
+   * <p>
+   * This enables {@link #setDirtyRegionTrackingEnabled(boolean)}.
+   */
+  public void setReuseUnchangedPixelsEnabled(boolean enabled) {
+    if (reuseUnchangedPixelsEnabled == enabled) {
+      return;
+    }
+    reuseUnchangedPixelsEnabled = enabled;
+    if (enabled) {
+      setDirtyRegionTrackingEnabled(true);
+    } else {
+      retainedBitmap = null;
+      retainedCanvas = null;
+    }
+    invalidateSelf();
+  }
+
+  public boolean isReuseUnchangedPixelsEnabled() {
+    return reuseUnchangedPixelsEnabled;
+  }
+
+  /**
+   * Draws layers and precomps that don't change with progress from bitmaps rather than drawing them every frame. The
+   * bitmaps are rendered at the scale of the canvas and are rendered again when the scale changes or dynamic
+   * properties are set. Layers with masks, mattes or text are always drawn.
+   * <p>
+   * This uses up to one bitmap per static layer so it is most useful for animations with a few large static layers.
+   * Use {@link #releaseStaticLayerBitmaps()} to free them.
+   */
+  public void setStaticLayerCachingEnabled(boolean enabled) {
+    if (staticLayerCachingEnabled == enabled) {
+      return;
+    }
+    staticLayerCachingEnabled = enabled;
+    if (!enabled) {
+      // Drop the bitmaps.
+      updateStaticLayers();
+    }
+    invalidateSelf();
+  }
+
+  public boolean isStaticLayerCachingEnabled() {
+    return staticLayerCachingEnabled;
+  }
+
+  /**
+   * Drops the bitmaps of {@link #setStaticLayerCachingEnabled(boolean)}. Call this once the drawable isn't shown
+   * anymore. {@link LottieAnimationView} does this when it is detached from its window.
+   * <p>
+   * The bitmaps are rendered again the next time the drawable is drawn.
+   */
+  public void releaseStaticLayerBitmaps() {
+    if (staticLayerCachingEnabled) {
+      updateStaticLayers();
+    }
+  }
+
+  /**
+   * Call this from {@link ComponentCallbacks2#onTrimMemory(int)} to drop the bitmaps of static layers and the cached
+   * frames of this drawable when the system is low on memory or the UI is hidden. {@link LottieAnimationView} does
+   * this while it is attached to a window.
+   */
+  public void onTrimMemory(int level) {
+    if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW ||
+        level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+      releaseStaticLayerBitmaps();
+      releaseFrameCache();
+    }
+  }
+
+  /**
+   * Gradient fills and strokes cache the shaders they created. By default, they are keyed on the progress of the
+   * gradient rounded to 32ms steps so that a looping gradient creates its shaders once and a shader is shared by the
+   * frames of a step.
+   * <p>
+   * Setting a tolerance keys the shaders on their points and colors instead. These are rounded before shaders are
+   * created so that gradients that only differ by less than the tolerance share a shader. Gradients are smooth so
+   * small tolerances aren't visible.
+   *
+   * @param pointTolerance the start and end points are rounded to a multiple of this in the coordinates of the
+   *                       composition. 0 to use the exact points.
+   * @param colorTolerance each channel of the colors is rounded to a multiple of this. 0 to use the exact colors.
+   * @see PerformanceTracker#getGradientCacheHitRate()
+   */
+  public void setGradientCacheTolerance(float pointTolerance, int colorTolerance) {
+    gradientPointTolerance = Math.max(0f, pointTolerance);
+    gradientColorTolerance = Math.max(0, Math.min(colorTolerance, 255));
+    invalidateSelf();
+  }
+
+  public float getGradientPointTolerance() {
+    return gradientPointTolerance;
+  }
+
+  public int getGradientColorTolerance() {
+    return gradientColorTolerance;
+  }
+
+  private void updateStaticLayers() {
+    synchronized (asyncRenderLock) {
+      if (compositionLayer != null) {
+        compositionLayer.updateStaticLayers();
+      }
+    }
+  }
+
+  /**
+   * Drops the bitmaps that frames are rendered into with {@link #setAsyncRenderingEnabled(boolean)}. Call this once
+   * the drawable isn't shown anymore. {@link LottieAnimationView} does this when it is detached from its window.
+   * <p>
+   * The bitmaps are allocated again the next time the drawable is drawn.
+   */
+  public void releaseAsyncRenderingBuffers() {
+    // Waits for a frame that is rendering to complete so that the render thread never sees the renderer change.
+    synchronized (asyncRenderLock) {
+      AsyncFrameRenderer renderer = asyncRenderer;
+      if (renderer == null) {
+        return;
+      }
+      renderer.release();
+      asyncRenderer = null;
+      // The layers were only updated for rendered frames.
+      if (compositionLayer != null) {
+        setLayersProgress(animator.getAnimatedValueAbsolute());
+      }
+    }
+  }
+
+  /**
+   * Returns the cache used by {@link RenderMode#FRAME_CACHED}. Use it to configure the memory ceiling and eviction
+   * policy.
+   * <p>
+   * This is {@link LottieFrameCache#getSharedInstance()} unless a different cache was set.
+   */
+  @NonNull
+  public LottieFrameCache getFrameCache() {
+    return frameCache == null ? LottieFrameCache.getSharedInstance() : frameCache;
+  }
+
+  /**
+   * Sets the cache used by {@link RenderMode#FRAME_CACHED}. Frames are only shared between drawables that use the
+   * same cache. Set null to use {@link LottieFrameCache#getSharedInstance()}.
+   */
+  public void setFrameCache(@Nullable LottieFrameCache frameCache) {
+    releaseFrameCache();
+    this.frameCache = frameCache;
+  }
+
+  /**
+   * Drawables that show the same composition share cached frames as long as neither of them has dynamic properties
+   * such as value callbacks, a {@link TextDelegate} or asset delegates.
+   * <p>
+   * Drawables with dynamic properties can still share frames by setting the same variant. It is up to the caller to
+   * ensure that all drawables with the same variant look the same.
+   *
+   * @param variant an object that implements equals and hashCode or null to not share frames of drawables with dynamic
+   * properties.
+   */
+  public void setFrameCacheVariant(@Nullable Object variant) {
+    frameCacheVariant = variant;
+    releaseFrameCache();
+    invalidateSelf();
+  }
+
+  /**
+   * Releases the frames this drawable draws with {@link RenderMode#FRAME_CACHED}. They are removed from the cache if no
+   * other drawable draws them. Call this once the drawable isn't shown anymore. {@link LottieAnimationView} does this when
+   * it is detached from its window.
+   * <p>
+   * The frames are acquired again the next time the drawable is drawn.
+   */
+  public void releaseFrameCache() {
+    if (frameCacheOwner != null) {
+      getFrameCache().release(frameCacheOwner);
+      frameCacheOwner = null;
+    }
+  }
+
+  /**
+   * Removes the cached frames of this drawable without releasing them. Other drawables that share them will render
+   * them again.
+   */
+  private void clearFrameCache() {
+    if (frameCacheOwner != null) {
+      getFrameCache().clear(frameCacheOwner);
+    }
+  }
+
+  private void onDynamicPropertiesChanged() {
+    hasDynamicProperties = true;
+    updateStaticLayers();
+    if (frameCacheVariant != null) {
+      // The variant stays the same but its frames no longer match.
+      clearFrameCache();
+    }
+    releaseFrameCache();
+  }
+
+  private FrameCacheOwner getFrameCacheOwner() {
+    if (frameCacheOwner == null) {
+      Object variant = frameCacheVariant;
+      if (variant == null && hasDynamicProperties) {
+        variant = this;
+      }
+      frameCacheOwner = new FrameCacheOwner(composition, variant, imageAssetsFolder,
+          isApplyingOpacityToLayersEnabled, outlineMasksAndMattes, enableMergePaths);
+      getFrameCache().acquire(frameCacheOwner);
+    }
+    return frameCacheOwner;
+  }
+
   private void buildCompositionLayer() {
-    compositionLayer = new CompositionLayer(
-        this, LayerParser.parse(composition), composition.getLayers(), composition);
-    if (outlineMasksAndMattes) {
-      compositionLayer.setOutlineMasksAndMattes(true);
+    releaseFrameCache();
+    synchronized (asyncRenderLock) {
+      compositionLayer = new CompositionLayer(
+          this, LayerParser.parse(composition), composition.getLayers(), composition);
+      if (outlineMasksAndMattes) {
+        compositionLayer.setOutlineMasksAndMattes(true);
+      }
+    }
+    AsyncFrameRenderer renderer = asyncRenderer;
+    if (renderer != null) {
+      renderer.invalidate();
     }
   }
 
@@ -329,9 +776,16 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     if (animator.isRunning()) {
       animator.cancel();
     }
+    if (composition != null) {
+      composition.removeFullyLoadedListener(fullyLoadedListener);
+    }
     composition = null;
-    compositionLayer = null;
-    imageAssetManager = null;
+    synchronized (asyncRenderLock) {
+      compositionLayer = null;
+      imageAssetManager = null;
+    }
+    releaseFrameCache();
+    releaseAsyncRenderingBuffers();
     animator.clearComposition();
     invalidateSelf();
   }
@@ -350,6 +804,142 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
 
   @Override
   public void invalidateSelf() {
+    invalidationCount.incrementAndGet();
+    if (updatingLayers) {
+      // The region that changed is invalidated once all layers are updated.
+      return;
+    }
+    layerBoundsStale = true;
+    fullRedrawNeeded = true;
+    AsyncFrameRenderer renderer = asyncRenderer;
+    if (renderer != null) {
+      if (renderer.isRenderThread()) {
+        // The layers invalidate the drawable while a frame is rendered. It is invalidated once the frame is done.
+        return;
+      }
+      // Something changed what the current frame looks like.
+      renderer.invalidate();
+    }
+    invalidateCallback();
+  }
+
+  /**
+   * Used by layers to tell whether they changed.
+   */
+  @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+  public int getInvalidationCount() {
+    return invalidationCount.get();
+  }
+
+  /**
+   * Updates the layers for a new frame and invalidates the drawable once if anything changed rather than once for
+   * every value that changed.
+   */
+  private void updateLayers(float progress) {
+    int invalidationCount = this.invalidationCount.get();
+    updatingLayers = true;
+    try {
+      synchronized (asyncRenderLock) {
+        compositionLayer.setProgress(progress);
+      }
+    } finally {
+      updatingLayers = false;
+    }
+    if (this.invalidationCount.get() != invalidationCount) {
+      invalidateSelf();
+    }
+  }
+
+  private void updateLayersAndInvalidateDirtyRegion(float progress) {
+    updatingLayers = true;
+    try {
+      synchronized (asyncRenderLock) {
+        compositionLayer.setProgress(progress);
+      }
+    } finally {
+      updatingLayers = false;
+    }
+    layersDirtyRegion.setEmpty();
+    synchronized (asyncRenderLock) {
+      // If the layer bounds are stale, every layer is collected so that they are up to date again.
+      compositionLayer.collectDirtyBounds(layersDirtyRegion, identityMatrix, layerBoundsStale);
+      compositionLayer.clearDirty();
+    }
+    layerBoundsStale = false;
+    if (layersDirtyRegion.isEmpty()) {
+      return;
+    }
+    dirtyRegion.union(layersDirtyRegion);
+    invalidateRegion(layersDirtyRegion);
+  }
+
+  /**
+   * Invalidates a region in composition coordinates. Only views can invalidate part of the drawable.
+   */
+  private void invalidateRegion(RectF region) {
+    Callback callback = getCallback();
+    if (!(callback instanceof View) || composition == null) {
+      invalidateCallback();
+      return;
+    }
+    if (isDirty) {
+      // The whole drawable has already been invalidated.
+      return;
+    }
+    View view = (View) callback;
+    if (isDrawnByHardwareAcceleratedView()) {
+      // The dirty rect is ignored from API 21. The region is only tracked for the retained bitmap.
+      view.invalidate();
+      return;
+    }
+    mapToBounds(region, mappedDirtyRegion);
+    if (view instanceof ImageView) {
+      ((ImageView) view).getImageMatrix().mapRect(mappedDirtyRegion);
+      mappedDirtyRegion.offset(view.getPaddingLeft(), view.getPaddingTop());
+    }
+    mappedDirtyRegion.roundOut(invalidateRect);
+    // Leave room for anti-aliasing.
+    invalidateRect.inset(-2, -2);
+    view.invalidate(invalidateRect);
+  }
+
+  /**
+   * Whether the drawable is drawn by a hardware accelerated view that doesn't have a software layer. From API 21, those
+   * views redraw all of the drawable regardless of the invalidated region.
+   */
+  private boolean isDrawnByHardwareAcceleratedView() {
+    Callback callback = getCallback();
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP || !(callback instanceof View)) {
+      return false;
+    }
+    View view = (View) callback;
+    return view.isHardwareAccelerated() && view.getLayerType() != View.LAYER_TYPE_SOFTWARE;
+  }
+
+  /**
+   * Maps a rect in composition coordinates to the coordinates the drawable is drawn in.
+   */
+  private void mapToBounds(RectF src, RectF dst) {
+    float scaleX;
+    float scaleY;
+    if (boundsMatchesCompositionAspectRatio()) {
+      scaleX = scaleY = scale;
+    } else {
+      scaleX = getBounds().width() / (float) composition.getBounds().width();
+      scaleY = getBounds().height() / (float) composition.getBounds().height();
+    }
+    dst.set(src.left * scaleX, src.top * scaleY, src.right * scaleX, src.bottom * scaleY);
+  }
+
+  /**
+   * The region in composition coordinates that changed since the drawable was last drawn.
+   */
+  @VisibleForTesting
+  RectF getDirtyRegion() {
+    return dirtyRegion;
+  }
+
+  private void invalidateCallback() {
     if (isDirty) {
       return;
     }
@@ -381,6 +971,14 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     return PixelFormat.TRANSLUCENT;
   }
 
+  @Override
+  public void setBounds(int left, int top, int right, int bottom) {
+    // The render thread reads the bounds while it renders a frame.
+    synchronized (asyncRenderLock) {
+      super.setBounds(left, top, right, bottom);
+    }
+  }
+
   @Override
   public void draw(@NonNull Canvas canvas) {
     isDirty = false;
@@ -396,16 +994,166 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     } else {
       drawInternal(canvas);
     }
+    dirtyRegion.setEmpty();
 
     L.endSection("Drawable#draw");
   }
 
   private void drawInternal(@NonNull Canvas canvas) {
+    if (renderMode == RenderMode.FRAME_CACHED && compositionLayer != null && !getBounds().isEmpty()) {
+      drawFromFrameCache(canvas);
+    } else if (asyncRenderingEnabled && compositionLayer != null && !getBounds().isEmpty()) {
+      drawAsync(canvas);
+    } else if (reuseUnchangedPixelsEnabled && compositionLayer != null && !getBounds().isEmpty()) {
+      drawReusingUnchangedPixels(canvas);
+    } else {
+      drawLayers(canvas, alpha);
+    }
+  }
+
+  /**
+   * Redraws the dirty region of the retained bitmap and draws the bitmap.
+   */
+  private void drawReusingUnchangedPixels(@NonNull Canvas canvas) {
+    Rect bounds = getBounds();
+    updateBitmapSize(canvas);
+    if (retainedBitmap == null || retainedBitmap.getWidth() != bitmapWidth ||
+        retainedBitmap.getHeight() != bitmapHeight) {
+      retainedBitmap = Bitmap.createBitmap(bitmapWidth, bitmapHeight, Bitmap.Config.ARGB_8888);
+      if (retainedCanvas == null) {
+        retainedCanvas = new Canvas();
+      }
+      retainedCanvas.setBitmap(retainedBitmap);
+      fullRedrawNeeded = true;
+    }
+    if (fullRedrawNeeded || !dirtyRegion.isEmpty()) {
+      int saveCount = retainedCanvas.save();
+      retainedCanvas.scale(bitmapWidth / (float) bounds.width(), bitmapHeight / (float) bounds.height());
+      if (!fullRedrawNeeded) {
+        mapToBounds(dirtyRegion, mappedDirtyRegion);
+        // Leave room for anti-aliasing.
+        mappedDirtyRegion.inset(-1f, -1f);
+        retainedCanvas.clipRect(mappedDirtyRegion);
+      }
+      retainedCanvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+      drawLayers(retainedCanvas, 255);
+      retainedCanvas.restoreToCount(saveCount);
+      fullRedrawNeeded = false;
+    }
+    bitmapPaint.setAlpha(alpha);
+    canvas.drawBitmap(retainedBitmap, null, bounds, bitmapPaint);
+  }
+
+  /**
+   * Sets {@link #bitmapWidth} and {@link #bitmapHeight} to the size of the bounds in pixels of the canvas so that
+   * bitmaps don't get scaled up.
+   */
+  private void updateBitmapSize(@NonNull Canvas canvas) {
+    Rect bounds = getBounds();
+    //noinspection deprecation
+    canvas.getMatrix(canvasMatrix);
+    canvasMatrix.getValues(canvasMatrixValues);
+    float canvasScaleX = (float) Math.hypot(canvasMatrixValues[Matrix.MSCALE_X], canvasMatrixValues[Matrix.MSKEW_Y]);
+    float canvasScaleY = (float) Math.hypot(canvasMatrixValues[Matrix.MSKEW_X], canvasMatrixValues[Matrix.MSCALE_Y]);
+    bitmapWidth = (int) Math.ceil(bounds.width() * canvasScaleX);
+    bitmapHeight = (int) Math.ceil(bounds.height() * canvasScaleY);
+  }
+
+  /**
+   * Draws the most recently rendered frame and requests the current one from the render thread.
+   */
+  private void drawAsync(@NonNull Canvas canvas) {
+    updateBitmapSize(canvas);
+    AsyncFrameRenderer renderer = asyncRenderer;
+    if (renderer == null) {
+      Executor executor = asyncRenderingExecutor != null ? asyncRenderingExecutor : LottieTask.EXECUTOR;
+      renderer = asyncRenderer = new AsyncFrameRenderer(asyncRenderTarget, executor);
+    }
+    renderer.setSize(bitmapWidth, bitmapHeight);
+    requestAsyncFrame();
+    bitmapPaint.setAlpha(alpha);
+    if (!renderer.draw(canvas, getBounds(), bitmapPaint)) {
+      // Nothing has been rendered yet. Draw the first frame here rather than drawing nothing.
+      synchronized (asyncRenderLock) {
+        setLayersProgress(animator.getAnimatedValueAbsolute());
+        drawLayers(canvas, alpha);
+      }
+    }
+  }
+
+  /**
+   * Requests the current frame from the render thread. Must be called on the main thread.
+   */
+  private void requestAsyncFrame() {
+    AsyncFrameRenderer renderer = asyncRenderer;
+    if (renderer == null) {
+      return;
+    }
+    // The asset managers need the context of the view so they are resolved here rather than on the render thread.
+    getImageAssetManager();
+    getFontAssetManager();
+    renderer.requestFrame(animator.getAnimatedValueAbsolute());
+  }
+
+  /**
+   * Whether the current thread is rendering a frame for {@link #setAsyncRenderingEnabled(boolean)}.
+   */
+  private boolean isRenderThread() {
+    AsyncFrameRenderer renderer = asyncRenderer;
+    return renderer != null && renderer.isRenderThread();
+  }
+
+  private void drawLayers(@NonNull Canvas canvas, int alpha) {
     if (!boundsMatchesCompositionAspectRatio()) {
-      drawWithNewAspectRatio(canvas);
+      drawWithNewAspectRatio(canvas, alpha);
     } else {
-      drawWithOriginalAspectRatio(canvas);
+      drawWithOriginalAspectRatio(canvas, alpha);
+    }
+  }
+
+  /**
+   * Draws the current frame as a bitmap that is rendered at the resolution of the canvas.
+   */
+  private void drawFromFrameCache(@NonNull Canvas canvas) {
+    Rect bounds = getBounds();
+    updateBitmapSize(canvas);
+    int width = bitmapWidth;
+    int height = bitmapHeight;
+    int frame = (int) Math.floor(animator.getFrame());
+
+    LottieFrameCache frameCache = getFrameCache();
+    FrameCacheOwner owner = getFrameCacheOwner();
+    Bitmap bitmap = frameCache.get(owner, frame, width, height);
+    if (bitmap == null) {
+      bitmap = frameCache.obtain(width, height);
+      if (bitmap == null) {
+        // The frame doesn't fit in the cache.
+        setLayersProgress(animator.getAnimatedValueAbsolute());
+        drawLayers(canvas, alpha);
+        return;
+      }
+      setLayersProgress((frame - composition.getStartFrame()) / composition.getDurationFrames());
+      if (frameCacheCanvas == null) {
+        frameCacheCanvas = new Canvas();
+      }
+      frameCacheCanvas.setBitmap(bitmap);
+      int saveCount = frameCacheCanvas.save();
+      frameCacheCanvas.scale(width / (float) bounds.width(), height / (float) bounds.height());
+      drawLayers(frameCacheCanvas, 255);
+      frameCacheCanvas.restoreToCount(saveCount);
+      frameCacheCanvas.setBitmap(null);
+      frameCache.put(owner, frame, width, height, bitmap);
     }
+    bitmapPaint.setAlpha(alpha);
+    canvas.drawBitmap(bitmap, null, bounds, bitmapPaint);
+  }
+
+  private void setLayersProgress(float progress) {
+    // Updating the layers invalidates the drawable which would draw it again right away.
+    boolean wasDirty = isDirty;
+    isDirty = true;
+    compositionLayer.setProgress(MiscUtils.clamp(progress, 0f, 1f));
+    isDirty = wasDirty;
   }
 
   private boolean boundsMatchesCompositionAspectRatio() {
@@ -921,7 +1669,9 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    * scaleTypes centerCrop and centerInside.
    */
   public void setScale(float scale) {
-    this.scale = scale;
+    synchronized (asyncRenderLock) {
+      this.scale = scale;
+    }
   }
 
   /**
@@ -936,24 +1686,31 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    * Sketch or Illustrator to avoid this.
    */
   public void setImageAssetDelegate(ImageAssetDelegate assetDelegate) {
-    this.imageAssetDelegate = assetDelegate;
-    if (imageAssetManager != null) {
-      imageAssetManager.setDelegate(assetDelegate);
+    synchronized (asyncRenderLock) {
+      this.imageAssetDelegate = assetDelegate;
+      if (imageAssetManager != null) {
+        imageAssetManager.setDelegate(assetDelegate);
+      }
     }
+    onDynamicPropertiesChanged();
   }
 
   /**
    * Use this to manually set fonts.
    */
   public void setFontAssetDelegate(FontAssetDelegate assetDelegate) {
-    this.fontAssetDelegate = assetDelegate;
-    if (fontAssetManager != null) {
-      fontAssetManager.setDelegate(assetDelegate);
+    synchronized (asyncRenderLock) {
+      this.fontAssetDelegate = assetDelegate;
+      if (fontAssetManager != null) {
+        fontAssetManager.setDelegate(assetDelegate);
+      }
     }
+    onDynamicPropertiesChanged();
   }
 
   public void setTextDelegate(@SuppressWarnings("NullableProblems") TextDelegate textDelegate) {
     this.textDelegate = textDelegate;
+    onDynamicPropertiesChanged();
   }
 
   @Nullable
@@ -1035,22 +1792,26 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
       return;
     }
     boolean invalidate;
-    if (keyPath == KeyPath.COMPOSITION) {
-      compositionLayer.addValueCallback(property, callback);
-      invalidate = true;
-    } else if (keyPath.getResolvedElement() != null) {
-      keyPath.getResolvedElement().addValueCallback(property, callback);
-      invalidate = true;
-    } else {
-      List<KeyPath> elements = resolveKeyPath(keyPath);
-
-      for (int i = 0; i < elements.size(); i++) {
-        //noinspection ConstantConditions
-        elements.get(i).getResolvedElement().addValueCallback(property, callback);
+    // The layers may be rendering on another thread.
+    synchronized (asyncRenderLock) {
+      if (keyPath == KeyPath.COMPOSITION) {
+        compositionLayer.addValueCallback(property, callback);
+        invalidate = true;
+      } else if (keyPath.getResolvedElement() != null) {
+        keyPath.getResolvedElement().addValueCallback(property, callback);
+        invalidate = true;
+      } else {
+        List<KeyPath> elements = resolveKeyPath(keyPath);
+
+        for (int i = 0; i < elements.size(); i++) {
+          //noinspection ConstantConditions
+          elements.get(i).getResolvedElement().addValueCallback(property, callback);
+        }
+        invalidate = !elements.isEmpty();
       }
-      invalidate = !elements.isEmpty();
     }
     if (invalidate) {
+      onDynamicPropertiesChanged();
       invalidateSelf();
       if (property == LottieProperty.TIME_REMAP) {
         // Time remapping values are read in setProgress. In order for the new value
@@ -1092,12 +1853,20 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
       return null;
     }
     Bitmap ret = bm.updateBitmap(id, bitmap);
+    onDynamicPropertiesChanged();
     invalidateSelf();
     return ret;
   }
 
   @Nullable
   public Bitmap getImageAsset(String id) {
+    if (composition != null && !composition.isFullyLoaded()) {
+      LottieImageAsset asset = composition.getImages().get(id);
+      if (asset != null && asset.getBitmap() == null) {
+        // The image hasn't been loaded yet. The drawable will be invalidated when it has.
+        return null;
+      }
+    }
     ImageAssetManager bm = getImageAssetManager();
     if (bm != null) {
       return bm.bitmapForId(id);
@@ -1110,28 +1879,36 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    */
   @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
   void setImageAssetManager(@Nullable ImageAssetManager imageAssetManager) {
-    this.imageAssetManagerOverride = imageAssetManager;
+    synchronized (asyncRenderLock) {
+      this.imageAssetManagerOverride = imageAssetManager;
+    }
   }
 
   private ImageAssetManager getImageAssetManager() {
-    if (imageAssetManagerOverride != null) {
-      return imageAssetManagerOverride;
-    }
-    if (getCallback() == null) {
-      // We can't get a bitmap since we can't get a Context from the callback.
-      return null;
-    }
+    synchronized (asyncRenderLock) {
+      if (imageAssetManagerOverride != null) {
+        return imageAssetManagerOverride;
+      }
+      if (isRenderThread()) {
+        // It was resolved on the main thread before the frame was requested.
+        return imageAssetManager;
+      }
+      if (getCallback() == null) {
+        // We can't get a bitmap since we can't get a Context from the callback.
+        return null;
+      }
 
-    if (imageAssetManager != null && !imageAssetManager.hasSameContext(getContext())) {
-      imageAssetManager = null;
-    }
+      if (imageAssetManager != null && !imageAssetManager.hasSameContext(getContext())) {
+        imageAssetManager = null;
+      }
 
-    if (imageAssetManager == null) {
-      imageAssetManager = new ImageAssetManager(getCallback(),
-          imageAssetsFolder, imageAssetDelegate, composition.getImages());
-    }
+      if (imageAssetManager == null) {
+        imageAssetManager = new ImageAssetManager(getCallback(),
+            imageAssetsFolder, imageAssetDelegate, composition.getImages());
+      }
 
-    return imageAssetManager;
+      return imageAssetManager;
+    }
   }
 
   @Nullable
@@ -1144,16 +1921,22 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
   }
 
   private FontAssetManager getFontAssetManager() {
-    if (getCallback() == null) {
-      // We can't get a bitmap since we can't get a Context from the callback.
-      return null;
-    }
+    synchronized (asyncRenderLock) {
+      if (isRenderThread()) {
+        // It was resolved on the main thread before the frame was requested.
+        return fontAssetManager;
+      }
+      if (getCallback() == null) {
+        // We can't get a bitmap since we can't get a Context from the callback.
+        return null;
+      }
 
-    if (fontAssetManager == null) {
-      fontAssetManager = new FontAssetManager(getCallback(), fontAssetDelegate);
-    }
+      if (fontAssetManager == null) {
+        fontAssetManager = new FontAssetManager(getCallback(), fontAssetDelegate);
+      }
 
-    return fontAssetManager;
+      return fontAssetManager;
+    }
   }
 
   @Nullable
@@ -1210,7 +1993,7 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     return Math.min(maxScaleX, maxScaleY);
   }
 
-  private void drawWithNewAspectRatio(Canvas canvas) {
+  private void drawWithNewAspectRatio(Canvas canvas, int alpha) {
     if (compositionLayer == null) {
       return;
     }
@@ -1253,7 +2036,7 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     }
   }
 
-  private void drawWithOriginalAspectRatio(Canvas canvas) {
+  private void drawWithOriginalAspectRatio(Canvas canvas, int alpha) {
     if (compositionLayer == null) {
       return;
     }
@@ -1297,4 +2080,57 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
       canvas.restoreToCount(saveCount);
     }
   }
+
+  /**
+   * Everything that determines what the frames of a drawable look like.
+   */
+  private static final class FrameCacheOwner {
+    private final LottieComposition composition;
+    @Nullable private final Object variant;
+    @Nullable private final String imageAssetsFolder;
+    private final boolean isApplyingOpacityToLayersEnabled;
+    private final boolean outlineMasksAndMattes;
+    private final boolean enableMergePaths;
+
+    FrameCacheOwner(LottieComposition composition, @Nullable Object variant, @Nullable String imageAssetsFolder,
+        boolean isApplyingOpacityToLayersEnabled, boolean outlineMasksAndMattes, boolean enableMergePaths) {
+      this.composition = composition;
+      this.variant = variant;
+      this.imageAssetsFolder = imageAssetsFolder;
+      this.isApplyingOpacityToLayersEnabled = isApplyingOpacityToLayersEnabled;
+      this.outlineMasksAndMattes = outlineMasksAndMattes;
+      this.enableMergePaths = enableMergePaths;
+    }
+
+    @Override public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof FrameCacheOwner)) {
+        return false;
+      }
+      FrameCacheOwner that = (FrameCacheOwner) o;
+      if (composition != that.composition) {
+        return false;
+      }
+      if (variant != null ? !variant.equals(that.variant) : that.variant != null) {
+        return false;
+      }
+      if (imageAssetsFolder != null ? !imageAssetsFolder.equals(that.imageAssetsFolder) : that.imageAssetsFolder != null) {
+        return false;
+      }
+      return isApplyingOpacityToLayersEnabled == that.isApplyingOpacityToLayersEnabled &&
+          outlineMasksAndMattes == that.outlineMasksAndMattes && enableMergePaths == that.enableMergePaths;
+    }
+
+    @Override public int hashCode() {
+      int result = System.identityHashCode(composition);
+      result = 31 * result + (variant != null ? variant.hashCode() : 0);
+      result = 31 * result + (imageAssetsFolder != null ? imageAssetsFolder.hashCode() : 0);
+      result = 31 * result + (isApplyingOpacityToLayersEnabled ? 1 : 0);
+      result = 31 * result + (outlineMasksAndMattes ? 1 : 0);
+      result = 31 * result + (enableMergePaths ? 1 : 0);
+      return result;
+    }
+  }
 }
@@ -0,0 +1,287 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rasterized frames of animations used by {@link RenderMode#FRAME_CACHED}.
+ * <p>
+ * Frames are keyed by their owner, frame number and the size in pixels they were rendered at. Drawables that show the
+ * same composition with the same dynamic properties share an owner and therefore share frames. Owners are reference
+ * counted. Once the last drawable of an owner releases it, its frames are removed.
+ * <p>
+ * The total size of the cached bitmaps never exceeds {@link #maxSizeBytes()}. Once it is full, the
+ * {@link EvictionPolicy} decides whether new frames replace old ones. Bitmaps of evicted frames are neither reused nor
+ * recycled because a display list that hasn't been redrawn yet may still draw them. New frames are rendered into new
+ * bitmaps and the evicted ones are reclaimed by the garbage collector once nothing draws them anymore.
+ * <p>
+ * All drawables use {@link #getSharedInstance()} unless they are given their own cache with
+ * {@link LottieDrawable#setFrameCache(LottieFrameCache)}.
+ */
+@MainThread
+public class LottieFrameCache {
+  /**
+   * The default memory ceiling. This fits 64 frames of a 128x128px animation.
+   */
+  public static final int DEFAULT_MAX_SIZE_BYTES = 4 * 1024 * 1024;
+
+  @Nullable private static LottieFrameCache sharedInstance;
+
+  /**
+   * The process wide cache that is used by drawables that haven't been given their own cache.
+   */
+  @NonNull
+  public static LottieFrameCache getSharedInstance() {
+    if (sharedInstance == null) {
+      sharedInstance = new LottieFrameCache();
+    }
+    return sharedInstance;
+  }
+
+  public enum EvictionPolicy {
+    /**
+     * Evict the least recently drawn frame to make room for a new one.
+     * This works best when only part of the animation is played repeatedly or when the whole animation fits.
+     */
+    LEAST_RECENTLY_USED,
+    /**
+     * Keep the frames that are already cached and render frames that don't fit every time they are drawn.
+     * When a looping animation doesn't fit, least recently used eviction will evict every frame before it is drawn
+     * again. This policy caches as much of the loop as fits instead.
+     */
+    KEEP_EXISTING
+  }
+
+  private final LinkedHashMap<Key, Bitmap> frames = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<Object, Integer> ownerReferences = new HashMap<>();
+  /**
+   * Used to look up frames without allocating a key.
+   */
+  private final Key lookupKey = new Key(null, 0, 0, 0);
+  private int maxSizeBytes;
+  private EvictionPolicy evictionPolicy;
+  private int sizeBytes = 0;
+  private int hitCount = 0;
+  private int missCount = 0;
+  private int evictionCount = 0;
+
+  public LottieFrameCache() {
+    this(DEFAULT_MAX_SIZE_BYTES, EvictionPolicy.LEAST_RECENTLY_USED);
+  }
+
+  public LottieFrameCache(int maxSizeBytes, @NonNull EvictionPolicy evictionPolicy) {
+    if (maxSizeBytes < 0) {
+      throw new IllegalArgumentException("maxSizeBytes must be >= 0");
+    }
+    this.maxSizeBytes = maxSizeBytes;
+    this.evictionPolicy = evictionPolicy;
+  }
+
+  /**
+   * Adds a reference to the frames of an owner.
+   */
+  void acquire(Object owner) {
+    Integer references = ownerReferences.get(owner);
+    ownerReferences.put(owner, references == null ? 1 : references + 1);
+  }
+
+  /**
+   * Removes a reference to the frames of an owner. The frames are removed once there are no references left. Their
+   * bitmaps aren't recycled since the display list of a view may still draw them.
+   */
+  void release(Object owner) {
+    Integer references = ownerReferences.get(owner);
+    if (references == null) {
+      return;
+    }
+    if (references > 1) {
+      ownerReferences.put(owner, references - 1);
+      return;
+    }
+    ownerReferences.remove(owner);
+    removeFrames(owner);
+  }
+
+  /**
+   * Returns the cached frame or null if it has to be rendered.
+   */
+  @Nullable
+  Bitmap get(Object owner, int frame, int width, int height) {
+    lookupKey.set(owner, frame, width, height);
+    Bitmap bitmap = frames.get(lookupKey);
+    lookupKey.owner = null;
+    if (bitmap == null) {
+      missCount++;
+    } else {
+      hitCount++;
+    }
+    return bitmap;
+  }
+
+  /**
+   * Returns a new bitmap to render a new frame into or null if the eviction policy doesn't allow the frame to be
+   * cached. The bitmap must be passed to {@link #put(Object, int, int, int, Bitmap)} once it has been rendered.
+   */
+  @Nullable
+  Bitmap obtain(int width, int height) {
+    int byteCount = width * height * 4;
+    if (width <= 0 || height <= 0 || byteCount > maxSizeBytes) {
+      return null;
+    }
+    if (sizeBytes + byteCount > maxSizeBytes && evictionPolicy == EvictionPolicy.KEEP_EXISTING) {
+      return null;
+    }
+    Iterator<Bitmap> it = frames.values().iterator();
+    while (sizeBytes + byteCount > maxSizeBytes && it.hasNext()) {
+      Bitmap evicted = it.next();
+      it.remove();
+      sizeBytes -= evicted.getByteCount();
+      evictionCount++;
+    }
+    // An evicted bitmap may still be drawn by a display list that hasn't been redrawn so it can't be erased.
+    return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+  }
+
+  void put(Object owner, int frame, int width, int height, Bitmap bitmap) {
+    Bitmap previous = frames.put(new Key(owner, frame, width, height), bitmap);
+    sizeBytes += bitmap.getByteCount();
+    if (previous != null) {
+      sizeBytes -= previous.getByteCount();
+    }
+  }
+
+  /**
+   * Removes the frames of an owner without changing its references. This is used when what the owner looks like
+   * changes for all of its drawables.
+   */
+  void clear(Object owner) {
+    removeFrames(owner);
+  }
+
+  /**
+   * Removes all frames. Call this if anything changes what an animation looks like such as a dynamic property.
+   */
+  public void clear() {
+    frames.clear();
+    sizeBytes = 0;
+  }
+
+  private void removeFrames(Object owner) {
+    Iterator<Map.Entry<Key, Bitmap>> it = frames.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<Key, Bitmap> entry = it.next();
+      if (entry.getKey().owner.equals(owner)) {
+        it.remove();
+        sizeBytes -= entry.getValue().getByteCount();
+      }
+    }
+  }
+
+  /**
+   * Sets the memory ceiling. Frames are evicted in least recently used order until the cache fits regardless of the
+   * eviction policy.
+   */
+  public void setMaxSizeBytes(int maxSizeBytes) {
+    if (maxSizeBytes < 0) {
+      throw new IllegalArgumentException("maxSizeBytes must be >= 0");
+    }
+    this.maxSizeBytes = maxSizeBytes;
+    Iterator<Bitmap> it = frames.values().iterator();
+    while (sizeBytes > maxSizeBytes && it.hasNext()) {
+      Bitmap evicted = it.next();
+      it.remove();
+      sizeBytes -= evicted.getByteCount();
+      evictionCount++;
+    }
+  }
+
+  public int maxSizeBytes() {
+    return maxSizeBytes;
+  }
+
+  public void setEvictionPolicy(@NonNull EvictionPolicy evictionPolicy) {
+    this.evictionPolicy = evictionPolicy;
+  }
+
+  public EvictionPolicy getEvictionPolicy() {
+    return evictionPolicy;
+  }
+
+  /**
+   * The total size of the cached bitmaps.
+   */
+  public int sizeBytes() {
+    return sizeBytes;
+  }
+
+  /**
+   * The number of cached frames.
+   */
+  public int size() {
+    return frames.size();
+  }
+
+  /**
+   * The number of distinct animations that are drawn from this cache.
+   */
+  public int ownerCount() {
+    return ownerReferences.size();
+  }
+
+  public int hitCount() {
+    return hitCount;
+  }
+
+  public int missCount() {
+    return missCount;
+  }
+
+  public int evictionCount() {
+    return evictionCount;
+  }
+
+  private static final class Key {
+    Object owner;
+    int frame;
+    int width;
+    int height;
+
+    Key(Object owner, int frame, int width, int height) {
+      set(owner, frame, width, height);
+    }
+
+    void set(Object owner, int frame, int width, int height) {
+      this.owner = owner;
+      this.frame = frame;
+      this.width = width;
+      this.height = height;
+    }
+
+    @Override public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) o;
+      return frame == that.frame && width == that.width && height == that.height && owner.equals(that.owner);
+    }
+
+    @Override public int hashCode() {
+      int result = owner.hashCode();
+      result = 31 * result + frame;
+      result = 31 * result + width;
+      result = 31 * result + height;
+      return result;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.airbnb.lottie;
+
+import androidx.annotation.FloatRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.airbnb.lottie.model.KeyPath;
+import com.airbnb.lottie.model.layer.CompositionEvaluator;
+import com.airbnb.lottie.utils.Logger;
+import com.airbnb.lottie.value.LottieContentValues;
+import com.airbnb.lottie.value.LottieLayerValues;
+import com.airbnb.lottie.value.LottieValueCallback;
+
+import java.util.List;
+
+/**
+ * Evaluates the transforms, opacities, colors, paths and text of every layer of a composition at a frame without a
+ * {@link LottieDrawable}, a view or a canvas. Use it to sample an animation many times, such as to check it or to
+ * render it with something other than a canvas.
+ * <p>
+ * The values are what {@link LottieDrawable} would draw at the same frame with the same value callbacks. Layers are
+ * returned as {@link LottieLayerValues} in the order they are in the composition, with the layers of precomps nested
+ * in them. Shape layer contents are returned as {@link LottieContentValues}. Rectangles, ellipses and polystars are
+ * converted to the same paths that are drawn. Trim paths, fills, strokes, repeaters and merge paths are returned as
+ * they are rather than being applied to the paths.
+ * <p>
+ * Matrices and paths are computed with float math rather than native {@link android.graphics.Matrix} and
+ * {@link android.graphics.Path} objects, and creating an evaluator doesn't create any android.graphics objects.
+ * This is not a headless renderer though. The parsers scale compositions by the display density, and the model keeps
+ * points such as positions, sizes and gradient points as {@link android.graphics.PointF}. Animated positions are
+ * paths that are measured with {@link android.graphics.PathMeasure}. Those values need a device or Robolectric. Only
+ * layers without them, like shape paths, fills, strokes, opacities and rotations, can be evaluated on a plain JVM.
+ * <p>
+ * An evaluator reuses its animations for every frame and must only be used by one thread at a time. To evaluate
+ * frames in parallel, create an evaluator per thread. They can share the composition.
+ */
+public class LottieFrameEvaluator {
+  private final LottieComposition composition;
+  private final CompositionEvaluator compositionEvaluator;
+
+  public LottieFrameEvaluator(@NonNull LottieComposition composition) {
+    this.composition = composition;
+    compositionEvaluator = new CompositionEvaluator(composition);
+  }
+
+  public LottieComposition getComposition() {
+    return composition;
+  }
+
+  /**
+   * Resolves a key path against the layers and contents of this evaluator. The key paths that are returned can only
+   * be used with this evaluator.
+   *
+   * @see LottieDrawable#resolveKeyPath(KeyPath)
+   */
+  @NonNull
+  public List<KeyPath> resolveKeyPath(@NonNull KeyPath keyPath) {
+    return compositionEvaluator.resolveKeyPath(keyPath);
+  }
+
+  /**
+   * Adds a value callback like {@link LottieDrawable#addValueCallback(KeyPath, Object, LottieValueCallback)} that is
+   * applied to the frames that are evaluated after it. The key path is always resolved against this evaluator, even if
+   * it was resolved by a {@link LottieDrawable}. {@link KeyPath#COMPOSITION} isn't supported because the evaluator has no
+   * root layer. Callbacks can only be added on the thread that evaluates frames.
+   */
+  public <T> void addValueCallback(@NonNull KeyPath keyPath, T property, @Nullable LottieValueCallback<T> callback) {
+    if (keyPath == KeyPath.COMPOSITION) {
+      Logger.warning("Value callbacks can't be added to the composition of a frame evaluator.");
+      return;
+    }
+    List<KeyPath> elements = resolveKeyPath(keyPath);
+    for (int i = 0; i < elements.size(); i++) {
+      //noinspection ConstantConditions
+      elements.get(i).getResolvedElement().addValueCallback(property, callback);
+    }
+  }
+
+  /**
+   * Returns the values of the layers at a frame between {@link LottieComposition#getStartFrame()} and
+   * {@link LottieComposition#getEndFrame()}.
+   */
+  @NonNull
+  public List<LottieLayerValues> evaluateFrame(float frame) {
+    return evaluateProgress((frame - composition.getStartFrame()) / composition.getDurationFrames());
+  }
+
+  /**
+   * Returns the values of the layers at a progress between 0 and 1 like {@link LottieDrawable#setProgress(float)}.
+   */
+  @NonNull
+  public List<LottieLayerValues> evaluateProgress(@FloatRange(from = 0f, to = 1f) float progress) {
+    return compositionEvaluator.evaluate(progress);
+  }
+}
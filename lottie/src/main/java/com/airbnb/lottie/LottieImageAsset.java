@@ -15,9 +15,14 @@ public class LottieImageAsset {
   private final String fileName;
   private final String dirName;
   /**
-   * Pre-set a bitmap for this asset
+   * Pre-set a bitmap for this asset. Compositions loaded from a zip with progressive loading set it on a background
+   * thread while the first frames are drawn.
    */
-  @Nullable private Bitmap bitmap;
+  @Nullable private volatile Bitmap bitmap;
+  /**
+   * Decodes the bitmap the first time it is drawn if it wasn't loaded up front.
+   */
+  @Nullable private ImageAssetDelegate lazyBitmapLoader;
 
   @RestrictTo(RestrictTo.Scope.LIBRARY)
   public LottieImageAsset(int width, int height, String id, String fileName, String dirName) {
@@ -62,6 +67,16 @@ public class LottieImageAsset {
     this.bitmap = bitmap;
   }
 
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public void setLazyBitmapLoader(@Nullable ImageAssetDelegate lazyBitmapLoader) {
+    this.lazyBitmapLoader = lazyBitmapLoader;
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  @Nullable public ImageAssetDelegate getLazyBitmapLoader() {
+    return lazyBitmapLoader;
+  }
+
   /**
    * Returns whether this asset has an embedded Bitmap or whether the fileName is a base64 encoded bitmap.
    */
@@ -24,6 +24,8 @@ public class PerformanceTracker {
   private boolean enabled = false;
   private final Set<FrameListener> frameListeners = new ArraySet<>();
   private final Map<String, MeanCalculator> layerRenderTimes = new HashMap<>();
+  private int gradientCacheHits;
+  private int gradientCacheMisses;
   private final Comparator<Pair<String, Float>> floatComparator =
       new Comparator<Pair<String, Float>>() {
         @Override public int compare(Pair<String, Float> o1, Pair<String, Float> o2) {
@@ -60,6 +62,41 @@ public class PerformanceTracker {
     }
   }
 
+  /**
+   * Records whether a gradient fill or stroke found its shader in its cache.
+   */
+  public void recordGradientCacheLookup(boolean hit) {
+    if (!enabled) {
+      return;
+    }
+    if (hit) {
+      gradientCacheHits++;
+    } else {
+      gradientCacheMisses++;
+    }
+  }
+
+  public int getGradientCacheHits() {
+    return gradientCacheHits;
+  }
+
+  public int getGradientCacheMisses() {
+    return gradientCacheMisses;
+  }
+
+  /**
+   * The fraction of gradient shaders that were found in a cache rather than created. 0 if there were no gradients.
+   */
+  public float getGradientCacheHitRate() {
+    int lookups = gradientCacheHits + gradientCacheMisses;
+    return lookups == 0 ? 0f : gradientCacheHits / (float) lookups;
+  }
+
+  public void clearGradientCacheStats() {
+    gradientCacheHits = 0;
+    gradientCacheMisses = 0;
+  }
+
   public void addFrameListener(FrameListener frameListener) {
     frameListeners.add(frameListener);
   }
@@ -82,6 +119,10 @@ public class PerformanceTracker {
       Pair<String, Float> layer = sortedRenderTimes.get(i);
       Log.d(L.TAG, String.format("\t\t%30s:%.2f", layer.first, layer.second));
     }
+    if (gradientCacheHits + gradientCacheMisses > 0) {
+      Log.d(L.TAG, String.format("Gradient cache hit rate: %.2f (%d hits, %d misses)",
+          getGradientCacheHitRate(), gradientCacheHits, gradientCacheMisses));
+    }
   }
 
   public List<Pair<String, Float>> getSortedRenderTimes() {
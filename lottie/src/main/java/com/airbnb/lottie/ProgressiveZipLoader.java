@@ -0,0 +1,218 @@
+package com.airbnb.lottie;
+
+import static com.airbnb.lottie.utils.Utils.closeQuietly;
+import static okio.Okio.buffer;
+import static okio.Okio.source;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.airbnb.lottie.model.LottieCompositionCache;
+import com.airbnb.lottie.model.layer.VisibleImageAssets;
+import com.airbnb.lottie.utils.Logger;
+import com.airbnb.lottie.utils.Utils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Loads a zip file in two stages.
+ * <p>
+ * The first stage reads the archive until the json and the images that are visible on the start frame have been
+ * loaded. The composition is returned at that point and can already be drawn. The second stage loads the remaining
+ * images in a {@link LottieTask} after which {@link LottieComposition#isFullyLoaded()} returns true and the fully
+ * loaded listeners, which are listeners of that task, are notified.
+ * <p>
+ * Images that are read before the json are kept encoded until it is known whether they are needed right away.
+ */
+class ProgressiveZipLoader {
+  private final ZipInputStream inputStream;
+  @Nullable private final String cacheKey;
+
+  @Nullable private LottieComposition composition;
+  /**
+   * Encoded images that haven't been decoded yet, keyed by file name.
+   */
+  private final Map<String, byte[]> pendingImages = new HashMap<>();
+  /**
+   * File names of the images needed to draw the start frame that haven't been decoded yet.
+   */
+  @Nullable private Set<String> requiredFileNames;
+
+  ProgressiveZipLoader(ZipInputStream inputStream, @Nullable String cacheKey) {
+    this.inputStream = inputStream;
+    this.cacheKey = cacheKey;
+  }
+
+  @WorkerThread
+  LottieResult<LottieComposition> load() {
+    boolean handedOff = false;
+    try {
+      boolean endOfStream = !readUntilFirstFrameReady();
+      if (composition == null) {
+        return new LottieResult<>(new IllegalArgumentException("Unable to parse composition"));
+      }
+      if (requiredFileNames != null && !requiredFileNames.isEmpty()) {
+        return new LottieResult<>(new IllegalStateException("There is no image for " + requiredFileNames.iterator().next()));
+      }
+      if (endOfStream) {
+        decodePendingImages();
+        LottieResult<LottieComposition> missing = checkAllImagesLoaded();
+        if (missing != null) {
+          return missing;
+        }
+      } else {
+        composition.setLoading();
+        composition.setFullyLoadedTask(new LottieTask<>(new Callable<LottieResult<LottieComposition>>() {
+          @Override public LottieResult<LottieComposition> call() {
+            return loadRemaining();
+          }
+        }));
+        handedOff = true;
+      }
+      if (cacheKey != null) {
+        LottieCompositionCache.getInstance().put(cacheKey, composition);
+      }
+      return new LottieResult<>(composition);
+    } catch (IOException e) {
+      return new LottieResult<>(e);
+    } finally {
+      if (!handedOff) {
+        closeQuietly(inputStream);
+      }
+    }
+  }
+
+  /**
+   * @return false if the end of the stream was reached.
+   */
+  private boolean readUntilFirstFrameReady() throws IOException {
+    ZipEntry entry = inputStream.getNextEntry();
+    while (entry != null) {
+      String entryName = entry.getName();
+      if (entryName.contains("__MACOSX")) {
+        inputStream.closeEntry();
+      } else if (entryName.equalsIgnoreCase("manifest.json")) { //ignore .lottie manifest
+        inputStream.closeEntry();
+      } else if (entryName.contains(".json")) {
+        composition = LottieCompositionFactory.fromJsonSourceSync(buffer(source(inputStream)), null, false).getValue();
+        if (composition == null) {
+          return false;
+        }
+        onCompositionParsed();
+      } else if (isImage(entryName)) {
+        String fileName = fileName(entryName);
+        if (requiredFileNames != null && requiredFileNames.remove(fileName)) {
+          decode(fileName, BitmapFactory.decodeStream(inputStream));
+        } else {
+          pendingImages.put(fileName, buffer(source(inputStream)).readByteArray());
+        }
+      } else {
+        inputStream.closeEntry();
+      }
+
+      if (requiredFileNames != null && requiredFileNames.isEmpty()) {
+        return true;
+      }
+      entry = inputStream.getNextEntry();
+    }
+    return false;
+  }
+
+  private void onCompositionParsed() {
+    //noinspection ConstantConditions
+    Set<String> ids = VisibleImageAssets.atFrame(composition, composition.getStartFrame());
+    requiredFileNames = new HashSet<>();
+    for (String id : ids) {
+      LottieImageAsset asset = composition.getImages().get(id);
+      if (asset != null && !asset.hasBitmap()) {
+        requiredFileNames.add(asset.getFileName());
+      }
+    }
+    for (String fileName : new HashSet<>(requiredFileNames)) {
+      byte[] bytes = pendingImages.remove(fileName);
+      if (bytes != null) {
+        requiredFileNames.remove(fileName);
+        decode(fileName, BitmapFactory.decodeByteArray(bytes, 0, bytes.length));
+      }
+    }
+  }
+
+  @WorkerThread
+  private LottieResult<LottieComposition> loadRemaining() {
+    //noinspection ConstantConditions
+    LottieComposition composition = this.composition;
+    try {
+      decodePendingImages();
+      ZipEntry entry = inputStream.getNextEntry();
+      while (entry != null) {
+        String entryName = entry.getName();
+        if (!entryName.contains("__MACOSX") && isImage(entryName)) {
+          decode(fileName(entryName), BitmapFactory.decodeStream(inputStream));
+        } else {
+          inputStream.closeEntry();
+        }
+        entry = inputStream.getNextEntry();
+      }
+    } catch (IOException e) {
+      Logger.warning("Unable to load the remaining images of the composition.", e);
+    } finally {
+      closeQuietly(inputStream);
+    }
+    LottieResult<LottieComposition> missing = checkAllImagesLoaded();
+    if (missing != null) {
+      Logger.warning("Unable to load all images of the composition.", missing.getException());
+      if (cacheKey != null && LottieCompositionCache.getInstance().get(cacheKey) == composition) {
+        // Let the next request try again.
+        LottieCompositionCache.getInstance().remove(cacheKey);
+      }
+    }
+    composition.setFullyLoaded();
+    return new LottieResult<>(composition);
+  }
+
+  private void decodePendingImages() {
+    for (Map.Entry<String, byte[]> e : pendingImages.entrySet()) {
+      byte[] bytes = e.getValue();
+      decode(e.getKey(), BitmapFactory.decodeByteArray(bytes, 0, bytes.length));
+    }
+    pendingImages.clear();
+  }
+
+  private void decode(String fileName, @Nullable Bitmap bitmap) {
+    //noinspection ConstantConditions
+    LottieImageAsset imageAsset = LottieCompositionFactory.findImageAssetForFileName(composition, fileName);
+    if (imageAsset != null && bitmap != null) {
+      imageAsset.setBitmap(Utils.resizeBitmapIfNeeded(bitmap, imageAsset.getWidth(), imageAsset.getHeight()));
+    }
+  }
+
+  @Nullable
+  private LottieResult<LottieComposition> checkAllImagesLoaded() {
+    //noinspection ConstantConditions
+    for (LottieImageAsset asset : composition.getImages().values()) {
+      if (asset.getBitmap() == null) {
+        return new LottieResult<>(new IllegalStateException("There is no image for " + asset.getFileName()));
+      }
+    }
+    return null;
+  }
+
+  private static boolean isImage(String entryName) {
+    return entryName.contains(".png") || entryName.contains(".webp") || entryName.contains(".jpg") || entryName.contains(".jpeg");
+  }
+
+  private static String fileName(String entryName) {
+    String[] splitName = entryName.split("/");
+    return splitName[splitName.length - 1];
+  }
+}
@@ -9,5 +9,17 @@ package com.airbnb.lottie;
 public enum RenderMode {
   AUTOMATIC,
   HARDWARE,
-  SOFTWARE
+  SOFTWARE,
+  /**
+   * Renders each frame into a bitmap once and draws the bitmap whenever the frame is shown again.
+   * <p>
+   * This is intended for small looping animations that are drawn many times such as spinners or like buttons in a
+   * list. Frames are quantized to whole frames of the composition and are cached per draw size in a
+   * {@link LottieFrameCache} which is bounded in memory.
+   * Dynamic properties are only applied to frames that haven't been cached yet. Call
+   * {@link LottieFrameCache#clear()} if a value callback returns a different value for a frame that was already drawn.
+   *
+   * @see LottieDrawable#getFrameCache()
+   */
+  FRAME_CACHED
 }
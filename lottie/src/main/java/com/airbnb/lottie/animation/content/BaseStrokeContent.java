@@ -37,9 +37,7 @@ import java.util.List;
 public abstract class BaseStrokeContent
     implements BaseKeyframeAnimation.AnimationListener, KeyPathElementContent, DrawingContent {
 
-  private final PathMeasure pm = new PathMeasure();
   private final Path path = new Path();
-  private final Path trimPathPath = new Path();
   private final RectF rect = new RectF();
   private final LottieDrawable lottieDrawable;
   protected final BaseLayer layer;
@@ -130,7 +128,7 @@ public abstract class BaseStrokeContent
         if (currentPathGroup == null) {
           currentPathGroup = new PathGroup(trimPathContentBefore);
         }
-        currentPathGroup.paths.add((PathContent) content);
+        currentPathGroup.addPath((PathContent) content);
       }
     }
     if (currentPathGroup != null) {
@@ -185,27 +183,74 @@ public abstract class BaseStrokeContent
       L.endSection("StrokeContent#applyTrimPath");
       return;
     }
-    path.reset();
-    for (int j = pathGroup.paths.size() - 1; j >= 0; j--) {
-      path.addPath(pathGroup.paths.get(j).getPath(), parentMatrix);
+    float start = pathGroup.trimPath.getStart().getValue();
+    float end = pathGroup.trimPath.getEnd().getValue();
+    float offset = pathGroup.trimPath.getOffset().getValue();
+    if (!pathGroup.cacheable || !pathGroup.pathsValid || !pathGroup.matrix.equals(parentMatrix)) {
+      measurePaths(pathGroup, parentMatrix);
     }
-    pm.setPath(path, false);
-    float totalLength = pm.getLength();
-    while (pm.nextContour()) {
-      totalLength += pm.getLength();
+    if (!pathGroup.trimmedPathsValid || start != pathGroup.start || end != pathGroup.end ||
+        offset != pathGroup.offset) {
+      trimPaths(pathGroup, start, end, offset);
     }
-    float offsetLength = totalLength * pathGroup.trimPath.getOffset().getValue() / 360f;
-    float startLength =
-        totalLength * pathGroup.trimPath.getStart().getValue() / 100f + offsetLength;
-    float endLength =
-        totalLength * pathGroup.trimPath.getEnd().getValue() / 100f + offsetLength;
+    for (int i = 0; i < pathGroup.trimmedPathCount; i++) {
+      canvas.drawPath(pathGroup.trimmedPaths.get(i), paint);
+    }
+    L.endSection("StrokeContent#applyTrimPath");
+  }
+
+  /**
+   * Transforms the paths of the group by parentMatrix and measures them.
+   */
+  private void measurePaths(PathGroup pathGroup, Matrix parentMatrix) {
+    L.beginSection("StrokeContent#measurePaths");
+    int size = pathGroup.paths.size();
+    while (pathGroup.transformedPaths.size() < size) {
+      pathGroup.transformedPaths.add(new Path());
+      pathGroup.pathMeasures.add(new PathMeasure());
+    }
+    if (pathGroup.lengths.length < size) {
+      pathGroup.lengths = new float[size];
+    }
+    float totalLength = 0;
+    for (int j = size - 1; j >= 0; j--) {
+      Path transformedPath = pathGroup.transformedPaths.get(j);
+      transformedPath.set(pathGroup.paths.get(j).getPath());
+      transformedPath.transform(parentMatrix);
+      PathMeasure pathMeasure = pathGroup.pathMeasures.get(j);
+      pathMeasure.setPath(transformedPath, false);
+      // Only the first contour of each path is trimmed but the total includes every contour.
+      pathGroup.lengths[j] = pathMeasure.getLength();
+      totalLength += pathGroup.lengths[j];
+      if (pathMeasure.nextContour()) {
+        do {
+          totalLength += pathMeasure.getLength();
+        } while (pathMeasure.nextContour());
+        // Go back to the first contour to trim it.
+        pathMeasure.setPath(transformedPath, false);
+      }
+    }
+    pathGroup.totalLength = totalLength;
+    pathGroup.matrix.set(parentMatrix);
+    pathGroup.pathsValid = true;
+    pathGroup.trimmedPathsValid = false;
+    L.endSection("StrokeContent#measurePaths");
+  }
 
+  /**
+   * Sets the trimmed paths of the group to the segments of its measured paths that are between start and end.
+   */
+  private void trimPaths(PathGroup pathGroup, float start, float end, float offset) {
+    float totalLength = pathGroup.totalLength;
+    float offsetLength = totalLength * offset / 360f;
+    float startLength = totalLength * start / 100f + offsetLength;
+    float endLength = totalLength * end / 100f + offsetLength;
+
+    pathGroup.trimmedPathCount = 0;
     float currentLength = 0;
     for (int j = pathGroup.paths.size() - 1; j >= 0; j--) {
-      trimPathPath.set(pathGroup.paths.get(j).getPath());
-      trimPathPath.transform(parentMatrix);
-      pm.setPath(trimPathPath, false);
-      float length = pm.getLength();
+      Path transformedPath = pathGroup.transformedPaths.get(j);
+      float length = pathGroup.lengths[j];
       if (endLength > totalLength && endLength - totalLength < currentLength + length &&
           currentLength < endLength - totalLength) {
         // Draw the segment when the end is greater than the length which wraps around to the
@@ -217,14 +262,15 @@ public abstract class BaseStrokeContent
           startValue = 0;
         }
         float endValue = Math.min((endLength - totalLength) / length, 1);
-        Utils.applyTrimPathIfNeeded(trimPathPath, startValue, endValue, 0);
-        canvas.drawPath(trimPathPath, paint);
+        Path trimmedPath = pathGroup.nextTrimmedPath();
+        trimmedPath.set(transformedPath);
+        Utils.applyTrimPathIfNeeded(trimmedPath, pathGroup.pathMeasures.get(j), startValue, endValue, 0);
       } else
         //noinspection StatementWithEmptyBody
         if (currentLength + length < startLength || currentLength > endLength) {
           // Do nothing
         } else if (currentLength + length <= endLength && startLength < currentLength) {
-          canvas.drawPath(trimPathPath, paint);
+          pathGroup.nextTrimmedPath().set(transformedPath);
         } else {
           float startValue;
           if (startLength < currentLength) {
@@ -238,12 +284,16 @@ public abstract class BaseStrokeContent
           } else {
             endValue = (endLength - currentLength) / length;
           }
-          Utils.applyTrimPathIfNeeded(trimPathPath, startValue, endValue, 0);
-          canvas.drawPath(trimPathPath, paint);
+          Path trimmedPath = pathGroup.nextTrimmedPath();
+          trimmedPath.set(transformedPath);
+          Utils.applyTrimPathIfNeeded(trimmedPath, pathGroup.pathMeasures.get(j), startValue, endValue, 0);
         }
       currentLength += length;
     }
-    L.endSection("StrokeContent#applyTrimPath");
+    pathGroup.start = start;
+    pathGroup.end = end;
+    pathGroup.offset = offset;
+    pathGroup.trimmedPathsValid = true;
   }
 
   @Override public void getBounds(RectF outBounds, Matrix parentMatrix, boolean applyParents) {
@@ -333,12 +383,58 @@ public abstract class BaseStrokeContent
   /**
    * Data class to help drawing trim paths individually.
    */
-  private static final class PathGroup {
+  private static final class PathGroup implements BaseKeyframeAnimation.AnimationListener {
     private final List<PathContent> paths = new ArrayList<>();
     @Nullable private final TrimPathContent trimPath;
+    /**
+     * The paths transformed by matrix, the length of their first contours and path measures that are set to them.
+     * These are reused until a path changes or the group is drawn with a different matrix. The path measures keep the
+     * length tables of the paths so that trimming them doesn't have to measure them again.
+     */
+    private final List<Path> transformedPaths = new ArrayList<>();
+    private final List<PathMeasure> pathMeasures = new ArrayList<>();
+    private float[] lengths = new float[0];
+    private float totalLength;
+    private final Matrix matrix = new Matrix();
+    private boolean pathsValid;
+    /**
+     * The segments that are drawn for the trim path values start, end and offset. These are reused until the paths are
+     * measured again or the trim path values change.
+     */
+    private final List<Path> trimmedPaths = new ArrayList<>();
+    private int trimmedPathCount;
+    private float start;
+    private float end;
+    private float offset;
+    private boolean trimmedPathsValid;
+    /**
+     * Whether every path notifies this group when it changes. Otherwise, the paths are measured every time they are
+     * drawn.
+     */
+    private boolean cacheable = true;
 
     private PathGroup(@Nullable TrimPathContent trimPath) {
       this.trimPath = trimPath;
     }
+
+    private void addPath(PathContent path) {
+      paths.add(path);
+      if (path instanceof ObservablePathContent) {
+        ((ObservablePathContent) path).addPathChangeListener(this);
+      } else {
+        cacheable = false;
+      }
+    }
+
+    @Override public void onValueChanged() {
+      pathsValid = false;
+    }
+
+    private Path nextTrimmedPath() {
+      if (trimmedPathCount == trimmedPaths.size()) {
+        trimmedPaths.add(new Path());
+      }
+      return trimmedPaths.get(trimmedPathCount++);
+    }
   }
 }
@@ -5,8 +5,10 @@ import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.RectF;
+import android.os.Build;
 
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 
 import com.airbnb.lottie.LottieDrawable;
 import com.airbnb.lottie.animation.LPaint;
@@ -191,6 +193,41 @@ public class ContentGroup implements DrawingContent, PathContent,
     }
   }
 
+  /**
+   * Adds the area that this group fills to outPath if everything that it draws is an opaque fill. The path can then
+   * be used as a clip in place of drawing the group.
+   *
+   * @return false if the group draws anything that isn't an opaque fill.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+  public boolean addOpaqueFillPath(Path outPath, Matrix parentMatrix) {
+    if (hidden) {
+      return true;
+    }
+    matrix.set(parentMatrix);
+    if (transformAnimation != null) {
+      matrix.preConcat(transformAnimation.getMatrix());
+      if (transformAnimation.getOpacity() != null && transformAnimation.getOpacity().getValue() != 100) {
+        return false;
+      }
+    }
+    for (int i = contents.size() - 1; i >= 0; i--) {
+      Content content = contents.get(i);
+      if (content instanceof ContentGroup) {
+        if (!((ContentGroup) content).addOpaqueFillPath(outPath, matrix)) {
+          return false;
+        }
+      } else if (content instanceof FillContent) {
+        if (!((FillContent) content).addOpaquePath(outPath, matrix)) {
+          return false;
+        }
+      } else if (content instanceof DrawingContent) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private boolean hasTwoOrMoreDrawableContent() {
     int drawableContentCount = 0;
     for (int i = 0; i < contents.size(); i++) {
@@ -15,13 +15,13 @@ import com.airbnb.lottie.model.layer.BaseLayer;
 import com.airbnb.lottie.utils.MiscUtils;
 import com.airbnb.lottie.value.LottieValueCallback;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class EllipseContent
-    implements PathContent, BaseKeyframeAnimation.AnimationListener, KeyPathElementContent {
-  private static final float ELLIPSE_CONTROL_POINT_PERCENTAGE = 0.55228f;
-
+    implements ObservablePathContent, BaseKeyframeAnimation.AnimationListener, KeyPathElementContent {
   private final Path path = new Path();
+  private final ShapeGeometry.Contour contour = new ShapeGeometry.PathContour(path);
 
   private final String name;
   private final LottieDrawable lottieDrawable;
@@ -31,6 +31,7 @@ public class EllipseContent
 
   private CompoundTrimPathContent trimPaths = new CompoundTrimPathContent();
   private boolean isPathValid;
+  private final List<BaseKeyframeAnimation.AnimationListener> pathChangeListeners = new ArrayList<>();
 
   public EllipseContent(LottieDrawable lottieDrawable, BaseLayer layer, CircleShape circleShape) {
     name = circleShape.getName();
@@ -52,9 +53,16 @@ public class EllipseContent
 
   private void invalidate() {
     isPathValid = false;
+    for (int i = 0; i < pathChangeListeners.size(); i++) {
+      pathChangeListeners.get(i).onValueChanged();
+    }
     lottieDrawable.invalidateSelf();
   }
 
+  @Override public void addPathChangeListener(BaseKeyframeAnimation.AnimationListener listener) {
+    pathChangeListeners.add(listener);
+  }
+
   @Override public void setContents(List<Content> contentsBefore, List<Content> contentsAfter) {
     for (int i = 0; i < contentsBefore.size(); i++) {
       Content content = contentsBefore.get(i);
@@ -83,30 +91,8 @@ public class EllipseContent
     }
 
     PointF size = sizeAnimation.getValue();
-    float halfWidth = size.x / 2f;
-    float halfHeight = size.y / 2f;
-    // TODO: handle bounds
-
-    float cpW = halfWidth * ELLIPSE_CONTROL_POINT_PERCENTAGE;
-    float cpH = halfHeight * ELLIPSE_CONTROL_POINT_PERCENTAGE;
-
-    path.reset();
-    if (circleShape.isReversed()) {
-      path.moveTo(0, -halfHeight);
-      path.cubicTo(0 - cpW, -halfHeight, -halfWidth, 0 - cpH, -halfWidth, 0);
-      path.cubicTo(-halfWidth, 0 + cpH, 0 - cpW, halfHeight, 0, halfHeight);
-      path.cubicTo(0 + cpW, halfHeight, halfWidth, 0 + cpH, halfWidth, 0);
-      path.cubicTo(halfWidth, 0 - cpH, 0 + cpW, -halfHeight, 0, -halfHeight);
-    } else {
-      path.moveTo(0, -halfHeight);
-      path.cubicTo(0 + cpW, -halfHeight, halfWidth, 0 - cpH, halfWidth, 0);
-      path.cubicTo(halfWidth, 0 + cpH, 0 + cpW, halfHeight, 0, halfHeight);
-      path.cubicTo(0 - cpW, halfHeight, -halfWidth, 0 + cpH, -halfWidth, 0);
-      path.cubicTo(-halfWidth, 0 - cpH, 0 - cpW, -halfHeight, 0, -halfHeight);
-    }
-
     PointF position = positionAnimation.getValue();
-    path.offset(position.x, position.y);
+    ShapeGeometry.ellipse(contour, position.x, position.y, size.x, size.y, circleShape.isReversed());
 
     path.close();
 
@@ -8,8 +8,10 @@ import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.RectF;
+import android.os.Build;
 
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 
 import com.airbnb.lottie.L;
 import com.airbnb.lottie.LottieDrawable;
@@ -101,6 +103,28 @@ public class FillContent
     L.endSection("FillContent#draw");
   }
 
+  /**
+   * Adds the area that this fill covers to outPath if it is fully opaque.
+   *
+   * @return false if the fill is translucent or has a color filter.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+  boolean addOpaquePath(Path outPath, Matrix parentMatrix) {
+    if (hidden) {
+      return true;
+    }
+    if (colorAnimation == null || opacityAnimation.getValue() != 100 || colorFilterAnimation != null) {
+      return false;
+    }
+    path.reset();
+    for (int i = 0; i < paths.size(); i++) {
+      path.addPath(paths.get(i).getPath(), parentMatrix);
+    }
+    // The alpha of the color is replaced by the opacity when the fill is drawn so it doesn't have to be checked.
+    outPath.op(path, Path.Op.UNION);
+    return true;
+  }
+
   @Override public void getBounds(RectF outBounds, Matrix parentMatrix, boolean applyParents) {
     path.reset();
     for (int i = 0; i < paths.size(); i++) {
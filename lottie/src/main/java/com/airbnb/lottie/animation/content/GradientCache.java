@@ -0,0 +1,205 @@
+package com.airbnb.lottie.animation.content;
+
+import android.graphics.LinearGradient;
+import android.graphics.RadialGradient;
+import android.graphics.Shader;
+
+import androidx.annotation.Nullable;
+
+import com.airbnb.lottie.PerformanceTracker;
+import com.airbnb.lottie.model.content.GradientType;
+
+import java.util.Arrays;
+
+/**
+ * A bounded cache of the gradient shaders of a gradient fill or stroke. Once it is full, the least recently used
+ * shader is replaced.
+ * <p>
+ * Animated gradients rarely have exactly the same values twice so by default, shaders are keyed on the progress of
+ * the gradient's animations rounded to steps of {@link #PROGRESS_STEP_MS}. The cache holds a shader for every step of
+ * the animation up to {@link #MAX_SIZE} so looping gradients reuse their shaders from the second loop on.
+ * <p>
+ * Alternatively, shaders are keyed on the points and colors that they are created from. These can be quantized to a
+ * tolerance so that nearby values share a shader. The shader is then created from the quantized values so what is
+ * drawn only depends on the values and not on which shaders happen to be cached.
+ */
+class GradientCache {
+  static final long NO_PROGRESS_KEY = -1;
+  static final int PROGRESS_STEP_MS = 32;
+  static final int MIN_SIZE = 16;
+  static final int MAX_SIZE = 256;
+
+  private final GradientType type;
+  private final int progressSteps;
+  private final Entry[] entries;
+  private int size;
+  private long accessCount;
+  private int[] quantizedColors = new int[0];
+
+  /**
+   * @param durationMs the duration of the composition which determines how many progress steps the gradient has.
+   */
+  GradientCache(GradientType type, float durationMs) {
+    this.type = type;
+    progressSteps = Math.max(1, (int) (durationMs / PROGRESS_STEP_MS));
+    entries = new Entry[Math.max(MIN_SIZE, Math.min(progressSteps + 1, MAX_SIZE))];
+  }
+
+  /**
+   * Returns the key of a gradient whose start point, end point and color animations are at these progresses. Each one
+   * is rounded to a progress step.
+   */
+  long getProgressKey(float startPointProgress, float endPointProgress, float colorProgress) {
+    long stepCount = progressSteps + 1;
+    return (Math.round(startPointProgress * progressSteps) * stepCount + Math.round(endPointProgress * progressSteps)) *
+        stepCount + Math.round(colorProgress * progressSteps);
+  }
+
+  int getMaxSize() {
+    return entries.length;
+  }
+
+  /**
+   * Returns a shader for the gradient from (x0, y0) to (x1, y1). For a radial gradient, the end point is on its
+   * circumference.
+   *
+   * @param progressKey the key from {@link #getProgressKey(float, float, float)}. Shaders are then shared by every
+   *                    gradient with this key. {@link #NO_PROGRESS_KEY} to key the shader on its values.
+   * @param pointTolerance the points are rounded to a multiple of this. 0 to use the exact points.
+   * @param colorTolerance each channel of the colors is rounded to a multiple of this. 0 to use the exact colors.
+   */
+  Shader getShader(long progressKey, float x0, float y0, float x1, float y1, int[] colors,
+      @Nullable float[] positions, float pointTolerance, int colorTolerance,
+      @Nullable PerformanceTracker performanceTracker) {
+    x0 = quantize(x0, pointTolerance);
+    y0 = quantize(y0, pointTolerance);
+    x1 = quantize(x1, pointTolerance);
+    y1 = quantize(y1, pointTolerance);
+    if (colorTolerance > 1) {
+      if (quantizedColors.length != colors.length) {
+        quantizedColors = new int[colors.length];
+      }
+      for (int i = 0; i < colors.length; i++) {
+        quantizedColors[i] = quantizeColor(colors[i], colorTolerance);
+      }
+      colors = quantizedColors;
+    }
+
+    int hash = hash(x0, y0, x1, y1, colors, positions);
+    accessCount++;
+    for (int i = 0; i < size; i++) {
+      Entry entry = entries[i];
+      if (progressKey == NO_PROGRESS_KEY ? entry.matches(hash, x0, y0, x1, y1, colors, positions) :
+          entry.progressKey == progressKey) {
+        entry.lastAccess = accessCount;
+        if (performanceTracker != null) {
+          performanceTracker.recordGradientCacheLookup(true);
+        }
+        return entry.shader;
+      }
+    }
+    if (performanceTracker != null) {
+      performanceTracker.recordGradientCacheLookup(false);
+    }
+
+    Shader shader = createShader(x0, y0, x1, y1, colors, positions);
+    Entry entry;
+    if (size < entries.length) {
+      entry = new Entry();
+      entries[size++] = entry;
+    } else {
+      entry = entries[0];
+      for (int i = 1; i < size; i++) {
+        if (entries[i].lastAccess < entry.lastAccess) {
+          entry = entries[i];
+        }
+      }
+    }
+    entry.set(progressKey, hash, x0, y0, x1, y1, colors, positions, shader);
+    entry.lastAccess = accessCount;
+    return shader;
+  }
+
+  int size() {
+    return size;
+  }
+
+  void clear() {
+    for (int i = 0; i < size; i++) {
+      entries[i] = null;
+    }
+    size = 0;
+  }
+
+  private Shader createShader(float x0, float y0, float x1, float y1, int[] colors, @Nullable float[] positions) {
+    if (type == GradientType.LINEAR) {
+      return new LinearGradient(x0, y0, x1, y1, colors, positions, Shader.TileMode.CLAMP);
+    }
+    float r = (float) Math.hypot(x1 - x0, y1 - y0);
+    if (r <= 0) {
+      r = 0.001f;
+    }
+    return new RadialGradient(x0, y0, r, colors, positions, Shader.TileMode.CLAMP);
+  }
+
+  static float quantize(float value, float tolerance) {
+    if (tolerance <= 0) {
+      return value;
+    }
+    return Math.round(value / tolerance) * tolerance;
+  }
+
+  static int quantizeColor(int color, int tolerance) {
+    return quantizeChannel(color >>> 24, tolerance) << 24 |
+        quantizeChannel((color >> 16) & 0xFF, tolerance) << 16 |
+        quantizeChannel((color >> 8) & 0xFF, tolerance) << 8 |
+        quantizeChannel(color & 0xFF, tolerance);
+  }
+
+  private static int quantizeChannel(int channel, int tolerance) {
+    return Math.min(255, Math.round(channel / (float) tolerance) * tolerance);
+  }
+
+  private static int hash(float x0, float y0, float x1, float y1, int[] colors, @Nullable float[] positions) {
+    int hash = Float.floatToIntBits(x0);
+    hash = 31 * hash + Float.floatToIntBits(y0);
+    hash = 31 * hash + Float.floatToIntBits(x1);
+    hash = 31 * hash + Float.floatToIntBits(y1);
+    hash = 31 * hash + Arrays.hashCode(colors);
+    hash = 31 * hash + Arrays.hashCode(positions);
+    return hash;
+  }
+
+  private static final class Entry {
+    private long progressKey;
+    private int hash;
+    private float x0;
+    private float y0;
+    private float x1;
+    private float y1;
+    private int[] colors;
+    @Nullable private float[] positions;
+    private Shader shader;
+    private long lastAccess;
+
+    private boolean matches(int hash, float x0, float y0, float x1, float y1, int[] colors,
+        @Nullable float[] positions) {
+      return progressKey == NO_PROGRESS_KEY && this.hash == hash && this.x0 == x0 && this.y0 == y0 && this.x1 == x1 && this.y1 == y1 &&
+          Arrays.equals(this.colors, colors) && Arrays.equals(this.positions, positions);
+    }
+
+    private void set(long progressKey, int hash, float x0, float y0, float x1, float y1, int[] colors,
+        @Nullable float[] positions, Shader shader) {
+      this.progressKey = progressKey;
+      this.hash = hash;
+      this.x0 = x0;
+      this.y0 = y0;
+      this.x1 = x1;
+      this.y1 = y1;
+      // The arrays of the animations are reused for every frame so they have to be copied.
+      this.colors = colors.clone();
+      this.positions = positions == null ? null : positions.clone();
+      this.shader = shader;
+    }
+  }
+}
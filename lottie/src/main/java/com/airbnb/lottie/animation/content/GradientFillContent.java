@@ -4,20 +4,18 @@ import static com.airbnb.lottie.utils.MiscUtils.clamp;
 
 import android.graphics.Canvas;
 import android.graphics.ColorFilter;
-import android.graphics.LinearGradient;
 import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.PointF;
-import android.graphics.RadialGradient;
 import android.graphics.RectF;
 import android.graphics.Shader;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.collection.LongSparseArray;
 
 import com.airbnb.lottie.L;
+import com.airbnb.lottie.LottieComposition;
 import com.airbnb.lottie.LottieDrawable;
 import com.airbnb.lottie.LottieProperty;
 import com.airbnb.lottie.animation.LPaint;
@@ -26,7 +24,6 @@ import com.airbnb.lottie.animation.keyframe.ValueCallbackKeyframeAnimation;
 import com.airbnb.lottie.model.KeyPath;
 import com.airbnb.lottie.model.content.GradientColor;
 import com.airbnb.lottie.model.content.GradientFill;
-import com.airbnb.lottie.model.content.GradientType;
 import com.airbnb.lottie.model.layer.BaseLayer;
 import com.airbnb.lottie.utils.MiscUtils;
 import com.airbnb.lottie.value.LottieValueCallback;
@@ -36,20 +33,14 @@ import java.util.List;
 
 public class GradientFillContent
     implements DrawingContent, BaseKeyframeAnimation.AnimationListener, KeyPathElementContent {
-  /**
-   * Cache the gradients such that it runs at 30fps.
-   */
-  private static final int CACHE_STEPS_MS = 32;
   @NonNull private final String name;
   private final boolean hidden;
   private final BaseLayer layer;
-  private final LongSparseArray<LinearGradient> linearGradientCache = new LongSparseArray<>();
-  private final LongSparseArray<RadialGradient> radialGradientCache = new LongSparseArray<>();
+  private final GradientCache gradientCache;
   private final Path path = new Path();
   private final Paint paint = new LPaint(Paint.ANTI_ALIAS_FLAG);
   private final RectF boundsRect = new RectF();
   private final List<PathContent> paths = new ArrayList<>();
-  private final GradientType type;
   private final BaseKeyframeAnimation<GradientColor, GradientColor> colorAnimation;
   private final BaseKeyframeAnimation<Integer, Integer> opacityAnimation;
   private final BaseKeyframeAnimation<PointF, PointF> startPointAnimation;
@@ -57,16 +48,14 @@ public class GradientFillContent
   @Nullable private BaseKeyframeAnimation<ColorFilter, ColorFilter> colorFilterAnimation;
   @Nullable private ValueCallbackKeyframeAnimation colorCallbackAnimation;
   private final LottieDrawable lottieDrawable;
-  private final int cacheSteps;
 
   public GradientFillContent(final LottieDrawable lottieDrawable, BaseLayer layer, GradientFill fill) {
     this.layer = layer;
     name = fill.getName();
     hidden = fill.isHidden();
     this.lottieDrawable = lottieDrawable;
-    type = fill.getGradientType();
     path.setFillType(fill.getFillType());
-    cacheSteps = (int) (lottieDrawable.getComposition().getDuration() / CACHE_STEPS_MS);
+    gradientCache = new GradientCache(fill.getGradientType(), lottieDrawable.getComposition().getDuration());
 
     colorAnimation = fill.getGradientColor().createAnimation();
     colorAnimation.addUpdateListener(this);
@@ -110,12 +99,7 @@ public class GradientFillContent
 
     path.computeBounds(boundsRect, false);
 
-    Shader shader;
-    if (type == GradientType.LINEAR) {
-      shader = getLinearGradient();
-    } else {
-      shader = getRadialGradient();
-    }
+    Shader shader = getGradient();
     shader.setLocalMatrix(parentMatrix);
     paint.setShader(shader);
 
@@ -150,62 +134,23 @@ public class GradientFillContent
     return name;
   }
 
-  private LinearGradient getLinearGradient() {
-    int gradientHash = getGradientHash();
-    LinearGradient gradient = linearGradientCache.get(gradientHash);
-    if (gradient != null) {
-      return gradient;
-    }
+  private Shader getGradient() {
     PointF startPoint = startPointAnimation.getValue();
     PointF endPoint = endPointAnimation.getValue();
     GradientColor gradientColor = colorAnimation.getValue();
     int[] colors = applyDynamicColorsIfNeeded(gradientColor.getColors());
     float[] positions = gradientColor.getPositions();
-    gradient = new LinearGradient(startPoint.x, startPoint.y, endPoint.x, endPoint.y, colors,
-        positions, Shader.TileMode.CLAMP);
-    linearGradientCache.put(gradientHash, gradient);
-    return gradient;
-  }
-
-  private RadialGradient getRadialGradient() {
-    int gradientHash = getGradientHash();
-    RadialGradient gradient = radialGradientCache.get(gradientHash);
-    if (gradient != null) {
-      return gradient;
-    }
-    PointF startPoint = startPointAnimation.getValue();
-    PointF endPoint = endPointAnimation.getValue();
-    GradientColor gradientColor = colorAnimation.getValue();
-    int[] colors = applyDynamicColorsIfNeeded(gradientColor.getColors());
-    float[] positions = gradientColor.getPositions();
-    float x0 = startPoint.x;
-    float y0 = startPoint.y;
-    float x1 = endPoint.x;
-    float y1 = endPoint.y;
-    float r = (float) Math.hypot(x1 - x0, y1 - y0);
-    if (r <= 0) {
-      r = 0.001f;
-    }
-    gradient = new RadialGradient(x0, y0, r, colors, positions, Shader.TileMode.CLAMP);
-    radialGradientCache.put(gradientHash, gradient);
-    return gradient;
-  }
-
-  private int getGradientHash() {
-    int startPointProgress = Math.round(startPointAnimation.getProgress() * cacheSteps);
-    int endPointProgress = Math.round(endPointAnimation.getProgress() * cacheSteps);
-    int colorProgress = Math.round(colorAnimation.getProgress() * cacheSteps);
-    int hash = 17;
-    if (startPointProgress != 0) {
-      hash = hash * 31 * startPointProgress;
-    }
-    if (endPointProgress != 0) {
-      hash = hash * 31 * endPointProgress;
-    }
-    if (colorProgress != 0) {
-      hash = hash * 31 * colorProgress;
+    float pointTolerance = lottieDrawable.getGradientPointTolerance();
+    int colorTolerance = lottieDrawable.getGradientColorTolerance();
+    long progressKey = GradientCache.NO_PROGRESS_KEY;
+    // Dynamic colors can change without the progress changing and tolerances opt into keying shaders on their values.
+    if (colorCallbackAnimation == null && pointTolerance == 0 && colorTolerance == 0) {
+      progressKey = gradientCache.getProgressKey(
+          startPointAnimation.getProgress(), endPointAnimation.getProgress(), colorAnimation.getProgress());
     }
-    return hash;
+    LottieComposition composition = lottieDrawable.getComposition();
+    return gradientCache.getShader(progressKey, startPoint.x, startPoint.y, endPoint.x, endPoint.y, colors, positions,
+        pointTolerance, colorTolerance, composition == null ? null : composition.getPerformanceTracker());
   }
 
   private int[] applyDynamicColorsIfNeeded(int[] colors) {
@@ -257,8 +202,6 @@ public class GradientFillContent
         colorCallbackAnimation = null;
       } else {
         //noinspection rawtypes
-        linearGradientCache.clear();
-        radialGradientCache.clear();
         colorCallbackAnimation = new ValueCallbackKeyframeAnimation<>(callback);
         colorCallbackAnimation.addUpdateListener(this);
         layer.addAnimation(colorCallbackAnimation);
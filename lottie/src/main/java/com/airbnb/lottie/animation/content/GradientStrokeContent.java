@@ -1,40 +1,30 @@
 package com.airbnb.lottie.animation.content;
 
 import android.graphics.Canvas;
-import android.graphics.LinearGradient;
 import android.graphics.Matrix;
 import android.graphics.PointF;
-import android.graphics.RadialGradient;
 import android.graphics.RectF;
 import android.graphics.Shader;
 
 import androidx.annotation.Nullable;
-import androidx.collection.LongSparseArray;
 
+import com.airbnb.lottie.LottieComposition;
 import com.airbnb.lottie.LottieDrawable;
 import com.airbnb.lottie.LottieProperty;
 import com.airbnb.lottie.animation.keyframe.BaseKeyframeAnimation;
 import com.airbnb.lottie.animation.keyframe.ValueCallbackKeyframeAnimation;
 import com.airbnb.lottie.model.content.GradientColor;
 import com.airbnb.lottie.model.content.GradientStroke;
-import com.airbnb.lottie.model.content.GradientType;
 import com.airbnb.lottie.model.layer.BaseLayer;
 import com.airbnb.lottie.value.LottieValueCallback;
 
 public class GradientStrokeContent extends BaseStrokeContent {
-  /**
-   * Cache the gradients such that it runs at 30fps.
-   */
-  private static final int CACHE_STEPS_MS = 32;
-
   private final String name;
   private final boolean hidden;
-  private final LongSparseArray<LinearGradient> linearGradientCache = new LongSparseArray<>();
-  private final LongSparseArray<RadialGradient> radialGradientCache = new LongSparseArray<>();
+  private final LottieDrawable lottieDrawable;
+  private final GradientCache gradientCache;
   private final RectF boundsRect = new RectF();
 
-  private final GradientType type;
-  private final int cacheSteps;
   private final BaseKeyframeAnimation<GradientColor, GradientColor> colorAnimation;
   private final BaseKeyframeAnimation<PointF, PointF> startPointAnimation;
   private final BaseKeyframeAnimation<PointF, PointF> endPointAnimation;
@@ -46,10 +36,10 @@ public class GradientStrokeContent extends BaseStrokeContent {
         stroke.getJoinType().toPaintJoin(), stroke.getMiterLimit(), stroke.getOpacity(),
         stroke.getWidth(), stroke.getLineDashPattern(), stroke.getDashOffset());
 
+    this.lottieDrawable = lottieDrawable;
     name = stroke.getName();
-    type = stroke.getGradientType();
     hidden = stroke.isHidden();
-    cacheSteps = (int) (lottieDrawable.getComposition().getDuration() / CACHE_STEPS_MS);
+    gradientCache = new GradientCache(stroke.getGradientType(), lottieDrawable.getComposition().getDuration());
 
     colorAnimation = stroke.getGradientColor().createAnimation();
     colorAnimation.addUpdateListener(this);
@@ -70,12 +60,7 @@ public class GradientStrokeContent extends BaseStrokeContent {
     }
     getBounds(boundsRect, parentMatrix, false);
 
-    Shader shader;
-    if (type == GradientType.LINEAR) {
-      shader = getLinearGradient();
-    } else {
-      shader = getRadialGradient();
-    }
+    Shader shader = getGradient();
     shader.setLocalMatrix(parentMatrix);
     paint.setShader(shader);
 
@@ -86,62 +71,23 @@ public class GradientStrokeContent extends BaseStrokeContent {
     return name;
   }
 
-  private LinearGradient getLinearGradient() {
-    int gradientHash = getGradientHash();
-    LinearGradient gradient = linearGradientCache.get(gradientHash);
-    if (gradient != null) {
-      return gradient;
-    }
+  private Shader getGradient() {
     PointF startPoint = startPointAnimation.getValue();
     PointF endPoint = endPointAnimation.getValue();
     GradientColor gradientColor = colorAnimation.getValue();
     int[] colors = applyDynamicColorsIfNeeded(gradientColor.getColors());
     float[] positions = gradientColor.getPositions();
-    float x0 = startPoint.x;
-    float y0 = startPoint.y;
-    float x1 = endPoint.x;
-    float y1 = endPoint.y;
-    gradient = new LinearGradient(x0, y0, x1, y1, colors, positions, Shader.TileMode.CLAMP);
-    linearGradientCache.put(gradientHash, gradient);
-    return gradient;
-  }
-
-  private RadialGradient getRadialGradient() {
-    int gradientHash = getGradientHash();
-    RadialGradient gradient = radialGradientCache.get(gradientHash);
-    if (gradient != null) {
-      return gradient;
-    }
-    PointF startPoint = startPointAnimation.getValue();
-    PointF endPoint = endPointAnimation.getValue();
-    GradientColor gradientColor = colorAnimation.getValue();
-    int[] colors = applyDynamicColorsIfNeeded(gradientColor.getColors());
-    float[] positions = gradientColor.getPositions();
-    float x0 = startPoint.x;
-    float y0 = startPoint.y;
-    float x1 = endPoint.x;
-    float y1 = endPoint.y;
-    float r = (float) Math.hypot(x1 - x0, y1 - y0);
-    gradient = new RadialGradient(x0, y0, r, colors, positions, Shader.TileMode.CLAMP);
-    radialGradientCache.put(gradientHash, gradient);
-    return gradient;
-  }
-
-  private int getGradientHash() {
-    int startPointProgress = Math.round(startPointAnimation.getProgress() * cacheSteps);
-    int endPointProgress = Math.round(endPointAnimation.getProgress() * cacheSteps);
-    int colorProgress = Math.round(colorAnimation.getProgress() * cacheSteps);
-    int hash = 17;
-    if (startPointProgress != 0) {
-      hash = hash * 31 * startPointProgress;
-    }
-    if (endPointProgress != 0) {
-      hash = hash * 31 * endPointProgress;
-    }
-    if (colorProgress != 0) {
-      hash = hash * 31 * colorProgress;
+    float pointTolerance = lottieDrawable.getGradientPointTolerance();
+    int colorTolerance = lottieDrawable.getGradientColorTolerance();
+    long progressKey = GradientCache.NO_PROGRESS_KEY;
+    // Dynamic colors can change without the progress changing and tolerances opt into keying shaders on their values.
+    if (colorCallbackAnimation == null && pointTolerance == 0 && colorTolerance == 0) {
+      progressKey = gradientCache.getProgressKey(
+          startPointAnimation.getProgress(), endPointAnimation.getProgress(), colorAnimation.getProgress());
     }
-    return hash;
+    LottieComposition composition = lottieDrawable.getComposition();
+    return gradientCache.getShader(progressKey, startPoint.x, startPoint.y, endPoint.x, endPoint.y, colors, positions,
+        pointTolerance, colorTolerance, composition == null ? null : composition.getPerformanceTracker());
   }
 
   private int[] applyDynamicColorsIfNeeded(int[] colors) {
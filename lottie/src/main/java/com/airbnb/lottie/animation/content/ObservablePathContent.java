@@ -0,0 +1,10 @@
+package com.airbnb.lottie.animation.content;
+
+import com.airbnb.lottie.animation.keyframe.BaseKeyframeAnimation;
+
+/**
+ * A path that notifies listeners when it changes so that content derived from it can be cached until then.
+ */
+interface ObservablePathContent extends PathContent {
+  void addPathChangeListener(BaseKeyframeAnimation.AnimationListener listener);
+}
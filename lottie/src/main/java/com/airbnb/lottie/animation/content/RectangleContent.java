@@ -2,7 +2,6 @@ package com.airbnb.lottie.animation.content;
 
 import android.graphics.Path;
 import android.graphics.PointF;
-import android.graphics.RectF;
 
 import androidx.annotation.Nullable;
 
@@ -17,12 +16,13 @@ import com.airbnb.lottie.model.layer.BaseLayer;
 import com.airbnb.lottie.utils.MiscUtils;
 import com.airbnb.lottie.value.LottieValueCallback;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class RectangleContent
-    implements BaseKeyframeAnimation.AnimationListener, KeyPathElementContent, PathContent {
+    implements BaseKeyframeAnimation.AnimationListener, KeyPathElementContent, ObservablePathContent {
   private final Path path = new Path();
-  private final RectF rect = new RectF();
+  private final ShapeGeometry.Contour contour = new ShapeGeometry.PathContour(path);
 
   private final String name;
   private final boolean hidden;
@@ -33,6 +33,7 @@ public class RectangleContent
 
   private CompoundTrimPathContent trimPaths = new CompoundTrimPathContent();
   private boolean isPathValid;
+  private final List<BaseKeyframeAnimation.AnimationListener> pathChangeListeners = new ArrayList<>();
 
   public RectangleContent(LottieDrawable lottieDrawable, BaseLayer layer, RectangleShape rectShape) {
     name = rectShape.getName();
@@ -63,9 +64,16 @@ public class RectangleContent
 
   private void invalidate() {
     isPathValid = false;
+    for (int i = 0; i < pathChangeListeners.size(); i++) {
+      pathChangeListeners.get(i).onValueChanged();
+    }
     lottieDrawable.invalidateSelf();
   }
 
+  @Override public void addPathChangeListener(BaseKeyframeAnimation.AnimationListener listener) {
+    pathChangeListeners.add(listener);
+  }
+
   @Override
   public void setContents(List<Content> contentsBefore, List<Content> contentsAfter) {
     for (int i = 0; i < contentsBefore.size(); i++) {
@@ -93,59 +101,10 @@ public class RectangleContent
     }
 
     PointF size = sizeAnimation.getValue();
-    float halfWidth = size.x / 2f;
-    float halfHeight = size.y / 2f;
     float radius = cornerRadiusAnimation == null ?
         0f : ((FloatKeyframeAnimation) cornerRadiusAnimation).getFloatValue();
-    float maxRadius = Math.min(halfWidth, halfHeight);
-    if (radius > maxRadius) {
-      radius = maxRadius;
-    }
-
-    // Draw the rectangle top right to bottom left.
     PointF position = positionAnimation.getValue();
-
-    path.moveTo(position.x + halfWidth, position.y - halfHeight + radius);
-
-    path.lineTo(position.x + halfWidth, position.y + halfHeight - radius);
-
-    if (radius > 0) {
-      rect.set(position.x + halfWidth - 2 * radius,
-          position.y + halfHeight - 2 * radius,
-          position.x + halfWidth,
-          position.y + halfHeight);
-      path.arcTo(rect, 0, 90, false);
-    }
-
-    path.lineTo(position.x - halfWidth + radius, position.y + halfHeight);
-
-    if (radius > 0) {
-      rect.set(position.x - halfWidth,
-          position.y + halfHeight - 2 * radius,
-          position.x - halfWidth + 2 * radius,
-          position.y + halfHeight);
-      path.arcTo(rect, 90, 90, false);
-    }
-
-    path.lineTo(position.x - halfWidth, position.y - halfHeight + radius);
-
-    if (radius > 0) {
-      rect.set(position.x - halfWidth,
-          position.y - halfHeight,
-          position.x - halfWidth + 2 * radius,
-          position.y - halfHeight + 2 * radius);
-      path.arcTo(rect, 180, 90, false);
-    }
-
-    path.lineTo(position.x + halfWidth - radius, position.y - halfHeight);
-
-    if (radius > 0) {
-      rect.set(position.x + halfWidth - 2 * radius,
-          position.y - halfHeight,
-          position.x + halfWidth,
-          position.y - halfHeight + 2 * radius);
-      path.arcTo(rect, 270, 90, false);
-    }
+    ShapeGeometry.rectangle(contour, position.x, position.y, size.x, size.y, radius);
     path.close();
 
     trimPaths.apply(path);
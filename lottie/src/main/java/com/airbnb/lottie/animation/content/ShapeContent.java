@@ -8,9 +8,10 @@ import com.airbnb.lottie.model.content.ShapePath;
 import com.airbnb.lottie.model.content.ShapeTrimPath;
 import com.airbnb.lottie.model.layer.BaseLayer;
 
+import java.util.ArrayList;
 import java.util.List;
 
-public class ShapeContent implements PathContent, BaseKeyframeAnimation.AnimationListener {
+public class ShapeContent implements ObservablePathContent, BaseKeyframeAnimation.AnimationListener {
   private final Path path = new Path();
 
   private final String name;
@@ -19,6 +20,7 @@ public class ShapeContent implements PathContent, BaseKeyframeAnimation.Animatio
   private final BaseKeyframeAnimation<?, Path> shapeAnimation;
 
   private boolean isPathValid;
+  private final List<BaseKeyframeAnimation.AnimationListener> pathChangeListeners = new ArrayList<>();
   private CompoundTrimPathContent trimPaths = new CompoundTrimPathContent();
 
   public ShapeContent(LottieDrawable lottieDrawable, BaseLayer layer, ShapePath shape) {
@@ -36,9 +38,16 @@ public class ShapeContent implements PathContent, BaseKeyframeAnimation.Animatio
 
   private void invalidate() {
     isPathValid = false;
+    for (int i = 0; i < pathChangeListeners.size(); i++) {
+      pathChangeListeners.get(i).onValueChanged();
+    }
     lottieDrawable.invalidateSelf();
   }
 
+  @Override public void addPathChangeListener(BaseKeyframeAnimation.AnimationListener listener) {
+    pathChangeListeners.add(listener);
+  }
+
   @Override public void setContents(List<Content> contentsBefore, List<Content> contentsAfter) {
     for (int i = 0; i < contentsBefore.size(); i++) {
       Content content = contentsBefore.get(i);
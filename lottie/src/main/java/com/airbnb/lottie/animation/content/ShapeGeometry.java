@@ -0,0 +1,271 @@
+package com.airbnb.lottie.animation.content;
+
+import android.graphics.Path;
+
+/**
+ * The paths of rectangles, ellipses and polystars. They are built with a {@link Contour} so that the contents that
+ * draw them and {@link com.airbnb.lottie.LottieFrameEvaluator}, which can't use a native {@link Path}, build the same
+ * curves.
+ * <p>
+ * Each shape is a single contour that starts with {@link Contour#moveTo(float, float)}. It isn't closed so callers
+ * close it themselves if they need to.
+ */
+public final class ShapeGeometry {
+  /**
+   * The distance of the control points of a cubic curve that approximates a quarter of a circle from its end points,
+   * as a fraction of the radius.
+   */
+  private static final float ELLIPSE_CONTROL_POINT_PERCENTAGE = 0.55228f;
+  /**
+   * This was empirically derived by creating polystars, converting them to
+   * curves, and calculating a scale factor.
+   * It works best for polygons and stars with 3 points and needs more
+   * work otherwise.
+   */
+  private static final float POLYSTAR_MAGIC_NUMBER = .47829f;
+  private static final float POLYGON_MAGIC_NUMBER = .25f;
+
+  public interface Contour {
+    void moveTo(float x, float y);
+
+    void lineTo(float x, float y);
+
+    void cubicTo(float cp1x, float cp1y, float cp2x, float cp2y, float x, float y);
+  }
+
+  /**
+   * Adds the shapes to a native path.
+   */
+  public static final class PathContour implements Contour {
+    private final Path path;
+
+    public PathContour(Path path) {
+      this.path = path;
+    }
+
+    @Override public void moveTo(float x, float y) {
+      path.moveTo(x, y);
+    }
+
+    @Override public void lineTo(float x, float y) {
+      path.lineTo(x, y);
+    }
+
+    @Override public void cubicTo(float cp1x, float cp1y, float cp2x, float cp2y, float x, float y) {
+      path.cubicTo(cp1x, cp1y, cp2x, cp2y, x, y);
+    }
+  }
+
+  private ShapeGeometry() {
+  }
+
+  /**
+   * Draws the rectangle top right to bottom left. The corner radius is clamped to half of the smaller side and the
+   * rounded corners are quarter circles made of cubic curves.
+   */
+  public static void rectangle(Contour contour, float x, float y, float width, float height, float cornerRadius) {
+    float halfWidth = width / 2f;
+    float halfHeight = height / 2f;
+    float radius = Math.min(cornerRadius, Math.min(halfWidth, halfHeight));
+    float left = x - halfWidth;
+    float top = y - halfHeight;
+    float right = x + halfWidth;
+    float bottom = y + halfHeight;
+
+    contour.moveTo(right, top + radius);
+    contour.lineTo(right, bottom - radius);
+    if (radius > 0) {
+      quarterArcTo(contour, right - radius, bottom - radius, radius, 0);
+    }
+    contour.lineTo(left + radius, bottom);
+    if (radius > 0) {
+      quarterArcTo(contour, left + radius, bottom - radius, radius, 90);
+    }
+    contour.lineTo(left, top + radius);
+    if (radius > 0) {
+      quarterArcTo(contour, left + radius, top + radius, radius, 180);
+    }
+    contour.lineTo(right - radius, top);
+    if (radius > 0) {
+      quarterArcTo(contour, right - radius, top + radius, radius, 270);
+    }
+  }
+
+  /**
+   * Adds a clockwise quarter circle around the center that starts at the current point and the angle in degrees.
+   */
+  private static void quarterArcTo(Contour contour, float centerX, float centerY, float radius, int startAngle) {
+    double start = Math.toRadians(startAngle);
+    double end = Math.toRadians(startAngle + 90);
+    float cos0 = (float) Math.cos(start);
+    float sin0 = (float) Math.sin(start);
+    float cos1 = (float) Math.cos(end);
+    float sin1 = (float) Math.sin(end);
+    float cp = radius * ELLIPSE_CONTROL_POINT_PERCENTAGE;
+    contour.cubicTo(centerX + radius * cos0 - cp * sin0, centerY + radius * sin0 + cp * cos0,
+        centerX + radius * cos1 + cp * sin1, centerY + radius * sin1 - cp * cos1,
+        centerX + radius * cos1, centerY + radius * sin1);
+  }
+
+  /**
+   * Draws the ellipse clockwise from the top, or counterclockwise if it is reversed.
+   */
+  public static void ellipse(Contour contour, float x, float y, float width, float height, boolean reversed) {
+    float halfWidth = width / 2f;
+    float halfHeight = height / 2f;
+    float cpW = halfWidth * ELLIPSE_CONTROL_POINT_PERCENTAGE;
+    float cpH = halfHeight * ELLIPSE_CONTROL_POINT_PERCENTAGE;
+
+    contour.moveTo(x, y - halfHeight);
+    if (reversed) {
+      contour.cubicTo(x - cpW, y - halfHeight, x - halfWidth, y - cpH, x - halfWidth, y);
+      contour.cubicTo(x - halfWidth, y + cpH, x - cpW, y + halfHeight, x, y + halfHeight);
+      contour.cubicTo(x + cpW, y + halfHeight, x + halfWidth, y + cpH, x + halfWidth, y);
+      contour.cubicTo(x + halfWidth, y - cpH, x + cpW, y - halfHeight, x, y - halfHeight);
+    } else {
+      contour.cubicTo(x + cpW, y - halfHeight, x + halfWidth, y - cpH, x + halfWidth, y);
+      contour.cubicTo(x + halfWidth, y + cpH, x + cpW, y + halfHeight, x, y + halfHeight);
+      contour.cubicTo(x - cpW, y + halfHeight, x - halfWidth, y + cpH, x - halfWidth, y);
+      contour.cubicTo(x - halfWidth, y - cpH, x - cpW, y - halfHeight, x, y - halfHeight);
+    }
+  }
+
+  /**
+   * @param rotation in degrees. 0 points the first point up.
+   * @param outerRoundedness from 0 to 1.
+   * @param innerRoundedness from 0 to 1.
+   */
+  public static void star(Contour contour, float x, float y, float points, float rotation, float outerRadius,
+      float innerRadius, float outerRoundedness, float innerRoundedness) {
+    // Start at +y instead of +x
+    double currentAngle = Math.toRadians(rotation - 90d);
+    // adjust current angle for partial points
+    float anglePerPoint = (float) (2 * Math.PI / points);
+    float halfAnglePerPoint = anglePerPoint / 2.0f;
+    float partialPointAmount = points - (int) points;
+    if (partialPointAmount != 0) {
+      currentAngle += halfAnglePerPoint * (1f - partialPointAmount);
+    }
+
+    float pointX;
+    float pointY;
+    float previousX;
+    float previousY;
+    float partialPointRadius = 0;
+    if (partialPointAmount != 0) {
+      partialPointRadius = innerRadius + partialPointAmount * (outerRadius - innerRadius);
+      pointX = (float) (partialPointRadius * Math.cos(currentAngle));
+      pointY = (float) (partialPointRadius * Math.sin(currentAngle));
+      contour.moveTo(x + pointX, y + pointY);
+      currentAngle += anglePerPoint * partialPointAmount / 2f;
+    } else {
+      pointX = (float) (outerRadius * Math.cos(currentAngle));
+      pointY = (float) (outerRadius * Math.sin(currentAngle));
+      contour.moveTo(x + pointX, y + pointY);
+      currentAngle += halfAnglePerPoint;
+    }
+
+    // True means the line will go to outer radius. False means inner radius.
+    boolean longSegment = false;
+    double numPoints = Math.ceil(points) * 2;
+    for (int i = 0; i < numPoints; i++) {
+      float radius = longSegment ? outerRadius : innerRadius;
+      float dTheta = halfAnglePerPoint;
+      if (partialPointRadius != 0 && i == numPoints - 2) {
+        dTheta = anglePerPoint * partialPointAmount / 2f;
+      }
+      if (partialPointRadius != 0 && i == numPoints - 1) {
+        radius = partialPointRadius;
+      }
+      previousX = pointX;
+      previousY = pointY;
+      pointX = (float) (radius * Math.cos(currentAngle));
+      pointY = (float) (radius * Math.sin(currentAngle));
+
+      if (innerRoundedness == 0 && outerRoundedness == 0) {
+        contour.lineTo(x + pointX, y + pointY);
+      } else {
+        float cp1Theta = (float) (Math.atan2(previousY, previousX) - Math.PI / 2f);
+        float cp1Dx = (float) Math.cos(cp1Theta);
+        float cp1Dy = (float) Math.sin(cp1Theta);
+
+        float cp2Theta = (float) (Math.atan2(pointY, pointX) - Math.PI / 2f);
+        float cp2Dx = (float) Math.cos(cp2Theta);
+        float cp2Dy = (float) Math.sin(cp2Theta);
+
+        float cp1Roundedness = longSegment ? innerRoundedness : outerRoundedness;
+        float cp2Roundedness = longSegment ? outerRoundedness : innerRoundedness;
+        float cp1Radius = longSegment ? innerRadius : outerRadius;
+        float cp2Radius = longSegment ? outerRadius : innerRadius;
+
+        float cp1x = cp1Radius * cp1Roundedness * POLYSTAR_MAGIC_NUMBER * cp1Dx;
+        float cp1y = cp1Radius * cp1Roundedness * POLYSTAR_MAGIC_NUMBER * cp1Dy;
+        float cp2x = cp2Radius * cp2Roundedness * POLYSTAR_MAGIC_NUMBER * cp2Dx;
+        float cp2y = cp2Radius * cp2Roundedness * POLYSTAR_MAGIC_NUMBER * cp2Dy;
+        if (partialPointAmount != 0) {
+          if (i == 0) {
+            cp1x *= partialPointAmount;
+            cp1y *= partialPointAmount;
+          } else if (i == numPoints - 1) {
+            cp2x *= partialPointAmount;
+            cp2y *= partialPointAmount;
+          }
+        }
+
+        contour.cubicTo(x + (previousX - cp1x), y + (previousY - cp1y), x + (pointX + cp2x), y + (pointY + cp2y),
+            x + pointX, y + pointY);
+      }
+
+      currentAngle += dTheta;
+      longSegment = !longSegment;
+    }
+  }
+
+  /**
+   * @param points the number of points. Partial points are dropped.
+   * @param rotation in degrees. 0 points the first point up.
+   * @param roundedness from 0 to 1.
+   */
+  public static void polygon(Contour contour, float x, float y, float points, float rotation, float radius,
+      float roundedness) {
+    int numPoints = (int) Math.floor(points);
+    // Start at +y instead of +x
+    double currentAngle = Math.toRadians(rotation - 90d);
+    float anglePerPoint = (float) (2 * Math.PI / numPoints);
+
+    float pointX = (float) (radius * Math.cos(currentAngle));
+    float pointY = (float) (radius * Math.sin(currentAngle));
+    float previousX;
+    float previousY;
+    contour.moveTo(x + pointX, y + pointY);
+    currentAngle += anglePerPoint;
+
+    for (int i = 0; i < numPoints; i++) {
+      previousX = pointX;
+      previousY = pointY;
+      pointX = (float) (radius * Math.cos(currentAngle));
+      pointY = (float) (radius * Math.sin(currentAngle));
+
+      if (roundedness != 0) {
+        float cp1Theta = (float) (Math.atan2(previousY, previousX) - Math.PI / 2f);
+        float cp1Dx = (float) Math.cos(cp1Theta);
+        float cp1Dy = (float) Math.sin(cp1Theta);
+
+        float cp2Theta = (float) (Math.atan2(pointY, pointX) - Math.PI / 2f);
+        float cp2Dx = (float) Math.cos(cp2Theta);
+        float cp2Dy = (float) Math.sin(cp2Theta);
+
+        float cp1x = radius * roundedness * POLYGON_MAGIC_NUMBER * cp1Dx;
+        float cp1y = radius * roundedness * POLYGON_MAGIC_NUMBER * cp1Dy;
+        float cp2x = radius * roundedness * POLYGON_MAGIC_NUMBER * cp2Dx;
+        float cp2y = radius * roundedness * POLYGON_MAGIC_NUMBER * cp2Dy;
+        contour.cubicTo(x + (previousX - cp1x), y + (previousY - cp1y), x + (pointX + cp2x), y + (pointY + cp2y),
+            x + pointX, y + pointY);
+      } else {
+        contour.lineTo(x + pointX, y + pointY);
+      }
+
+      currentAngle += anglePerPoint;
+    }
+  }
+}
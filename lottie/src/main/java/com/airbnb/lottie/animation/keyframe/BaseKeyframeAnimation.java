@@ -25,6 +25,10 @@ public abstract class BaseKeyframeAnimation<K, A> {
   private boolean isDiscrete = false;
 
   private final KeyframesWrapper<K> keyframesWrapper;
+  /**
+   * The keyframes of this animation when they are stored in a track rather than in keyframe objects.
+   */
+  @Nullable final KeyframeTrack track;
   protected float progress = 0f;
   @Nullable protected LottieValueCallback<A> valueCallback;
 
@@ -35,12 +39,30 @@ public abstract class BaseKeyframeAnimation<K, A> {
 
   BaseKeyframeAnimation(List<? extends Keyframe<K>> keyframes) {
     keyframesWrapper = wrap(keyframes);
+    track = null;
+  }
+
+  /**
+   * Creates an animation of keyframes that are stored in a track. The keyframes are searched in its progress arrays
+   * and values are read from it. Keyframe objects are only created for value callbacks.
+   */
+  BaseKeyframeAnimation(KeyframeTrack track) {
+    keyframesWrapper = new KeyframesWrapperImpl<>(null, track, track.getStartProgress(), track.getEndProgress());
+    this.track = track;
   }
 
   public void setIsDiscrete() {
     isDiscrete = true;
   }
 
+  /**
+   * Whether the value never changes with progress. Animations with a value callback are never static because the
+   * callback can return a different value at any time.
+   */
+  public boolean isStatic() {
+    return valueCallback == null && keyframesWrapper.isStatic();
+  }
+
   public void addUpdateListener(AnimationListener listener) {
     listeners.add(listener);
   }
@@ -77,6 +99,13 @@ public abstract class BaseKeyframeAnimation<K, A> {
     return keyframe;
   }
 
+  /**
+   * Returns the index of {@link #getCurrentKeyframe()} in the keyframes of this animation.
+   */
+  int getCurrentKeyframeIndex() {
+    return keyframesWrapper.getCurrentKeyframeIndex();
+  }
+
   /**
    * Returns the progress into the current keyframe between 0 and 1. This does not take into account
    * any interpolation that the keyframe may have.
@@ -85,14 +114,7 @@ public abstract class BaseKeyframeAnimation<K, A> {
     if (isDiscrete) {
       return 0f;
     }
-
-    Keyframe<K> keyframe = getCurrentKeyframe();
-    if (keyframe.isStatic()) {
-      return 0f;
-    }
-    float progressIntoFrame = progress - keyframe.getStartProgress();
-    float keyframeProgress = keyframe.getEndProgress() - keyframe.getStartProgress();
-    return progressIntoFrame / keyframeProgress;
+    return keyframesWrapper.getLinearProgress(progress);
   }
 
   /**
@@ -100,6 +122,9 @@ public abstract class BaseKeyframeAnimation<K, A> {
    * the current keyframe's interpolator.
    */
   protected float getInterpolatedCurrentKeyframeProgress() {
+    if (track != null) {
+      return track.getInterpolatedProgress(getCurrentKeyframeIndex(), getLinearCurrentKeyframeProgress());
+    }
     Keyframe<K> keyframe = getCurrentKeyframe();
     if (keyframe.isStatic()) {
       return 0f;
@@ -131,6 +156,12 @@ public abstract class BaseKeyframeAnimation<K, A> {
     if (valueCallback == null && keyframesWrapper.isCachedValueEnabled(linearProgress)) {
       return cachedGetValue;
     }
+    if (track != null && valueCallback == null) {
+      int index = getCurrentKeyframeIndex();
+      value = getValue(track, index, track.getInterpolatedProgress(index, linearProgress));
+      cachedGetValue = value;
+      return value;
+    }
     final Keyframe<K> keyframe = getCurrentKeyframe();
 
     if (keyframe.xInterpolator != null && keyframe.yInterpolator != null) {
@@ -173,6 +204,14 @@ public abstract class BaseKeyframeAnimation<K, A> {
     throw new UnsupportedOperationException("This animation does not support split dimensions!");
   }
 
+  /**
+   * Returns the value of keyframe keyframeIndex of track at keyframeProgress. Animations that can be created with a
+   * {@link KeyframeTrack} override this.
+   */
+  A getValue(KeyframeTrack track, int keyframeIndex, float keyframeProgress) {
+    throw new UnsupportedOperationException("This animation does not support keyframe tracks!");
+  }
+
   private static <T> KeyframesWrapper<T> wrap(List<? extends Keyframe<T>> keyframes) {
     if (keyframes.isEmpty()) {
       return new EmptyKeyframeWrapper<>();
@@ -180,7 +219,13 @@ public abstract class BaseKeyframeAnimation<K, A> {
     if (keyframes.size() == 1) {
       return new SingleKeyframeWrapper<>(keyframes);
     }
-    return new KeyframesWrapperImpl<>(keyframes);
+    float[] startProgress = new float[keyframes.size()];
+    float[] endProgress = new float[keyframes.size()];
+    for (int i = 0; i < keyframes.size(); i++) {
+      startProgress[i] = keyframes.get(i).getStartProgress();
+      endProgress[i] = keyframes.get(i).getEndProgress();
+    }
+    return new KeyframesWrapperImpl<>(keyframes, null, startProgress, endProgress);
   }
 
   private interface KeyframesWrapper<T> {
@@ -188,8 +233,17 @@ public abstract class BaseKeyframeAnimation<K, A> {
 
     boolean isValueChanged(float progress);
 
+    boolean isStatic();
+
     Keyframe<T> getCurrentKeyframe();
 
+    int getCurrentKeyframeIndex();
+
+    /**
+     * Returns the progress into the current keyframe between 0 and 1 without its interpolator.
+     */
+    float getLinearProgress(float progress);
+
     @FloatRange(from = 0f, to = 1f)
     float getStartDelayProgress();
 
@@ -210,11 +264,26 @@ public abstract class BaseKeyframeAnimation<K, A> {
       return false;
     }
 
+    @Override
+    public boolean isStatic() {
+      return true;
+    }
+
     @Override
     public Keyframe<T> getCurrentKeyframe() {
       throw new IllegalStateException("not implemented");
     }
 
+    @Override
+    public int getCurrentKeyframeIndex() {
+      throw new IllegalStateException("not implemented");
+    }
+
+    @Override
+    public float getLinearProgress(float progress) {
+      throw new IllegalStateException("not implemented");
+    }
+
     @Override
     public float getStartDelayProgress() {
       return 0f;
@@ -250,11 +319,29 @@ public abstract class BaseKeyframeAnimation<K, A> {
       return !keyframe.isStatic();
     }
 
+    @Override
+    public boolean isStatic() {
+      return keyframe.isStatic();
+    }
+
     @Override
     public Keyframe<T> getCurrentKeyframe() {
       return keyframe;
     }
 
+    @Override
+    public int getCurrentKeyframeIndex() {
+      return 0;
+    }
+
+    @Override
+    public float getLinearProgress(float progress) {
+      if (keyframe.isStatic()) {
+        return 0f;
+      }
+      return (progress - keyframe.getStartProgress()) / (keyframe.getEndProgress() - keyframe.getStartProgress());
+    }
+
     @Override
     public float getStartDelayProgress() {
       return keyframe.getStartProgress();
@@ -275,16 +362,33 @@ public abstract class BaseKeyframeAnimation<K, A> {
     }
   }
 
+  /**
+   * Finds the keyframe at a progress by first checking the neighbours of the current keyframe, which is where sequential
+   * playback in either direction goes next, and then by binary searching the start of each keyframe. This keeps seeking
+   * in properties with thousands of keyframes, such as baked motion capture, from scanning all of them.
+   * <p>
+   * The keyframes are either a list or a {@link KeyframeTrack}. The progress arrays are shared with the track when
+   * there is one so they must not be modified, and the current keyframe is only created from the track when it is
+   * asked for.
+   */
   private static final class KeyframesWrapperImpl<T> implements KeyframesWrapper<T> {
-    private final List<? extends Keyframe<T>> keyframes;
-    @NonNull
+    @Nullable private final List<? extends Keyframe<T>> keyframes;
+    @Nullable private final KeyframeTrack track;
+    private final float[] startProgress;
+    private final float[] endProgress;
+    @Nullable
     private Keyframe<T> currentKeyframe;
-    private Keyframe<T> cachedCurrentKeyframe = null;
+    private int currentKeyframeIndex;
+    private int cachedKeyframeIndex = -1;
     private float cachedInterpolatedProgress = -1f;
 
-    KeyframesWrapperImpl(List<? extends Keyframe<T>> keyframes) {
+    KeyframesWrapperImpl(@Nullable List<? extends Keyframe<T>> keyframes, @Nullable KeyframeTrack track,
+        float[] startProgress, float[] endProgress) {
       this.keyframes = keyframes;
-      currentKeyframe = findKeyframe(0);
+      this.track = track;
+      this.startProgress = startProgress;
+      this.endProgress = endProgress;
+      setCurrentKeyframe(findKeyframeIndex(0));
     }
 
     @Override
@@ -294,53 +398,100 @@ public abstract class BaseKeyframeAnimation<K, A> {
 
     @Override
     public boolean isValueChanged(float progress) {
-      if (currentKeyframe.containsProgress(progress)) {
-        return !currentKeyframe.isStatic();
+      if (containsProgress(currentKeyframeIndex, progress)) {
+        return !isHold(currentKeyframeIndex);
       }
-      currentKeyframe = findKeyframe(progress);
+      setCurrentKeyframe(findKeyframeIndex(progress));
       return true;
     }
 
-    private Keyframe<T> findKeyframe(float progress) {
-      Keyframe<T> keyframe = keyframes.get(keyframes.size() - 1);
-      if (progress >= keyframe.getStartProgress()) {
-        return keyframe;
+    @Override
+    public boolean isStatic() {
+      return false;
+    }
+
+    private void setCurrentKeyframe(int index) {
+      currentKeyframeIndex = index;
+      currentKeyframe = null;
+    }
+
+    private boolean isHold(int index) {
+      //noinspection ConstantConditions
+      return keyframes == null ? track.isHold(index) : keyframes.get(index).isStatic();
+    }
+
+    private boolean containsProgress(int index, float progress) {
+      return progress >= startProgress[index] && progress < endProgress[index];
+    }
+
+    private int findKeyframeIndex(float progress) {
+      int next = currentKeyframeIndex + 1;
+      if (next < startProgress.length && containsProgress(next, progress)) {
+        return next;
       }
-      for (int i = keyframes.size() - 2; i >= 1; i--) {
-        keyframe = keyframes.get(i);
-        if (currentKeyframe == keyframe) {
-          continue;
-        }
-        if (keyframe.containsProgress(progress)) {
-          return keyframe;
+      int previous = currentKeyframeIndex - 1;
+      if (previous >= 0 && containsProgress(previous, progress)) {
+        return previous;
+      }
+      // The last keyframe that starts at or before the progress. Keyframes end where the next one starts.
+      int low = 0;
+      int high = startProgress.length - 1;
+      while (low < high) {
+        int mid = (low + high + 1) >>> 1;
+        if (startProgress[mid] <= progress) {
+          low = mid;
+        } else {
+          high = mid - 1;
         }
       }
-      return keyframes.get(0);
+      return low;
     }
 
     @Override
     @NonNull
     public Keyframe<T> getCurrentKeyframe() {
+      if (currentKeyframe == null) {
+        if (keyframes == null) {
+          //noinspection unchecked,ConstantConditions
+          currentKeyframe = (Keyframe<T>) track.createKeyframe(currentKeyframeIndex);
+        } else {
+          currentKeyframe = keyframes.get(currentKeyframeIndex);
+        }
+      }
       return currentKeyframe;
     }
 
+    @Override
+    public int getCurrentKeyframeIndex() {
+      return currentKeyframeIndex;
+    }
+
+    @Override
+    public float getLinearProgress(float progress) {
+      if (isHold(currentKeyframeIndex)) {
+        return 0f;
+      }
+      float start = startProgress[currentKeyframeIndex];
+      return (progress - start) / (endProgress[currentKeyframeIndex] - start);
+    }
+
     @Override
     public float getStartDelayProgress() {
-      return keyframes.get(0).getStartProgress();
+      return startProgress[0];
     }
 
     @Override
     public float getEndProgress() {
-      return keyframes.get(keyframes.size() - 1).getEndProgress();
+      return endProgress[endProgress.length - 1];
     }
 
     @Override
     public boolean isCachedValueEnabled(float progress) {
-      if (cachedCurrentKeyframe == currentKeyframe
+      if (cachedKeyframeIndex == currentKeyframeIndex
           && cachedInterpolatedProgress == progress) {
         return true;
       }
-      cachedCurrentKeyframe = currentKeyframe;
+      cachedKeyframeIndex = currentKeyframeIndex;
       cachedInterpolatedProgress = progress;
       return false;
     }
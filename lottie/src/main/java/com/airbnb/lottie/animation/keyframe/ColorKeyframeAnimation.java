@@ -7,16 +7,25 @@ import com.airbnb.lottie.value.Keyframe;
 import java.util.List;
 
 public class ColorKeyframeAnimation extends KeyframeAnimation<Integer> {
-
   public ColorKeyframeAnimation(List<Keyframe<Integer>> keyframes) {
     super(keyframes);
   }
 
+  public ColorKeyframeAnimation(KeyframeTrack track) {
+    super(track);
+  }
+
   @Override
   Integer getValue(Keyframe<Integer> keyframe, float keyframeProgress) {
     return getIntValue(keyframe, keyframeProgress);
   }
 
+  @Override
+  Integer getValue(KeyframeTrack track, int keyframeIndex, float keyframeProgress) {
+    return GammaEvaluator.evaluate(MiscUtils.clamp(keyframeProgress, 0f, 1f),
+        track.getStartInt(keyframeIndex), track.getEndInt(keyframeIndex));
+  }
+
   /**
    * Optimization to avoid autoboxing.
    */
@@ -43,6 +52,11 @@ public class ColorKeyframeAnimation extends KeyframeAnimation<Integer> {
    * Optimization to avoid autoboxing.
    */
   public int getIntValue() {
+    if (track != null && valueCallback == null) {
+      int index = getCurrentKeyframeIndex();
+      return GammaEvaluator.evaluate(MiscUtils.clamp(getInterpolatedCurrentKeyframeProgress(), 0f, 1f),
+          track.getStartInt(index), track.getEndInt(index));
+    }
     return getIntValue(getCurrentKeyframe(), getInterpolatedCurrentKeyframeProgress());
   }
 }
@@ -6,15 +6,22 @@ import com.airbnb.lottie.value.Keyframe;
 import java.util.List;
 
 public class FloatKeyframeAnimation extends KeyframeAnimation<Float> {
-
   public FloatKeyframeAnimation(List<Keyframe<Float>> keyframes) {
     super(keyframes);
   }
 
+  public FloatKeyframeAnimation(KeyframeTrack track) {
+    super(track);
+  }
+
   @Override Float getValue(Keyframe<Float> keyframe, float keyframeProgress) {
     return getFloatValue(keyframe, keyframeProgress);
   }
 
+  @Override Float getValue(KeyframeTrack track, int keyframeIndex, float keyframeProgress) {
+    return MiscUtils.lerp(track.getStartFloat(keyframeIndex, 0), track.getEndFloat(keyframeIndex, 0), keyframeProgress);
+  }
+
   /**
    * Optimization to avoid autoboxing.
    */
@@ -40,6 +47,11 @@ public class FloatKeyframeAnimation extends KeyframeAnimation<Float> {
    * Optimization to avoid autoboxing.
    */
   public float getFloatValue() {
+    if (track != null && valueCallback == null) {
+      int index = getCurrentKeyframeIndex();
+      return MiscUtils.lerp(track.getStartFloat(index, 0), track.getEndFloat(index, 0),
+          getInterpolatedCurrentKeyframeProgress());
+    }
     return getFloatValue(getCurrentKeyframe(), getInterpolatedCurrentKeyframeProgress());
   }
 }
@@ -6,16 +6,24 @@ import com.airbnb.lottie.value.Keyframe;
 import java.util.List;
 
 public class IntegerKeyframeAnimation extends KeyframeAnimation<Integer> {
-
   public IntegerKeyframeAnimation(List<Keyframe<Integer>> keyframes) {
     super(keyframes);
   }
 
+  public IntegerKeyframeAnimation(KeyframeTrack track) {
+    super(track);
+  }
+
   @Override
   Integer getValue(Keyframe<Integer> keyframe, float keyframeProgress) {
     return getIntValue(keyframe, keyframeProgress);
   }
 
+  @Override
+  Integer getValue(KeyframeTrack track, int keyframeIndex, float keyframeProgress) {
+    return MiscUtils.lerp(track.getStartInt(keyframeIndex), track.getEndInt(keyframeIndex), keyframeProgress);
+  }
+
   /**
    * Optimization to avoid autoboxing.
    */
@@ -41,6 +49,10 @@ public class IntegerKeyframeAnimation extends KeyframeAnimation<Integer> {
    * Optimization to avoid autoboxing.
    */
   public int getIntValue() {
+    if (track != null && valueCallback == null) {
+      int index = getCurrentKeyframeIndex();
+      return MiscUtils.lerp(track.getStartInt(index), track.getEndInt(index), getInterpolatedCurrentKeyframeProgress());
+    }
     return getIntValue(getCurrentKeyframe(), getInterpolatedCurrentKeyframeProgress());
   }
 }
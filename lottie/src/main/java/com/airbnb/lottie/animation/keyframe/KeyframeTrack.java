@@ -0,0 +1,314 @@
+package com.airbnb.lottie.animation.keyframe;
+
+import android.graphics.PointF;
+import android.view.animation.Interpolator;
+
+import androidx.annotation.Nullable;
+
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.value.Keyframe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The keyframes of a float, integer, color or point property stored as primitive arrays so that they can be evaluated
+ * without unboxing or following a reference per keyframe.
+ * <p>
+ * A track replaces the keyframes it was created from. The animatable value keeps the track rather than its keyframes
+ * and every animation that is created from the value shares it. {@link Keyframe} objects are only created again by
+ * {@link #createKeyframe(int)} when something asks for them, such as a value callback.
+ * <p>
+ * Index i of a track is keyframe i of the list it was created from. Interpolators are stored once and referenced by
+ * index because most keyframes of a composition share a handful of them.
+ */
+public final class KeyframeTrack {
+  private static final short HOLD = -1;
+
+  private final LottieComposition composition;
+  private final float[] startFrames;
+  /**
+   * NaN for keyframes without an end frame.
+   */
+  private final float[] endFrames;
+  private final short[] interpolatorIndices;
+  private final Interpolator[] interpolators;
+  /**
+   * The start and end value of each keyframe for float and point tracks: [start, end] or [startX, endX, startY, endY].
+   */
+  @Nullable private final float[] floatValues;
+  /**
+   * The start and end value of each keyframe for integer and color tracks.
+   */
+  @Nullable private final int[] intValues;
+  private final int dimension;
+  /**
+   * Computed from the frames the first time they are needed because the composition isn't initialized yet while its
+   * keyframes are parsed. They are shared by every animation of the track so they must not be modified.
+   */
+  @Nullable private float[] startProgress;
+  @Nullable private float[] endProgress;
+
+  private KeyframeTrack(LottieComposition composition, float[] startFrames, float[] endFrames,
+      short[] interpolatorIndices, Interpolator[] interpolators, @Nullable float[] floatValues,
+      @Nullable int[] intValues, int dimension) {
+    this.composition = composition;
+    this.startFrames = startFrames;
+    this.endFrames = endFrames;
+    this.interpolatorIndices = interpolatorIndices;
+    this.interpolators = interpolators;
+    this.floatValues = floatValues;
+    this.intValues = intValues;
+    this.dimension = dimension;
+  }
+
+  /**
+   * Returns null if the keyframes can't be stored in a track. The animatable value then keeps the keyframes.
+   */
+  @Nullable
+  public static KeyframeTrack forFloats(List<Keyframe<Float>> keyframes) {
+    if (!canStore(keyframes)) {
+      return null;
+    }
+    float[] values = new float[keyframes.size() * 2];
+    for (int i = 0; i < keyframes.size(); i++) {
+      Keyframe<Float> keyframe = keyframes.get(i);
+      //noinspection ConstantConditions
+      values[i * 2] = keyframe.startValue;
+      //noinspection ConstantConditions
+      values[i * 2 + 1] = keyframe.endValue;
+    }
+    return create(keyframes, values, null, 1);
+  }
+
+  /**
+   * Returns null if the keyframes can't be stored in a track. The animatable value then keeps the keyframes.
+   */
+  @Nullable
+  public static KeyframeTrack forIntegers(List<Keyframe<Integer>> keyframes) {
+    if (!canStore(keyframes)) {
+      return null;
+    }
+    int[] values = new int[keyframes.size() * 2];
+    for (int i = 0; i < keyframes.size(); i++) {
+      Keyframe<Integer> keyframe = keyframes.get(i);
+      //noinspection ConstantConditions
+      values[i * 2] = keyframe.startValue;
+      //noinspection ConstantConditions
+      values[i * 2 + 1] = keyframe.endValue;
+    }
+    return create(keyframes, null, values, 1);
+  }
+
+  /**
+   * Returns null if the keyframes can't be stored in a track. The animatable value then keeps the keyframes.
+   */
+  @Nullable
+  public static KeyframeTrack forPoints(List<Keyframe<PointF>> keyframes) {
+    if (!canStore(keyframes)) {
+      return null;
+    }
+    float[] values = new float[keyframes.size() * 4];
+    for (int i = 0; i < keyframes.size(); i++) {
+      Keyframe<PointF> keyframe = keyframes.get(i);
+      //noinspection ConstantConditions
+      values[i * 4] = keyframe.startValue.x;
+      //noinspection ConstantConditions
+      values[i * 4 + 1] = keyframe.endValue.x;
+      values[i * 4 + 2] = keyframe.startValue.y;
+      values[i * 4 + 3] = keyframe.endValue.y;
+    }
+    return create(keyframes, values, null, 2);
+  }
+
+  /**
+   * Static values and single keyframes are evaluated once and have nothing to search so they aren't stored in a track.
+   * Keyframes with separate x and y interpolators or without values are left to the animation.
+   */
+  private static boolean canStore(List<? extends Keyframe<?>> keyframes) {
+    if (keyframes.size() < 2) {
+      return false;
+    }
+    for (int i = 0; i < keyframes.size(); i++) {
+      Keyframe<?> keyframe = keyframes.get(i);
+      if (keyframe.getComposition() == null || keyframe.startValue == null || keyframe.endValue == null ||
+          keyframe.xInterpolator != null || keyframe.yInterpolator != null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns null if the keyframes have more distinct interpolators than an index can reference.
+   */
+  @Nullable
+  private static KeyframeTrack create(List<? extends Keyframe<?>> keyframes, @Nullable float[] floatValues,
+      @Nullable int[] intValues, int dimension) {
+    int size = keyframes.size();
+    float[] startFrames = new float[size];
+    float[] endFrames = new float[size];
+    short[] interpolatorIndices = new short[size];
+    List<Interpolator> interpolators = new ArrayList<>(2);
+    for (int i = 0; i < size; i++) {
+      Keyframe<?> keyframe = keyframes.get(i);
+      startFrames[i] = keyframe.startFrame;
+      endFrames[i] = keyframe.endFrame == null ? Float.NaN : keyframe.endFrame;
+      Interpolator interpolator = keyframe.interpolator;
+      if (interpolator == null) {
+        interpolatorIndices[i] = HOLD;
+        continue;
+      }
+      int index = indexOf(interpolators, interpolator);
+      if (index == -1) {
+        if (interpolators.size() == Short.MAX_VALUE) {
+          return null;
+        }
+        index = interpolators.size();
+        interpolators.add(interpolator);
+      }
+      interpolatorIndices[i] = (short) index;
+    }
+    //noinspection ConstantConditions
+    return new KeyframeTrack(keyframes.get(0).getComposition(), startFrames, endFrames, interpolatorIndices,
+        interpolators.toArray(new Interpolator[0]), floatValues, intValues, dimension);
+  }
+
+  /**
+   * Interpolators are shared by the parser so they are compared by identity. Distinct interpolators are checked from
+   * the most recently added one because keyframes that are next to each other usually share theirs.
+   */
+  private static int indexOf(List<Interpolator> interpolators, Interpolator interpolator) {
+    for (int i = interpolators.size() - 1; i >= 0; i--) {
+      if (interpolators.get(i) == interpolator) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public int size() {
+    return startFrames.length;
+  }
+
+  /**
+   * Returns the start progress of every keyframe. The array is shared by every animation of the track so it must not
+   * be modified.
+   */
+  float[] getStartProgress() {
+    computeProgress();
+    //noinspection ConstantConditions
+    return startProgress;
+  }
+
+  /**
+   * Returns the end progress of every keyframe. The array is shared by every animation of the track so it must not be
+   * modified.
+   */
+  float[] getEndProgress() {
+    computeProgress();
+    //noinspection ConstantConditions
+    return endProgress;
+  }
+
+  /**
+   * Computes the progress of each keyframe like {@link Keyframe#getStartProgress()} and
+   * {@link Keyframe#getEndProgress()} do. Drawables can create their animations on different threads so this is
+   * synchronized. It is only called when an animation is created.
+   */
+  private synchronized void computeProgress() {
+    if (startProgress != null) {
+      return;
+    }
+    float compositionStartFrame = composition.getStartFrame();
+    float durationFrames = composition.getDurationFrames();
+    float[] startProgress = new float[size()];
+    float[] endProgress = new float[size()];
+    for (int i = 0; i < startProgress.length; i++) {
+      startProgress[i] = (startFrames[i] - compositionStartFrame) / durationFrames;
+      if (Float.isNaN(endFrames[i])) {
+        endProgress[i] = 1f;
+      } else {
+        endProgress[i] = startProgress[i] + (endFrames[i] - startFrames[i]) / durationFrames;
+      }
+    }
+    this.endProgress = endProgress;
+    this.startProgress = startProgress;
+  }
+
+  /**
+   * Whether keyframe index holds its start value until the next keyframe.
+   */
+  boolean isHold(int index) {
+    return interpolatorIndices[index] == HOLD;
+  }
+
+  /**
+   * Returns the interpolated progress into keyframe index. This matches
+   * {@link BaseKeyframeAnimation#getInterpolatedCurrentKeyframeProgress()} for the keyframe.
+   */
+  float getInterpolatedProgress(int index, float linearProgress) {
+    short interpolatorIndex = interpolatorIndices[index];
+    if (interpolatorIndex == HOLD) {
+      return 0f;
+    }
+    return interpolators[interpolatorIndex].getInterpolation(linearProgress);
+  }
+
+  /**
+   * @param component 0 for floats and the x of points, 1 for the y of points.
+   */
+  float getStartFloat(int index, int component) {
+    //noinspection ConstantConditions
+    return floatValues[dimensionOffset(index, component)];
+  }
+
+  float getEndFloat(int index, int component) {
+    //noinspection ConstantConditions
+    return floatValues[dimensionOffset(index, component) + 1];
+  }
+
+  int getStartInt(int index) {
+    //noinspection ConstantConditions
+    return intValues[index * 2];
+  }
+
+  int getEndInt(int index) {
+    //noinspection ConstantConditions
+    return intValues[index * 2 + 1];
+  }
+
+  private int dimensionOffset(int index, int component) {
+    return (index * dimension + component) * 2;
+  }
+
+  /**
+   * Creates keyframe index of the list the track was created from. The keyframe is a new object with boxed values so
+   * this is only used when something needs the keyframe itself rather than its value.
+   */
+  public Keyframe<?> createKeyframe(int index) {
+    Interpolator interpolator = isHold(index) ? null : interpolators[interpolatorIndices[index]];
+    Float endFrame = Float.isNaN(endFrames[index]) ? null : endFrames[index];
+    if (intValues != null) {
+      return new Keyframe<>(composition, getStartInt(index), getEndInt(index), interpolator, startFrames[index],
+          endFrame);
+    } else if (dimension == 2) {
+      return new Keyframe<>(composition, new PointF(getStartFloat(index, 0), getStartFloat(index, 1)),
+          new PointF(getEndFloat(index, 0), getEndFloat(index, 1)), interpolator, startFrames[index], endFrame);
+    }
+    return new Keyframe<>(composition, getStartFloat(index, 0), getEndFloat(index, 0), interpolator,
+        startFrames[index], endFrame);
+  }
+
+  /**
+   * Creates every keyframe of the track.
+   */
+  public List<Keyframe<?>> createKeyframes() {
+    List<Keyframe<?>> keyframes = new ArrayList<>(size());
+    for (int i = 0; i < size(); i++) {
+      keyframes.add(createKeyframe(i));
+    }
+    return Collections.unmodifiableList(keyframes);
+  }
+}
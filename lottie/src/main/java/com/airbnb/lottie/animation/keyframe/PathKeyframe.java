@@ -18,6 +18,8 @@ public class PathKeyframe extends Keyframe<PointF> {
     super(composition, keyframe.startValue, keyframe.endValue, keyframe.interpolator, keyframe.xInterpolator, keyframe.yInterpolator,
         keyframe.startFrame, keyframe.endFrame);
     this.pointKeyFrame = keyframe;
+    pathCp1 = keyframe.pathCp1;
+    pathCp2 = keyframe.pathCp2;
     createPath();
   }
 
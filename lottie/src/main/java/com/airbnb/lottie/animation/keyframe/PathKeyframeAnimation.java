@@ -4,14 +4,20 @@ import android.graphics.Path;
 import android.graphics.PathMeasure;
 import android.graphics.PointF;
 
+import androidx.annotation.Nullable;
+
 import com.airbnb.lottie.value.Keyframe;
 
 import java.util.List;
 
 public class PathKeyframeAnimation extends KeyframeAnimation<PointF> {
-  private final PointF point = new PointF();
   private final float[] pos = new float[2];
-  private final PathMeasure pathMeasure = new PathMeasure();
+  /**
+   * The point and path measure are created the first time a keyframe with a path is interpolated so that creating the
+   * animation doesn't need them.
+   */
+  @Nullable private PointF point;
+  @Nullable private PathMeasure pathMeasure;
   private PathKeyframe pathMeasureKeyframe;
 
   public PathKeyframeAnimation(List<? extends Keyframe<PointF>> keyframes) {
@@ -34,12 +40,17 @@ public class PathKeyframeAnimation extends KeyframeAnimation<PointF> {
       }
     }
 
+    if (pathMeasure == null) {
+      pathMeasure = new PathMeasure();
+      point = new PointF();
+    }
     if (pathMeasureKeyframe != pathKeyframe) {
       pathMeasure.setPath(path, false);
       pathMeasureKeyframe = pathKeyframe;
     }
 
     pathMeasure.getPosTan(keyframeProgress * pathMeasure.getLength(), pos, null);
+    //noinspection ConstantConditions
     point.set(pos[0], pos[1]);
     return point;
   }
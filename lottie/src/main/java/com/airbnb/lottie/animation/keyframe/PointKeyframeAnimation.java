@@ -2,21 +2,39 @@ package com.airbnb.lottie.animation.keyframe;
 
 import android.graphics.PointF;
 
+import androidx.annotation.Nullable;
+
 import com.airbnb.lottie.value.Keyframe;
 
 import java.util.List;
 
 public class PointKeyframeAnimation extends KeyframeAnimation<PointF> {
-  private final PointF point = new PointF();
+  /**
+   * Created the first time a value is interpolated so that creating the animation doesn't need a point.
+   */
+  @Nullable private PointF point;
 
   public PointKeyframeAnimation(List<Keyframe<PointF>> keyframes) {
     super(keyframes);
   }
 
+  public PointKeyframeAnimation(KeyframeTrack track) {
+    super(track);
+  }
+
   @Override public PointF getValue(Keyframe<PointF> keyframe, float keyframeProgress) {
     return getValue(keyframe, keyframeProgress, keyframeProgress, keyframeProgress);
   }
 
+  @Override PointF getValue(KeyframeTrack track, int keyframeIndex, float keyframeProgress) {
+    float startX = track.getStartFloat(keyframeIndex, 0);
+    float startY = track.getStartFloat(keyframeIndex, 1);
+    PointF point = getOrCreatePoint();
+    point.set(startX + keyframeProgress * (track.getEndFloat(keyframeIndex, 0) - startX),
+        startY + keyframeProgress * (track.getEndFloat(keyframeIndex, 1) - startY));
+    return point;
+  }
+
   @Override protected PointF getValue(Keyframe<PointF> keyframe, float linearKeyframeProgress, float xKeyframeProgress, float yKeyframeProgress) {
     if (keyframe.startValue == null || keyframe.endValue == null) {
       throw new IllegalStateException("Missing values for keyframe.");
@@ -34,8 +52,16 @@ public class PointKeyframeAnimation extends KeyframeAnimation<PointF> {
       }
     }
 
+    PointF point = getOrCreatePoint();
     point.set(startPoint.x + xKeyframeProgress * (endPoint.x - startPoint.x),
         startPoint.y + yKeyframeProgress * (endPoint.y - startPoint.y));
     return point;
   }
+
+  private PointF getOrCreatePoint() {
+    if (point == null) {
+      point = new PointF();
+    }
+    return point;
+  }
 }
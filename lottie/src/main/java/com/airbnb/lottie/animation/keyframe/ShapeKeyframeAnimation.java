@@ -2,6 +2,8 @@ package com.airbnb.lottie.animation.keyframe;
 
 import android.graphics.Path;
 
+import androidx.annotation.Nullable;
+
 import com.airbnb.lottie.model.content.ShapeData;
 import com.airbnb.lottie.utils.MiscUtils;
 import com.airbnb.lottie.value.Keyframe;
@@ -10,17 +12,32 @@ import java.util.List;
 
 public class ShapeKeyframeAnimation extends BaseKeyframeAnimation<ShapeData, Path> {
   private final ShapeData tempShapeData = new ShapeData();
-  private final Path tempPath = new Path();
+  /**
+   * Created when the shape is first drawn so that {@link #getShapeData()} works without a native path.
+   */
+  @Nullable private Path tempPath;
 
   public ShapeKeyframeAnimation(List<Keyframe<ShapeData>> keyframes) {
     super(keyframes);
   }
 
+  /**
+   * Returns the shape at the current progress without creating a path from it. The shape is reused.
+   */
+  public ShapeData getShapeData() {
+    Keyframe<ShapeData> keyframe = getCurrentKeyframe();
+    tempShapeData.interpolateBetween(keyframe.startValue, keyframe.endValue, getInterpolatedCurrentKeyframeProgress());
+    return tempShapeData;
+  }
+
   @Override public Path getValue(Keyframe<ShapeData> keyframe, float keyframeProgress) {
     ShapeData startShapeData = keyframe.startValue;
     ShapeData endShapeData = keyframe.endValue;
 
     tempShapeData.interpolateBetween(startShapeData, endShapeData, keyframeProgress);
+    if (tempPath == null) {
+      tempPath = new Path();
+    }
     MiscUtils.getPathFromData(tempShapeData, tempPath);
     return tempPath;
   }
@@ -50,6 +50,11 @@ public class SplitDimensionPathKeyframeAnimation extends BaseKeyframeAnimation<P
     }
   }
 
+  @Override public boolean isStatic() {
+    return super.isStatic() && xValueCallback == null && yValueCallback == null && xAnimation.isStatic() &&
+        yAnimation.isStatic();
+  }
+
   @Override public void setProgress(float progress) {
     xAnimation.setProgress(progress);
     yAnimation.setProgress(progress);
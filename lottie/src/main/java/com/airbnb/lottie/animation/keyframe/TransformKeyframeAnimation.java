@@ -20,17 +20,21 @@ import androidx.annotation.Nullable;
 
 import com.airbnb.lottie.model.animatable.AnimatableTransform;
 import com.airbnb.lottie.model.layer.BaseLayer;
+import com.airbnb.lottie.utils.MatrixValues;
 import com.airbnb.lottie.value.Keyframe;
 import com.airbnb.lottie.value.LottieValueCallback;
 import com.airbnb.lottie.value.ScaleXY;
 
 import java.util.Collections;
+import java.util.List;
 
 public class TransformKeyframeAnimation {
-  private final Matrix matrix = new Matrix();
-  private final Matrix skewMatrix1;
-  private final Matrix skewMatrix2;
-  private final Matrix skewMatrix3;
+  /**
+   * Created the first time a layer asks for it so that transforms that are only evaluated with
+   * {@link #getMatrixValues(float[])} don't need a native matrix.
+   */
+  @Nullable private Matrix matrix;
+  private final float[] matrixValues = new float[9];
   private final float[] skewValues;
 
   @NonNull private BaseKeyframeAnimation<PointF, PointF> anchorPoint;
@@ -51,17 +55,7 @@ public class TransformKeyframeAnimation {
     scale = animatableTransform.getScale() == null ? null : animatableTransform.getScale().createAnimation();
     rotation = animatableTransform.getRotation() == null ? null : animatableTransform.getRotation().createAnimation();
     skew = animatableTransform.getSkew() == null ? null : (FloatKeyframeAnimation) animatableTransform.getSkew().createAnimation();
-    if (skew != null) {
-      skewMatrix1 = new Matrix();
-      skewMatrix2 = new Matrix();
-      skewMatrix3 = new Matrix();
-      skewValues = new float[9];
-    } else {
-      skewMatrix1 = null;
-      skewMatrix2 = null;
-      skewMatrix3 = null;
-      skewValues = null;
-    }
+    skewValues = skew == null ? null : new float[9];
     skewAngle = animatableTransform.getSkewAngle() == null ? null : (FloatKeyframeAnimation) animatableTransform.getSkewAngle().createAnimation();
     if (animatableTransform.getOpacity() != null) {
       opacity = animatableTransform.getOpacity().createAnimation();
@@ -91,6 +85,29 @@ public class TransformKeyframeAnimation {
     layer.addAnimation(skewAngle);
   }
 
+  /**
+   * Adds the animations that {@link #setProgress(float)} updates, in the order that it updates them.
+   */
+  public void addAnimationsTo(List<BaseKeyframeAnimation<?, ?>> animations) {
+    addIfNotNull(animations, opacity);
+    addIfNotNull(animations, startOpacity);
+    addIfNotNull(animations, endOpacity);
+
+    addIfNotNull(animations, anchorPoint);
+    addIfNotNull(animations, position);
+    addIfNotNull(animations, scale);
+    addIfNotNull(animations, rotation);
+    addIfNotNull(animations, skew);
+    addIfNotNull(animations, skewAngle);
+  }
+
+  private static void addIfNotNull(List<BaseKeyframeAnimation<?, ?>> animations,
+      @Nullable BaseKeyframeAnimation<?, ?> animation) {
+    if (animation != null) {
+      animations.add(animation);
+    }
+  }
+
   public void addListener(final BaseKeyframeAnimation.AnimationListener listener) {
     if (opacity != null) {
       opacity.addUpdateListener(listener);
@@ -122,6 +139,18 @@ public class TransformKeyframeAnimation {
     }
   }
 
+  /**
+   * Whether the matrix and opacity never change with progress.
+   */
+  public boolean isStatic() {
+    return isStatic(anchorPoint) && isStatic(position) && isStatic(scale) && isStatic(rotation) &&
+        isStatic(opacity) && isStatic(skew) && isStatic(skewAngle) && isStatic(startOpacity) && isStatic(endOpacity);
+  }
+
+  private static boolean isStatic(@Nullable BaseKeyframeAnimation<?, ?> animation) {
+    return animation == null || animation.isStatic();
+  }
+
   public void setProgress(float progress) {
     if (opacity != null) {
       opacity.setProgress(progress);
@@ -166,11 +195,30 @@ public class TransformKeyframeAnimation {
   }
 
   public Matrix getMatrix() {
-    matrix.reset();
+    Matrix matrix = getOrCreateMatrix();
+    getMatrixValues(matrixValues);
+    matrix.setValues(matrixValues);
+    return matrix;
+  }
+
+  private Matrix getOrCreateMatrix() {
+    if (matrix == null) {
+      matrix = new Matrix();
+    }
+    return matrix;
+  }
+
+  /**
+   * Sets values to the values of {@link #getMatrix()} without a native {@link Matrix}.
+   *
+   * @see MatrixValues
+   */
+  public void getMatrixValues(float[] values) {
+    MatrixValues.reset(values);
     if (position != null) {
       PointF position = this.position.getValue();
       if (position.x != 0 || position.y != 0) {
-        matrix.preTranslate(position.x, position.y);
+        MatrixValues.preTranslate(values, position.x, position.y);
       }
     }
 
@@ -182,7 +230,7 @@ public class TransformKeyframeAnimation {
         rotation = ((FloatKeyframeAnimation) this.rotation).getFloatValue();
       }
       if (rotation != 0f) {
-        matrix.preRotate(rotation);
+        MatrixValues.preRotate(values, rotation);
       }
     }
 
@@ -190,47 +238,42 @@ public class TransformKeyframeAnimation {
       float mCos = skewAngle == null ? 0f : (float) Math.cos(Math.toRadians(-skewAngle.getFloatValue() + 90));
       float mSin = skewAngle == null ? 1f : (float) Math.sin(Math.toRadians(-skewAngle.getFloatValue() + 90));
       float aTan = (float) Math.tan(Math.toRadians(skew.getFloatValue()));
+      // Rotates by the skew angle, skews and rotates back.
       clearSkewValues();
       skewValues[0] = mCos;
-      skewValues[1] = mSin;
-      skewValues[3] = -mSin;
+      skewValues[1] = -mSin;
+      skewValues[3] = mSin;
       skewValues[4] = mCos;
-      skewValues[8] = 1f;
-      skewMatrix1.setValues(skewValues);
+      skewValues[8] = 1;
+      MatrixValues.preConcat(values, skewValues);
       clearSkewValues();
       skewValues[0] = 1f;
       skewValues[3] = aTan;
       skewValues[4] = 1f;
       skewValues[8] = 1f;
-      skewMatrix2.setValues(skewValues);
+      MatrixValues.preConcat(values, skewValues);
       clearSkewValues();
       skewValues[0] = mCos;
-      skewValues[1] = -mSin;
-      skewValues[3] = mSin;
+      skewValues[1] = mSin;
+      skewValues[3] = -mSin;
       skewValues[4] = mCos;
-      skewValues[8] = 1;
-      skewMatrix3.setValues(skewValues);
-      skewMatrix2.preConcat(skewMatrix1);
-      skewMatrix3.preConcat(skewMatrix2);
-
-      matrix.preConcat(skewMatrix3);
+      skewValues[8] = 1f;
+      MatrixValues.preConcat(values, skewValues);
     }
 
     if (scale != null) {
       ScaleXY scaleTransform = this.scale.getValue();
       if (scaleTransform.getScaleX() != 1f || scaleTransform.getScaleY() != 1f) {
-        matrix.preScale(scaleTransform.getScaleX(), scaleTransform.getScaleY());
+        MatrixValues.preScale(values, scaleTransform.getScaleX(), scaleTransform.getScaleY());
       }
     }
 
     if (anchorPoint != null) {
       PointF anchorPoint = this.anchorPoint.getValue();
       if (anchorPoint.x != 0 || anchorPoint.y != 0) {
-        matrix.preTranslate(-anchorPoint.x, -anchorPoint.y);
+        MatrixValues.preTranslate(values, -anchorPoint.x, -anchorPoint.y);
       }
     }
-
-    return matrix;
   }
 
   private void clearSkewValues() {
@@ -243,25 +286,34 @@ public class TransformKeyframeAnimation {
    * TODO: see if we can use this for the main {@link #getMatrix()} method.
    */
   public Matrix getMatrixForRepeater(float amount) {
+    Matrix matrix = getOrCreateMatrix();
+    getMatrixValuesForRepeater(amount, matrixValues);
+    matrix.setValues(matrixValues);
+    return matrix;
+  }
+
+  /**
+   * Sets values to the values of {@link #getMatrixForRepeater(float)} without a native {@link Matrix}.
+   */
+  public void getMatrixValuesForRepeater(float amount, float[] values) {
     PointF position = this.position == null ? null : this.position.getValue();
     ScaleXY scale = this.scale == null ? null : this.scale.getValue();
 
-    matrix.reset();
+    MatrixValues.reset(values);
     if (position != null) {
-      matrix.preTranslate(position.x * amount, position.y * amount);
+      MatrixValues.preTranslate(values, position.x * amount, position.y * amount);
     }
     if (scale != null) {
-      matrix.preScale(
+      MatrixValues.preScale(values,
           (float) Math.pow(scale.getScaleX(), amount),
           (float) Math.pow(scale.getScaleY(), amount));
     }
     if (this.rotation != null) {
       float rotation = this.rotation.getValue();
       PointF anchorPoint = this.anchorPoint == null ? null : this.anchorPoint.getValue();
-      matrix.preRotate(rotation * amount, anchorPoint == null ? 0f : anchorPoint.x, anchorPoint == null ? 0f : anchorPoint.y);
+      MatrixValues.preRotate(values, rotation * amount, anchorPoint == null ? 0f : anchorPoint.x,
+          anchorPoint == null ? 0f : anchorPoint.y);
     }
-
-    return matrix;
   }
 
   /**
@@ -88,6 +88,15 @@ public class ImageAssetManager {
       return bitmap;
     }
 
+    ImageAssetDelegate lazyBitmapLoader = asset.getLazyBitmapLoader();
+    if (lazyBitmapLoader != null) {
+      bitmap = lazyBitmapLoader.fetchBitmap(asset);
+      if (bitmap != null) {
+        asset.setLazyBitmapLoader(null);
+        return putBitmap(id, bitmap);
+      }
+    }
+
     if (delegate != null) {
       bitmap = delegate.fetchBitmap(asset);
       if (bitmap != null) {
@@ -31,7 +31,7 @@ public class Font {
     return style;
   }
 
-  @SuppressWarnings("unused") float getAscent() {
+  public float getAscent() {
     return ascent;
   }
 }
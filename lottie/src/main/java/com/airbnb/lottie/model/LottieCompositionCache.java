@@ -1,5 +1,7 @@
 package com.airbnb.lottie.model;
 
+import android.content.ComponentCallbacks2;
+
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 import androidx.annotation.VisibleForTesting;
@@ -16,7 +18,12 @@ public class LottieCompositionCache {
     return INSTANCE;
   }
 
-  private final LruCache<String, LottieComposition> cache = new LruCache<>(20);
+  private volatile LruCache<String, LottieComposition> cache = new LruCache<>(20);
+  /**
+   * When true, the cache is bounded by {@link LottieComposition#getEstimatedSizeBytes()} rather than by the number
+   * of compositions.
+   */
+  private boolean sizedByBytes = false;
 
   @VisibleForTesting LottieCompositionCache() {
   }
@@ -36,6 +43,13 @@ public class LottieCompositionCache {
     cache.put(cacheKey, composition);
   }
 
+  public void remove(@Nullable String cacheKey) {
+    if (cacheKey == null) {
+      return;
+    }
+    cache.remove(cacheKey);
+  }
+
   public void clear() {
     cache.evictAll();
   }
@@ -44,7 +58,60 @@ public class LottieCompositionCache {
    * Set the maximum number of compositions to keep cached in memory.
    * This must be {@literal >} 0.
    */
-  public void resize(int size) {
-    cache.resize(size);
+  public synchronized void resize(int size) {
+    if (sizedByBytes) {
+      sizedByBytes = false;
+      cache.evictAll();
+      cache = new LruCache<>(size);
+    } else {
+      cache.resize(size);
+    }
+  }
+
+  /**
+   * Bound the cache by the estimated heap retained by the cached compositions rather than by their count.
+   * This must be {@literal >} 0.
+   *
+   * @see LottieComposition#getEstimatedSizeBytes()
+   */
+  public synchronized void resizeBytes(int maxSizeBytes) {
+    if (sizedByBytes) {
+      cache.resize(maxSizeBytes);
+      return;
+    }
+    sizedByBytes = true;
+    cache.evictAll();
+    cache = new LruCache<String, LottieComposition>(maxSizeBytes) {
+      @Override protected int sizeOf(String key, LottieComposition composition) {
+        long size = composition.getEstimatedSizeBytes();
+        return (int) Math.min(Math.max(size, 1), Integer.MAX_VALUE);
+      }
+    };
+  }
+
+  /**
+   * The total size of the cached compositions. This is either a count or the estimated size in bytes
+   * depending on whether {@link #resize(int)} or {@link #resizeBytes(int)} was called last.
+   */
+  public int size() {
+    return cache.size();
+  }
+
+  public int maxSize() {
+    return cache.maxSize();
+  }
+
+  /**
+   * Shrinks the cache in response to {@link ComponentCallbacks2#onTrimMemory(int)}. The maximum size is unchanged
+   * so the cache can grow again once memory pressure subsides.
+   */
+  public void trimMemory(int level) {
+    if (level >= ComponentCallbacks2.TRIM_MEMORY_COMPLETE || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+      cache.evictAll();
+    } else if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+      cache.trimToSize(cache.maxSize() / 4);
+    } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+      cache.trimToSize(cache.maxSize() / 2);
+    }
   }
 }
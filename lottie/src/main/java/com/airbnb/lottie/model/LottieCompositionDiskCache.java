@@ -0,0 +1,327 @@
+package com.airbnb.lottie.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieTask;
+import com.airbnb.lottie.parser.LottieCompositionBinaryReader;
+import com.airbnb.lottie.parser.LottieCompositionBinaryWriter;
+import com.airbnb.lottie.utils.Logger;
+import com.airbnb.lottie.utils.MappedFiles;
+import com.airbnb.lottie.utils.Utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.Executor;
+
+import okio.Buffer;
+import okio.ByteString;
+
+/**
+ * Second tier cache that persists parsed animations across process restarts.
+ * <p>
+ * Entries are model snapshots written by {@link LottieCompositionBinaryWriter} so a hit creates the composition
+ * directly without reading the json or running the parsers.
+ * <p>
+ * Entries are keyed by an identity of the source that is cheap to compute and changes whenever the source does:
+ * <ul>
+ *   <li>Raw resources and assets use their name and the installed version of the app.</li>
+ *   <li>Files use their path, modification time and size. This includes urls that are loaded through the network
+ *   cache.</li>
+ * </ul>
+ * Json that is loaded from a stream or a string has no such identity and doesn't go through this cache. Keys include the
+ * display density because snapshots are only valid for the density they were written at.
+ * <p>
+ * The cache is bounded by size and evicts the least recently used entries first. Entries written by a different
+ * {@link #MODEL_VERSION} or snapshot version are deleted the first time the cache is used. Misses parse the json
+ * directly and entries are written on the cache's executor so a miss costs little more than loading without the
+ * cache. Compare {@link #getMeanHitLoadTimeMs()} and {@link #getMeanMissLoadTimeMs()} to see what it saves.
+ * <p>
+ * Enable it with {@link com.airbnb.lottie.LottieConfig.Builder#setCompositionDiskCacheDir(File)}.
+ */
+public class LottieCompositionDiskCache {
+  /**
+   * Bump this whenever the keys change so that stale entries are discarded. Entries are also discarded when
+   * {@link LottieCompositionBinaryReader#VERSION} changes.
+   */
+  public static final int MODEL_VERSION = 3;
+  private static final String EXTENSION = ".v" + MODEL_VERSION + "_" + LottieCompositionBinaryReader.VERSION + ".lottieb";
+
+  @NonNull private final File dir;
+  private final long maxSize;
+  private final Executor executor;
+
+  private boolean initialized = false;
+  private long size = 0;
+
+  private int hitCount = 0;
+  private int missCount = 0;
+  private long hitLoadTimeNs = 0;
+  private long missLoadTimeNs = 0;
+
+  public LottieCompositionDiskCache(@NonNull File dir, long maxSize) {
+    this(dir, maxSize, LottieTask.EXECUTOR);
+  }
+
+  /**
+   * @param executor the executor that new entries are written and the cache is cleared on.
+   */
+  public LottieCompositionDiskCache(@NonNull File dir, long maxSize, @NonNull Executor executor) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be > 0");
+    }
+    this.dir = dir;
+    this.maxSize = maxSize;
+    this.executor = executor;
+  }
+
+  /**
+   * Returns the key under which a composition is stored for a source with {@code identity}. The identity must change
+   * whenever the source does.
+   */
+  public static String keyFor(String identity) {
+    return ByteString.encodeUtf8(identity + "@" + Utils.dpScale()).sha1().hex();
+  }
+
+  /**
+   * Returns the key under which a composition parsed from {@code file} is stored. The file isn't read.
+   */
+  public static String keyForFile(File file) {
+    return keyFor("file:" + file.getAbsolutePath() + ":" + file.lastModified() + ":" + file.length());
+  }
+
+  /**
+   * Returns the snapshot of the composition stored for {@code key} or null if there is none.
+   */
+  @Nullable
+  @WorkerThread
+  public synchronized ByteBuffer get(String key) {
+    initializeIfNeeded();
+    File file = fileForKey(key);
+    if (!file.exists()) {
+      return null;
+    }
+    try {
+      // Mapped rather than read so the snapshot is read in place without copying it onto the heap.
+      ByteBuffer buffer = MappedFiles.map(file);
+      //noinspection ResultOfMethodCallIgnored
+      file.setLastModified(System.currentTimeMillis());
+      return buffer;
+    } catch (IOException e) {
+      Logger.warning("Unable to read cached composition " + file.getAbsolutePath(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Stores the snapshot of a composition. The least recently used entries are evicted if the cache
+   * exceeds its maximum size.
+   */
+  @WorkerThread
+  public synchronized void put(String key, byte[] binary) {
+    initializeIfNeeded();
+    if (binary.length > maxSize) {
+      return;
+    }
+    File file = fileForKey(key);
+    File tempFile = new File(dir, file.getName() + ".temp");
+    try {
+      OutputStream output = new FileOutputStream(tempFile);
+      //noinspection TryFinallyCanBeTryWithResources
+      try {
+        output.write(binary);
+        output.flush();
+      } finally {
+        output.close();
+      }
+    } catch (IOException e) {
+      Logger.warning("Unable to write cached composition " + file.getAbsolutePath(), e);
+      //noinspection ResultOfMethodCallIgnored
+      tempFile.delete();
+      return;
+    }
+    long previousSize = file.length();
+    if (!tempFile.renameTo(file)) {
+      Logger.warning("Unable to rename cache file " + tempFile.getAbsolutePath() + " to " + file.getAbsolutePath() + ".");
+      //noinspection ResultOfMethodCallIgnored
+      tempFile.delete();
+      return;
+    }
+    size += binary.length - previousSize;
+    trimToSize(maxSize);
+  }
+
+  /**
+   * Writes the snapshot of {@code composition} and stores it on the cache's executor so that the load that just parsed
+   * it doesn't wait for it to be written.
+   */
+  public void putAsync(final String key, final LottieComposition composition) {
+    executor.execute(new Runnable() {
+      @Override public void run() {
+        Buffer snapshot = new Buffer();
+        try {
+          LottieCompositionBinaryWriter.write(composition, snapshot);
+        } catch (IOException | IllegalArgumentException e) {
+          Logger.warning("Unable to write the snapshot of a composition for the disk cache.", e);
+          return;
+        }
+        put(key, snapshot.readByteArray());
+      }
+    });
+  }
+
+  /**
+   * Removes an entry that turned out to be unreadable.
+   */
+  @WorkerThread
+  public synchronized void remove(String key) {
+    initializeIfNeeded();
+    File file = fileForKey(key);
+    long length = file.length();
+    if (file.delete()) {
+      size -= length;
+    }
+  }
+
+  /**
+   * Deletes all entries. The files are deleted on the cache's executor so this can be called from any thread.
+   */
+  public void clear() {
+    executor.execute(new Runnable() {
+      @Override public void run() {
+        clearSync();
+      }
+    });
+  }
+
+  @WorkerThread
+  private synchronized void clearSync() {
+    File[] files = dir.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+      }
+    }
+    size = 0;
+  }
+
+  /**
+   * The current size of all entries on disk in bytes.
+   */
+  public synchronized long getSize() {
+    initializeIfNeeded();
+    return size;
+  }
+
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  public synchronized void recordHit(long loadTimeNs) {
+    hitCount++;
+    hitLoadTimeNs += loadTimeNs;
+  }
+
+  public synchronized void recordMiss(long loadTimeNs) {
+    missCount++;
+    missLoadTimeNs += loadTimeNs;
+  }
+
+  public synchronized int getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized int getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * The mean time it took to load a composition that was in the cache.
+   */
+  public synchronized float getMeanHitLoadTimeMs() {
+    return hitCount == 0 ? 0f : hitLoadTimeNs / (float) hitCount / 1000000f;
+  }
+
+  /**
+   * The mean time it took to parse a composition that was not in the cache. Storing it isn't included because it
+   * happens on the cache's executor.
+   */
+  public synchronized float getMeanMissLoadTimeMs() {
+    return missCount == 0 ? 0f : missLoadTimeNs / (float) missCount / 1000000f;
+  }
+
+  public synchronized void resetStats() {
+    hitCount = 0;
+    missCount = 0;
+    hitLoadTimeNs = 0;
+    missLoadTimeNs = 0;
+  }
+
+  /**
+   * Deletes entries written by other model versions and computes the current size of the cache.
+   */
+  private void initializeIfNeeded() {
+    if (initialized) {
+      return;
+    }
+    initialized = true;
+    if (dir.isFile()) {
+      //noinspection ResultOfMethodCallIgnored
+      dir.delete();
+    }
+    if (!dir.exists()) {
+      //noinspection ResultOfMethodCallIgnored
+      dir.mkdirs();
+    }
+    size = 0;
+    File[] files = dir.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      if (file.getName().endsWith(EXTENSION)) {
+        size += file.length();
+      } else {
+        Logger.debug("Deleting stale cached composition " + file.getName());
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+      }
+    }
+    trimToSize(maxSize);
+  }
+
+  private void trimToSize(long targetSize) {
+    if (size <= targetSize) {
+      return;
+    }
+    File[] files = dir.listFiles();
+    if (files == null) {
+      return;
+    }
+    Arrays.sort(files, new Comparator<File>() {
+      @Override public int compare(File o1, File o2) {
+        long m1 = o1.lastModified();
+        long m2 = o2.lastModified();
+        return m1 < m2 ? -1 : (m1 == m2 ? 0 : 1);
+      }
+    });
+    for (int i = 0; i < files.length && size > targetSize; i++) {
+      long length = files[i].length();
+      if (files[i].delete()) {
+        size -= length;
+      }
+    }
+  }
+
+  private File fileForKey(String key) {
+    return new File(dir, key + EXTENSION);
+  }
+}
@@ -13,6 +13,10 @@ public class Marker {
     this.startFrame = startFrame;
   }
 
+  public String getName() {
+    return name;
+  }
+
   public boolean matchesName(String name) {
     if (this.name.equalsIgnoreCase(name)) {
       return true;
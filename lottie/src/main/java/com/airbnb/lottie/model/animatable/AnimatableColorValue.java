@@ -2,16 +2,20 @@ package com.airbnb.lottie.model.animatable;
 
 import com.airbnb.lottie.animation.keyframe.BaseKeyframeAnimation;
 import com.airbnb.lottie.animation.keyframe.ColorKeyframeAnimation;
+import com.airbnb.lottie.animation.keyframe.KeyframeTrack;
 import com.airbnb.lottie.value.Keyframe;
 
 import java.util.List;
 
 public class AnimatableColorValue extends BaseAnimatableValue<Integer, Integer> {
   public AnimatableColorValue(List<Keyframe<Integer>> keyframes) {
-    super(keyframes);
+    super(keyframes, KeyframeTrack.forIntegers(keyframes));
   }
 
   @Override public BaseKeyframeAnimation<Integer, Integer> createAnimation() {
-    return new ColorKeyframeAnimation(keyframes);
+    if (track != null) {
+      return new ColorKeyframeAnimation(track);
+    }
+    return new ColorKeyframeAnimation(getKeyframes());
   }
 }
@@ -2,6 +2,7 @@ package com.airbnb.lottie.model.animatable;
 
 import com.airbnb.lottie.animation.keyframe.BaseKeyframeAnimation;
 import com.airbnb.lottie.animation.keyframe.FloatKeyframeAnimation;
+import com.airbnb.lottie.animation.keyframe.KeyframeTrack;
 import com.airbnb.lottie.value.Keyframe;
 
 import java.util.List;
@@ -13,10 +14,13 @@ public class AnimatableFloatValue extends BaseAnimatableValue<Float, Float> {
   }
 
   public AnimatableFloatValue(List<Keyframe<Float>> keyframes) {
-    super(keyframes);
+    super(keyframes, KeyframeTrack.forFloats(keyframes));
   }
 
   @Override public BaseKeyframeAnimation<Float, Float> createAnimation() {
-    return new FloatKeyframeAnimation(keyframes);
+    if (track != null) {
+      return new FloatKeyframeAnimation(track);
+    }
+    return new FloatKeyframeAnimation(getKeyframes());
   }
 }
@@ -2,6 +2,7 @@ package com.airbnb.lottie.model.animatable;
 
 import com.airbnb.lottie.animation.keyframe.BaseKeyframeAnimation;
 import com.airbnb.lottie.animation.keyframe.IntegerKeyframeAnimation;
+import com.airbnb.lottie.animation.keyframe.KeyframeTrack;
 import com.airbnb.lottie.value.Keyframe;
 
 import java.util.List;
@@ -13,10 +14,13 @@ public class AnimatableIntegerValue extends BaseAnimatableValue<Integer, Integer
   }
 
   public AnimatableIntegerValue(List<Keyframe<Integer>> keyframes) {
-    super(keyframes);
+    super(keyframes, KeyframeTrack.forIntegers(keyframes));
   }
 
   @Override public BaseKeyframeAnimation<Integer, Integer> createAnimation() {
-    return new IntegerKeyframeAnimation(keyframes);
+    if (track != null) {
+      return new IntegerKeyframeAnimation(track);
+    }
+    return new IntegerKeyframeAnimation(getKeyframes());
   }
 }
@@ -3,6 +3,7 @@ package com.airbnb.lottie.model.animatable;
 import android.graphics.PointF;
 
 import com.airbnb.lottie.animation.keyframe.BaseKeyframeAnimation;
+import com.airbnb.lottie.animation.keyframe.KeyframeTrack;
 import com.airbnb.lottie.animation.keyframe.PointKeyframeAnimation;
 import com.airbnb.lottie.value.Keyframe;
 
@@ -10,10 +11,13 @@ import java.util.List;
 
 public class AnimatablePointValue extends BaseAnimatableValue<PointF, PointF> {
   public AnimatablePointValue(List<Keyframe<PointF>> keyframes) {
-    super(keyframes);
+    super(keyframes, KeyframeTrack.forPoints(keyframes));
   }
 
   @Override public BaseKeyframeAnimation<PointF, PointF> createAnimation() {
-    return new PointKeyframeAnimation(keyframes);
+    if (track != null) {
+      return new PointKeyframeAnimation(track);
+    }
+    return new PointKeyframeAnimation(getKeyframes());
   }
 }
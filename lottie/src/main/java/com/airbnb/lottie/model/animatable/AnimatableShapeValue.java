@@ -16,6 +16,6 @@ public class AnimatableShapeValue extends BaseAnimatableValue<ShapeData, Path> {
   }
 
   @Override public BaseKeyframeAnimation<ShapeData, Path> createAnimation() {
-    return new ShapeKeyframeAnimation(keyframes);
+    return new ShapeKeyframeAnimation(getKeyframes());
   }
 }
@@ -19,6 +19,14 @@ public class AnimatableSplitDimensionPathValue implements AnimatableValue<PointF
     this.animatableYDimension = animatableYDimension;
   }
 
+  public AnimatableFloatValue getXDimension() {
+    return animatableXDimension;
+  }
+
+  public AnimatableFloatValue getYDimension() {
+    return animatableYDimension;
+  }
+
   @Override
   public List<Keyframe<PointF>> getKeyframes() {
     throw new UnsupportedOperationException("Cannot call getKeyframes on AnimatableSplitDimensionPathValue.");
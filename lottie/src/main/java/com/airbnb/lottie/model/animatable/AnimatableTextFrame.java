@@ -13,6 +13,6 @@ public class AnimatableTextFrame extends BaseAnimatableValue<DocumentData, Docum
   }
 
   @Override public TextKeyframeAnimation createAnimation() {
-    return new TextKeyframeAnimation(keyframes);
+    return new TextKeyframeAnimation(getKeyframes());
   }
 }
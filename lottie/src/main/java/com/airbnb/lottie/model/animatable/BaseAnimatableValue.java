@@ -1,5 +1,9 @@
 package com.airbnb.lottie.model.animatable;
 
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.airbnb.lottie.animation.keyframe.KeyframeTrack;
 import com.airbnb.lottie.value.Keyframe;
 
 import java.util.Arrays;
@@ -7,7 +11,11 @@ import java.util.Collections;
 import java.util.List;
 
 abstract class BaseAnimatableValue<V, O> implements AnimatableValue<V, O> {
-  final List<Keyframe<V>> keyframes;
+  /**
+   * Null when the keyframes are stored in {@link #track}.
+   */
+  @Nullable private final List<Keyframe<V>> keyframes;
+  @Nullable final KeyframeTrack track;
 
   /**
    * Create a default static animatable path.
@@ -17,20 +25,52 @@ abstract class BaseAnimatableValue<V, O> implements AnimatableValue<V, O> {
   }
 
   BaseAnimatableValue(List<Keyframe<V>> keyframes) {
-    this.keyframes = keyframes;
+    this(keyframes, null);
+  }
+
+  /**
+   * @param track the keyframes stored in a {@link KeyframeTrack} or null to keep the keyframes. The keyframes aren't
+   *              kept when there is a track.
+   */
+  BaseAnimatableValue(List<Keyframe<V>> keyframes, @Nullable KeyframeTrack track) {
+    this.track = track;
+    this.keyframes = track == null ? keyframes : null;
   }
 
+  /**
+   * Keyframes that are stored in a {@link KeyframeTrack} are created again every time this is called and can't be
+   * modified.
+   */
   public List<Keyframe<V>> getKeyframes() {
+    if (track != null) {
+      //noinspection unchecked
+      return (List<Keyframe<V>>) (List<?>) track.createKeyframes();
+    }
+    //noinspection ConstantConditions
     return keyframes;
   }
 
+  /**
+   * Returns the track that the keyframes are stored in or null if they are kept as keyframes.
+   */
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  @Nullable
+  public KeyframeTrack getTrack() {
+    return track;
+  }
+
   @Override
   public boolean isStatic() {
+    if (track != null) {
+      return false;
+    }
+    //noinspection ConstantConditions
     return keyframes.isEmpty() || (keyframes.size() == 1 && keyframes.get(0).isStatic());
   }
 
   @Override public String toString() {
     final StringBuilder sb = new StringBuilder();
+    List<Keyframe<V>> keyframes = getKeyframes();
     if (!keyframes.isEmpty()) {
       sb.append("values=").append(Arrays.toString(keyframes.toArray()));
     }
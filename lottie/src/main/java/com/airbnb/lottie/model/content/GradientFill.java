@@ -71,11 +71,11 @@ public class GradientFill implements ContentModel {
     return endPoint;
   }
 
-  @Nullable AnimatableFloatValue getHighlightLength() {
+  @Nullable public AnimatableFloatValue getHighlightLength() {
     return highlightLength;
   }
 
-  @Nullable AnimatableFloatValue getHighlightAngle() {
+  @Nullable public AnimatableFloatValue getHighlightAngle() {
     return highlightAngle;
   }
 
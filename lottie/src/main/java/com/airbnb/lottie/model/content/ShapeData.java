@@ -1,39 +1,104 @@
 package com.airbnb.lottie.model.content;
 
+import static androidx.annotation.RestrictTo.Scope.LIBRARY;
+
 import android.graphics.PointF;
 
 import androidx.annotation.FloatRange;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 
 import com.airbnb.lottie.model.CubicCurveData;
 import com.airbnb.lottie.utils.Logger;
 import com.airbnb.lottie.utils.MiscUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * A shape made of cubic curves.
+ * <p>
+ * The points are packed into a single float array so that shapes with many vertices can be interpolated every frame
+ * without allocating or following references. {@link #getInitialPoint()} and {@link #getCurves()} return copies of the
+ * points that are created when they are first called after the shape changed.
+ * <p>
+ * Before the points were packed, these returned the objects that the shape was made of and changing them changed the
+ * shape. Changing the copies has no effect on the shape so the list of curves is unmodifiable.
+ */
 public class ShapeData {
-  private final List<CubicCurveData> curves;
-  private PointF initialPoint;
+  /**
+   * The number of floats for each curve: its first control point, second control point and vertex.
+   */
+  public static final int CURVE_LENGTH = 6;
+
+  /**
+   * The initial point followed by the control points and vertex of each curve.
+   */
+  private float[] points;
+  private int curveCount;
   private boolean closed;
+  @Nullable private PointF initialPoint;
+  @Nullable private List<CubicCurveData> curves;
 
   public ShapeData(PointF initialPoint, boolean closed, List<CubicCurveData> curves) {
-    this.initialPoint = initialPoint;
     this.closed = closed;
-    this.curves = new ArrayList<>(curves);
+    curveCount = curves.size();
+    points = new float[2 + curveCount * CURVE_LENGTH];
+    points[0] = initialPoint.x;
+    points[1] = initialPoint.y;
+    for (int i = 0; i < curveCount; i++) {
+      CubicCurveData curve = curves.get(i);
+      int offset = 2 + i * CURVE_LENGTH;
+      points[offset] = curve.getControlPoint1().x;
+      points[offset + 1] = curve.getControlPoint1().y;
+      points[offset + 2] = curve.getControlPoint2().x;
+      points[offset + 3] = curve.getControlPoint2().y;
+      points[offset + 4] = curve.getVertex().x;
+      points[offset + 5] = curve.getVertex().y;
+    }
+  }
+
+  /**
+   * @param points the initial point followed by the first control point, second control point and vertex of each
+   *               curve. The array is used directly rather than copied.
+   */
+  @RestrictTo(LIBRARY)
+  public ShapeData(float[] points, int curveCount, boolean closed) {
+    if (points.length < 2 + curveCount * CURVE_LENGTH) {
+      throw new IllegalArgumentException("Shape data needs " + (2 + curveCount * CURVE_LENGTH) + " points for " +
+          curveCount + " curves but has " + points.length);
+    }
+    this.points = points;
+    this.curveCount = curveCount;
+    this.closed = closed;
   }
 
   public ShapeData() {
-    curves = new ArrayList<>();
+    points = new float[2];
   }
 
-  private void setInitialPoint(float x, float y) {
-    if (initialPoint == null) {
-      initialPoint = new PointF();
-    }
-    initialPoint.set(x, y);
+  /**
+   * Returns the packed points of the shape. See {@link #ShapeData(float[], int, boolean)}. The array may be longer than
+   * the points of the shape and must not be modified.
+   */
+  @RestrictTo(LIBRARY)
+  public float[] getPoints() {
+    return points;
+  }
+
+  @RestrictTo(LIBRARY)
+  public int getCurveCount() {
+    return curveCount;
   }
 
+  /**
+   * Returns a copy of the initial point of this shape. Changing it doesn't change the shape.
+   */
   public PointF getInitialPoint() {
+    if (initialPoint == null) {
+      initialPoint = new PointF(points[0], points[1]);
+    }
     return initialPoint;
   }
 
@@ -41,66 +106,54 @@ public class ShapeData {
     return closed;
   }
 
+  /**
+   * Returns an unmodifiable copy of the curves of this shape. Changing the points of the curves doesn't change the
+   * shape.
+   */
   public List<CubicCurveData> getCurves() {
+    if (curves == null) {
+      if (curveCount == 0) {
+        curves = Collections.emptyList();
+      } else {
+        List<CubicCurveData> curves = new ArrayList<>(curveCount);
+        for (int i = 0; i < curveCount; i++) {
+          int offset = 2 + i * CURVE_LENGTH;
+          curves.add(new CubicCurveData(
+              new PointF(points[offset], points[offset + 1]),
+              new PointF(points[offset + 2], points[offset + 3]),
+              new PointF(points[offset + 4], points[offset + 5])));
+        }
+        this.curves = Collections.unmodifiableList(curves);
+      }
+    }
     return curves;
   }
 
   public void interpolateBetween(ShapeData shapeData1, ShapeData shapeData2,
       @FloatRange(from = 0f, to = 1f) float percentage) {
-    if (initialPoint == null) {
-      initialPoint = new PointF();
-    }
     closed = shapeData1.isClosed() || shapeData2.isClosed();
 
-
-    if (shapeData1.getCurves().size() != shapeData2.getCurves().size()) {
+    if (shapeData1.curveCount != shapeData2.curveCount) {
       Logger.warning("Curves must have the same number of control points. Shape 1: " +
-          shapeData1.getCurves().size() + "\tShape 2: " + shapeData2.getCurves().size());
+          shapeData1.curveCount + "\tShape 2: " + shapeData2.curveCount);
     }
 
-    int points = Math.min(shapeData1.getCurves().size(), shapeData2.getCurves().size());
-    if (curves.size() < points) {
-      for (int i = curves.size(); i < points; i++) {
-        curves.add(new CubicCurveData());
-      }
-    } else if (curves.size() > points) {
-      for (int i = curves.size() - 1; i >= points; i--) {
-        curves.remove(curves.size() - 1);
-      }
+    curveCount = Math.min(shapeData1.curveCount, shapeData2.curveCount);
+    int length = 2 + curveCount * CURVE_LENGTH;
+    if (points.length < length) {
+      points = new float[length];
     }
-
-    PointF initialPoint1 = shapeData1.getInitialPoint();
-    PointF initialPoint2 = shapeData2.getInitialPoint();
-
-    setInitialPoint(MiscUtils.lerp(initialPoint1.x, initialPoint2.x, percentage),
-        MiscUtils.lerp(initialPoint1.y, initialPoint2.y, percentage));
-
-    for (int i = curves.size() - 1; i >= 0; i--) {
-      CubicCurveData curve1 = shapeData1.getCurves().get(i);
-      CubicCurveData curve2 = shapeData2.getCurves().get(i);
-
-      PointF cp11 = curve1.getControlPoint1();
-      PointF cp21 = curve1.getControlPoint2();
-      PointF vertex1 = curve1.getVertex();
-
-      PointF cp12 = curve2.getControlPoint1();
-      PointF cp22 = curve2.getControlPoint2();
-      PointF vertex2 = curve2.getVertex();
-
-      curves.get(i).setControlPoint1(
-          MiscUtils.lerp(cp11.x, cp12.x, percentage), MiscUtils.lerp(cp11.y, cp12.y,
-              percentage));
-      curves.get(i).setControlPoint2(
-          MiscUtils.lerp(cp21.x, cp22.x, percentage), MiscUtils.lerp(cp21.y, cp22.y,
-              percentage));
-      curves.get(i).setVertex(
-          MiscUtils.lerp(vertex1.x, vertex2.x, percentage), MiscUtils.lerp(vertex1.y, vertex2.y,
-              percentage));
+    float[] points1 = shapeData1.points;
+    float[] points2 = shapeData2.points;
+    for (int i = 0; i < length; i++) {
+      points[i] = MiscUtils.lerp(points1[i], points2[i], percentage);
     }
+    initialPoint = null;
+    curves = null;
   }
 
   @Override public String toString() {
-    return "ShapeData{" + "numCurves=" + curves.size() +
+    return "ShapeData{" + "numCurves=" + curveCount +
         "closed=" + closed +
         '}';
   }
@@ -41,6 +41,10 @@ public class ShapeFill implements ContentModel {
     return opacity;
   }
 
+  public boolean isFillEnabled() {
+    return fillEnabled;
+  }
+
   public Path.FillType getFillType() {
     return fillType;
   }
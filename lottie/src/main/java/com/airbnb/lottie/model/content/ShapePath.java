@@ -23,6 +23,10 @@ public class ShapePath implements ContentModel {
     return name;
   }
 
+  public int getIndex() {
+    return index;
+  }
+
   public AnimatableShapeValue getShapePath() {
     return shapePath;
   }
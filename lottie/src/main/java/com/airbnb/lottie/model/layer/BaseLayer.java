@@ -13,6 +13,7 @@ import android.os.Build;
 import androidx.annotation.CallSuper;
 import androidx.annotation.FloatRange;
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 
 import com.airbnb.lottie.L;
 import com.airbnb.lottie.LottieComposition;
@@ -83,6 +84,21 @@ public abstract class BaseLayer
   private final RectF maskBoundsRect = new RectF();
   private final RectF matteBoundsRect = new RectF();
   private final RectF tempMaskBoundsRect = new RectF();
+  private final Matrix clipMatrix = new Matrix();
+  private final Path maskClipPath = new Path();
+  private final Path matteClipPath = new Path();
+  private final Path tempMaskPath = new Path();
+  /**
+   * The bounds of the layer when its dirty bounds were last collected.
+   */
+  private final RectF lastDirtyBounds = new RectF();
+  private final RectF dirtyBoundsRect = new RectF();
+  private boolean hasLastDirtyBounds;
+  /**
+   * Whether anything that this layer draws changed in {@link #setProgress(float)} since its dirty bounds were last
+   * collected. This doesn't include the layers of a precomp.
+   */
+  private boolean dirty = true;
   private final String drawTraceName;
   final Matrix boundsMatrix = new Matrix();
   final LottieDrawable lottieDrawable;
@@ -102,11 +118,26 @@ public abstract class BaseLayer
   private List<BaseLayer> parentLayers;
 
   private final List<BaseKeyframeAnimation<?, ?>> animations = new ArrayList<>();
+  /**
+   * Every animation that {@link #setProgress(float)} updates, gathered into one array the first time the layer is
+   * updated after its animations changed so that they are updated in one loop. The first
+   * {@link #unstretchedAnimationCount} are updated with the progress before the time stretch of the layer is applied.
+   */
+  @Nullable private BaseKeyframeAnimation<?, ?>[] progressAnimations;
+  private int unstretchedAnimationCount;
   final TransformKeyframeAnimation transform;
   private boolean visible = true;
+  /**
+   * The number of times {@link #visible} changed.
+   */
+  private int visibilityChangeCount;
 
   private boolean outlineMasksAndMattes;
   @Nullable private Paint outlineMasksAndMattesPaint;
+  /**
+   * Set if this layer is static and is drawn from a bitmap while static layer caching is enabled.
+   */
+  @Nullable private StaticLayerCache staticLayerCache;
 
   BaseLayer(LottieDrawable lottieDrawable, Layer layerModel) {
     this.lottieDrawable = lottieDrawable;
@@ -196,10 +227,26 @@ public abstract class BaseLayer
       return;
     }
     animations.add(newAnimation);
+    progressAnimations = null;
   }
 
   public void removeAnimation(BaseKeyframeAnimation<?, ?> animation) {
     animations.remove(animation);
+    progressAnimations = null;
+  }
+
+  private BaseKeyframeAnimation<?, ?>[] getProgressAnimations() {
+    if (progressAnimations == null) {
+      List<BaseKeyframeAnimation<?, ?>> progressAnimations = new ArrayList<>();
+      transform.addAnimationsTo(progressAnimations);
+      if (mask != null) {
+        progressAnimations.addAll(mask.getMaskAnimations());
+      }
+      unstretchedAnimationCount = progressAnimations.size();
+      progressAnimations.addAll(animations);
+      this.progressAnimations = progressAnimations.toArray(new BaseKeyframeAnimation<?, ?>[0]);
+    }
+    return progressAnimations;
   }
 
   @CallSuper
@@ -230,6 +277,11 @@ public abstract class BaseLayer
       L.endSection(drawTraceName);
       return;
     }
+    if (staticLayerCache != null && lottieDrawable.isStaticLayerCachingEnabled() &&
+        staticLayerCache.draw(canvas, parentMatrix, parentAlpha)) {
+      L.endSection(drawTraceName);
+      return;
+    }
     buildParentLayerListIfNeeded();
     L.beginSection("Layer#parentMatrix");
     matrix.reset();
@@ -250,6 +302,16 @@ public abstract class BaseLayer
       return;
     }
 
+    // Clips are only anti-aliased from Android P. The outlines are drawn around the offscreen buffers.
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P && !outlineMasksAndMattes) {
+      clipMatrix.set(matrix);
+      clipMatrix.preConcat(transform.getMatrix());
+      if (drawWithClips(canvas, parentMatrix, clipMatrix, alpha)) {
+        recordRenderTime(L.endSection(drawTraceName));
+        return;
+      }
+    }
+
     L.beginSection("Layer#computeBounds");
     getBounds(rect, matrix, false);
 
@@ -400,6 +462,121 @@ public abstract class BaseLayer
 
   abstract void drawLayer(Canvas canvas, Matrix parentMatrix, int parentAlpha);
 
+  /**
+   * Draws the layer clipped to its masks and matte if they can be applied as clips. This is the case for opaque add
+   * masks and for alpha mattes that are opaque fills. It avoids the offscreen buffers of the general case which cost
+   * fill rate and memory.
+   *
+   * @return false if the masks or matte have to be applied with offscreen buffers.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.P)
+  private boolean drawWithClips(Canvas canvas, Matrix parentMatrix, Matrix matrix, int alpha) {
+    boolean clipToMasks = hasMasksOnThisLayer() && !areAllMasksNone();
+    if (clipToMasks && !getAddMasksPath(maskClipPath, matrix)) {
+      return false;
+    }
+    Layer.MatteType matteType = layerModel.getMatteType();
+    boolean clipToMatte = hasMatteOnThisLayer();
+    if (clipToMatte) {
+      // The matte is drawn with the alpha of this layer so it is only the same as a clip if this layer is opaque.
+      if (alpha != 255 || (matteType != Layer.MatteType.ADD && matteType != Layer.MatteType.INVERT)) {
+        return false;
+      }
+      //noinspection ConstantConditions
+      if (!matteLayer.getOpaqueMattePath(matteClipPath, parentMatrix)) {
+        return false;
+      }
+    }
+
+    L.beginSection("Layer#clip");
+    canvas.save();
+    boolean visible = true;
+    if (clipToMasks) {
+      visible = canvas.clipPath(maskClipPath);
+    }
+    if (visible && clipToMatte) {
+      if (matteType == Layer.MatteType.INVERT) {
+        visible = canvas.clipOutPath(matteClipPath);
+      } else {
+        visible = canvas.clipPath(matteClipPath);
+      }
+    }
+    L.endSection("Layer#clip");
+    if (visible) {
+      L.beginSection("Layer#drawLayer");
+      drawLayer(canvas, matrix, alpha);
+      L.endSection("Layer#drawLayer");
+    }
+    canvas.restore();
+    return true;
+  }
+
+  /**
+   * Sets outPath to the union of the masks if they are all opaque, non-inverted add masks or none masks.
+   *
+   * @return false if a mask has to be applied with an offscreen buffer.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+  private boolean getAddMasksPath(Path outPath, Matrix matrix) {
+    outPath.reset();
+    //noinspection ConstantConditions
+    for (int i = 0; i < mask.getMasks().size(); i++) {
+      Mask mask = this.mask.getMasks().get(i);
+      switch (mask.getMaskMode()) {
+        case MASK_MODE_NONE:
+          // None masks have no effect if there are other masks.
+          break;
+        case MASK_MODE_ADD:
+          if (mask.isInverted() || this.mask.getOpacityAnimations().get(i).getValue() != 100) {
+            return false;
+          }
+          tempMaskPath.set(this.mask.getMaskAnimations().get(i).getValue());
+          tempMaskPath.transform(matrix);
+          outPath.op(tempMaskPath, Path.Op.UNION);
+          break;
+        default:
+          return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Sets outPath to the area that this layer covers when it is used as a matte if everything that it draws is opaque
+   * so that it can be applied as a clip. The path is empty if the layer isn't visible.
+   *
+   * @return false if the matte has to be drawn.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+  boolean getOpaqueMattePath(Path outPath, Matrix parentMatrix) {
+    outPath.reset();
+    int opacity = transform.getOpacity() == null ? 100 : transform.getOpacity().getValue();
+    if (opacity != 100 || hasMasksOnThisLayer() || hasMatteOnThisLayer()) {
+      return false;
+    }
+    if (!visible || layerModel.isHidden()) {
+      return true;
+    }
+    buildParentLayerListIfNeeded();
+    clipMatrix.set(parentMatrix);
+    for (int i = parentLayers.size() - 1; i >= 0; i--) {
+      clipMatrix.preConcat(parentLayers.get(i).transform.getMatrix());
+    }
+    clipMatrix.preConcat(transform.getMatrix());
+    return addOpaqueContentPath(outPath, clipMatrix);
+  }
+
+  /**
+   * Adds the area that the contents of this layer cover to outPath if they are opaque.
+   *
+   * @param matrix the matrix that the contents are drawn with.
+   * @return false if the contents aren't opaque or their shape isn't known.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+  boolean addOpaqueContentPath(Path outPath, Matrix matrix) {
+    return false;
+  }
+
   private void applyMasks(Canvas canvas, Matrix matrix) {
     L.beginSection("Layer#saveLayer");
     Utils.saveLayerCompat(canvas, rect, dstInPaint, SAVE_FLAGS);
@@ -538,36 +715,139 @@ public abstract class BaseLayer
     return mask != null && !mask.getMaskAnimations().isEmpty();
   }
 
+  /**
+   * Whether the layer is between its in and out frames at the current progress.
+   */
+  boolean isVisible() {
+    return visible;
+  }
+
   private void setVisible(boolean visible) {
     if (visible != this.visible) {
       this.visible = visible;
+      visibilityChangeCount++;
       invalidateSelf();
     }
   }
 
   void setProgress(@FloatRange(from = 0f, to = 1f) float progress) {
-    // Time stretch should not be applied to the layer transform.
-    transform.setProgress(progress);
+    // Every value that changes invalidates the drawable. Contents don't know their layer so this is how changes are
+    // attributed to it.
+    int invalidationCount = lottieDrawable.getInvalidationCount();
+    BaseKeyframeAnimation<?, ?>[] progressAnimations = getProgressAnimations();
+    // Time stretch should not be applied to the layer transform or the masks.
+    for (int i = 0; i < unstretchedAnimationCount; i++) {
+      progressAnimations[i].setProgress(progress);
+    }
+    progress = layerModel.getStretchedProgress(progress);
+    if (matteLayer != null) {
+      matteLayer.setProgress(matteLayer.layerModel.getMatteProgress(progress));
+    }
+    // The in/out animation is one of the stretched animations.
+    for (int i = unstretchedAnimationCount; i < progressAnimations.length; i++) {
+      progressAnimations[i].setProgress(progress);
+    }
+    if (lottieDrawable.getInvalidationCount() != invalidationCount) {
+      dirty = true;
+    }
+  }
+
+  /**
+   * Adds the bounds of this layer before and after it changed to dirtyBounds if it changed since the dirty bounds were
+   * last collected. Layers are also dirty if a layer they are parented to or the precomp they are in changed.
+   * <p>
+   * Call {@link #clearDirty()} once the dirty bounds of all layers have been collected.
+   */
+  void collectDirtyBounds(RectF dirtyBounds, Matrix parentMatrix, boolean parentDirty) {
+    if (!parentDirty && !isDirtyIncludingParents() && hasLastDirtyBounds) {
+      return;
+    }
+    dirtyBoundsRect.set(0, 0, 0, 0);
+    getBounds(dirtyBoundsRect, parentMatrix, true);
+    if (hasLastDirtyBounds) {
+      dirtyBounds.union(lastDirtyBounds);
+    }
+    dirtyBounds.union(dirtyBoundsRect);
+    lastDirtyBounds.set(dirtyBoundsRect);
+    hasLastDirtyBounds = true;
+  }
+
+  boolean isDirtyIncludingParents() {
+    if (dirty) {
+      return true;
+    }
+    buildParentLayerListIfNeeded();
+    for (int i = 0; i < parentLayers.size(); i++) {
+      if (parentLayers.get(i).dirty) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  void clearDirty() {
+    dirty = false;
+  }
+
+  /**
+   * Whether nothing that this layer draws changes with progress. This includes the layers it is parented to and its
+   * matte. Whether the layer is visible may still change. See {@link #getVisibilityChangeCount()}.
+   */
+  boolean isStatic() {
+    if (!transform.isStatic()) {
+      return false;
+    }
     if (mask != null) {
       for (int i = 0; i < mask.getMaskAnimations().size(); i++) {
-        mask.getMaskAnimations().get(i).setProgress(progress);
+        if (!mask.getMaskAnimations().get(i).isStatic()) {
+          return false;
+        }
       }
     }
-    if (layerModel.getTimeStretch() != 0) {
-      progress /= layerModel.getTimeStretch();
+    for (int i = 0; i < animations.size(); i++) {
+      BaseKeyframeAnimation<?, ?> animation = animations.get(i);
+      // Every layer has in and out keyframes. Invisible layers aren't drawn at all so they don't change what is drawn.
+      if (animation != inOutAnimation && !animation.isStatic()) {
+        return false;
+      }
     }
-    if (inOutAnimation != null) {
-      // Time stretch needs to be divided again for the inOutAnimation.
-      inOutAnimation.setProgress(progress / layerModel.getTimeStretch());
+    if (matteLayer != null && !matteLayer.isStatic()) {
+      return false;
     }
-    if (matteLayer != null) {
-      // The matte layer's time stretch is pre-calculated.
-      float matteTimeStretch = matteLayer.layerModel.getTimeStretch();
-      matteLayer.setProgress(progress * matteTimeStretch);
+    buildParentLayerListIfNeeded();
+    for (int i = 0; i < parentLayers.size(); i++) {
+      if (!parentLayers.get(i).transform.isStatic()) {
+        return false;
+      }
     }
-    for (int i = 0; i < animations.size(); i++) {
-      animations.get(i).setProgress(progress);
+    return true;
+  }
+
+  /**
+   * Changes whenever this layer or a layer that is drawn as part of it becomes visible or invisible.
+   */
+  int getVisibilityChangeCount() {
+    int count = visibilityChangeCount;
+    if (matteLayer != null) {
+      count += matteLayer.getVisibilityChangeCount();
     }
+    return count;
+  }
+
+  /**
+   * Masks and mattes are clipped to the size of the canvas so they can't be drawn into a bitmap that only fits the
+   * layer.
+   */
+  boolean canDrawFromBitmap() {
+    return !hasMasksOnThisLayer() && !hasMatteOnThisLayer();
+  }
+
+  /**
+   * Sets whether this layer is drawn from a bitmap while static layer caching is enabled. The current bitmap is dropped
+   * either way.
+   */
+  void setDrawFromBitmap(boolean drawFromBitmap) {
+    staticLayerCache = drawFromBitmap ? new StaticLayerCache(this) : null;
   }
 
   private void buildParentLayerListIfNeeded() {
@@ -637,6 +917,9 @@ public abstract class BaseLayer
   @CallSuper
   @Override
   public <T> void addValueCallback(T property, @Nullable LottieValueCallback<T> callback) {
-    transform.applyValueCallback(property, callback);
+    if (transform.applyValueCallback(property, callback)) {
+      // The transform may have created an animation for the property.
+      progressAnimations = null;
+    }
   }
 }
@@ -0,0 +1,330 @@
+package com.airbnb.lottie.model.layer;
+
+import androidx.annotation.FloatRange;
+import androidx.annotation.Nullable;
+import androidx.collection.LongSparseArray;
+
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieProperty;
+import com.airbnb.lottie.animation.keyframe.BaseKeyframeAnimation;
+import com.airbnb.lottie.animation.keyframe.FloatKeyframeAnimation;
+import com.airbnb.lottie.animation.keyframe.ShapeKeyframeAnimation;
+import com.airbnb.lottie.animation.keyframe.TextKeyframeAnimation;
+import com.airbnb.lottie.animation.keyframe.TransformKeyframeAnimation;
+import com.airbnb.lottie.animation.keyframe.ValueCallbackKeyframeAnimation;
+import com.airbnb.lottie.model.KeyPath;
+import com.airbnb.lottie.model.KeyPathElement;
+import com.airbnb.lottie.model.content.Mask;
+import com.airbnb.lottie.model.content.ShapeData;
+import com.airbnb.lottie.utils.MatrixValues;
+import com.airbnb.lottie.value.LottieContentValues;
+import com.airbnb.lottie.value.LottieLayerValues;
+import com.airbnb.lottie.value.LottieValueCallback;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evaluates the layers of a composition at a progress without a {@link com.airbnb.lottie.LottieDrawable}. Progress is
+ * passed down the layers with the same {@link Layer} methods that {@link BaseLayer#setProgress(float)} and
+ * {@link CompositionLayer#setProgress(float)} use, and matrices are the values of
+ * {@link TransformKeyframeAnimation#getMatrixValues(float[])}, so the values match what is drawn. Layers and contents
+ * resolve key paths like the drawn layers and contents so that value callbacks can be added to them.
+ * <p>
+ * The animations are created once and reused for every progress so an evaluator must only be used by one thread at a
+ * time. The composition is only read, so frames can be evaluated in parallel with one evaluator per thread.
+ */
+public class CompositionEvaluator {
+  private final List<LayerEvaluator> layers;
+
+  public CompositionEvaluator(LottieComposition composition) {
+    layers = createLayers(composition, composition.getLayers());
+  }
+
+  public List<LottieLayerValues> evaluate(@FloatRange(from = 0f, to = 1f) float progress) {
+    for (int i = 0; i < layers.size(); i++) {
+      LayerEvaluator layer = layers.get(i);
+      if (!layer.isMatte) {
+        layer.setProgress(progress);
+      }
+    }
+    return evaluate(layers, MatrixValues.identity(), 1f, true);
+  }
+
+  /**
+   * Resolves a key path against the layers of this evaluator like {@link CompositionLayer} does for the root of a
+   * {@link com.airbnb.lottie.LottieDrawable}.
+   */
+  public List<KeyPath> resolveKeyPath(KeyPath keyPath) {
+    List<KeyPath> keyPaths = new ArrayList<>();
+    for (int i = 0; i < layers.size(); i++) {
+      layers.get(i).resolveKeyPath(keyPath, 0, keyPaths, new KeyPath());
+    }
+    return keyPaths;
+  }
+
+  private static List<LottieLayerValues> evaluate(List<LayerEvaluator> layers, float[] parentMatrix,
+      float parentOpacity, boolean parentVisible) {
+    List<LottieLayerValues> values = new ArrayList<>(layers.size());
+    for (int i = 0; i < layers.size(); i++) {
+      LayerEvaluator layer = layers.get(i);
+      if (!layer.isMatte) {
+        values.add(layer.evaluate(parentMatrix, parentOpacity, parentVisible));
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Creates the layers of a composition and connects their parents and mattes like {@link CompositionLayer} does.
+   */
+  private static List<LayerEvaluator> createLayers(LottieComposition composition, @Nullable List<Layer> layerModels) {
+    if (layerModels == null || layerModels.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<LayerEvaluator> layers = new ArrayList<>(layerModels.size());
+    LongSparseArray<LayerEvaluator> layerMap = new LongSparseArray<>(layerModels.size());
+    LayerEvaluator mattedLayer = null;
+    for (int i = layerModels.size() - 1; i >= 0; i--) {
+      Layer layerModel = layerModels.get(i);
+      if (layerModel.getLayerType() == Layer.LayerType.UNKNOWN) {
+        continue;
+      }
+      LayerEvaluator layer = new LayerEvaluator(composition, layerModel);
+      layers.add(0, layer);
+      layerMap.put(layerModel.getId(), layer);
+      if (mattedLayer != null) {
+        mattedLayer.matteLayer = layer;
+        layer.isMatte = true;
+        mattedLayer = null;
+      } else {
+        switch (layerModel.getMatteType()) {
+          case ADD:
+          case INVERT:
+            mattedLayer = layer;
+            break;
+        }
+      }
+    }
+    for (int i = 0; i < layers.size(); i++) {
+      LayerEvaluator layer = layers.get(i);
+      layer.parentLayer = layerMap.get(layer.layerModel.getParentId());
+    }
+    for (int i = 0; i < layers.size(); i++) {
+      LayerEvaluator layer = layers.get(i);
+      List<LayerEvaluator> parentLayers = new ArrayList<>();
+      for (LayerEvaluator parent = layer.parentLayer; parent != null; parent = parent.parentLayer) {
+        parentLayers.add(0, parent);
+      }
+      layer.parentLayers = parentLayers.toArray(new LayerEvaluator[0]);
+    }
+    return layers;
+  }
+
+  private static class LayerEvaluator implements KeyPathElement {
+    private final Layer layerModel;
+    private final TransformKeyframeAnimation transform;
+    /**
+     * The values of the transform at the last progress. They are computed once per progress because children use them
+     * too.
+     */
+    private final float[] transformValues = MatrixValues.identity();
+    @Nullable private final FloatKeyframeAnimation inOutAnimation;
+    private final List<Mask> masks = new ArrayList<>();
+    private final List<ShapeKeyframeAnimation> maskPaths = new ArrayList<>();
+    private final List<BaseKeyframeAnimation<Integer, Integer>> maskOpacities = new ArrayList<>();
+    private final List<ContentEvaluator> contents;
+    @Nullable private final TextKeyframeAnimation textAnimation;
+    @Nullable private BaseKeyframeAnimation<Float, Float> timeRemapping;
+    private final List<LayerEvaluator> layers;
+    @Nullable private LayerEvaluator parentLayer;
+    /**
+     * The parents of this layer from the outermost one.
+     */
+    private LayerEvaluator[] parentLayers;
+    @Nullable private LayerEvaluator matteLayer;
+    private boolean isMatte;
+
+    LayerEvaluator(LottieComposition composition, Layer layerModel) {
+      this.layerModel = layerModel;
+      transform = layerModel.getTransform().createAnimation();
+      if (layerModel.getInOutKeyframes().isEmpty()) {
+        inOutAnimation = null;
+      } else {
+        inOutAnimation = new FloatKeyframeAnimation(layerModel.getInOutKeyframes());
+        inOutAnimation.setIsDiscrete();
+      }
+      List<Mask> masks = layerModel.getMasks();
+      if (masks != null) {
+        for (int i = 0; i < masks.size(); i++) {
+          Mask mask = masks.get(i);
+          // Masks without a mode aren't drawn.
+          if (mask.getMaskMode() != Mask.MaskMode.MASK_MODE_NONE) {
+            this.masks.add(mask);
+            maskPaths.add((ShapeKeyframeAnimation) mask.getMaskPath().createAnimation());
+            maskOpacities.add(mask.getOpacity().createAnimation());
+          }
+        }
+      }
+      contents = layerModel.getLayerType() == Layer.LayerType.SHAPE ?
+          ContentEvaluator.forModels(layerModel.getShapes()) : Collections.<ContentEvaluator>emptyList();
+      textAnimation = layerModel.getLayerType() == Layer.LayerType.TEXT && layerModel.getText() != null ?
+          layerModel.getText().createAnimation() : null;
+      if (layerModel.getLayerType() == Layer.LayerType.PRE_COMP) {
+        timeRemapping = layerModel.getTimeRemapping() == null ? null : layerModel.getTimeRemapping().createAnimation();
+        layers = createLayers(composition, composition.getPrecomps(layerModel.getRefId()));
+      } else {
+        timeRemapping = null;
+        layers = Collections.emptyList();
+      }
+    }
+
+    void setProgress(float progress) {
+      // Time stretch should not be applied to the layer transform or the masks.
+      transform.setProgress(progress);
+      transform.getMatrixValues(transformValues);
+      for (int i = 0; i < maskPaths.size(); i++) {
+        maskPaths.get(i).setProgress(progress);
+      }
+      float stretchedProgress = layerModel.getStretchedProgress(progress);
+      if (matteLayer != null) {
+        matteLayer.setProgress(matteLayer.layerModel.getMatteProgress(stretchedProgress));
+      }
+      if (inOutAnimation != null) {
+        inOutAnimation.setProgress(stretchedProgress);
+      }
+      for (int i = 0; i < maskOpacities.size(); i++) {
+        maskOpacities.get(i).setProgress(stretchedProgress);
+      }
+      ContentEvaluator.setProgress(contents, stretchedProgress);
+      if (textAnimation != null) {
+        textAnimation.setProgress(stretchedProgress);
+      }
+      if (timeRemapping != null) {
+        timeRemapping.setProgress(stretchedProgress);
+      }
+      if (layerModel.getLayerType() == Layer.LayerType.PRE_COMP) {
+        float precompProgress =
+            layerModel.getPrecompProgress(progress, timeRemapping == null ? null : timeRemapping.getValue());
+        for (int i = 0; i < layers.size(); i++) {
+          LayerEvaluator layer = layers.get(i);
+          if (!layer.isMatte) {
+            layer.setProgress(precompProgress);
+          }
+        }
+      }
+    }
+
+    LottieLayerValues evaluate(float[] parentMatrix, float parentOpacity, boolean parentVisible) {
+      // The matrix is returned in the values so it is the only array that is created for it.
+      float[] matrix = new float[9];
+      System.arraycopy(parentMatrix, 0, matrix, 0, 9);
+      for (LayerEvaluator parent : parentLayers) {
+        MatrixValues.preConcat(matrix, parent.transformValues);
+      }
+      MatrixValues.preConcat(matrix, transformValues);
+
+      float opacity = parentOpacity *
+          (transform.getOpacity() == null ? 100 : transform.getOpacity().getValue()) / 100f;
+      boolean visible = parentVisible && !layerModel.isHidden() &&
+          (inOutAnimation == null || inOutAnimation.getFloatValue() == 1f);
+
+      List<LottieContentValues> maskValues = new ArrayList<>(masks.size());
+      for (int i = 0; i < masks.size(); i++) {
+        Mask mask = masks.get(i);
+        ShapeData shapeData = maskPaths.get(i).getShapeData();
+        float[] points = Arrays.copyOf(shapeData.getPoints(), 2 + shapeData.getCurveCount() * ShapeData.CURVE_LENGTH);
+        maskValues.add(LottieContentValues.mask(getMaskMode(mask), points, shapeData.isClosed(),
+            maskOpacities.get(i).getValue() / 100f, mask.isInverted()));
+      }
+      LottieLayerValues matte = matteLayer == null ? null : matteLayer.evaluate(parentMatrix, opacity, visible);
+      return new LottieLayerValues(
+          layerModel.getName(),
+          layerModel.getId(),
+          visible,
+          matrix,
+          opacity,
+          layerModel.getLayerType() == Layer.LayerType.SOLID ? layerModel.getSolidColor() : 0,
+          textAnimation == null ? null : textAnimation.getValue().text,
+          maskValues,
+          ContentEvaluator.evaluate(contents),
+          CompositionEvaluator.evaluate(layers, matrix, opacity, visible),
+          matte,
+          matteLayer != null && layerModel.getMatteType() == Layer.MatteType.INVERT);
+    }
+
+    /**
+     * The same as {@link BaseLayer#resolveKeyPath}.
+     */
+    @Override public void resolveKeyPath(
+        KeyPath keyPath, int depth, List<KeyPath> accumulator, KeyPath currentPartialKeyPath) {
+      String name = layerModel.getName();
+      if (matteLayer != null) {
+        String matteName = matteLayer.layerModel.getName();
+        KeyPath matteCurrentPartialKeyPath = currentPartialKeyPath.addKey(matteName);
+        if (keyPath.fullyResolvesTo(matteName, depth)) {
+          accumulator.add(matteCurrentPartialKeyPath.resolve(matteLayer));
+        }
+
+        if (keyPath.propagateToChildren(name, depth)) {
+          int newDepth = depth + keyPath.incrementDepthBy(matteName, depth);
+          matteLayer.resolveChildKeyPath(keyPath, newDepth, accumulator, matteCurrentPartialKeyPath);
+        }
+      }
+
+      if (!keyPath.matches(name, depth)) {
+        return;
+      }
+
+      currentPartialKeyPath = currentPartialKeyPath.addKey(name);
+      if (keyPath.fullyResolvesTo(name, depth)) {
+        accumulator.add(currentPartialKeyPath.resolve(this));
+      }
+
+      if (keyPath.propagateToChildren(name, depth)) {
+        int newDepth = depth + keyPath.incrementDepthBy(name, depth);
+        resolveChildKeyPath(keyPath, newDepth, accumulator, currentPartialKeyPath);
+      }
+    }
+
+    /**
+     * The contents of a shape layer are in a container group that isn't a part of key paths, like in
+     * {@link ShapeLayer}.
+     */
+    private void resolveChildKeyPath(
+        KeyPath keyPath, int depth, List<KeyPath> accumulator, KeyPath currentPartialKeyPath) {
+      ContentEvaluator.resolveKeyPath(contents, keyPath, depth, accumulator, currentPartialKeyPath);
+      for (int i = 0; i < layers.size(); i++) {
+        layers.get(i).resolveKeyPath(keyPath, depth, accumulator, currentPartialKeyPath);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> void addValueCallback(T property, @Nullable LottieValueCallback<T> callback) {
+      transform.applyValueCallback(property, callback);
+      if (property == LottieProperty.TIME_REMAP && layerModel.getLayerType() == Layer.LayerType.PRE_COMP) {
+        if (callback == null) {
+          if (timeRemapping != null) {
+            timeRemapping.setValueCallback(null);
+          }
+        } else {
+          timeRemapping = new ValueCallbackKeyframeAnimation<>((LottieValueCallback<Float>) callback);
+        }
+      }
+    }
+
+    private static LottieContentValues.MaskMode getMaskMode(Mask mask) {
+      switch (mask.getMaskMode()) {
+        case MASK_MODE_SUBTRACT:
+          return LottieContentValues.MaskMode.SUBTRACT;
+        case MASK_MODE_INTERSECT:
+          return LottieContentValues.MaskMode.INTERSECT;
+        case MASK_MODE_ADD:
+        default:
+          return LottieContentValues.MaskMode.ADD;
+      }
+    }
+  }
+}
@@ -28,7 +28,18 @@ public class CompositionLayer extends BaseLayer {
   private final List<BaseLayer> layers = new ArrayList<>();
   private final RectF rect = new RectF();
   private final RectF newClipRect = new RectF();
+  private final RectF dirtyBoundsRect = new RectF();
+  private final Matrix dirtyMatrix = new Matrix();
   private Paint layerPaint = new Paint();
+  private final LayerIntervalIndex intervalIndex;
+  /**
+   * The indices of the layers that were active at the last progress or null if progress hasn't been set yet.
+   */
+  @Nullable private int[] activeLayers;
+  /**
+   * Marks the layers that have been updated while progress is set.
+   */
+  private final boolean[] updatedLayers;
 
   @Nullable private Boolean hasMatte;
   @Nullable private Boolean hasMasks;
@@ -72,6 +83,8 @@ public class CompositionLayer extends BaseLayer {
       }
     }
 
+    // Parents have to be updated whenever the layers parented to them are, even if they are invisible.
+    boolean[] parentLayers = new boolean[layers.size()];
     for (int i = 0; i < layerMap.size(); i++) {
       long key = layerMap.keyAt(i);
       BaseLayer layerView = layerMap.get(key);
@@ -84,7 +97,71 @@ public class CompositionLayer extends BaseLayer {
       BaseLayer parentLayer = layerMap.get(layerView.getLayerModel().getParentId());
       if (parentLayer != null) {
         layerView.setParentLayer(parentLayer);
+        int parentIndex = layers.indexOf(parentLayer);
+        if (parentIndex >= 0) {
+          parentLayers[parentIndex] = true;
+        }
+      }
+    }
+    intervalIndex = new LayerIntervalIndex(layers, parentLayers);
+    updatedLayers = new boolean[layers.size()];
+    updateStaticLayers();
+  }
+
+  /**
+   * Finds the layers that don't change with progress so that they are drawn from bitmaps while static layer caching is
+   * enabled. A precomp that doesn't change is drawn from a single bitmap. Existing bitmaps are dropped.
+   * <p>
+   * Call this whenever dynamic properties change.
+   */
+  public void updateStaticLayers() {
+    for (int i = layers.size() - 1; i >= 0; i--) {
+      BaseLayer layer = layers.get(i);
+      layer.setDrawFromBitmap(layer.isStatic() && layer.canDrawFromBitmap());
+    }
+  }
+
+  @Override boolean isStatic() {
+    if (!super.isStatic()) {
+      return false;
+    }
+    for (int i = layers.size() - 1; i >= 0; i--) {
+      if (!layers.get(i).isStatic()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override int getVisibilityChangeCount() {
+    int count = super.getVisibilityChangeCount();
+    for (int i = layers.size() - 1; i >= 0; i--) {
+      count += layers.get(i).getVisibilityChangeCount();
+    }
+    return count;
+  }
+
+  @Override boolean canDrawFromBitmap() {
+    if (!super.canDrawFromBitmap()) {
+      return false;
+    }
+    for (int i = layers.size() - 1; i >= 0; i--) {
+      if (!layers.get(i).canDrawFromBitmap()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override void setDrawFromBitmap(boolean drawFromBitmap) {
+    super.setDrawFromBitmap(drawFromBitmap);
+    if (drawFromBitmap) {
+      // The layers are drawn into the bitmap of this precomp.
+      for (int i = layers.size() - 1; i >= 0; i--) {
+        layers.get(i).setDrawFromBitmap(false);
       }
+    } else {
+      updateStaticLayers();
     }
   }
 
@@ -110,13 +187,16 @@ public class CompositionLayer extends BaseLayer {
     }
 
     int childAlpha = isDrawingWithOffScreen ? 255 : parentAlpha;
-    for (int i = layers.size() - 1; i >= 0; i--) {
+    // Layers outside of their in/out range are invisible.
+    int[] activeLayers = this.activeLayers;
+    int layerCount = activeLayers == null ? layers.size() : activeLayers.length;
+    for (int i = layerCount - 1; i >= 0; i--) {
       boolean nonEmptyClip = true;
       if (!newClipRect.isEmpty()) {
         nonEmptyClip = canvas.clipRect(newClipRect);
       }
       if (nonEmptyClip) {
-        BaseLayer layer = layers.get(i);
+        BaseLayer layer = layers.get(activeLayers == null ? i : activeLayers[i]);
         layer.draw(canvas, parentMatrix, childAlpha);
       }
     }
@@ -133,26 +213,55 @@ public class CompositionLayer extends BaseLayer {
     }
   }
 
+  /**
+   * Collects the dirty bounds of every layer in this composition in the coordinates of parentMatrix.
+   */
+  @Override public void collectDirtyBounds(RectF dirtyBounds, Matrix parentMatrix, boolean parentDirty) {
+    boolean dirty = parentDirty || isDirtyIncludingParents();
+    // This computes boundsMatrix which is the matrix the layers of the composition are drawn with.
+    super.getBounds(dirtyBoundsRect, parentMatrix, true);
+    dirtyMatrix.set(boundsMatrix);
+    for (int i = layers.size() - 1; i >= 0; i--) {
+      layers.get(i).collectDirtyBounds(dirtyBounds, dirtyMatrix, dirty);
+    }
+  }
+
+  @Override public void clearDirty() {
+    super.clearDirty();
+    for (int i = layers.size() - 1; i >= 0; i--) {
+      layers.get(i).clearDirty();
+    }
+  }
+
   @Override public void setProgress(@FloatRange(from = 0f, to = 1f) float progress) {
     super.setProgress(progress);
-    if (timeRemapping != null) {
-      // The duration has 0.01 frame offset to show end of animation properly.
-      // https://github.com/airbnb/lottie-android/pull/766
-      // Ignore this offset for calculating time-remapping because time-remapping value is based on original duration.
-      float durationFrames = lottieDrawable.getComposition().getDurationFrames() + 0.01f;
-      float compositionDelayFrames = layerModel.getComposition().getStartFrame();
-      float remappedFrames = timeRemapping.getValue() * layerModel.getComposition().getFrameRate() - compositionDelayFrames;
-      progress = remappedFrames / durationFrames;
+    progress = layerModel.getPrecompProgress(progress, timeRemapping == null ? null : timeRemapping.getValue());
+    // Only layers within their in/out range are updated.
+    int[] activeLayers = intervalIndex.activeLayers(progress);
+    for (int i = activeLayers.length - 1; i >= 0; i--) {
+      updatedLayers[activeLayers[i]] = true;
+      layers.get(activeLayers[i]).setProgress(progress);
     }
-    if (timeRemapping == null) {
-      progress -= layerModel.getStartProgress();
-    }
-    if (layerModel.getTimeStretch() != 0) {
-      progress /= layerModel.getTimeStretch();
+    int[] previousActiveLayers = this.activeLayers;
+    if (previousActiveLayers == null) {
+      // Every layer has to be updated once so that the invisible ones hide themselves.
+      for (int i = layers.size() - 1; i >= 0; i--) {
+        if (!updatedLayers[i]) {
+          layers.get(i).setProgress(progress);
+        }
+      }
+    } else {
+      // Layers that are no longer active are updated once more so that they hide themselves.
+      for (int i = previousActiveLayers.length - 1; i >= 0; i--) {
+        if (!updatedLayers[previousActiveLayers[i]]) {
+          layers.get(previousActiveLayers[i]).setProgress(progress);
+        }
+      }
     }
-    for (int i = layers.size() - 1; i >= 0; i--) {
-      layers.get(i).setProgress(progress);
+    for (int i = activeLayers.length - 1; i >= 0; i--) {
+      updatedLayers[activeLayers[i]] = false;
     }
+    this.activeLayers = activeLayers;
   }
 
   public boolean hasMasks() {
@@ -0,0 +1,741 @@
+package com.airbnb.lottie.model.layer;
+
+import android.graphics.PointF;
+
+import androidx.annotation.Nullable;
+
+import com.airbnb.lottie.LottieProperty;
+import com.airbnb.lottie.animation.content.ShapeGeometry;
+import com.airbnb.lottie.animation.keyframe.BaseKeyframeAnimation;
+import com.airbnb.lottie.animation.keyframe.ShapeKeyframeAnimation;
+import com.airbnb.lottie.animation.keyframe.TransformKeyframeAnimation;
+import com.airbnb.lottie.animation.keyframe.ValueCallbackKeyframeAnimation;
+import com.airbnb.lottie.model.KeyPath;
+import com.airbnb.lottie.model.KeyPathElement;
+import com.airbnb.lottie.model.animatable.AnimatableTransform;
+import com.airbnb.lottie.model.content.CircleShape;
+import com.airbnb.lottie.model.content.ContentModel;
+import com.airbnb.lottie.model.content.GradientColor;
+import com.airbnb.lottie.model.content.GradientFill;
+import com.airbnb.lottie.model.content.GradientStroke;
+import com.airbnb.lottie.model.content.MergePaths;
+import com.airbnb.lottie.model.content.PolystarShape;
+import com.airbnb.lottie.model.content.RectangleShape;
+import com.airbnb.lottie.model.content.Repeater;
+import com.airbnb.lottie.model.content.ShapeData;
+import com.airbnb.lottie.model.content.ShapeFill;
+import com.airbnb.lottie.model.content.ShapeGroup;
+import com.airbnb.lottie.model.content.ShapePath;
+import com.airbnb.lottie.model.content.ShapeStroke;
+import com.airbnb.lottie.model.content.ShapeTrimPath;
+import com.airbnb.lottie.utils.MatrixValues;
+import com.airbnb.lottie.utils.MiscUtils;
+import com.airbnb.lottie.value.LottieContentValues;
+import com.airbnb.lottie.value.LottieValueCallback;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evaluates a content model of a shape layer without drawing it. Each content creates its animations from its model
+ * the same way that its {@link com.airbnb.lottie.animation.content.Content} does so that the values match what is
+ * drawn. Contents resolve key paths and take value callbacks for the same properties as the contents that draw them.
+ *
+ * @see CompositionEvaluator
+ */
+abstract class ContentEvaluator implements KeyPathElement {
+  /**
+   * Returns null for hidden contents other than repeaters and merge paths, which still take the contents before them
+   * when they are hidden.
+   */
+  @Nullable
+  static ContentEvaluator forModel(ContentModel model) {
+    if (model instanceof ShapeGroup) {
+      ShapeGroup group = (ShapeGroup) model;
+      return group.isHidden() ? null : new GroupEvaluator(group.getName(), group.getItems());
+    } else if (model instanceof ShapePath) {
+      ShapePath path = (ShapePath) model;
+      return path.isHidden() ? null : new ShapePathEvaluator(path);
+    } else if (model instanceof RectangleShape) {
+      RectangleShape rectangle = (RectangleShape) model;
+      return rectangle.isHidden() ? null : new RectangleEvaluator(rectangle);
+    } else if (model instanceof CircleShape) {
+      CircleShape ellipse = (CircleShape) model;
+      return ellipse.isHidden() ? null : new EllipseEvaluator(ellipse);
+    } else if (model instanceof PolystarShape) {
+      PolystarShape polystar = (PolystarShape) model;
+      return polystar.isHidden() ? null : new PolystarEvaluator(polystar);
+    } else if (model instanceof ShapeFill) {
+      ShapeFill fill = (ShapeFill) model;
+      return fill.isHidden() ? null : new FillEvaluator(fill);
+    } else if (model instanceof ShapeStroke) {
+      ShapeStroke stroke = (ShapeStroke) model;
+      return stroke.isHidden() ? null : new StrokeEvaluator(stroke);
+    } else if (model instanceof GradientFill) {
+      GradientFill fill = (GradientFill) model;
+      return fill.isHidden() ? null : new GradientEvaluator(fill.getName(), false,
+          fill.getGradientColor().createAnimation(), fill.getOpacity().createAnimation(),
+          fill.getStartPoint().createAnimation(), fill.getEndPoint().createAnimation(), null);
+    } else if (model instanceof GradientStroke) {
+      GradientStroke stroke = (GradientStroke) model;
+      return stroke.isHidden() ? null : new GradientEvaluator(stroke.getName(), true,
+          stroke.getGradientColor().createAnimation(), stroke.getOpacity().createAnimation(),
+          stroke.getStartPoint().createAnimation(), stroke.getEndPoint().createAnimation(),
+          stroke.getWidth().createAnimation());
+    } else if (model instanceof ShapeTrimPath) {
+      ShapeTrimPath trimPath = (ShapeTrimPath) model;
+      return trimPath.isHidden() ? null : new TrimPathEvaluator(trimPath);
+    } else if (model instanceof Repeater) {
+      return new RepeaterEvaluator((Repeater) model);
+    } else if (model instanceof MergePaths) {
+      return new MergePathsEvaluator((MergePaths) model);
+    }
+    return null;
+  }
+
+  /**
+   * Creates the contents of a group. Repeaters and merge paths then take the contents before them in order like they
+   * do in {@link com.airbnb.lottie.animation.content.ContentGroup}.
+   */
+  static List<ContentEvaluator> forModels(List<ContentModel> models) {
+    List<ContentEvaluator> contents = new ArrayList<>(models.size());
+    for (int i = 0; i < models.size(); i++) {
+      ContentEvaluator content = forModel(models.get(i));
+      if (content != null) {
+        contents.add(content);
+      }
+    }
+    for (int i = 0; i < contents.size(); i++) {
+      i = contents.get(i).absorbContents(contents, i);
+    }
+    return contents;
+  }
+
+  static List<LottieContentValues> evaluate(List<ContentEvaluator> contents) {
+    List<LottieContentValues> values = new ArrayList<>(contents.size());
+    for (int i = 0; i < contents.size(); i++) {
+      ContentEvaluator content = contents.get(i);
+      if (!content.isHidden()) {
+        values.add(content.evaluate());
+      }
+    }
+    return values;
+  }
+
+  static void setProgress(List<ContentEvaluator> contents, float progress) {
+    for (int i = 0; i < contents.size(); i++) {
+      contents.get(i).setProgress(progress);
+    }
+  }
+
+  static void resolveKeyPath(List<ContentEvaluator> contents, KeyPath keyPath, int depth, List<KeyPath> accumulator,
+      KeyPath currentPartialKeyPath) {
+    for (int i = 0; i < contents.size(); i++) {
+      contents.get(i).resolveKeyPath(keyPath, depth, accumulator, currentPartialKeyPath);
+    }
+  }
+
+  final String name;
+  private final List<BaseKeyframeAnimation<?, ?>> animations = new ArrayList<>();
+
+  ContentEvaluator(String name) {
+    this.name = name;
+  }
+
+  <A extends BaseKeyframeAnimation<?, ?>> A addAnimation(A animation) {
+    animations.add(animation);
+    return animation;
+  }
+
+  void setProgress(float progress) {
+    for (int i = 0; i < animations.size(); i++) {
+      animations.get(i).setProgress(progress);
+    }
+  }
+
+  /**
+   * Whether this is drawn as a path that merge paths can take.
+   */
+  boolean isPath() {
+    return false;
+  }
+
+  /**
+   * Hidden contents are only kept for the contents that they take and aren't evaluated.
+   */
+  boolean isHidden() {
+    return false;
+  }
+
+  /**
+   * Takes contents from before the index of this content like
+   * {@link com.airbnb.lottie.animation.content.GreedyContent} and returns the index of this content afterwards.
+   */
+  int absorbContents(List<ContentEvaluator> contents, int index) {
+    return index;
+  }
+
+  /**
+   * Returns the values at the progress that was last set.
+   */
+  abstract LottieContentValues evaluate();
+
+  /**
+   * Resolves to this content like {@link MiscUtils#resolveKeyPath}.
+   */
+  @Override public void resolveKeyPath(
+      KeyPath keyPath, int depth, List<KeyPath> accumulator, KeyPath currentPartialKeyPath) {
+    if (keyPath.fullyResolvesTo(name, depth)) {
+      currentPartialKeyPath = currentPartialKeyPath.addKey(name);
+      accumulator.add(currentPartialKeyPath.resolve(this));
+    }
+  }
+
+  @Override public <T> void addValueCallback(T property, @Nullable LottieValueCallback<T> callback) {
+  }
+
+  private static float getFloat(BaseKeyframeAnimation<?, Float> animation) {
+    return animation.getValue();
+  }
+
+  private static float getOpacity(BaseKeyframeAnimation<?, Integer> animation) {
+    return animation.getValue() / 100f;
+  }
+
+  private static class GroupEvaluator extends ContentEvaluator {
+    @Nullable private final TransformKeyframeAnimation transform;
+    private final List<ContentEvaluator> contents;
+
+    GroupEvaluator(String name, List<ContentModel> items) {
+      super(name);
+      AnimatableTransform animatableTransform = null;
+      for (int i = 0; i < items.size(); i++) {
+        if (items.get(i) instanceof AnimatableTransform) {
+          animatableTransform = (AnimatableTransform) items.get(i);
+          break;
+        }
+      }
+      transform = animatableTransform == null ? null : animatableTransform.createAnimation();
+      contents = forModels(items);
+    }
+
+    @Override void setProgress(float progress) {
+      if (transform != null) {
+        transform.setProgress(progress);
+      }
+      setProgress(contents, progress);
+    }
+
+    @Override boolean isPath() {
+      return true;
+    }
+
+    @Override LottieContentValues evaluate() {
+      float[] matrix = MatrixValues.identity();
+      float opacity = 1f;
+      if (transform != null) {
+        transform.getMatrixValues(matrix);
+        if (transform.getOpacity() != null) {
+          opacity = getOpacity(transform.getOpacity());
+        }
+      }
+      return LottieContentValues.group(name, matrix, opacity, evaluate(contents));
+    }
+
+    /**
+     * The same as {@link com.airbnb.lottie.animation.content.ContentGroup#resolveKeyPath}.
+     */
+    @Override public void resolveKeyPath(
+        KeyPath keyPath, int depth, List<KeyPath> accumulator, KeyPath currentPartialKeyPath) {
+      if (!keyPath.matches(name, depth)) {
+        return;
+      }
+      currentPartialKeyPath = currentPartialKeyPath.addKey(name);
+      if (keyPath.fullyResolvesTo(name, depth)) {
+        accumulator.add(currentPartialKeyPath.resolve(this));
+      }
+      if (keyPath.propagateToChildren(name, depth)) {
+        int newDepth = depth + keyPath.incrementDepthBy(name, depth);
+        resolveKeyPath(contents, keyPath, newDepth, accumulator, currentPartialKeyPath);
+      }
+    }
+
+    @Override public <T> void addValueCallback(T property, @Nullable LottieValueCallback<T> callback) {
+      if (transform != null) {
+        transform.applyValueCallback(property, callback);
+      }
+    }
+  }
+
+  /**
+   * Shape paths don't resolve key paths, like {@link com.airbnb.lottie.animation.content.ShapeContent}.
+   */
+  private static class ShapePathEvaluator extends ContentEvaluator {
+    private final ShapeKeyframeAnimation shape;
+
+    ShapePathEvaluator(ShapePath path) {
+      super(path.getName());
+      shape = addAnimation((ShapeKeyframeAnimation) path.getShapePath().createAnimation());
+    }
+
+    @Override boolean isPath() {
+      return true;
+    }
+
+    @Override LottieContentValues evaluate() {
+      ShapeData shapeData = shape.getShapeData();
+      float[] points = Arrays.copyOf(shapeData.getPoints(), 2 + shapeData.getCurveCount() * ShapeData.CURVE_LENGTH);
+      return LottieContentValues.path(name, points, shapeData.isClosed());
+    }
+
+    @Override public void resolveKeyPath(
+        KeyPath keyPath, int depth, List<KeyPath> accumulator, KeyPath currentPartialKeyPath) {
+    }
+  }
+
+  private static class RectangleEvaluator extends ContentEvaluator {
+    private final BaseKeyframeAnimation<?, PointF> position;
+    private final BaseKeyframeAnimation<?, PointF> size;
+    private final BaseKeyframeAnimation<?, Float> cornerRadius;
+    private final PathBuilder path = new PathBuilder(8);
+
+    RectangleEvaluator(RectangleShape rectangle) {
+      super(rectangle.getName());
+      position = addAnimation(rectangle.getPosition().createAnimation());
+      size = addAnimation(rectangle.getSize().createAnimation());
+      cornerRadius = addAnimation(rectangle.getCornerRadius().createAnimation());
+    }
+
+    @Override boolean isPath() {
+      return true;
+    }
+
+    @Override LottieContentValues evaluate() {
+      PointF size = this.size.getValue();
+      PointF position = this.position.getValue();
+      ShapeGeometry.rectangle(path, position.x, position.y, size.x, size.y, getFloat(cornerRadius));
+      return LottieContentValues.path(name, path.toArray(), true);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> void addValueCallback(T property, @Nullable LottieValueCallback<T> callback) {
+      if (property == LottieProperty.RECTANGLE_SIZE) {
+        size.setValueCallback((LottieValueCallback<PointF>) callback);
+      } else if (property == LottieProperty.POSITION) {
+        position.setValueCallback((LottieValueCallback<PointF>) callback);
+      } else if (property == LottieProperty.CORNER_RADIUS) {
+        cornerRadius.setValueCallback((LottieValueCallback<Float>) callback);
+      }
+    }
+  }
+
+  private static class EllipseEvaluator extends ContentEvaluator {
+    private final BaseKeyframeAnimation<?, PointF> position;
+    private final BaseKeyframeAnimation<?, PointF> size;
+    private final boolean reversed;
+    private final PathBuilder path = new PathBuilder(4);
+
+    EllipseEvaluator(CircleShape ellipse) {
+      super(ellipse.getName());
+      position = addAnimation(ellipse.getPosition().createAnimation());
+      size = addAnimation(ellipse.getSize().createAnimation());
+      reversed = ellipse.isReversed();
+    }
+
+    @Override boolean isPath() {
+      return true;
+    }
+
+    @Override LottieContentValues evaluate() {
+      PointF size = this.size.getValue();
+      PointF position = this.position.getValue();
+      ShapeGeometry.ellipse(path, position.x, position.y, size.x, size.y, reversed);
+      return LottieContentValues.path(name, path.toArray(), true);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> void addValueCallback(T property, @Nullable LottieValueCallback<T> callback) {
+      if (property == LottieProperty.ELLIPSE_SIZE) {
+        size.setValueCallback((LottieValueCallback<PointF>) callback);
+      } else if (property == LottieProperty.POSITION) {
+        position.setValueCallback((LottieValueCallback<PointF>) callback);
+      }
+    }
+  }
+
+  private static class PolystarEvaluator extends ContentEvaluator {
+    private final PolystarShape.Type type;
+    private final BaseKeyframeAnimation<?, Float> points;
+    private final BaseKeyframeAnimation<?, PointF> position;
+    private final BaseKeyframeAnimation<?, Float> rotation;
+    private final BaseKeyframeAnimation<?, Float> outerRadius;
+    private final BaseKeyframeAnimation<?, Float> outerRoundedness;
+    @Nullable private final BaseKeyframeAnimation<?, Float> innerRadius;
+    @Nullable private final BaseKeyframeAnimation<?, Float> innerRoundedness;
+    private final PathBuilder path = new PathBuilder(10);
+
+    PolystarEvaluator(PolystarShape polystar) {
+      super(polystar.getName());
+      type = polystar.getType();
+      points = addAnimation(polystar.getPoints().createAnimation());
+      position = addAnimation(polystar.getPosition().createAnimation());
+      rotation = addAnimation(polystar.getRotation().createAnimation());
+      outerRadius = addAnimation(polystar.getOuterRadius().createAnimation());
+      outerRoundedness = addAnimation(polystar.getOuterRoundedness().createAnimation());
+      if (type == PolystarShape.Type.STAR) {
+        innerRadius = addAnimation(polystar.getInnerRadius().createAnimation());
+        innerRoundedness = addAnimation(polystar.getInnerRoundedness().createAnimation());
+      } else {
+        innerRadius = null;
+        innerRoundedness = null;
+      }
+    }
+
+    @Override boolean isPath() {
+      return true;
+    }
+
+    @Override LottieContentValues evaluate() {
+      PointF position = this.position.getValue();
+      if (type == PolystarShape.Type.STAR) {
+        //noinspection ConstantConditions
+        ShapeGeometry.star(path, position.x, position.y, getFloat(points), getFloat(rotation), getFloat(outerRadius),
+            getFloat(innerRadius), getFloat(outerRoundedness) / 100f,
+            innerRoundedness == null ? 0f : getFloat(innerRoundedness) / 100f);
+      } else {
+        ShapeGeometry.polygon(path, position.x, position.y, getFloat(points), getFloat(rotation),
+            getFloat(outerRadius), getFloat(outerRoundedness) / 100f);
+      }
+      return LottieContentValues.path(name, path.toArray(), true);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> void addValueCallback(T property, @Nullable LottieValueCallback<T> callback) {
+      if (property == LottieProperty.POLYSTAR_POINTS) {
+        points.setValueCallback((LottieValueCallback<Float>) callback);
+      } else if (property == LottieProperty.POLYSTAR_ROTATION) {
+        rotation.setValueCallback((LottieValueCallback<Float>) callback);
+      } else if (property == LottieProperty.POSITION) {
+        position.setValueCallback((LottieValueCallback<PointF>) callback);
+      } else if (property == LottieProperty.POLYSTAR_INNER_RADIUS && innerRadius != null) {
+        innerRadius.setValueCallback((LottieValueCallback<Float>) callback);
+      } else if (property == LottieProperty.POLYSTAR_OUTER_RADIUS) {
+        outerRadius.setValueCallback((LottieValueCallback<Float>) callback);
+      } else if (property == LottieProperty.POLYSTAR_INNER_ROUNDEDNESS && innerRoundedness != null) {
+        innerRoundedness.setValueCallback((LottieValueCallback<Float>) callback);
+      } else if (property == LottieProperty.POLYSTAR_OUTER_ROUNDEDNESS) {
+        outerRoundedness.setValueCallback((LottieValueCallback<Float>) callback);
+      }
+    }
+  }
+
+  private static class FillEvaluator extends ContentEvaluator {
+    @Nullable private final BaseKeyframeAnimation<?, Integer> color;
+    @Nullable private final BaseKeyframeAnimation<?, Integer> opacity;
+
+    FillEvaluator(ShapeFill fill) {
+      super(fill.getName());
+      // Fills without a color or opacity aren't drawn.
+      if (fill.getColor() == null || fill.getOpacity() == null) {
+        color = null;
+        opacity = null;
+      } else {
+        color = addAnimation(fill.getColor().createAnimation());
+        opacity = addAnimation(fill.getOpacity().createAnimation());
+      }
+    }
+
+    @Override LottieContentValues evaluate() {
+      if (color == null || opacity == null) {
+        return LottieContentValues.fill(name, 0, 0f);
+      }
+      return LottieContentValues.fill(name, color.getValue(), getOpacity(opacity));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> void addValueCallback(T property, @Nullable LottieValueCallback<T> callback) {
+      if (property == LottieProperty.COLOR && color != null) {
+        color.setValueCallback((LottieValueCallback<Integer>) callback);
+      } else if (property == LottieProperty.OPACITY && opacity != null) {
+        opacity.setValueCallback((LottieValueCallback<Integer>) callback);
+      }
+    }
+  }
+
+  private static class StrokeEvaluator extends ContentEvaluator {
+    private final BaseKeyframeAnimation<?, Integer> color;
+    private final BaseKeyframeAnimation<?, Integer> opacity;
+    private final BaseKeyframeAnimation<?, Float> width;
+
+    StrokeEvaluator(ShapeStroke stroke) {
+      super(stroke.getName());
+      color = addAnimation(stroke.getColor().createAnimation());
+      opacity = addAnimation(stroke.getOpacity().createAnimation());
+      width = addAnimation(stroke.getWidth().createAnimation());
+    }
+
+    @Override LottieContentValues evaluate() {
+      return LottieContentValues.stroke(name, color.getValue(), getOpacity(opacity), getFloat(width));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> void addValueCallback(T property, @Nullable LottieValueCallback<T> callback) {
+      if (property == LottieProperty.OPACITY) {
+        opacity.setValueCallback((LottieValueCallback<Integer>) callback);
+      } else if (property == LottieProperty.STROKE_WIDTH) {
+        width.setValueCallback((LottieValueCallback<Float>) callback);
+      } else if (property == LottieProperty.STROKE_COLOR) {
+        color.setValueCallback((LottieValueCallback<Integer>) callback);
+      }
+    }
+  }
+
+  private static class GradientEvaluator extends ContentEvaluator {
+    private final boolean stroke;
+    private final BaseKeyframeAnimation<?, GradientColor> color;
+    private final BaseKeyframeAnimation<?, Integer> opacity;
+    private final BaseKeyframeAnimation<?, PointF> startPoint;
+    private final BaseKeyframeAnimation<?, PointF> endPoint;
+    @Nullable private final BaseKeyframeAnimation<?, Float> width;
+    @Nullable private ValueCallbackKeyframeAnimation<Integer[], Integer[]> colorCallback;
+
+    GradientEvaluator(String name, boolean stroke, BaseKeyframeAnimation<?, GradientColor> color,
+        BaseKeyframeAnimation<?, Integer> opacity, BaseKeyframeAnimation<?, PointF> startPoint,
+        BaseKeyframeAnimation<?, PointF> endPoint, @Nullable BaseKeyframeAnimation<?, Float> width) {
+      super(name);
+      this.stroke = stroke;
+      this.color = addAnimation(color);
+      this.opacity = addAnimation(opacity);
+      this.startPoint = addAnimation(startPoint);
+      this.endPoint = addAnimation(endPoint);
+      this.width = width == null ? null : addAnimation(width);
+    }
+
+    @Override void setProgress(float progress) {
+      super.setProgress(progress);
+      if (colorCallback != null) {
+        colorCallback.setProgress(progress);
+      }
+    }
+
+    @Override LottieContentValues evaluate() {
+      // The gradient color and points are reused by their animations.
+      GradientColor gradientColor = color.getValue();
+      PointF startPoint = this.startPoint.getValue();
+      PointF endPoint = this.endPoint.getValue();
+      float[] points = {startPoint.x, startPoint.y, endPoint.x, endPoint.y};
+      return LottieContentValues.gradient(name, stroke, getColors(gradientColor),
+          gradientColor.getPositions().clone(), points, getOpacity(opacity), width == null ? 0f : getFloat(width));
+    }
+
+    /**
+     * Replaces the colors with the colors of a value callback like the gradient contents do.
+     */
+    private int[] getColors(GradientColor gradientColor) {
+      if (colorCallback == null) {
+        return gradientColor.getColors().clone();
+      }
+      Integer[] dynamicColors = colorCallback.getValue();
+      int[] colors = new int[dynamicColors.length];
+      for (int i = 0; i < dynamicColors.length; i++) {
+        colors[i] = dynamicColors[i];
+      }
+      return colors;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> void addValueCallback(T property, @Nullable LottieValueCallback<T> callback) {
+      if (property == LottieProperty.OPACITY) {
+        opacity.setValueCallback((LottieValueCallback<Integer>) callback);
+      } else if (property == LottieProperty.STROKE_WIDTH && width != null) {
+        width.setValueCallback((LottieValueCallback<Float>) callback);
+      } else if (property == LottieProperty.GRADIENT_COLOR) {
+        colorCallback = callback == null ?
+            null : new ValueCallbackKeyframeAnimation<>((LottieValueCallback<Integer[]>) callback);
+      }
+    }
+  }
+
+  /**
+   * Trim paths don't resolve key paths, like {@link com.airbnb.lottie.animation.content.TrimPathContent}.
+   */
+  private static class TrimPathEvaluator extends ContentEvaluator {
+    private final BaseKeyframeAnimation<?, Float> start;
+    private final BaseKeyframeAnimation<?, Float> end;
+    private final BaseKeyframeAnimation<?, Float> offset;
+
+    TrimPathEvaluator(ShapeTrimPath trimPath) {
+      super(trimPath.getName());
+      start = addAnimation(trimPath.getStart().createAnimation());
+      end = addAnimation(trimPath.getEnd().createAnimation());
+      offset = addAnimation(trimPath.getOffset().createAnimation());
+    }
+
+    @Override LottieContentValues evaluate() {
+      return LottieContentValues.trimPath(name, getFloat(start), getFloat(end), getFloat(offset));
+    }
+
+    @Override public void resolveKeyPath(
+        KeyPath keyPath, int depth, List<KeyPath> accumulator, KeyPath currentPartialKeyPath) {
+    }
+  }
+
+  /**
+   * Takes all of the contents before it like {@link com.airbnb.lottie.animation.content.RepeaterContent}. The values
+   * of each copy are computed the same way as {@link com.airbnb.lottie.animation.content.RepeaterContent#draw}.
+   */
+  private static class RepeaterEvaluator extends ContentEvaluator {
+    private final boolean hidden;
+    private final BaseKeyframeAnimation<Float, Float> copies;
+    private final BaseKeyframeAnimation<Float, Float> offset;
+    private final TransformKeyframeAnimation transform;
+    private final float[] copyMatrix = new float[9];
+    private List<ContentEvaluator> contents = Collections.emptyList();
+
+    RepeaterEvaluator(Repeater repeater) {
+      super(repeater.getName());
+      hidden = repeater.isHidden();
+      copies = addAnimation(repeater.getCopies().createAnimation());
+      offset = addAnimation(repeater.getOffset().createAnimation());
+      transform = repeater.getTransform().createAnimation();
+    }
+
+    @Override int absorbContents(List<ContentEvaluator> contents, int index) {
+      List<ContentEvaluator> contentsBefore = contents.subList(0, index);
+      this.contents = new ArrayList<>(contentsBefore);
+      contentsBefore.clear();
+      return 0;
+    }
+
+    @Override void setProgress(float progress) {
+      super.setProgress(progress);
+      transform.setProgress(progress);
+      setProgress(contents, progress);
+    }
+
+    @Override boolean isPath() {
+      return true;
+    }
+
+    @Override boolean isHidden() {
+      return hidden;
+    }
+
+    @Override LottieContentValues evaluate() {
+      float copies = this.copies.getValue();
+      float offset = this.offset.getValue();
+      float startOpacity = transform.getStartOpacity() == null ? 1f : transform.getStartOpacity().getValue() / 100f;
+      float endOpacity = transform.getEndOpacity() == null ? 1f : transform.getEndOpacity().getValue() / 100f;
+      int copyCount = Math.max((int) copies, 0);
+      float[] matrices = new float[copyCount * 9];
+      float[] opacities = new float[copyCount];
+      for (int i = 0; i < copyCount; i++) {
+        transform.getMatrixValuesForRepeater(i + offset, copyMatrix);
+        System.arraycopy(copyMatrix, 0, matrices, i * 9, 9);
+        opacities[i] = MiscUtils.lerp(startOpacity, endOpacity, i / copies);
+      }
+      return LottieContentValues.repeater(name, evaluate(contents), matrices, opacities);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <T> void addValueCallback(T property, @Nullable LottieValueCallback<T> callback) {
+      if (transform.applyValueCallback(property, callback)) {
+        return;
+      }
+
+      if (property == LottieProperty.REPEATER_COPIES) {
+        copies.setValueCallback((LottieValueCallback<Float>) callback);
+      } else if (property == LottieProperty.REPEATER_OFFSET) {
+        offset.setValueCallback((LottieValueCallback<Float>) callback);
+      }
+    }
+  }
+
+  /**
+   * Takes the paths before it like {@link com.airbnb.lottie.animation.content.MergePathsContent}. It doesn't resolve
+   * key paths either.
+   */
+  private static class MergePathsEvaluator extends ContentEvaluator {
+    private final LottieContentValues.MergePathsMode mode;
+    private final boolean hidden;
+    private final List<ContentEvaluator> paths = new ArrayList<>();
+
+    MergePathsEvaluator(MergePaths mergePaths) {
+      super(mergePaths.getName());
+      mode = LottieContentValues.MergePathsMode.valueOf(mergePaths.getMode().name());
+      hidden = mergePaths.isHidden();
+    }
+
+    @Override int absorbContents(List<ContentEvaluator> contents, int index) {
+      for (int i = 0; i < index; i++) {
+        if (contents.get(i).isPath()) {
+          paths.add(contents.remove(i));
+          i--;
+          index--;
+        }
+      }
+      return index;
+    }
+
+    @Override void setProgress(float progress) {
+      setProgress(paths, progress);
+    }
+
+    @Override boolean isPath() {
+      return true;
+    }
+
+    @Override boolean isHidden() {
+      return hidden;
+    }
+
+    @Override LottieContentValues evaluate() {
+      return LottieContentValues.mergePaths(name, mode, evaluate(paths));
+    }
+
+    @Override public void resolveKeyPath(
+        KeyPath keyPath, int depth, List<KeyPath> accumulator, KeyPath currentPartialKeyPath) {
+    }
+  }
+
+  /**
+   * Builds a single contour in the packed format of {@link LottieContentValues#getPath()}. Each content reuses one
+   * builder for every frame.
+   */
+  static final class PathBuilder implements ShapeGeometry.Contour {
+    private float[] points;
+    private int size;
+
+    PathBuilder(int expectedCurves) {
+      points = new float[2 + Math.max(expectedCurves, 1) * ShapeData.CURVE_LENGTH];
+    }
+
+    @Override public void moveTo(float x, float y) {
+      points[0] = x;
+      points[1] = y;
+      size = 2;
+    }
+
+    @Override public void lineTo(float x, float y) {
+      cubicTo(points[size - 2], points[size - 1], x, y, x, y);
+    }
+
+    @Override public void cubicTo(float cp1x, float cp1y, float cp2x, float cp2y, float x, float y) {
+      if (size + ShapeData.CURVE_LENGTH > points.length) {
+        points = Arrays.copyOf(points, points.length * 2);
+      }
+      points[size++] = cp1x;
+      points[size++] = cp1y;
+      points[size++] = cp2x;
+      points[size++] = cp2y;
+      points[size++] = x;
+      points[size++] = y;
+    }
+
+    float[] toArray() {
+      return Arrays.copyOf(points, size);
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.airbnb.lottie.model.layer;
 
 import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 
 import com.airbnb.lottie.LottieComposition;
 import com.airbnb.lottie.model.animatable.AnimatableFloatValue;
@@ -9,6 +10,7 @@ import com.airbnb.lottie.model.animatable.AnimatableTextProperties;
 import com.airbnb.lottie.model.animatable.AnimatableTransform;
 import com.airbnb.lottie.model.content.ContentModel;
 import com.airbnb.lottie.model.content.Mask;
+import com.airbnb.lottie.parser.LazyLayerContents;
 import com.airbnb.lottie.value.Keyframe;
 
 import java.util.List;
@@ -35,15 +37,15 @@ public class Layer {
     UNKNOWN
   }
 
-  private final List<ContentModel> shapes;
+  private List<ContentModel> shapes;
   private final LottieComposition composition;
   private final String layerName;
   private final long layerId;
   private final LayerType layerType;
   private final long parentId;
   @Nullable private final String refId;
-  private final List<Mask> masks;
-  private final AnimatableTransform transform;
+  private List<Mask> masks;
+  private AnimatableTransform transform;
   private final int solidWidth;
   private final int solidHeight;
   private final int solidColor;
@@ -57,6 +59,11 @@ public class Layer {
   private final List<Keyframe<Float>> inOutKeyframes;
   private final MatteType matteType;
   private final boolean hidden;
+  /**
+   * The transform, masks and shapes that haven't been parsed yet. They are built the first time one of them is used
+   * and this is cleared afterwards. Clearing it publishes the built contents to every thread that reads it.
+   */
+  @Nullable private volatile LazyLayerContents lazyContents;
 
   public Layer(List<ContentModel> shapes, LottieComposition composition, String layerName, long layerId,
       LayerType layerType, long parentId, @Nullable String refId, List<Mask> masks,
@@ -89,19 +96,93 @@ public class Layer {
     this.hidden = hidden;
   }
 
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public void setLazyContents(LazyLayerContents lazyContents) {
+    this.lazyContents = lazyContents;
+  }
+
+  /**
+   * Returns false if the transform, masks and shapes of this layer will be parsed the first time they are used.
+   */
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public boolean isBuilt() {
+    return lazyContents == null;
+  }
+
+  /**
+   * Layers are shared by every drawable of the composition so they can be built from several threads at once.
+   */
+  private void buildIfNeeded() {
+    if (lazyContents == null) {
+      return;
+    }
+    synchronized (this) {
+      LazyLayerContents contents = lazyContents;
+      if (contents == null) {
+        return;
+      }
+      transform = contents.parseTransform(composition);
+      masks = contents.parseMasks(composition);
+      shapes = contents.parseShapes(composition);
+      lazyContents = null;
+    }
+  }
+
   LottieComposition getComposition() {
     return composition;
   }
 
-  float getTimeStretch() {
+  public float getTimeStretch() {
     return timeStretch;
   }
 
+  /**
+   * The frame of the composition that this layer starts at.
+   */
+  public float getStartFrame() {
+    return startFrame;
+  }
+
   float getStartProgress() {
     return startFrame / composition.getDurationFrames();
   }
 
-  List<Keyframe<Float>> getInOutKeyframes() {
+  /**
+   * Returns the progress that the in and out frames, contents and matte of this layer are set to for the progress of
+   * the composition that it is in. Time stretch isn't applied to the transform or the masks.
+   */
+  float getStretchedProgress(float progress) {
+    return timeStretch == 0 ? progress : progress / timeStretch;
+  }
+
+  /**
+   * Returns the progress of this layer when it is the matte of a layer that is at the stretched progress. The matte
+   * layer's time stretch is pre-calculated.
+   */
+  float getMatteProgress(float stretchedProgress) {
+    return stretchedProgress * timeStretch;
+  }
+
+  /**
+   * Returns the progress of the layers in this precomp for the progress of the composition that it is in.
+   *
+   * @param remappedTime the value of the time remapping in seconds or null if the precomp isn't time remapped.
+   */
+  float getPrecompProgress(float progress, @Nullable Float remappedTime) {
+    if (remappedTime != null) {
+      // The duration has 0.01 frame offset to show end of animation properly.
+      // https://github.com/airbnb/lottie-android/pull/766
+      // Ignore this offset for calculating time-remapping because time-remapping value is based on original duration.
+      float durationFrames = composition.getDurationFrames() + 0.01f;
+      float remappedFrames = remappedTime * composition.getFrameRate() - composition.getStartFrame();
+      progress = remappedFrames / durationFrames;
+    } else {
+      progress -= getStartProgress();
+    }
+    return getStretchedProgress(progress);
+  }
+
+  public List<Keyframe<Float>> getInOutKeyframes() {
     return inOutKeyframes;
   }
 
@@ -109,23 +190,24 @@ public class Layer {
     return layerId;
   }
 
-  String getName() {
+  public String getName() {
     return layerName;
   }
 
-  @Nullable String getRefId() {
+  @Nullable public String getRefId() {
     return refId;
   }
 
-  int getPreCompWidth() {
+  public int getPreCompWidth() {
     return preCompWidth;
   }
 
-  int getPreCompHeight() {
+  public int getPreCompHeight() {
     return preCompHeight;
   }
 
-  List<Mask> getMasks() {
+  public List<Mask> getMasks() {
+    buildIfNeeded();
     return masks;
   }
 
@@ -133,43 +215,45 @@ public class Layer {
     return layerType;
   }
 
-  MatteType getMatteType() {
+  public MatteType getMatteType() {
     return matteType;
   }
 
-  long getParentId() {
+  public long getParentId() {
     return parentId;
   }
 
-  List<ContentModel> getShapes() {
+  public List<ContentModel> getShapes() {
+    buildIfNeeded();
     return shapes;
   }
 
-  AnimatableTransform getTransform() {
+  public AnimatableTransform getTransform() {
+    buildIfNeeded();
     return transform;
   }
 
-  int getSolidColor() {
+  public int getSolidColor() {
     return solidColor;
   }
 
-  int getSolidHeight() {
+  public int getSolidHeight() {
     return solidHeight;
   }
 
-  int getSolidWidth() {
+  public int getSolidWidth() {
     return solidWidth;
   }
 
-  @Nullable AnimatableTextFrame getText() {
+  @Nullable public AnimatableTextFrame getText() {
     return text;
   }
 
-  @Nullable AnimatableTextProperties getTextProperties() {
+  @Nullable public AnimatableTextProperties getTextProperties() {
     return textProperties;
   }
 
-  @Nullable AnimatableFloatValue getTimeRemapping() {
+  @Nullable public AnimatableFloatValue getTimeRemapping() {
     return timeRemapping;
   }
 
@@ -201,9 +285,9 @@ public class Layer {
       sb.append(prefix).append("\tBackground: ").append(String
           .format(Locale.US, "%dx%d %X\n", getSolidWidth(), getSolidHeight(), getSolidColor()));
     }
-    if (!shapes.isEmpty()) {
+    if (!getShapes().isEmpty()) {
       sb.append(prefix).append("\tShapes:\n");
-      for (Object shape : shapes) {
+      for (Object shape : getShapes()) {
         sb.append(prefix).append("\t\t").append(shape).append("\n");
       }
     }
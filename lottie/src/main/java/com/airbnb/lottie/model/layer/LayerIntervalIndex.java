@@ -0,0 +1,158 @@
+package com.airbnb.lottie.model.layer;
+
+import androidx.annotation.Nullable;
+
+import com.airbnb.lottie.value.Keyframe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the layers of a composition that are between their in and out frames at a given progress. Layers outside of
+ * that range are invisible so they don't have to be updated or drawn.
+ * <p>
+ * The progress range is split into segments at the in and out points of every layer. Each segment stores the layers
+ * that are active anywhere in it so a lookup is a binary search rather than a pass over every layer. The ranges are
+ * padded slightly so a layer may be active just outside of its in/out range but never the other way around.
+ */
+class LayerIntervalIndex {
+  /**
+   * Covers float error from mapping the in/out range through the time stretch of the layer.
+   */
+  private static final float PADDING = 0.0001f;
+
+  /**
+   * The sorted, distinct in and out points. Segment i covers [boundaries[i - 1], boundaries[i]).
+   */
+  private final float[] boundaries;
+  /**
+   * The ascending indices of the layers that are active in each segment.
+   */
+  private final int[][] segmentLayers;
+
+  /**
+   * @param alwaysActive layers that have to be updated even when they are invisible such as the parents of other layers.
+   *                     Can be null.
+   */
+  LayerIntervalIndex(List<BaseLayer> layers, @Nullable boolean[] alwaysActive) {
+    int size = layers.size();
+    float[] starts = new float[size];
+    float[] ends = new float[size];
+    float[] points = new float[size * 2];
+    int pointCount = 0;
+    for (int i = 0; i < size; i++) {
+      if ((alwaysActive != null && alwaysActive[i]) || !findActiveRange(layers.get(i).getLayerModel(), starts, ends, i)) {
+        starts[i] = Float.NEGATIVE_INFINITY;
+        ends[i] = Float.POSITIVE_INFINITY;
+        continue;
+      }
+      if (!Float.isInfinite(starts[i])) {
+        points[pointCount++] = starts[i];
+      }
+      if (!Float.isInfinite(ends[i])) {
+        points[pointCount++] = ends[i];
+      }
+    }
+    Arrays.sort(points, 0, pointCount);
+    int distinctCount = 0;
+    for (int i = 0; i < pointCount; i++) {
+      if (distinctCount == 0 || points[i] != points[distinctCount - 1]) {
+        points[distinctCount++] = points[i];
+      }
+    }
+    boundaries = Arrays.copyOf(points, distinctCount);
+
+    List<List<Integer>> segments = new ArrayList<>(distinctCount + 1);
+    for (int i = 0; i <= distinctCount; i++) {
+      segments.add(new ArrayList<Integer>());
+    }
+    for (int i = 0; i < size; i++) {
+      // A range intersects a segment if it starts before the segment ends and ends at or after the segment starts.
+      int first = segmentOf(starts[i]);
+      int last = segmentOf(ends[i]);
+      for (int segment = first; segment <= last; segment++) {
+        segments.get(segment).add(i);
+      }
+    }
+    segmentLayers = new int[distinctCount + 1][];
+    for (int i = 0; i <= distinctCount; i++) {
+      List<Integer> segment = segments.get(i);
+      int[] indices = new int[segment.size()];
+      for (int j = 0; j < indices.length; j++) {
+        indices[j] = segment.get(j);
+      }
+      segmentLayers[i] = indices;
+    }
+  }
+
+  /**
+   * Returns the ascending indices of the layers that are active at progress. The array must not be modified.
+   */
+  int[] activeLayers(float progress) {
+    return segmentLayers[segmentOf(progress)];
+  }
+
+  /**
+   * The number of segments. Used for testing.
+   */
+  int segmentCount() {
+    return segmentLayers.length;
+  }
+
+  /**
+   * Returns the segment that contains progress.
+   */
+  private int segmentOf(float progress) {
+    if (Float.isNaN(progress)) {
+      return 0;
+    }
+    // The number of boundaries <= progress.
+    int low = 0;
+    int high = boundaries.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (boundaries[mid] <= progress) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Sets starts[index] and ends[index] to the progress range of the parent composition in which the layer is visible.
+   * This mirrors how {@link BaseLayer#setProgress(float)} maps progress to its in/out animation.
+   *
+   * @return false if the layer has to be updated at every progress.
+   */
+  private static boolean findActiveRange(Layer layerModel, float[] starts, float[] ends, int index) {
+    List<Keyframe<Float>> keyframes = layerModel.getInOutKeyframes();
+    float timeStretch = layerModel.getTimeStretch();
+    if (keyframes.isEmpty() || timeStretch <= 0) {
+      return false;
+    }
+    float start = Float.POSITIVE_INFINITY;
+    float end = Float.NEGATIVE_INFINITY;
+    for (int i = 0; i < keyframes.size(); i++) {
+      Keyframe<Float> keyframe = keyframes.get(i);
+      if (keyframe.startValue == null || keyframe.startValue != 1f) {
+        continue;
+      }
+      // Progress is clamped to the first and last keyframes so they extend indefinitely.
+      start = Math.min(start, i == 0 ? Float.NEGATIVE_INFINITY : keyframe.getStartProgress());
+      end = Math.max(end, i == keyframes.size() - 1 ? Float.POSITIVE_INFINITY : keyframe.getEndProgress());
+    }
+    if (start > end) {
+      // The layer is never visible. An empty range isn't added to any segment.
+      starts[index] = Float.POSITIVE_INFINITY;
+      ends[index] = Float.NEGATIVE_INFINITY;
+      return true;
+    }
+    // The in/out animation gets the progress divided by the time stretch once. See Layer#getStretchedProgress.
+    starts[index] = start * timeStretch - PADDING;
+    ends[index] = end * timeStretch + PADDING;
+    return true;
+  }
+}
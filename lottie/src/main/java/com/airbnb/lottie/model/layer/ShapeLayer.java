@@ -2,9 +2,12 @@ package com.airbnb.lottie.model.layer;
 
 import android.graphics.Canvas;
 import android.graphics.Matrix;
+import android.graphics.Path;
 import android.graphics.RectF;
+import android.os.Build;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
 
 import com.airbnb.lottie.LottieDrawable;
 import com.airbnb.lottie.animation.content.Content;
@@ -36,6 +39,11 @@ public class ShapeLayer extends BaseLayer {
     contentGroup.getBounds(outBounds, boundsMatrix, applyParents);
   }
 
+  @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+  @Override boolean addOpaqueContentPath(Path outPath, Matrix matrix) {
+    return contentGroup.addOpaqueFillPath(outPath, matrix);
+  }
+
   @Override
   protected void resolveChildKeyPath(KeyPath keyPath, int depth, List<KeyPath> accumulator,
       KeyPath currentPartialKeyPath) {
@@ -0,0 +1,129 @@
+package com.airbnb.lottie.model.layer;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import androidx.annotation.Nullable;
+
+import com.airbnb.lottie.animation.LPaint;
+
+/**
+ * Draws a static layer from a bitmap that is rendered at the scale of the canvas.
+ * <p>
+ * The bitmap is rendered again when the matrix or alpha the layer is drawn with changes. If they change continuously,
+ * such as when a precomp the layer is in is animated, rendering a bitmap every frame would be slower than drawing the
+ * layer. The layer is therefore drawn directly until they are the same for two draws in a row.
+ * <p>
+ * Static layers can still become visible or invisible. For a precomp, that changes what the bitmap looks like so it
+ * is rendered again.
+ */
+class StaticLayerCache {
+  private final BaseLayer layer;
+  private final Matrix parentMatrix = new Matrix();
+  private final Matrix canvasMatrix = new Matrix();
+  private final float[] canvasMatrixValues = new float[9];
+  private final Paint paint = new LPaint(Paint.FILTER_BITMAP_FLAG);
+  /**
+   * The bounds of the bitmap in the coordinates of the canvas that it is drawn to.
+   */
+  private final RectF bounds = new RectF();
+  private int alpha = -1;
+  private int visibilityChangeCount;
+  private float scaleX;
+  private float scaleY;
+  /**
+   * Whether the bitmap matches the matrix, alpha and scale it was last drawn with.
+   */
+  private boolean valid;
+  /**
+   * Whether the layer is too large to be cached at the current matrix and scale.
+   */
+  private boolean tooLarge;
+  private boolean rendering;
+  @Nullable private Bitmap bitmap;
+  @Nullable private Canvas bitmapCanvas;
+
+  StaticLayerCache(BaseLayer layer) {
+    this.layer = layer;
+  }
+
+  /**
+   * @return false if the layer has to be drawn directly.
+   */
+  boolean draw(Canvas canvas, Matrix parentMatrix, int parentAlpha) {
+    if (rendering) {
+      return false;
+    }
+    //noinspection deprecation
+    canvas.getMatrix(canvasMatrix);
+    canvasMatrix.getValues(canvasMatrixValues);
+    float scaleX = (float) Math.hypot(canvasMatrixValues[Matrix.MSCALE_X], canvasMatrixValues[Matrix.MSKEW_Y]);
+    float scaleY = (float) Math.hypot(canvasMatrixValues[Matrix.MSKEW_X], canvasMatrixValues[Matrix.MSCALE_Y]);
+    if (parentAlpha != alpha || scaleX != this.scaleX || scaleY != this.scaleY ||
+        !this.parentMatrix.equals(parentMatrix)) {
+      this.parentMatrix.set(parentMatrix);
+      this.scaleX = scaleX;
+      this.scaleY = scaleY;
+      alpha = parentAlpha;
+      valid = false;
+      tooLarge = false;
+      return false;
+    }
+    if (tooLarge) {
+      return false;
+    }
+    int visibilityChangeCount = layer.getVisibilityChangeCount();
+    if (visibilityChangeCount != this.visibilityChangeCount) {
+      this.visibilityChangeCount = visibilityChangeCount;
+      valid = false;
+    }
+    if (!valid && !render(canvas)) {
+      tooLarge = true;
+      return false;
+    }
+    canvas.drawBitmap(bitmap, null, bounds, paint);
+    return true;
+  }
+
+  /**
+   * @return false if the bitmap would have more pixels than the canvas.
+   */
+  private boolean render(Canvas canvas) {
+    layer.getBounds(bounds, parentMatrix, true);
+    // Leave room for anti-aliasing.
+    bounds.inset(-1f / scaleX, -1f / scaleY);
+    int width = (int) Math.ceil(bounds.width() * scaleX);
+    int height = (int) Math.ceil(bounds.height() * scaleY);
+    if (width <= 0 || height <= 0 || (long) width * height > (long) canvas.getWidth() * canvas.getHeight()) {
+      bitmap = null;
+      return false;
+    }
+    // Snap the bounds to whole pixels so that the bitmap isn't stretched.
+    bounds.right = bounds.left + width / scaleX;
+    bounds.bottom = bounds.top + height / scaleY;
+
+    if (bitmap == null || bitmap.getWidth() != width || bitmap.getHeight() != height) {
+      bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    } else {
+      bitmap.eraseColor(0);
+    }
+    if (bitmapCanvas == null) {
+      bitmapCanvas = new Canvas();
+    }
+    bitmapCanvas.setBitmap(bitmap);
+    bitmapCanvas.scale(scaleX, scaleY);
+    bitmapCanvas.translate(-bounds.left, -bounds.top);
+    rendering = true;
+    try {
+      layer.draw(bitmapCanvas, parentMatrix, alpha);
+    } finally {
+      rendering = false;
+      bitmapCanvas.setBitmap(null);
+    }
+    valid = true;
+    return true;
+  }
+}
@@ -107,6 +107,11 @@ public class TextLayer extends BaseLayer {
     }
   }
 
+  @Override boolean canDrawFromBitmap() {
+    // The bounds of the text aren't known.
+    return false;
+  }
+
   @Override
   public void getBounds(RectF outBounds, Matrix parentMatrix, boolean applyParents) {
     super.getBounds(outBounds, parentMatrix, applyParents);
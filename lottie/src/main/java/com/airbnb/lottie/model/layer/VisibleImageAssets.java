@@ -0,0 +1,86 @@
+package com.airbnb.lottie.model.layer;
+
+import androidx.annotation.RestrictTo;
+
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.value.Keyframe;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the image assets that are needed to draw a given frame of a composition.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public class VisibleImageAssets {
+
+  private VisibleImageAssets() {
+  }
+
+  /**
+   * Returns the ids of the image assets that may be drawn at {@code frame}.
+   * <p>
+   * This errs on the side of including too many. Every image in a time remapped precomp is included because any of its
+   * frames could be shown.
+   */
+  public static Set<String> atFrame(LottieComposition composition, float frame) {
+    Set<String> ids = new HashSet<>();
+    collect(composition, composition.getLayers(), frame, false, ids);
+    return ids;
+  }
+
+  private static void collect(LottieComposition composition, List<Layer> layers, float frame, boolean allFrames,
+      Set<String> ids) {
+    for (int i = 0; i < layers.size(); i++) {
+      Layer layer = layers.get(i);
+      if (!allFrames && !isVisibleAtFrame(layer, frame)) {
+        continue;
+      }
+      String refId = layer.getRefId();
+      if (refId == null) {
+        continue;
+      }
+      switch (layer.getLayerType()) {
+        case IMAGE:
+          ids.add(refId);
+          break;
+        case PRE_COMP:
+          List<Layer> precompLayers = composition.getPrecomps(refId);
+          if (precompLayers == null) {
+            break;
+          }
+          if (allFrames || layer.getTimeRemapping() != null) {
+            collect(composition, precompLayers, frame, true, ids);
+          } else {
+            // Mirrors the progress mapping in CompositionLayer#setProgress.
+            float localFrame = frame - composition.getStartFrame() - layer.getStartProgress() * composition.getDurationFrames();
+            if (layer.getTimeStretch() != 0) {
+              localFrame /= layer.getTimeStretch();
+            }
+            collect(composition, precompLayers, composition.getStartFrame() + localFrame, false, ids);
+          }
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  private static boolean isVisibleAtFrame(Layer layer, float frame) {
+    List<Keyframe<Float>> inOutKeyframes = layer.getInOutKeyframes();
+    if (inOutKeyframes.isEmpty()) {
+      return true;
+    }
+    for (int i = 0; i < inOutKeyframes.size(); i++) {
+      Keyframe<Float> keyframe = inOutKeyframes.get(i);
+      if (keyframe.startValue == null || keyframe.startValue != 1f) {
+        continue;
+      }
+      if (frame >= keyframe.startFrame && (keyframe.endFrame == null || frame < keyframe.endFrame)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
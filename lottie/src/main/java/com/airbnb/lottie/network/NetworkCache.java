@@ -1,8 +1,6 @@
 package com.airbnb.lottie.network;
 
 
-import android.util.Pair;
-
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.WorkerThread;
@@ -10,7 +8,6 @@ import androidx.annotation.WorkerThread;
 import com.airbnb.lottie.utils.Logger;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -45,44 +42,28 @@ public class NetworkCache {
   /**
    * If the animation doesn't exist in the cache, null will be returned.
    * <p>
-   * Once the animation is successfully parsed, {@link #renameTempFile(FileExtension)} must be
+   * Once the animation is successfully parsed, {@link #renameTempFile(String, FileExtension)} must be
    * called to move the file from a temporary location to its permanent cache location so it can
    * be used in the future.
    */
   @Nullable
   @WorkerThread
-  Pair<FileExtension, InputStream> fetch(String url) {
+  File fetchFile(String url) {
     File cachedFile;
     try {
       cachedFile = getCachedFile(url);
     } catch (FileNotFoundException e) {
       return null;
     }
-    if (cachedFile == null) {
-      return null;
-    }
-
-    FileInputStream inputStream;
-    try {
-      inputStream = new FileInputStream(cachedFile);
-    } catch (FileNotFoundException e) {
-      return null;
-    }
-
-    FileExtension extension;
-    if (cachedFile.getAbsolutePath().endsWith(".zip")) {
-      extension = FileExtension.ZIP;
-    } else {
-      extension = FileExtension.JSON;
+    if (cachedFile != null) {
+      Logger.debug("Cache hit for " + url + " at " + cachedFile.getAbsolutePath());
     }
-
-    Logger.debug("Cache hit for " + url + " at " + cachedFile.getAbsolutePath());
-    return new Pair<>(extension, (InputStream) inputStream);
+    return cachedFile;
   }
 
   /**
    * Writes an InputStream from a network response to a temporary file. If the file successfully parses
-   * to an composition, {@link #renameTempFile(FileExtension)} should be called to move the file
+   * to an composition, {@link #renameTempFile(String, FileExtension)} should be called to move the file
    * to its final location for future cache hits.
    */
   File writeTempCacheFile(String url, InputStream stream, FileExtension extension) throws IOException {
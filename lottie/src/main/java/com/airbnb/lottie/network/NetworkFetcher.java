@@ -1,7 +1,5 @@
 package com.airbnb.lottie.network;
 
-import android.util.Pair;
-
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.WorkerThread;
@@ -12,7 +10,6 @@ import com.airbnb.lottie.LottieResult;
 import com.airbnb.lottie.utils.Logger;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.zip.ZipInputStream;
@@ -48,19 +45,13 @@ public class NetworkFetcher {
     if (cacheKey == null) {
       return null;
     }
-    Pair<FileExtension, InputStream> cacheResult = networkCache.fetch(url);
-    if (cacheResult == null) {
+    File cachedFile = networkCache.fetchFile(url);
+    if (cachedFile == null) {
       return null;
     }
 
-    FileExtension extension = cacheResult.first;
-    InputStream inputStream = cacheResult.second;
-    LottieResult<LottieComposition> result;
-    if (extension == FileExtension.ZIP) {
-      result = LottieCompositionFactory.fromZipStreamSync(new ZipInputStream(inputStream), url);
-    } else {
-      result = LottieCompositionFactory.fromJsonInputStreamSync(inputStream, url);
-    }
+    // The file is memory mapped. Zips are detected from their header.
+    LottieResult<LottieComposition> result = LottieCompositionFactory.fromFileSync(cachedFile, url);
     if (result.getValue() != null) {
       return result.getValue();
     }
@@ -131,7 +122,7 @@ public class NetworkFetcher {
       return LottieCompositionFactory.fromZipStreamSync(new ZipInputStream(inputStream), null);
     }
     File file = networkCache.writeTempCacheFile(url, inputStream, FileExtension.ZIP);
-    return LottieCompositionFactory.fromZipStreamSync(new ZipInputStream(new FileInputStream(file)), url);
+    return LottieCompositionFactory.fromFileSync(file, url);
   }
 
   @NonNull
@@ -141,6 +132,6 @@ public class NetworkFetcher {
       return LottieCompositionFactory.fromJsonInputStreamSync(inputStream, null);
     }
     File file = networkCache.writeTempCacheFile(url, inputStream, FileExtension.JSON);
-    return LottieCompositionFactory.fromJsonInputStreamSync(new FileInputStream(new File(file.getAbsolutePath())), url);
+    return LottieCompositionFactory.fromFileSync(file, url);
   }
 }
@@ -36,6 +36,7 @@ public class AnimatablePathValueParser {
       }
       reader.endArray();
       KeyframesParser.setEndFrames(keyframes);
+      composition.addEstimatedModelSize(KeyframesParser.estimateSize(keyframes));
     } else {
       keyframes.add(new Keyframe<>(JsonUtils.jsonToPoint(reader, Utils.dpScale())));
     }
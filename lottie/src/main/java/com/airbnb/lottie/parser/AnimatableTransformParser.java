@@ -88,6 +88,10 @@ public class AnimatableTransformParser {
            * which doesn't parse to a real keyframe.
            */
           rotation = AnimatableValueParser.parseFloat(reader, composition, false);
+          if (rotation.getTrack() != null) {
+            // Keyframes are only stored in a track when they all have values.
+            break;
+          }
           if (rotation.getKeyframes().isEmpty()) {
             rotation.getKeyframes().add(new Keyframe<>(composition, 0f, 0f, null, 0f, composition.getEndFrame()));
           } else if (rotation.getKeyframes().get(0).startValue == null) {
@@ -0,0 +1,176 @@
+package com.airbnb.lottie.parser;
+
+import android.view.animation.Interpolator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.collection.LruCache;
+
+import com.airbnb.lottie.utils.CubicBezierInterpolator;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Shares cubic bezier interpolators between keyframes and compositions.
+ * <p>
+ * Curves are evaluated with {@link CubicBezierInterpolator} which is considerably cheaper per call than
+ * {@link androidx.core.view.animation.PathInterpolatorCompat}.
+ * <p>
+ * Interpolators are keyed by their exact control points. The most recently used curves are strongly retained up to
+ * {@link #maxSize()}. Curves that are evicted are weakly retained so that they are still shared while a loaded
+ * composition uses them.
+ */
+public class InterpolatorPool {
+  private static final int DEFAULT_MAX_SIZE = 256;
+  private static final InterpolatorPool INSTANCE = new InterpolatorPool(DEFAULT_MAX_SIZE);
+
+  public static InterpolatorPool getInstance() {
+    return INSTANCE;
+  }
+
+  private final LruCache<CurveKey, Interpolator> cache;
+  /**
+   * Guarded by itself.
+   */
+  private final Map<CurveKey, WeakReference<Interpolator>> evicted = new HashMap<>();
+  /**
+   * The number of interpolators that were created rather than found. Guarded by this.
+   */
+  private int created = 0;
+
+  InterpolatorPool(int maxSize) {
+    cache = new LruCache<CurveKey, Interpolator>(maxSize) {
+      @Override protected Interpolator create(@NonNull CurveKey key) {
+        synchronized (evicted) {
+          WeakReference<Interpolator> ref = evicted.remove(key);
+          Interpolator interpolator = ref == null ? null : ref.get();
+          if (interpolator != null) {
+            return interpolator;
+          }
+        }
+        return createInterpolator(key.x1, key.y1, key.x2, key.y2);
+      }
+
+      @Override protected void entryRemoved(boolean wasEvicted, @NonNull CurveKey key, @NonNull Interpolator oldValue,
+          @Nullable Interpolator newValue) {
+        if (wasEvicted) {
+          retainWeakly(key, oldValue);
+        }
+      }
+    };
+  }
+
+  /**
+   * Returns the shared interpolator for a cubic bezier curve from (0, 0) to (1, 1) with the given control points.
+   */
+  public Interpolator get(float x1, float y1, float x2, float y2) {
+    return cache.get(new CurveKey(x1, y1, x2, y2));
+  }
+
+  /**
+   * Set the number of curves that are strongly retained. This must be {@literal >} 0.
+   */
+  public void resize(int maxSize) {
+    cache.resize(maxSize);
+  }
+
+  public int maxSize() {
+    return cache.maxSize();
+  }
+
+  /**
+   * The number of strongly retained curves.
+   */
+  public int size() {
+    return cache.size();
+  }
+
+  /**
+   * The number of times a curve was found in the pool including weakly retained curves.
+   */
+  public int hitCount() {
+    // LruCache counts the misses that were resolved by create() which includes weakly retained curves.
+    return cache.hitCount() + cache.createCount() - createdCount();
+  }
+
+  /**
+   * The number of times an interpolator had to be created.
+   */
+  public int missCount() {
+    return createdCount();
+  }
+
+  public int evictionCount() {
+    return cache.evictionCount();
+  }
+
+  public void clear() {
+    cache.evictAll();
+    synchronized (evicted) {
+      evicted.clear();
+    }
+  }
+
+  private synchronized int createdCount() {
+    return created;
+  }
+
+  private Interpolator createInterpolator(float x1, float y1, float x2, float y2) {
+    synchronized (this) {
+      created++;
+    }
+    return new CubicBezierInterpolator(x1, y1, x2, y2);
+  }
+
+  private void retainWeakly(CurveKey key, Interpolator interpolator) {
+    synchronized (evicted) {
+      evicted.put(key, new WeakReference<>(interpolator));
+      if (evicted.size() > cache.maxSize() * 4) {
+        // Drop references to interpolators that have been collected.
+        Iterator<WeakReference<Interpolator>> it = evicted.values().iterator();
+        while (it.hasNext()) {
+          if (it.next().get() == null) {
+            it.remove();
+          }
+        }
+      }
+    }
+  }
+
+  private static final class CurveKey {
+    final float x1;
+    final float y1;
+    final float x2;
+    final float y2;
+
+    CurveKey(float x1, float y1, float x2, float y2) {
+      this.x1 = x1;
+      this.y1 = y1;
+      this.x2 = x2;
+      this.y2 = y2;
+    }
+
+    @Override public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CurveKey)) {
+        return false;
+      }
+      CurveKey that = (CurveKey) o;
+      return Float.compare(x1, that.x1) == 0 && Float.compare(y1, that.y1) == 0 &&
+          Float.compare(x2, that.x2) == 0 && Float.compare(y2, that.y2) == 0;
+    }
+
+    @Override public int hashCode() {
+      int result = Float.floatToIntBits(x1);
+      result = 31 * result + Float.floatToIntBits(y1);
+      result = 31 * result + Float.floatToIntBits(x2);
+      result = 31 * result + Float.floatToIntBits(y2);
+      return result;
+    }
+  }
+}
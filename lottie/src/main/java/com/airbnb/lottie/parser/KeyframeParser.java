@@ -4,18 +4,12 @@ import android.graphics.PointF;
 import android.view.animation.Interpolator;
 import android.view.animation.LinearInterpolator;
 
-import androidx.annotation.Nullable;
-import androidx.collection.SparseArrayCompat;
-import androidx.core.view.animation.PathInterpolatorCompat;
-
 import com.airbnb.lottie.LottieComposition;
 import com.airbnb.lottie.parser.moshi.JsonReader;
 import com.airbnb.lottie.utils.MiscUtils;
-import com.airbnb.lottie.utils.Utils;
 import com.airbnb.lottie.value.Keyframe;
 
 import java.io.IOException;
-import java.lang.ref.WeakReference;
 
 class KeyframeParser {
   /**
@@ -24,8 +18,7 @@ class KeyframeParser {
    * Clamping the cp helps prevent that.
    */
   private static final float MAX_CP_VALUE = 100;
-  private static final Interpolator LINEAR_INTERPOLATOR = new LinearInterpolator();
-  private static SparseArrayCompat<WeakReference<Interpolator>> pathInterpolatorCache;
+  static final Interpolator LINEAR_INTERPOLATOR = new LinearInterpolator();
 
   static JsonReader.Options NAMES = JsonReader.Options.of(
       "t",  // 1
@@ -42,31 +35,6 @@ class KeyframeParser {
       "y"   // 2
   );
 
-  // https://github.com/airbnb/lottie-android/issues/464
-  private static SparseArrayCompat<WeakReference<Interpolator>> pathInterpolatorCache() {
-    if (pathInterpolatorCache == null) {
-      pathInterpolatorCache = new SparseArrayCompat<>();
-    }
-    return pathInterpolatorCache;
-  }
-
-  @Nullable
-  private static WeakReference<Interpolator> getInterpolator(int hash) {
-    // This must be synchronized because get and put isn't thread safe because
-    // SparseArrayCompat has to create new sized arrays sometimes.
-    synchronized (KeyframeParser.class) {
-      return pathInterpolatorCache().get(hash);
-    }
-  }
-
-  private static void putInterpolator(int hash, WeakReference<Interpolator> interpolator) {
-    // This must be synchronized because get and put isn't thread safe because
-    // SparseArrayCompat has to create new sized arrays sometimes.
-    synchronized (KeyframeParser.class) {
-      pathInterpolatorCache.put(hash, interpolator);
-    }
-  }
-
   /**
    * @param multiDimensional When true, the keyframe interpolators can be independent for the X and Y axis.
    */
@@ -326,40 +294,11 @@ class KeyframeParser {
   }
 
   private static Interpolator interpolatorFor(PointF cp1, PointF cp2) {
-    Interpolator interpolator = null;
     cp1.x = MiscUtils.clamp(cp1.x, -1f, 1f);
     cp1.y = MiscUtils.clamp(cp1.y, -MAX_CP_VALUE, MAX_CP_VALUE);
     cp2.x = MiscUtils.clamp(cp2.x, -1f, 1f);
     cp2.y = MiscUtils.clamp(cp2.y, -MAX_CP_VALUE, MAX_CP_VALUE);
-    int hash = Utils.hashFor(cp1.x, cp1.y, cp2.x, cp2.y);
-    WeakReference<Interpolator> interpolatorRef = getInterpolator(hash);
-    if (interpolatorRef != null) {
-      interpolator = interpolatorRef.get();
-    }
-    if (interpolatorRef == null || interpolator == null) {
-      try {
-        interpolator = PathInterpolatorCompat.create(cp1.x, cp1.y, cp2.x, cp2.y);
-      } catch (IllegalArgumentException e) {
-        if ("The Path cannot loop back on itself.".equals(e.getMessage())) {
-          // If a control point extends beyond the previous/next point then it will cause the value of the interpolator to no
-          // longer monotonously increase. This clips the control point bounds to prevent that from happening.
-          // NOTE: this will make the rendered animation behave slightly differently than the original.
-          interpolator = PathInterpolatorCompat.create(Math.min(cp1.x, 1f), cp1.y, Math.max(cp2.x, 0f), cp2.y);
-        } else {
-          // We failed to create the interpolator. Fall back to linear.
-          interpolator = new LinearInterpolator();
-        }
-      }
-      try {
-        putInterpolator(hash, new WeakReference<>(interpolator));
-      } catch (ArrayIndexOutOfBoundsException e) {
-        // It is not clear why but SparseArrayCompat sometimes fails with this:
-        //     https://github.com/airbnb/lottie-android/issues/452
-        // Because this is not a critical operation, we can safely just ignore it.
-        // I was unable to repro this to attempt a proper fix.
-      }
-    }
-    return interpolator;
+    return InterpolatorPool.getInstance().get(cp1.x, cp1.y, cp2.x, cp2.y);
   }
 
   private static <T> Keyframe<T> parseStaticValue(JsonReader reader,
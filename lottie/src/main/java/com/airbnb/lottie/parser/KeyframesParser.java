@@ -2,6 +2,8 @@ package com.airbnb.lottie.parser;
 
 import com.airbnb.lottie.LottieComposition;
 import com.airbnb.lottie.animation.keyframe.PathKeyframe;
+import com.airbnb.lottie.model.DocumentData;
+import com.airbnb.lottie.model.content.ShapeData;
 import com.airbnb.lottie.parser.moshi.JsonReader;
 import com.airbnb.lottie.value.Keyframe;
 
@@ -13,6 +15,19 @@ class KeyframesParser {
 
   static JsonReader.Options NAMES = JsonReader.Options.of("k");
 
+  /**
+   * Approximate retained sizes used for {@link LottieComposition#getEstimatedSizeBytes()}.
+   * A keyframe is an object with two interpolators, two PointFs and a dozen fields.
+   */
+  private static final int KEYFRAME_SIZE = 96;
+  private static final int BOXED_VALUE_SIZE = 16;
+  private static final int SHAPE_DATA_SIZE = 48;
+  /**
+   * A curve is six floats in the points of a ShapeData.
+   */
+  private static final int CURVE_SIZE = 24;
+  private static final int PATH_SIZE = 128;
+
   private KeyframesParser() {
   }
 
@@ -53,9 +68,36 @@ class KeyframesParser {
     reader.endObject();
 
     setEndFrames(keyframes);
+    composition.addEstimatedModelSize(estimateSize(keyframes));
     return keyframes;
   }
 
+  static <T> long estimateSize(List<Keyframe<T>> keyframes) {
+    long size = 0;
+    for (int i = 0; i < keyframes.size(); i++) {
+      Keyframe<T> keyframe = keyframes.get(i);
+      size += KEYFRAME_SIZE + estimateSize(keyframe.startValue);
+      if (keyframe.endValue != keyframe.startValue) {
+        size += estimateSize(keyframe.endValue);
+      }
+      if (keyframe instanceof PathKeyframe) {
+        size += PATH_SIZE;
+      }
+    }
+    return size;
+  }
+
+  private static long estimateSize(Object value) {
+    if (value == null) {
+      return 0;
+    } else if (value instanceof ShapeData) {
+      return SHAPE_DATA_SIZE + ((ShapeData) value).getCurveCount() * CURVE_SIZE;
+    } else if (value instanceof DocumentData) {
+      return BOXED_VALUE_SIZE * 4 + ((DocumentData) value).text.length() * 2;
+    }
+    return BOXED_VALUE_SIZE;
+  }
+
   /**
    * The json doesn't include end frames. The data can be taken from the start frame of the next
    * keyframe though.
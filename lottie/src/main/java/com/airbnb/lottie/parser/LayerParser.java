@@ -69,6 +69,14 @@ public class LayerParser {
   private static final JsonReader.Options EFFECTS_NAMES = JsonReader.Options.of("nm");
 
   public static Layer parse(JsonReader reader, LottieComposition composition) throws IOException {
+    return parse(reader, composition, false);
+  }
+
+  /**
+   * @param lazyContents If true, the transform, masks and shapes of the layer are only tokenized and the layer builds
+   *                     them the first time they are used. See {@link LazyLayerContents}.
+   */
+  static Layer parse(JsonReader reader, LottieComposition composition, boolean lazyContents) throws IOException {
     // This should always be set by After Effects. However, if somebody wants to minify
     // and optimize their json, the name isn't critical for most cases so it can be removed.
     String layerName = "UNSET";
@@ -96,6 +104,9 @@ public class LayerParser {
 
     List<Mask> masks = new ArrayList<>();
     List<ContentModel> shapes = new ArrayList<>();
+    byte[] transformSpan = null;
+    byte[] masksSpan = null;
+    byte[] shapesSpan = null;
 
     reader.beginObject();
     while (reader.hasNext()) {
@@ -130,6 +141,10 @@ public class LayerParser {
           solidColor = Color.parseColor(reader.nextString());
           break;
         case 8:
+          if (lazyContents) {
+            transformSpan = LazyLayerContents.copySpan(reader);
+            break;
+          }
           transform = AnimatableTransformParser.parse(reader, composition);
           break;
         case 9:
@@ -150,6 +165,11 @@ public class LayerParser {
           composition.incrementMatteOrMaskCount(1);
           break;
         case 10:
+          if (lazyContents) {
+            masksSpan = LazyLayerContents.copySpan(reader);
+            composition.incrementMatteOrMaskCount(LazyLayerContents.countMasks(masksSpan));
+            break;
+          }
           reader.beginArray();
           while (reader.hasNext()) {
             masks.add(MaskParser.parse(reader, composition));
@@ -158,6 +178,13 @@ public class LayerParser {
           reader.endArray();
           break;
         case 11:
+          if (lazyContents) {
+            shapesSpan = LazyLayerContents.copySpan(reader);
+            if (LazyLayerContents.hasDashPattern(shapesSpan)) {
+              composition.setHasDashPattern(true);
+            }
+            break;
+          }
           reader.beginArray();
           while (reader.hasNext()) {
             ContentModel shape = ContentModelParser.parse(reader, composition);
@@ -275,9 +302,15 @@ public class LayerParser {
       composition.addWarning("Convert your Illustrator layers to shape layers.");
     }
 
-    return new Layer(shapes, composition, layerName, layerId, layerType, parentId, refId,
+    Layer layer = new Layer(shapes, composition, layerName, layerId, layerType, parentId, refId,
         masks, transform, solidWidth, solidHeight, solidColor, timeStretch, startFrame,
         preCompWidth, preCompHeight, text, textProperties, inOutKeyframes, matteType,
         timeRemapping, hidden);
+    if (lazyContents) {
+      LazyLayerContents contents = new LazyLayerContents(layerName, transformSpan, masksSpan, shapesSpan);
+      composition.addEstimatedModelSize(contents.estimateSize());
+      layer.setLazyContents(contents);
+    }
+    return layer;
   }
 }
@@ -0,0 +1,219 @@
+package com.airbnb.lottie.parser;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.model.animatable.AnimatableTransform;
+import com.airbnb.lottie.model.content.ContentModel;
+import com.airbnb.lottie.model.content.Mask;
+import com.airbnb.lottie.parser.moshi.JsonBinaryWriter;
+import com.airbnb.lottie.parser.moshi.JsonReader;
+import com.airbnb.lottie.utils.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import okio.Buffer;
+
+/**
+ * Holds the transform, masks and shapes of a layer that haven't been parsed yet.
+ * <p>
+ * While the document is read, {@link LayerParser} builds every layer, including the layers of every precomp, but only
+ * tokenizes these three properties into compact binary spans. Their model (keyframes, interpolators, shape data, etc.)
+ * is built the first time the layer is asked for them which happens when the layer is drawn or evaluated. Layers that
+ * are never used are never built.
+ * <p>
+ * The composition must look the same whether or not its layers have been built. The masks and dash patterns that
+ * {@link LayerParser}, {@link ShapeStrokeParser} and {@link GradientStrokeParser} count are found by scanning each span
+ * when it is copied, and the estimated size of the model is added to the composition before it is initialized.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public class LazyLayerContents {
+  /**
+   * A built model is typically several times larger than its binary form.
+   * This keeps {@link LottieComposition#getEstimatedSizeBytes()} in the same ballpark as an eagerly parsed composition.
+   */
+  private static final int MODEL_TO_SPAN_SIZE_RATIO = 4;
+
+  private final String layerName;
+  @Nullable private final byte[] transform;
+  @Nullable private final byte[] masks;
+  @Nullable private final byte[] shapes;
+
+  LazyLayerContents(String layerName, @Nullable byte[] transform, @Nullable byte[] masks, @Nullable byte[] shapes) {
+    this.layerName = layerName;
+    this.transform = transform;
+    this.masks = masks;
+    this.shapes = shapes;
+  }
+
+  /**
+   * Copies the value at the current position of the reader into a new span.
+   */
+  static byte[] copySpan(JsonReader reader) throws IOException {
+    Buffer buffer = new Buffer();
+    JsonBinaryWriter.transcode(reader, buffer);
+    return buffer.readByteArray();
+  }
+
+  /**
+   * @return the estimated size of the model once it is built.
+   */
+  long estimateSize() {
+    long size = 0;
+    if (transform != null) {
+      size += transform.length;
+    }
+    if (masks != null) {
+      size += masks.length;
+    }
+    if (shapes != null) {
+      size += shapes.length;
+    }
+    return size * MODEL_TO_SPAN_SIZE_RATIO;
+  }
+
+  /**
+   * @return null if the layer doesn't have a transform. Layers without one can't be drawn, just like when they are
+   * parsed eagerly.
+   */
+  @Nullable
+  public AnimatableTransform parseTransform(LottieComposition composition) {
+    if (transform == null) {
+      return null;
+    }
+    try {
+      return AnimatableTransformParser.parse(reader(transform), composition);
+    } catch (IOException e) {
+      // The span was written by JsonBinaryWriter from a document that was already read successfully.
+      Logger.warning("Unable to parse the transform of " + layerName, e);
+      return new AnimatableTransform();
+    }
+  }
+
+  public List<Mask> parseMasks(LottieComposition composition) {
+    if (masks == null) {
+      return Collections.emptyList();
+    }
+    List<Mask> parsedMasks = new ArrayList<>();
+    try {
+      JsonReader reader = reader(masks);
+      reader.beginArray();
+      while (reader.hasNext()) {
+        parsedMasks.add(MaskParser.parse(reader, composition));
+      }
+      reader.endArray();
+    } catch (IOException e) {
+      Logger.warning("Unable to parse the masks of " + layerName, e);
+      return Collections.emptyList();
+    }
+    return parsedMasks;
+  }
+
+  public List<ContentModel> parseShapes(LottieComposition composition) {
+    if (shapes == null) {
+      return Collections.emptyList();
+    }
+    List<ContentModel> parsedShapes = new ArrayList<>();
+    try {
+      JsonReader reader = reader(shapes);
+      reader.beginArray();
+      while (reader.hasNext()) {
+        ContentModel shape = ContentModelParser.parse(reader, composition);
+        if (shape != null) {
+          parsedShapes.add(shape);
+        }
+      }
+      reader.endArray();
+    } catch (IOException e) {
+      Logger.warning("Unable to parse the shapes of " + layerName, e);
+      return Collections.emptyList();
+    }
+    return parsedShapes;
+  }
+
+  private static JsonReader reader(byte[] span) {
+    return JsonReader.ofBinary(ByteBuffer.wrap(span));
+  }
+
+  /**
+   * Counts the masks in a span of the masks array like {@link LayerParser} does.
+   */
+  static int countMasks(byte[] span) throws IOException {
+    JsonReader reader = reader(span);
+    int count = 0;
+    reader.beginArray();
+    while (reader.hasNext()) {
+      count++;
+      reader.skipValue();
+    }
+    reader.endArray();
+    return count;
+  }
+
+  /**
+   * Looks for a stroke with a dash pattern in a span of the shapes array like the stroke parsers do.
+   */
+  static boolean hasDashPattern(byte[] span) throws IOException {
+    return scanValue(reader(span));
+  }
+
+  /**
+   * Looks for the "d" array of a stroke with an entry named "d" or "g".
+   */
+  private static boolean scanValue(JsonReader reader) throws IOException {
+    boolean hasDashPattern = false;
+    switch (reader.peek()) {
+      case BEGIN_OBJECT:
+        reader.beginObject();
+        while (reader.hasNext()) {
+          if (reader.nextName().equals("d") && reader.peek() == JsonReader.Token.BEGIN_ARRAY) {
+            hasDashPattern |= scanDashPattern(reader);
+          } else {
+            hasDashPattern |= scanValue(reader);
+          }
+        }
+        reader.endObject();
+        break;
+      case BEGIN_ARRAY:
+        reader.beginArray();
+        while (reader.hasNext()) {
+          hasDashPattern |= scanValue(reader);
+        }
+        reader.endArray();
+        break;
+      default:
+        reader.skipValue();
+    }
+    return hasDashPattern;
+  }
+
+  private static boolean scanDashPattern(JsonReader reader) throws IOException {
+    boolean hasDashPattern = false;
+    reader.beginArray();
+    while (reader.hasNext()) {
+      if (reader.peek() != JsonReader.Token.BEGIN_OBJECT) {
+        hasDashPattern |= scanValue(reader);
+        continue;
+      }
+      reader.beginObject();
+      while (reader.hasNext()) {
+        if (reader.nextName().equals("n") && reader.peek() == JsonReader.Token.STRING) {
+          String n = reader.nextString();
+          if (n.equals("d") || n.equals("g")) {
+            hasDashPattern = true;
+          }
+        } else {
+          hasDashPattern |= scanValue(reader);
+        }
+      }
+      reader.endObject();
+    }
+    reader.endArray();
+    return hasDashPattern;
+  }
+}
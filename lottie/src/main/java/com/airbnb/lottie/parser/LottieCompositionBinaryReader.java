@@ -0,0 +1,660 @@
+package com.airbnb.lottie.parser;
+
+import android.graphics.Path;
+import android.graphics.PointF;
+import android.view.animation.Interpolator;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+import androidx.collection.LongSparseArray;
+import androidx.collection.SparseArrayCompat;
+
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieImageAsset;
+import com.airbnb.lottie.animation.keyframe.PathKeyframe;
+import com.airbnb.lottie.model.DocumentData;
+import com.airbnb.lottie.model.Font;
+import com.airbnb.lottie.model.FontCharacter;
+import com.airbnb.lottie.model.Marker;
+import com.airbnb.lottie.model.animatable.AnimatableColorValue;
+import com.airbnb.lottie.model.animatable.AnimatableFloatValue;
+import com.airbnb.lottie.model.animatable.AnimatableGradientColorValue;
+import com.airbnb.lottie.model.animatable.AnimatableIntegerValue;
+import com.airbnb.lottie.model.animatable.AnimatablePathValue;
+import com.airbnb.lottie.model.animatable.AnimatablePointValue;
+import com.airbnb.lottie.model.animatable.AnimatableScaleValue;
+import com.airbnb.lottie.model.animatable.AnimatableShapeValue;
+import com.airbnb.lottie.model.animatable.AnimatableSplitDimensionPathValue;
+import com.airbnb.lottie.model.animatable.AnimatableTextFrame;
+import com.airbnb.lottie.model.animatable.AnimatableTextProperties;
+import com.airbnb.lottie.model.animatable.AnimatableTransform;
+import com.airbnb.lottie.model.animatable.AnimatableValue;
+import com.airbnb.lottie.model.content.CircleShape;
+import com.airbnb.lottie.model.content.ContentModel;
+import com.airbnb.lottie.model.content.GradientColor;
+import com.airbnb.lottie.model.content.GradientFill;
+import com.airbnb.lottie.model.content.GradientStroke;
+import com.airbnb.lottie.model.content.GradientType;
+import com.airbnb.lottie.model.content.Mask;
+import com.airbnb.lottie.model.content.MergePaths;
+import com.airbnb.lottie.model.content.PolystarShape;
+import com.airbnb.lottie.model.content.RectangleShape;
+import com.airbnb.lottie.model.content.Repeater;
+import com.airbnb.lottie.model.content.ShapeData;
+import com.airbnb.lottie.model.content.ShapeFill;
+import com.airbnb.lottie.model.content.ShapeGroup;
+import com.airbnb.lottie.model.content.ShapePath;
+import com.airbnb.lottie.model.content.ShapeStroke;
+import com.airbnb.lottie.model.content.ShapeTrimPath;
+import com.airbnb.lottie.model.layer.Layer;
+import com.airbnb.lottie.utils.Utils;
+import com.airbnb.lottie.value.Keyframe;
+import com.airbnb.lottie.value.ScaleXY;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds a {@link LottieComposition} from the snapshot written by {@link LottieCompositionBinaryWriter}.
+ * <p>
+ * The snapshot is the parsed model itself: layers, masks, shapes and every keyframe with its values, frames and
+ * interpolator. Reading it creates those objects directly so none of the json parsers run and no json is tokenized.
+ * <p>
+ * Snapshots start with {@link #MAGIC} and {@link #VERSION}. The parsers scale dimensions by the display density while
+ * they build the model so the density is stored too and snapshots written at another density are rejected.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public final class LottieCompositionBinaryReader {
+  static final byte[] MAGIC = new byte[]{'L', 'O', 'T', 'M'};
+  /**
+   * Bump this whenever the format or the model changes. Snapshots written with a different version are rejected.
+   */
+  public static final int VERSION = 1;
+
+  static final int CONTENT_GROUP = 1;
+  static final int CONTENT_PATH = 2;
+  static final int CONTENT_RECTANGLE = 3;
+  static final int CONTENT_CIRCLE = 4;
+  static final int CONTENT_POLYSTAR = 5;
+  static final int CONTENT_FILL = 6;
+  static final int CONTENT_GRADIENT_FILL = 7;
+  static final int CONTENT_STROKE = 8;
+  static final int CONTENT_GRADIENT_STROKE = 9;
+  static final int CONTENT_TRIM_PATH = 10;
+  static final int CONTENT_REPEATER = 11;
+  static final int CONTENT_MERGE_PATHS = 12;
+  static final int CONTENT_TRANSFORM = 13;
+
+  /**
+   * The kinds of {@code AnimatableValue<PointF, PointF>}. 0 is null.
+   */
+  static final int POINT_VALUE = 1;
+  static final int PATH_VALUE = 2;
+  static final int SPLIT_DIMENSION_VALUE = 3;
+
+  static final int TYPE_FLOAT = 1;
+  static final int TYPE_INTEGER = 2;
+  static final int TYPE_COLOR = 3;
+  static final int TYPE_POINT = 4;
+  static final int TYPE_SCALE = 5;
+  static final int TYPE_SHAPE = 6;
+  static final int TYPE_GRADIENT = 7;
+  static final int TYPE_DOCUMENT = 8;
+
+  /**
+   * A keyframe without a composition, created by {@link Keyframe#Keyframe(Object)}. Only its value is stored.
+   */
+  static final int KEYFRAME_STATIC = 1;
+  static final int KEYFRAME_START_VALUE = 1 << 1;
+  static final int KEYFRAME_END_VALUE = 1 << 2;
+  /**
+   * The end value is the same object as the start value, like it is for hold keyframes.
+   */
+  static final int KEYFRAME_END_IS_START = 1 << 3;
+  static final int KEYFRAME_END_FRAME = 1 << 4;
+  static final int KEYFRAME_XY_INTERPOLATORS = 1 << 5;
+  static final int KEYFRAME_PATH_CP1 = 1 << 6;
+  static final int KEYFRAME_PATH_CP2 = 1 << 7;
+  /**
+   * A {@link PathKeyframe} of an {@link AnimatablePathValue}. Its path is created again from the values and control
+   * points when it is read.
+   */
+  static final int KEYFRAME_PATH = 1 << 8;
+
+  static final int INTERPOLATOR_LINEAR = 1;
+  static final int INTERPOLATOR_CUBIC = 2;
+
+  /**
+   * Strings and interpolators are written inline the first time and referenced by index afterwards. 0 is null.
+   */
+  static final int REF_NULL = 0;
+  static final int REF_INLINE = 1;
+  static final int REF_FIRST_INDEX = 2;
+
+  static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final ByteBuffer buffer;
+  private final LottieComposition composition;
+  private final List<String> strings = new ArrayList<>();
+  private final List<Interpolator> interpolators = new ArrayList<>();
+
+  private LottieCompositionBinaryReader(ByteBuffer buffer, LottieComposition composition) {
+    this.buffer = buffer;
+    this.composition = composition;
+  }
+
+  /**
+   * Returns true if {@code buffer} starts with the header written by {@link LottieCompositionBinaryWriter}. The
+   * buffer is read from its current position and is not modified.
+   */
+  public static boolean hasHeader(ByteBuffer buffer) {
+    int start = buffer.position();
+    if (buffer.limit() - start < MAGIC.length) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (buffer.get(start + i) != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads a composition from {@code buffer}. The buffer is read from its current position and is not modified.
+   *
+   * @throws IOException if the buffer doesn't contain a snapshot, was written by another {@link #VERSION} or at
+   *                     another display density, or is truncated.
+   */
+  public static LottieComposition read(ByteBuffer buffer) throws IOException {
+    if (!hasHeader(buffer)) {
+      throw new IOException("Not a Lottie composition snapshot");
+    }
+    ByteBuffer snapshot = buffer.duplicate();
+    snapshot.order(ByteOrder.BIG_ENDIAN);
+    snapshot.position(buffer.position() + MAGIC.length);
+    LottieComposition composition = new LottieComposition();
+    try {
+      new LottieCompositionBinaryReader(snapshot, composition).readComposition();
+    } catch (BufferUnderflowException e) {
+      throw new IOException("Truncated Lottie composition snapshot", e);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Invalid Lottie composition snapshot", e);
+    }
+    return composition;
+  }
+
+  private void readComposition() throws IOException {
+    int version = readInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported snapshot version " + version + ". Expected " + VERSION + ".");
+    }
+    float scale = readFloat();
+    if (scale != Utils.dpScale()) {
+      throw new IOException("The snapshot was written for a display density of " + scale + " but the density is " +
+          Utils.dpScale() + ".");
+    }
+    int left = readInt();
+    int top = readInt();
+    int right = readInt();
+    int bottom = readInt();
+    float startFrame = readFloat();
+    float endFrame = readFloat();
+    float frameRate = readFloat();
+
+    int warningCount = readInt();
+    for (int i = 0; i < warningCount; i++) {
+      composition.addWarning(readString());
+    }
+    composition.setHasDashPattern(readBoolean());
+    composition.incrementMatteOrMaskCount(readInt());
+    composition.addEstimatedModelSize(readLong());
+
+    List<Layer> layers = readLayers();
+    LongSparseArray<Layer> layerMap = new LongSparseArray<>();
+    for (int i = 0; i < layers.size(); i++) {
+      layerMap.put(layers.get(i).getId(), layers.get(i));
+    }
+
+    int precompCount = readInt();
+    Map<String, List<Layer>> precomps = new HashMap<>(precompCount);
+    for (int i = 0; i < precompCount; i++) {
+      String id = readString();
+      precomps.put(id, readLayers());
+    }
+
+    int imageCount = readInt();
+    Map<String, LottieImageAsset> images = new HashMap<>(imageCount);
+    for (int i = 0; i < imageCount; i++) {
+      int width = readInt();
+      int height = readInt();
+      String id = readString();
+      LottieImageAsset image = new LottieImageAsset(width, height, id, readString(), readString());
+      images.put(id, image);
+    }
+
+    int fontCount = readInt();
+    Map<String, Font> fonts = new HashMap<>(fontCount);
+    for (int i = 0; i < fontCount; i++) {
+      String key = readString();
+      fonts.put(key, new Font(readString(), readString(), readString(), readFloat()));
+    }
+
+    int characterCount = readInt();
+    SparseArrayCompat<FontCharacter> characters = new SparseArrayCompat<>(characterCount);
+    for (int i = 0; i < characterCount; i++) {
+      List<ContentModel> shapes = readContents();
+      List<ShapeGroup> groups = new ArrayList<>(shapes.size());
+      for (int j = 0; j < shapes.size(); j++) {
+        groups.add((ShapeGroup) shapes.get(j));
+      }
+      char character = (char) readInt();
+      double size = readDouble();
+      double width = readDouble();
+      FontCharacter fontCharacter = new FontCharacter(groups, character, size, width, readString(), readString());
+      characters.put(fontCharacter.hashCode(), fontCharacter);
+    }
+
+    int markerCount = readInt();
+    List<Marker> markers = new ArrayList<>(markerCount);
+    for (int i = 0; i < markerCount; i++) {
+      markers.add(new Marker(readString(), readFloat(), readFloat()));
+    }
+
+    composition.init(left, top, right, bottom, startFrame, endFrame, frameRate, layers, layerMap, precomps,
+        images, characters, fonts, markers);
+  }
+
+  private List<Layer> readLayers() throws IOException {
+    int count = readInt();
+    List<Layer> layers = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      layers.add(readLayer());
+    }
+    return layers;
+  }
+
+  private Layer readLayer() throws IOException {
+    String name = readString();
+    long id = readLong();
+    Layer.LayerType layerType = readEnum(Layer.LayerType.values());
+    long parentId = readLong();
+    String refId = readString();
+    int solidWidth = readInt();
+    int solidHeight = readInt();
+    int solidColor = readFixedInt();
+    float timeStretch = readFloat();
+    float startFrame = readFloat();
+    int preCompWidth = readInt();
+    int preCompHeight = readInt();
+    AnimatableTextFrame text = null;
+    List<Keyframe<DocumentData>> textKeyframes = this.<DocumentData>readKeyframes(TYPE_DOCUMENT);
+    if (textKeyframes != null) {
+      text = new AnimatableTextFrame(textKeyframes);
+    }
+    AnimatableTextProperties textProperties = null;
+    if (readBoolean()) {
+      textProperties = new AnimatableTextProperties(readColorValue(), readColorValue(), readFloatValue(),
+          readFloatValue());
+    }
+    List<Keyframe<Float>> inOutKeyframes = this.<Float>readKeyframes(TYPE_FLOAT);
+    Layer.MatteType matteType = readEnum(Layer.MatteType.values());
+    AnimatableFloatValue timeRemapping = readFloatValue();
+    boolean hidden = readBoolean();
+    List<ContentModel> shapes = readContents();
+    int maskCount = readInt();
+    List<Mask> masks = new ArrayList<>(maskCount);
+    for (int i = 0; i < maskCount; i++) {
+      masks.add(new Mask(readEnum(Mask.MaskMode.values()), readShapeValue(), readIntegerValue(), readBoolean()));
+    }
+    AnimatableTransform transform = readBoolean() ? readTransform() : null;
+    //noinspection ConstantConditions
+    return new Layer(shapes, composition, name, id, layerType, parentId, refId, masks, transform, solidWidth,
+        solidHeight, solidColor, timeStretch, startFrame, preCompWidth, preCompHeight, text, textProperties,
+        inOutKeyframes, matteType, timeRemapping, hidden);
+  }
+
+  private List<ContentModel> readContents() throws IOException {
+    int count = readInt();
+    List<ContentModel> contents = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      contents.add(readContent());
+    }
+    return contents;
+  }
+
+  private ContentModel readContent() throws IOException {
+    int type = readInt();
+    switch (type) {
+      case CONTENT_GROUP:
+        return new ShapeGroup(readString(), readContents(), readBoolean());
+      case CONTENT_PATH:
+        return new ShapePath(readString(), readInt(), readShapeValue(), readBoolean());
+      case CONTENT_RECTANGLE:
+        return new RectangleShape(readString(), readPointValue(), readPointValue(), readFloatValue(), readBoolean());
+      case CONTENT_CIRCLE:
+        return new CircleShape(readString(), readPointValue(), readAnimatablePointValue(), readBoolean(),
+            readBoolean());
+      case CONTENT_POLYSTAR:
+        return new PolystarShape(readString(), readEnum(PolystarShape.Type.values()), readFloatValue(),
+            readPointValue(), readFloatValue(), readFloatValue(), readFloatValue(), readFloatValue(),
+            readFloatValue(), readBoolean());
+      case CONTENT_FILL:
+        return new ShapeFill(readString(), readBoolean(), readEnum(Path.FillType.values()), readColorValue(),
+            readIntegerValue(), readBoolean());
+      case CONTENT_GRADIENT_FILL:
+        return new GradientFill(readString(), readEnum(GradientType.values()), readEnum(Path.FillType.values()),
+            readGradientValue(), readIntegerValue(), readAnimatablePointValue(), readAnimatablePointValue(),
+            readFloatValue(), readFloatValue(), readBoolean());
+      case CONTENT_STROKE:
+        return new ShapeStroke(readString(), readFloatValue(), readFloatValues(), readColorValue(),
+            readIntegerValue(), readFloatValue(), readEnum(ShapeStroke.LineCapType.values()),
+            readEnum(ShapeStroke.LineJoinType.values()), readFloat(), readBoolean());
+      case CONTENT_GRADIENT_STROKE:
+        return new GradientStroke(readString(), readEnum(GradientType.values()), readGradientValue(),
+            readIntegerValue(), readAnimatablePointValue(), readAnimatablePointValue(), readFloatValue(),
+            readEnum(ShapeStroke.LineCapType.values()), readEnum(ShapeStroke.LineJoinType.values()), readFloat(),
+            readFloatValues(), readFloatValue(), readBoolean());
+      case CONTENT_TRIM_PATH:
+        return new ShapeTrimPath(readString(), readEnum(ShapeTrimPath.Type.values()), readFloatValue(),
+            readFloatValue(), readFloatValue(), readBoolean());
+      case CONTENT_REPEATER:
+        return new Repeater(readString(), readFloatValue(), readFloatValue(), readTransform(), readBoolean());
+      case CONTENT_MERGE_PATHS:
+        return new MergePaths(readString(), readEnum(MergePaths.MergePathsMode.values()), readBoolean());
+      case CONTENT_TRANSFORM:
+        return readTransform();
+      default:
+        throw new IOException("Unknown content type " + type);
+    }
+  }
+
+  private AnimatableTransform readTransform() throws IOException {
+    List<Keyframe<PointF>> anchorPoint = this.<PointF>readKeyframes(TYPE_POINT);
+    return new AnimatableTransform(anchorPoint == null ? null : new AnimatablePathValue(anchorPoint),
+        readPointValue(), readScaleValue(), readFloatValue(), readIntegerValue(), readFloatValue(), readFloatValue(),
+        readFloatValue(), readFloatValue());
+  }
+
+  private List<AnimatableFloatValue> readFloatValues() throws IOException {
+    int count = readInt();
+    List<AnimatableFloatValue> values = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      values.add(readFloatValue());
+    }
+    return values;
+  }
+
+  @Nullable
+  private AnimatableFloatValue readFloatValue() throws IOException {
+    List<Keyframe<Float>> keyframes = this.<Float>readKeyframes(TYPE_FLOAT);
+    return keyframes == null ? null : new AnimatableFloatValue(keyframes);
+  }
+
+  @Nullable
+  private AnimatableIntegerValue readIntegerValue() throws IOException {
+    List<Keyframe<Integer>> keyframes = this.<Integer>readKeyframes(TYPE_INTEGER);
+    return keyframes == null ? null : new AnimatableIntegerValue(keyframes);
+  }
+
+  @Nullable
+  private AnimatableColorValue readColorValue() throws IOException {
+    List<Keyframe<Integer>> keyframes = this.<Integer>readKeyframes(TYPE_COLOR);
+    return keyframes == null ? null : new AnimatableColorValue(keyframes);
+  }
+
+  @Nullable
+  private AnimatablePointValue readAnimatablePointValue() throws IOException {
+    List<Keyframe<PointF>> keyframes = this.<PointF>readKeyframes(TYPE_POINT);
+    return keyframes == null ? null : new AnimatablePointValue(keyframes);
+  }
+
+  @Nullable
+  private AnimatableScaleValue readScaleValue() throws IOException {
+    List<Keyframe<ScaleXY>> keyframes = this.<ScaleXY>readKeyframes(TYPE_SCALE);
+    return keyframes == null ? null : new AnimatableScaleValue(keyframes);
+  }
+
+  @Nullable
+  private AnimatableShapeValue readShapeValue() throws IOException {
+    List<Keyframe<ShapeData>> keyframes = this.<ShapeData>readKeyframes(TYPE_SHAPE);
+    return keyframes == null ? null : new AnimatableShapeValue(keyframes);
+  }
+
+  @Nullable
+  private AnimatableGradientColorValue readGradientValue() throws IOException {
+    List<Keyframe<GradientColor>> keyframes = this.<GradientColor>readKeyframes(TYPE_GRADIENT);
+    return keyframes == null ? null : new AnimatableGradientColorValue(keyframes);
+  }
+
+  @Nullable
+  private AnimatableValue<PointF, PointF> readPointValue() throws IOException {
+    int kind = readInt();
+    switch (kind) {
+      case 0:
+        return null;
+      case POINT_VALUE:
+        return readAnimatablePointValue();
+      case PATH_VALUE:
+        //noinspection ConstantConditions
+        return new AnimatablePathValue(this.<PointF>readKeyframes(TYPE_POINT));
+      case SPLIT_DIMENSION_VALUE:
+        return new AnimatableSplitDimensionPathValue(readFloatValue(), readFloatValue());
+      default:
+        throw new IOException("Unknown point value " + kind);
+    }
+  }
+
+  /**
+   * @return null if the value that the keyframes belong to is null.
+   */
+  @Nullable
+  private <T> List<Keyframe<T>> readKeyframes(int type) throws IOException {
+    int count = readInt();
+    if (count == 0) {
+      return null;
+    }
+    List<Keyframe<T>> keyframes = new ArrayList<>(count - 1);
+    for (int i = 0; i < count - 1; i++) {
+      keyframes.add(this.<T>readKeyframe(type));
+    }
+    return keyframes;
+  }
+
+  private <T> Keyframe<T> readKeyframe(int type) throws IOException {
+    int flags = readInt();
+    if ((flags & KEYFRAME_STATIC) != 0) {
+      return new Keyframe<>(this.<T>readKeyframeValue(type));
+    }
+    T startValue = (flags & KEYFRAME_START_VALUE) != 0 ? this.<T>readKeyframeValue(type) : null;
+    T endValue;
+    if ((flags & KEYFRAME_END_IS_START) != 0) {
+      endValue = startValue;
+    } else {
+      endValue = (flags & KEYFRAME_END_VALUE) != 0 ? this.<T>readKeyframeValue(type) : null;
+    }
+    float startFrame = readFloat();
+    Float endFrame = (flags & KEYFRAME_END_FRAME) != 0 ? readFloat() : null;
+    Keyframe<T> keyframe;
+    if ((flags & KEYFRAME_XY_INTERPOLATORS) != 0) {
+      keyframe = new Keyframe<>(composition, startValue, endValue, readInterpolator(), readInterpolator(),
+          startFrame, endFrame);
+    } else {
+      keyframe = new Keyframe<>(composition, startValue, endValue, readInterpolator(), startFrame, endFrame);
+    }
+    if ((flags & KEYFRAME_PATH_CP1) != 0) {
+      keyframe.pathCp1 = readPoint();
+    }
+    if ((flags & KEYFRAME_PATH_CP2) != 0) {
+      keyframe.pathCp2 = readPoint();
+    }
+    if ((flags & KEYFRAME_PATH) != 0) {
+      //noinspection unchecked
+      return (Keyframe<T>) new PathKeyframe(composition, (Keyframe<PointF>) keyframe);
+    }
+    return keyframe;
+  }
+
+  private <T> T readKeyframeValue(int type) throws IOException {
+    Object value;
+    switch (type) {
+      case TYPE_FLOAT:
+        value = readFloat();
+        break;
+      case TYPE_INTEGER:
+        value = readInt();
+        break;
+      case TYPE_COLOR:
+        value = readFixedInt();
+        break;
+      case TYPE_POINT:
+        value = readPoint();
+        break;
+      case TYPE_SCALE:
+        value = new ScaleXY(readFloat(), readFloat());
+        break;
+      case TYPE_SHAPE:
+        value = readShapeData();
+        break;
+      case TYPE_GRADIENT:
+        value = readGradientColor();
+        break;
+      case TYPE_DOCUMENT:
+        value = new DocumentData(readString(), readString(), readFloat(),
+            readEnum(DocumentData.Justification.values()), readInt(), readFloat(), readFloat(), readFixedInt(),
+            readFixedInt(), readFloat(), readBoolean());
+        break;
+      default:
+        throw new IOException("Unknown value type " + type);
+    }
+    //noinspection unchecked
+    return (T) value;
+  }
+
+  private ShapeData readShapeData() {
+    boolean closed = readBoolean();
+    int curveCount = readInt();
+    float[] points = new float[2 + curveCount * ShapeData.CURVE_LENGTH];
+    for (int i = 0; i < points.length; i++) {
+      points[i] = readFloat();
+    }
+    return new ShapeData(points, curveCount, closed);
+  }
+
+  private GradientColor readGradientColor() {
+    int size = readInt();
+    float[] positions = new float[size];
+    int[] colors = new int[size];
+    for (int i = 0; i < size; i++) {
+      positions[i] = readFloat();
+      colors[i] = readFixedInt();
+    }
+    return new GradientColor(positions, colors);
+  }
+
+  private PointF readPoint() {
+    return new PointF(readFloat(), readFloat());
+  }
+
+  /**
+   * Interpolators are shared through {@link InterpolatorPool} like they are when json is parsed.
+   */
+  @Nullable
+  private Interpolator readInterpolator() throws IOException {
+    int ref = readInt();
+    if (ref == REF_NULL) {
+      return null;
+    } else if (ref != REF_INLINE) {
+      return interpolators.get(ref - REF_FIRST_INDEX);
+    }
+    Interpolator interpolator;
+    int kind = readInt();
+    switch (kind) {
+      case INTERPOLATOR_LINEAR:
+        interpolator = KeyframeParser.LINEAR_INTERPOLATOR;
+        break;
+      case INTERPOLATOR_CUBIC:
+        interpolator = InterpolatorPool.getInstance().get(readFloat(), readFloat(), readFloat(), readFloat());
+        break;
+      default:
+        throw new IOException("Unknown interpolator " + kind);
+    }
+    interpolators.add(interpolator);
+    return interpolator;
+  }
+
+  @Nullable
+  private String readString() {
+    int ref = readInt();
+    if (ref == REF_NULL) {
+      return null;
+    } else if (ref != REF_INLINE) {
+      return strings.get(ref - REF_FIRST_INDEX);
+    }
+    byte[] bytes = new byte[readInt()];
+    buffer.get(bytes);
+    String string = new String(bytes, UTF_8);
+    strings.add(string);
+    return string;
+  }
+
+  /**
+   * Enums are stored as their ordinal + 1 so that null is 0.
+   */
+  @Nullable
+  private <E extends Enum<E>> E readEnum(E[] values) throws IOException {
+    int value = readInt();
+    if (value == 0) {
+      return null;
+    }
+    if (value > values.length) {
+      throw new IOException("Unknown " + values.getClass().getComponentType().getSimpleName() + " " + (value - 1));
+    }
+    return values[value - 1];
+  }
+
+  private boolean readBoolean() {
+    return buffer.get() != 0;
+  }
+
+  private float readFloat() {
+    return buffer.getFloat();
+  }
+
+  private double readDouble() {
+    return buffer.getDouble();
+  }
+
+  /**
+   * Colors use all 32 bits so they aren't stored as varints.
+   */
+  private int readFixedInt() {
+    return buffer.getInt();
+  }
+
+  private int readInt() {
+    return (int) readLong();
+  }
+
+  /**
+   * Reads a zig-zag encoded varint.
+   */
+  private long readLong() {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = buffer.get();
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return (result >>> 1) ^ -(result & 1);
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+}
@@ -0,0 +1,654 @@
+package com.airbnb.lottie.parser;
+
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_CIRCLE;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_FILL;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_GRADIENT_FILL;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_GRADIENT_STROKE;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_GROUP;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_MERGE_PATHS;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_PATH;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_POLYSTAR;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_RECTANGLE;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_REPEATER;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_STROKE;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_TRANSFORM;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.CONTENT_TRIM_PATH;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.INTERPOLATOR_CUBIC;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.INTERPOLATOR_LINEAR;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.KEYFRAME_END_FRAME;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.KEYFRAME_END_IS_START;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.KEYFRAME_END_VALUE;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.KEYFRAME_PATH;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.KEYFRAME_PATH_CP1;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.KEYFRAME_PATH_CP2;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.KEYFRAME_START_VALUE;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.KEYFRAME_STATIC;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.KEYFRAME_XY_INTERPOLATORS;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.MAGIC;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.PATH_VALUE;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.POINT_VALUE;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.REF_FIRST_INDEX;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.REF_INLINE;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.REF_NULL;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.SPLIT_DIMENSION_VALUE;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.TYPE_COLOR;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.TYPE_DOCUMENT;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.TYPE_FLOAT;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.TYPE_GRADIENT;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.TYPE_INTEGER;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.TYPE_POINT;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.TYPE_SCALE;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.TYPE_SHAPE;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.UTF_8;
+import static com.airbnb.lottie.parser.LottieCompositionBinaryReader.VERSION;
+
+import android.graphics.PointF;
+import android.graphics.Rect;
+import android.view.animation.Interpolator;
+
+import androidx.annotation.Nullable;
+import androidx.collection.SparseArrayCompat;
+
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieImageAsset;
+import com.airbnb.lottie.animation.keyframe.PathKeyframe;
+import com.airbnb.lottie.model.DocumentData;
+import com.airbnb.lottie.model.Font;
+import com.airbnb.lottie.model.FontCharacter;
+import com.airbnb.lottie.model.Marker;
+import com.airbnb.lottie.model.animatable.AnimatablePathValue;
+import com.airbnb.lottie.model.animatable.AnimatablePointValue;
+import com.airbnb.lottie.model.animatable.AnimatableSplitDimensionPathValue;
+import com.airbnb.lottie.model.animatable.AnimatableTextProperties;
+import com.airbnb.lottie.model.animatable.AnimatableTransform;
+import com.airbnb.lottie.model.animatable.AnimatableValue;
+import com.airbnb.lottie.model.content.CircleShape;
+import com.airbnb.lottie.model.content.ContentModel;
+import com.airbnb.lottie.model.content.GradientColor;
+import com.airbnb.lottie.model.content.GradientFill;
+import com.airbnb.lottie.model.content.GradientStroke;
+import com.airbnb.lottie.model.content.Mask;
+import com.airbnb.lottie.model.content.MergePaths;
+import com.airbnb.lottie.model.content.PolystarShape;
+import com.airbnb.lottie.model.content.RectangleShape;
+import com.airbnb.lottie.model.content.Repeater;
+import com.airbnb.lottie.model.content.ShapeData;
+import com.airbnb.lottie.model.content.ShapeFill;
+import com.airbnb.lottie.model.content.ShapeGroup;
+import com.airbnb.lottie.model.content.ShapePath;
+import com.airbnb.lottie.model.content.ShapeStroke;
+import com.airbnb.lottie.model.content.ShapeTrimPath;
+import com.airbnb.lottie.model.layer.Layer;
+import com.airbnb.lottie.utils.CubicBezierInterpolator;
+import com.airbnb.lottie.utils.Utils;
+import com.airbnb.lottie.value.Keyframe;
+import com.airbnb.lottie.value.ScaleXY;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import okio.BufferedSink;
+
+/**
+ * Writes a parsed {@link LottieComposition} as a snapshot that {@link LottieCompositionBinaryReader} turns back into
+ * the same model without running the json parsers. Load snapshots with
+ * {@link com.airbnb.lottie.LottieCompositionFactory#fromBinarySync(java.nio.ByteBuffer, String)}.
+ * <p>
+ * The parsers scale dimensions by the display density so a snapshot can only be read on a device with the density it
+ * was written at. Snapshots are meant to be written on the device, for example by a disk cache, or once per density.
+ * Snapshots are also tied to {@link LottieCompositionBinaryReader#VERSION} and have to be written again when it
+ * changes.
+ */
+public final class LottieCompositionBinaryWriter {
+  private final BufferedSink sink;
+  private final Map<String, Integer> strings = new HashMap<>();
+  private final Map<Interpolator, Integer> interpolators = new IdentityHashMap<>();
+
+  private LottieCompositionBinaryWriter(BufferedSink sink) {
+    this.sink = sink;
+  }
+
+  /**
+   * Writes {@code composition} to {@code sink}. Every layer is built so compositions that were parsed lazily are
+   * written in full.
+   *
+   * @throws IllegalArgumentException if the composition uses an interpolator that wasn't created by the parser.
+   */
+  public static void write(LottieComposition composition, BufferedSink sink) throws IOException {
+    new LottieCompositionBinaryWriter(sink).writeComposition(composition);
+    sink.flush();
+  }
+
+  private void writeComposition(LottieComposition composition) throws IOException {
+    sink.write(MAGIC);
+    writeInt(VERSION);
+    writeFloat(Utils.dpScale());
+    Rect bounds = composition.getBounds();
+    writeInt(bounds.left);
+    writeInt(bounds.top);
+    writeInt(bounds.right);
+    writeInt(bounds.bottom);
+    writeFloat(composition.getStartFrame());
+    writeFloat(composition.getEndFrame());
+    writeFloat(composition.getFrameRate());
+
+    List<String> warnings = composition.getWarnings();
+    writeInt(warnings.size());
+    for (int i = 0; i < warnings.size(); i++) {
+      writeString(warnings.get(i));
+    }
+    writeBoolean(composition.hasDashPattern());
+    writeInt(composition.getMaskAndMatteCount());
+    writeLong(composition.getEstimatedModelSize());
+
+    writeLayers(composition.getLayers());
+
+    Map<String, List<Layer>> precomps = composition.getPrecomps();
+    writeInt(precomps.size());
+    for (Map.Entry<String, List<Layer>> entry : precomps.entrySet()) {
+      writeString(entry.getKey());
+      writeLayers(entry.getValue());
+    }
+
+    Map<String, LottieImageAsset> images = composition.getImages();
+    writeInt(images.size());
+    for (LottieImageAsset image : images.values()) {
+      writeInt(image.getWidth());
+      writeInt(image.getHeight());
+      writeString(image.getId());
+      writeString(image.getFileName());
+      writeString(image.getDirName());
+    }
+
+    Map<String, Font> fonts = composition.getFonts();
+    writeInt(fonts.size());
+    for (Map.Entry<String, Font> entry : fonts.entrySet()) {
+      Font font = entry.getValue();
+      writeString(entry.getKey());
+      writeString(font.getFamily());
+      writeString(font.getName());
+      writeString(font.getStyle());
+      writeFloat(font.getAscent());
+    }
+
+    SparseArrayCompat<FontCharacter> characters = composition.getCharacters();
+    writeInt(characters.size());
+    for (int i = 0; i < characters.size(); i++) {
+      FontCharacter character = characters.valueAt(i);
+      List<ShapeGroup> shapes = character.getShapes();
+      writeInt(shapes.size());
+      for (int j = 0; j < shapes.size(); j++) {
+        writeContent(shapes.get(j));
+      }
+      writeInt(character.getCharacter());
+      writeDouble(character.getSize());
+      writeDouble(character.getWidth());
+      writeString(character.getStyle());
+      writeString(character.getFontFamily());
+    }
+
+    List<Marker> markers = composition.getMarkers();
+    writeInt(markers.size());
+    for (int i = 0; i < markers.size(); i++) {
+      Marker marker = markers.get(i);
+      writeString(marker.getName());
+      writeFloat(marker.startFrame);
+      writeFloat(marker.durationFrames);
+    }
+  }
+
+  private void writeLayers(List<Layer> layers) throws IOException {
+    writeInt(layers.size());
+    for (int i = 0; i < layers.size(); i++) {
+      writeLayer(layers.get(i));
+    }
+  }
+
+  private void writeLayer(Layer layer) throws IOException {
+    writeString(layer.getName());
+    writeLong(layer.getId());
+    writeEnum(layer.getLayerType());
+    writeLong(layer.getParentId());
+    writeString(layer.getRefId());
+    writeInt(layer.getSolidWidth());
+    writeInt(layer.getSolidHeight());
+    writeFixedInt(layer.getSolidColor());
+    writeFloat(layer.getTimeStretch());
+    writeFloat(layer.getStartFrame());
+    writeInt(layer.getPreCompWidth());
+    writeInt(layer.getPreCompHeight());
+    writeValue(layer.getText(), TYPE_DOCUMENT);
+    AnimatableTextProperties textProperties = layer.getTextProperties();
+    writeBoolean(textProperties != null);
+    if (textProperties != null) {
+      writeValue(textProperties.color, TYPE_COLOR);
+      writeValue(textProperties.stroke, TYPE_COLOR);
+      writeValue(textProperties.strokeWidth, TYPE_FLOAT);
+      writeValue(textProperties.tracking, TYPE_FLOAT);
+    }
+    writeKeyframes(layer.getInOutKeyframes(), TYPE_FLOAT);
+    writeEnum(layer.getMatteType());
+    writeValue(layer.getTimeRemapping(), TYPE_FLOAT);
+    writeBoolean(layer.isHidden());
+    writeContents(layer.getShapes());
+    List<Mask> masks = layer.getMasks();
+    writeInt(masks.size());
+    for (int i = 0; i < masks.size(); i++) {
+      Mask mask = masks.get(i);
+      writeEnum(mask.getMaskMode());
+      writeValue(mask.getMaskPath(), TYPE_SHAPE);
+      writeValue(mask.getOpacity(), TYPE_INTEGER);
+      writeBoolean(mask.isInverted());
+    }
+    AnimatableTransform transform = layer.getTransform();
+    writeBoolean(transform != null);
+    if (transform != null) {
+      writeTransform(transform);
+    }
+  }
+
+  private void writeContents(List<ContentModel> contents) throws IOException {
+    writeInt(contents.size());
+    for (int i = 0; i < contents.size(); i++) {
+      writeContent(contents.get(i));
+    }
+  }
+
+  private void writeContent(ContentModel content) throws IOException {
+    if (content instanceof ShapeGroup) {
+      ShapeGroup group = (ShapeGroup) content;
+      writeInt(CONTENT_GROUP);
+      writeString(group.getName());
+      writeContents(group.getItems());
+      writeBoolean(group.isHidden());
+    } else if (content instanceof ShapePath) {
+      ShapePath path = (ShapePath) content;
+      writeInt(CONTENT_PATH);
+      writeString(path.getName());
+      writeInt(path.getIndex());
+      writeValue(path.getShapePath(), TYPE_SHAPE);
+      writeBoolean(path.isHidden());
+    } else if (content instanceof RectangleShape) {
+      RectangleShape rectangle = (RectangleShape) content;
+      writeInt(CONTENT_RECTANGLE);
+      writeString(rectangle.getName());
+      writePointValue(rectangle.getPosition());
+      writePointValue(rectangle.getSize());
+      writeValue(rectangle.getCornerRadius(), TYPE_FLOAT);
+      writeBoolean(rectangle.isHidden());
+    } else if (content instanceof CircleShape) {
+      CircleShape circle = (CircleShape) content;
+      writeInt(CONTENT_CIRCLE);
+      writeString(circle.getName());
+      writePointValue(circle.getPosition());
+      writeValue(circle.getSize(), TYPE_POINT);
+      writeBoolean(circle.isReversed());
+      writeBoolean(circle.isHidden());
+    } else if (content instanceof PolystarShape) {
+      PolystarShape polystar = (PolystarShape) content;
+      writeInt(CONTENT_POLYSTAR);
+      writeString(polystar.getName());
+      writeEnum(polystar.getType());
+      writeValue(polystar.getPoints(), TYPE_FLOAT);
+      writePointValue(polystar.getPosition());
+      writeValue(polystar.getRotation(), TYPE_FLOAT);
+      writeValue(polystar.getInnerRadius(), TYPE_FLOAT);
+      writeValue(polystar.getOuterRadius(), TYPE_FLOAT);
+      writeValue(polystar.getInnerRoundedness(), TYPE_FLOAT);
+      writeValue(polystar.getOuterRoundedness(), TYPE_FLOAT);
+      writeBoolean(polystar.isHidden());
+    } else if (content instanceof ShapeFill) {
+      ShapeFill fill = (ShapeFill) content;
+      writeInt(CONTENT_FILL);
+      writeString(fill.getName());
+      writeBoolean(fill.isFillEnabled());
+      writeEnum(fill.getFillType());
+      writeValue(fill.getColor(), TYPE_COLOR);
+      writeValue(fill.getOpacity(), TYPE_INTEGER);
+      writeBoolean(fill.isHidden());
+    } else if (content instanceof GradientFill) {
+      GradientFill fill = (GradientFill) content;
+      writeInt(CONTENT_GRADIENT_FILL);
+      writeString(fill.getName());
+      writeEnum(fill.getGradientType());
+      writeEnum(fill.getFillType());
+      writeValue(fill.getGradientColor(), TYPE_GRADIENT);
+      writeValue(fill.getOpacity(), TYPE_INTEGER);
+      writeValue(fill.getStartPoint(), TYPE_POINT);
+      writeValue(fill.getEndPoint(), TYPE_POINT);
+      writeValue(fill.getHighlightLength(), TYPE_FLOAT);
+      writeValue(fill.getHighlightAngle(), TYPE_FLOAT);
+      writeBoolean(fill.isHidden());
+    } else if (content instanceof ShapeStroke) {
+      ShapeStroke stroke = (ShapeStroke) content;
+      writeInt(CONTENT_STROKE);
+      writeString(stroke.getName());
+      writeValue(stroke.getDashOffset(), TYPE_FLOAT);
+      writeFloatValues(stroke.getLineDashPattern());
+      writeValue(stroke.getColor(), TYPE_COLOR);
+      writeValue(stroke.getOpacity(), TYPE_INTEGER);
+      writeValue(stroke.getWidth(), TYPE_FLOAT);
+      writeEnum(stroke.getCapType());
+      writeEnum(stroke.getJoinType());
+      writeFloat(stroke.getMiterLimit());
+      writeBoolean(stroke.isHidden());
+    } else if (content instanceof GradientStroke) {
+      GradientStroke stroke = (GradientStroke) content;
+      writeInt(CONTENT_GRADIENT_STROKE);
+      writeString(stroke.getName());
+      writeEnum(stroke.getGradientType());
+      writeValue(stroke.getGradientColor(), TYPE_GRADIENT);
+      writeValue(stroke.getOpacity(), TYPE_INTEGER);
+      writeValue(stroke.getStartPoint(), TYPE_POINT);
+      writeValue(stroke.getEndPoint(), TYPE_POINT);
+      writeValue(stroke.getWidth(), TYPE_FLOAT);
+      writeEnum(stroke.getCapType());
+      writeEnum(stroke.getJoinType());
+      writeFloat(stroke.getMiterLimit());
+      writeFloatValues(stroke.getLineDashPattern());
+      writeValue(stroke.getDashOffset(), TYPE_FLOAT);
+      writeBoolean(stroke.isHidden());
+    } else if (content instanceof ShapeTrimPath) {
+      ShapeTrimPath trimPath = (ShapeTrimPath) content;
+      writeInt(CONTENT_TRIM_PATH);
+      writeString(trimPath.getName());
+      writeEnum(trimPath.getType());
+      writeValue(trimPath.getStart(), TYPE_FLOAT);
+      writeValue(trimPath.getEnd(), TYPE_FLOAT);
+      writeValue(trimPath.getOffset(), TYPE_FLOAT);
+      writeBoolean(trimPath.isHidden());
+    } else if (content instanceof Repeater) {
+      Repeater repeater = (Repeater) content;
+      writeInt(CONTENT_REPEATER);
+      writeString(repeater.getName());
+      writeValue(repeater.getCopies(), TYPE_FLOAT);
+      writeValue(repeater.getOffset(), TYPE_FLOAT);
+      writeTransform(repeater.getTransform());
+      writeBoolean(repeater.isHidden());
+    } else if (content instanceof MergePaths) {
+      MergePaths mergePaths = (MergePaths) content;
+      writeInt(CONTENT_MERGE_PATHS);
+      writeString(mergePaths.getName());
+      writeEnum(mergePaths.getMode());
+      writeBoolean(mergePaths.isHidden());
+    } else if (content instanceof AnimatableTransform) {
+      writeInt(CONTENT_TRANSFORM);
+      writeTransform((AnimatableTransform) content);
+    } else {
+      throw new IllegalArgumentException("Unknown content " + content.getClass().getName());
+    }
+  }
+
+  private void writeTransform(AnimatableTransform transform) throws IOException {
+    writeValue(transform.getAnchorPoint(), TYPE_POINT);
+    writePointValue(transform.getPosition());
+    writeValue(transform.getScale(), TYPE_SCALE);
+    writeValue(transform.getRotation(), TYPE_FLOAT);
+    writeValue(transform.getOpacity(), TYPE_INTEGER);
+    writeValue(transform.getStartOpacity(), TYPE_FLOAT);
+    writeValue(transform.getEndOpacity(), TYPE_FLOAT);
+    writeValue(transform.getSkew(), TYPE_FLOAT);
+    writeValue(transform.getSkewAngle(), TYPE_FLOAT);
+  }
+
+  private void writeFloatValues(List<? extends AnimatableValue<?, ?>> values) throws IOException {
+    writeInt(values.size());
+    for (int i = 0; i < values.size(); i++) {
+      writeValue(values.get(i), TYPE_FLOAT);
+    }
+  }
+
+  /**
+   * Positions and sizes can be any of the three point values so the kind is written first.
+   */
+  private void writePointValue(@Nullable AnimatableValue<PointF, PointF> value) throws IOException {
+    if (value == null) {
+      writeInt(0);
+    } else if (value instanceof AnimatablePointValue) {
+      writeInt(POINT_VALUE);
+      writeValue(value, TYPE_POINT);
+    } else if (value instanceof AnimatablePathValue) {
+      writeInt(PATH_VALUE);
+      writeValue(value, TYPE_POINT);
+    } else if (value instanceof AnimatableSplitDimensionPathValue) {
+      AnimatableSplitDimensionPathValue split = (AnimatableSplitDimensionPathValue) value;
+      writeInt(SPLIT_DIMENSION_VALUE);
+      writeValue(split.getXDimension(), TYPE_FLOAT);
+      writeValue(split.getYDimension(), TYPE_FLOAT);
+    } else {
+      throw new IllegalArgumentException("Unknown point value " + value.getClass().getName());
+    }
+  }
+
+  private void writeValue(@Nullable AnimatableValue<?, ?> value, int type) throws IOException {
+    writeKeyframes(value == null ? null : value.getKeyframes(), type);
+  }
+
+  /**
+   * Writes the number of keyframes + 1 so that a null value is 0.
+   */
+  private void writeKeyframes(@Nullable List<? extends Keyframe<?>> keyframes, int type) throws IOException {
+    if (keyframes == null) {
+      writeInt(0);
+      return;
+    }
+    writeInt(keyframes.size() + 1);
+    for (int i = 0; i < keyframes.size(); i++) {
+      writeKeyframe(keyframes.get(i), type);
+    }
+  }
+
+  private void writeKeyframe(Keyframe<?> keyframe, int type) throws IOException {
+    if (keyframe.getComposition() == null) {
+      writeInt(KEYFRAME_STATIC);
+      writeKeyframeValue(keyframe.startValue, type);
+      return;
+    }
+    int flags = 0;
+    if (keyframe.startValue != null) {
+      flags |= KEYFRAME_START_VALUE;
+    }
+    if (keyframe.endValue != null && keyframe.endValue == keyframe.startValue) {
+      flags |= KEYFRAME_END_IS_START;
+    } else if (keyframe.endValue != null) {
+      flags |= KEYFRAME_END_VALUE;
+    }
+    if (keyframe.endFrame != null) {
+      flags |= KEYFRAME_END_FRAME;
+    }
+    boolean xyInterpolators = keyframe.xInterpolator != null || keyframe.yInterpolator != null;
+    if (xyInterpolators) {
+      flags |= KEYFRAME_XY_INTERPOLATORS;
+    }
+    if (keyframe.pathCp1 != null) {
+      flags |= KEYFRAME_PATH_CP1;
+    }
+    if (keyframe.pathCp2 != null) {
+      flags |= KEYFRAME_PATH_CP2;
+    }
+    if (keyframe instanceof PathKeyframe) {
+      flags |= KEYFRAME_PATH;
+    }
+    writeInt(flags);
+    if (keyframe.startValue != null) {
+      writeKeyframeValue(keyframe.startValue, type);
+    }
+    if ((flags & KEYFRAME_END_VALUE) != 0) {
+      writeKeyframeValue(keyframe.endValue, type);
+    }
+    writeFloat(keyframe.startFrame);
+    if (keyframe.endFrame != null) {
+      writeFloat(keyframe.endFrame);
+    }
+    if (xyInterpolators) {
+      writeInterpolator(keyframe.xInterpolator);
+      writeInterpolator(keyframe.yInterpolator);
+    } else {
+      writeInterpolator(keyframe.interpolator);
+    }
+    if (keyframe.pathCp1 != null) {
+      writePoint(keyframe.pathCp1);
+    }
+    if (keyframe.pathCp2 != null) {
+      writePoint(keyframe.pathCp2);
+    }
+  }
+
+  private void writeKeyframeValue(Object value, int type) throws IOException {
+    switch (type) {
+      case TYPE_FLOAT:
+        writeFloat((Float) value);
+        break;
+      case TYPE_INTEGER:
+        writeInt((Integer) value);
+        break;
+      case TYPE_COLOR:
+        writeFixedInt((Integer) value);
+        break;
+      case TYPE_POINT:
+        writePoint((PointF) value);
+        break;
+      case TYPE_SCALE:
+        ScaleXY scale = (ScaleXY) value;
+        writeFloat(scale.getScaleX());
+        writeFloat(scale.getScaleY());
+        break;
+      case TYPE_SHAPE:
+        writeShapeData((ShapeData) value);
+        break;
+      case TYPE_GRADIENT:
+        writeGradientColor((GradientColor) value);
+        break;
+      case TYPE_DOCUMENT:
+        DocumentData document = (DocumentData) value;
+        writeString(document.text);
+        writeString(document.fontName);
+        writeFloat(document.size);
+        writeEnum(document.justification);
+        writeInt(document.tracking);
+        writeFloat(document.lineHeight);
+        writeFloat(document.baselineShift);
+        writeFixedInt(document.color);
+        writeFixedInt(document.strokeColor);
+        writeFloat(document.strokeWidth);
+        writeBoolean(document.strokeOverFill);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown value type " + type);
+    }
+  }
+
+  /**
+   * Only the points that are used are written. The array of a shape can be longer than its curves.
+   */
+  private void writeShapeData(ShapeData shapeData) throws IOException {
+    writeBoolean(shapeData.isClosed());
+    int curveCount = shapeData.getCurveCount();
+    writeInt(curveCount);
+    float[] points = shapeData.getPoints();
+    int length = 2 + curveCount * ShapeData.CURVE_LENGTH;
+    for (int i = 0; i < length; i++) {
+      writeFloat(points[i]);
+    }
+  }
+
+  private void writeGradientColor(GradientColor gradientColor) throws IOException {
+    int size = gradientColor.getSize();
+    float[] positions = gradientColor.getPositions();
+    int[] colors = gradientColor.getColors();
+    writeInt(size);
+    for (int i = 0; i < size; i++) {
+      writeFloat(positions[i]);
+      writeFixedInt(colors[i]);
+    }
+  }
+
+  private void writePoint(PointF point) throws IOException {
+    writeFloat(point.x);
+    writeFloat(point.y);
+  }
+
+  private void writeInterpolator(@Nullable Interpolator interpolator) throws IOException {
+    if (interpolator == null) {
+      writeInt(REF_NULL);
+      return;
+    }
+    Integer index = interpolators.get(interpolator);
+    if (index != null) {
+      writeInt(index + REF_FIRST_INDEX);
+      return;
+    }
+    if (interpolator == KeyframeParser.LINEAR_INTERPOLATOR) {
+      writeInt(REF_INLINE);
+      writeInt(INTERPOLATOR_LINEAR);
+    } else if (interpolator instanceof CubicBezierInterpolator) {
+      CubicBezierInterpolator curve = (CubicBezierInterpolator) interpolator;
+      writeInt(REF_INLINE);
+      writeInt(INTERPOLATOR_CUBIC);
+      writeFloat(curve.getX1());
+      writeFloat(curve.getY1());
+      writeFloat(curve.getX2());
+      writeFloat(curve.getY2());
+    } else {
+      throw new IllegalArgumentException("Unable to write " + interpolator.getClass().getName() +
+          ". Only the interpolators created by the parser can be written.");
+    }
+    interpolators.put(interpolator, interpolators.size());
+  }
+
+  private void writeString(@Nullable String string) throws IOException {
+    if (string == null) {
+      writeInt(REF_NULL);
+      return;
+    }
+    Integer index = strings.get(string);
+    if (index != null) {
+      writeInt(index + REF_FIRST_INDEX);
+      return;
+    }
+    byte[] bytes = string.getBytes(UTF_8);
+    writeInt(REF_INLINE);
+    writeInt(bytes.length);
+    sink.write(bytes);
+    strings.put(string, strings.size());
+  }
+
+  private void writeEnum(@Nullable Enum<?> value) throws IOException {
+    writeInt(value == null ? 0 : value.ordinal() + 1);
+  }
+
+  private void writeBoolean(boolean value) throws IOException {
+    sink.writeByte(value ? 1 : 0);
+  }
+
+  private void writeFloat(float value) throws IOException {
+    sink.writeInt(Float.floatToIntBits(value));
+  }
+
+  private void writeDouble(double value) throws IOException {
+    sink.writeLong(Double.doubleToLongBits(value));
+  }
+
+  private void writeFixedInt(int value) throws IOException {
+    sink.writeInt(value);
+  }
+
+  private void writeInt(int value) throws IOException {
+    writeLong(value);
+  }
+
+  /**
+   * Writes a zig-zag encoded varint so that small negative numbers like a missing parent id stay small.
+   */
+  private void writeLong(long value) throws IOException {
+    long zigZag = (value << 1) ^ (value >> 63);
+    while ((zigZag & ~0x7FL) != 0) {
+      sink.writeByte((int) ((zigZag & 0x7F) | 0x80));
+      zigZag >>>= 7;
+    }
+    sink.writeByte((int) zigZag);
+  }
+}
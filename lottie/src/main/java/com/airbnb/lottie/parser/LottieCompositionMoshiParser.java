@@ -1,7 +1,7 @@
 package com.airbnb.lottie.parser;
 
-import android.graphics.Rect;
 
+import androidx.annotation.Nullable;
 import androidx.collection.LongSparseArray;
 import androidx.collection.SparseArrayCompat;
 
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 
 public class LottieCompositionMoshiParser {
@@ -37,7 +38,33 @@ public class LottieCompositionMoshiParser {
       "markers" // 10
   );
 
+  /**
+   * Approximate retained size of a layer and its transform used for {@link LottieComposition#getEstimatedSizeBytes()}.
+   * Keyframes are accounted for separately.
+   */
+  private static final int LAYER_SIZE = 256;
+
   public static LottieComposition parse(JsonReader reader) throws IOException {
+    return parse(reader, null);
+  }
+
+  /**
+   * @param executor If not null, the layers of the composition and all of its precomps are parsed concurrently on this
+   *                 executor. The resulting composition is identical to one parsed without an executor. This is most
+   *                 useful for large animations with many precomps.
+   */
+  public static LottieComposition parse(JsonReader reader, @Nullable Executor executor) throws IOException {
+    return parse(reader, executor, false);
+  }
+
+  /**
+   * @param lazyLayers If true, every layer, including the layers of precomps, is built while reading the document but
+   *                   its transform, masks and shapes are only tokenized and built the first time they are used.
+   *                   Layers that are never used are never fully built. The executor isn't used because the expensive
+   *                   part of parsing is deferred to the layers.
+   */
+  public static LottieComposition parse(JsonReader reader, @Nullable Executor executor, boolean lazyLayers)
+      throws IOException {
     float scale = Utils.dpScale();
     float startFrame = 0f;
     float endFrame = 0f;
@@ -53,6 +80,11 @@ public class LottieCompositionMoshiParser {
     SparseArrayCompat<FontCharacter> characters = new SparseArrayCompat<>();
 
     LottieComposition composition = new LottieComposition();
+    ParallelLayerParser parallelParser =
+        executor == null || lazyLayers ? null : new ParallelLayerParser(composition, executor);
+    // Start and end span indices for the root layers and for each precomp when parsing in parallel.
+    int[] layerSpans = null;
+    Map<String, int[]> precompSpans = new HashMap<>();
     reader.beginObject();
     while (reader.hasNext()) {
       switch (reader.selectName(NAMES)) {
@@ -83,10 +115,14 @@ public class LottieCompositionMoshiParser {
           }
           break;
         case 6:
-          parseLayers(reader, composition, layers, layerMap);
+          if (parallelParser == null) {
+            parseLayers(reader, composition, layers, layerMap, lazyLayers);
+          } else {
+            layerSpans = addLayerSpans(reader, parallelParser);
+          }
           break;
         case 7:
-          parseAssets(reader, composition, precomps, images);
+          parseAssets(reader, composition, precomps, images, parallelParser, precompSpans, lazyLayers);
           break;
         case 8:
           parseFonts(reader, fonts);
@@ -102,27 +138,65 @@ public class LottieCompositionMoshiParser {
           reader.skipValue();
       }
     }
+    if (parallelParser != null) {
+      List<Layer> parsedLayers = parallelParser.parseAll();
+      if (layerSpans != null) {
+        addLayers(composition, parsedLayers.subList(layerSpans[0], layerSpans[1]), layers, layerMap);
+      }
+      for (Map.Entry<String, int[]> entry : precompSpans.entrySet()) {
+        int[] spans = entry.getValue();
+        List<Layer> precompLayers = new ArrayList<>(parsedLayers.subList(spans[0], spans[1]));
+        composition.addEstimatedModelSize((long) LAYER_SIZE * precompLayers.size());
+        precomps.put(entry.getKey(), precompLayers);
+      }
+    }
+
     int scaledWidth = (int) (width * scale);
     int scaledHeight = (int) (height * scale);
-    Rect bounds = new Rect(0, 0, scaledWidth, scaledHeight);
 
-    composition.init(bounds, startFrame, endFrame, frameRate, layers, layerMap, precomps,
+    composition.init(0, 0, scaledWidth, scaledHeight, startFrame, endFrame, frameRate, layers, layerMap, precomps,
         images, characters, fonts, markers);
 
     return composition;
   }
 
   private static void parseLayers(JsonReader reader, LottieComposition composition,
-      List<Layer> layers, LongSparseArray<Layer> layerMap) throws IOException {
-    int imageCount = 0;
+      List<Layer> layers, LongSparseArray<Layer> layerMap, boolean lazyLayers) throws IOException {
+    List<Layer> parsedLayers = new ArrayList<>();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      parsedLayers.add(LayerParser.parse(reader, composition, lazyLayers));
+    }
+    reader.endArray();
+    addLayers(composition, parsedLayers, layers, layerMap);
+  }
+
+  /**
+   * Copies each layer of the array at the current position into its own span to be parsed later.
+   *
+   * @return the start and end index of the spans that were added.
+   */
+  private static int[] addLayerSpans(JsonReader reader, ParallelLayerParser parallelParser) throws IOException {
+    int start = parallelParser.size();
     reader.beginArray();
     while (reader.hasNext()) {
-      Layer layer = LayerParser.parse(reader, composition);
+      parallelParser.addSpan(reader);
+    }
+    reader.endArray();
+    return new int[]{start, parallelParser.size()};
+  }
+
+  private static void addLayers(LottieComposition composition, List<Layer> parsedLayers,
+      List<Layer> layers, LongSparseArray<Layer> layerMap) {
+    int imageCount = 0;
+    for (int i = 0; i < parsedLayers.size(); i++) {
+      Layer layer = parsedLayers.get(i);
       if (layer.getLayerType() == Layer.LayerType.IMAGE) {
         imageCount++;
       }
       layers.add(layer);
       layerMap.put(layer.getId(), layer);
+      composition.addEstimatedModelSize(LAYER_SIZE);
 
       if (imageCount > 4) {
         Logger.warning("You have " + imageCount + " images. Lottie should primarily be " +
@@ -130,7 +204,6 @@ public class LottieCompositionMoshiParser {
             " to shape layers.");
       }
     }
-    reader.endArray();
   }
 
 
@@ -144,7 +217,9 @@ public class LottieCompositionMoshiParser {
   );
 
   private static void parseAssets(JsonReader reader, LottieComposition composition,
-      Map<String, List<Layer>> precomps, Map<String, LottieImageAsset> images) throws IOException {
+      Map<String, List<Layer>> precomps, Map<String, LottieImageAsset> images,
+      @Nullable ParallelLayerParser parallelParser, Map<String, int[]> precompSpans,
+      boolean lazyLayers) throws IOException {
     reader.beginArray();
     while (reader.hasNext()) {
       String id = null;
@@ -156,6 +231,7 @@ public class LottieCompositionMoshiParser {
       int height = 0;
       String imageFileName = null;
       String relativeFolder = null;
+      int[] spans = null;
       reader.beginObject();
       while (reader.hasNext()) {
         switch (reader.selectName(ASSETS_NAMES)) {
@@ -163,11 +239,16 @@ public class LottieCompositionMoshiParser {
             id = reader.nextString();
             break;
           case 1:
+            if (parallelParser != null) {
+              spans = addLayerSpans(reader, parallelParser);
+              break;
+            }
             reader.beginArray();
             while (reader.hasNext()) {
-              Layer layer = LayerParser.parse(reader, composition);
+              Layer layer = LayerParser.parse(reader, composition, lazyLayers);
               layerMap.put(layer.getId(), layer);
               layers.add(layer);
+              composition.addEstimatedModelSize(LAYER_SIZE);
             }
             reader.endArray();
             break;
@@ -193,6 +274,8 @@ public class LottieCompositionMoshiParser {
         LottieImageAsset image =
             new LottieImageAsset(width, height, id, imageFileName, relativeFolder);
         images.put(image.getId(), image);
+      } else if (spans != null) {
+        precompSpans.put(id, spans);
       } else {
         precomps.put(id, layers);
       }
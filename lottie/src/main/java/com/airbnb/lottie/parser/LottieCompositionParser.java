@@ -1,6 +1,5 @@
 package com.airbnb.lottie.parser;
 
-import android.graphics.Rect;
 
 import androidx.collection.LongSparseArray;
 import androidx.collection.SparseArrayCompat;
@@ -90,9 +89,8 @@ public class LottieCompositionParser {
     }
     int scaledWidth = (int) (width * scale);
     int scaledHeight = (int) (height * scale);
-    Rect bounds = new Rect(0, 0, scaledWidth, scaledHeight);
 
-    composition.init(bounds, startFrame, endFrame, frameRate, layers, layerMap, precomps,
+    composition.init(0, 0, scaledWidth, scaledHeight, startFrame, endFrame, frameRate, layers, layerMap, precomps,
         images, characters, fonts, markers);
 
     return composition;
@@ -0,0 +1,102 @@
+package com.airbnb.lottie.parser;
+
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.model.layer.Layer;
+import com.airbnb.lottie.parser.moshi.JsonBinaryWriter;
+import com.airbnb.lottie.parser.moshi.JsonReader;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import okio.Buffer;
+
+/**
+ * Parses layers concurrently.
+ * <p>
+ * While the document is read, each layer is copied into its own self-contained span with {@link JsonBinaryWriter}.
+ * That pass only tokenizes. Building the model from the spans (keyframes, interpolators, paths, etc.) is the expensive
+ * part and is done on the executor once the whole document has been read. Results are returned in the order the spans
+ * were added so the composition is identical to one parsed on a single thread.
+ */
+class ParallelLayerParser {
+  private final LottieComposition composition;
+  private final Executor executor;
+  private final List<byte[]> spans = new ArrayList<>();
+
+  ParallelLayerParser(LottieComposition composition, Executor executor) {
+    this.composition = composition;
+    this.executor = executor;
+  }
+
+  /**
+   * Copies the layer at the current position of the reader into a new span.
+   */
+  void addSpan(JsonReader reader) throws IOException {
+    Buffer buffer = new Buffer();
+    JsonBinaryWriter.transcode(reader, buffer);
+    spans.add(buffer.readByteArray());
+  }
+
+  /**
+   * The number of spans that have been added so far. Use it to remember which spans belong to which precomp.
+   */
+  int size() {
+    return spans.size();
+  }
+
+  /**
+   * Parses all spans and returns the layers in the order their spans were added.
+   */
+  List<Layer> parseAll() throws IOException {
+    final Layer[] layers = new Layer[spans.size()];
+    int chunkCount = Math.min(spans.size(), Runtime.getRuntime().availableProcessors() * 2);
+    List<FutureTask<Void>> tasks = new ArrayList<>(chunkCount);
+    for (int i = 0; i < chunkCount; i++) {
+      final int start = i * spans.size() / chunkCount;
+      final int end = (i + 1) * spans.size() / chunkCount;
+      FutureTask<Void> task = new FutureTask<>(new Callable<Void>() {
+        @Override public Void call() throws IOException {
+          for (int j = start; j < end; j++) {
+            layers[j] = LayerParser.parse(JsonReader.ofBinary(ByteBuffer.wrap(spans.get(j))), composition);
+          }
+          return null;
+        }
+      });
+      tasks.add(task);
+      executor.execute(task);
+    }
+
+    for (int i = 0; i < tasks.size(); i++) {
+      FutureTask<Void> task = tasks.get(i);
+      // Run any chunk the executor hasn't started yet on this thread. This is a no-op if it has already started.
+      // It prevents a deadlock when this parse is itself running on a saturated executor.
+      task.run();
+      try {
+        task.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while parsing layers");
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        } else if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new IOException(cause);
+      }
+    }
+    spans.clear();
+    return Arrays.asList(layers);
+  }
+}
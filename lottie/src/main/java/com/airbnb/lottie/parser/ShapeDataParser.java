@@ -2,14 +2,10 @@ package com.airbnb.lottie.parser;
 
 import android.graphics.PointF;
 
-import com.airbnb.lottie.model.CubicCurveData;
 import com.airbnb.lottie.model.content.ShapeData;
 import com.airbnb.lottie.parser.moshi.JsonReader;
-import com.airbnb.lottie.utils.MiscUtils;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 public class ShapeDataParser implements ValueParser<ShapeData> {
@@ -69,35 +65,38 @@ public class ShapeDataParser implements ValueParser<ShapeData> {
     }
 
     if (pointsArray.isEmpty()) {
-      return new ShapeData(new PointF(), false, Collections.<CubicCurveData>emptyList());
+      return new ShapeData(new float[2], 0, false);
     }
 
     int length = pointsArray.size();
-    PointF vertex = pointsArray.get(0);
-    PointF initialPoint = vertex;
-    List<CubicCurveData> curves = new ArrayList<>(length);
+    int curveCount = closed ? length : length - 1;
+    float[] points = new float[2 + curveCount * ShapeData.CURVE_LENGTH];
+    PointF initialPoint = pointsArray.get(0);
+    points[0] = initialPoint.x;
+    points[1] = initialPoint.y;
 
     for (int i = 1; i < length; i++) {
-      vertex = pointsArray.get(i);
-      PointF previousVertex = pointsArray.get(i - 1);
-      PointF cp1 = outTangents.get(i - 1);
-      PointF cp2 = inTangents.get(i);
-      PointF shapeCp1 = MiscUtils.addPoints(previousVertex, cp1);
-      PointF shapeCp2 = MiscUtils.addPoints(vertex, cp2);
-      curves.add(new CubicCurveData(shapeCp1, shapeCp2, vertex));
+      addCurve(points, i - 1, pointsArray.get(i - 1), outTangents.get(i - 1), pointsArray.get(i), inTangents.get(i));
     }
 
     if (closed) {
-      vertex = pointsArray.get(0);
-      PointF previousVertex = pointsArray.get(length - 1);
-      PointF cp1 = outTangents.get(length - 1);
-      PointF cp2 = inTangents.get(0);
-
-      PointF shapeCp1 = MiscUtils.addPoints(previousVertex, cp1);
-      PointF shapeCp2 = MiscUtils.addPoints(vertex, cp2);
-
-      curves.add(new CubicCurveData(shapeCp1, shapeCp2, vertex));
+      addCurve(points, length - 1, pointsArray.get(length - 1), outTangents.get(length - 1), pointsArray.get(0),
+          inTangents.get(0));
     }
-    return new ShapeData(initialPoint, closed, curves);
+    return new ShapeData(points, curveCount, closed);
+  }
+
+  /**
+   * Sets a curve from previousVertex to vertex. The tangents are relative to the vertices.
+   */
+  private static void addCurve(float[] points, int curve, PointF previousVertex, PointF outTangent, PointF vertex,
+      PointF inTangent) {
+    int offset = 2 + curve * ShapeData.CURVE_LENGTH;
+    points[offset] = previousVertex.x + outTangent.x;
+    points[offset + 1] = previousVertex.y + outTangent.y;
+    points[offset + 2] = vertex.x + inTangent.x;
+    points[offset + 3] = vertex.y + inTangent.y;
+    points[offset + 4] = vertex.x;
+    points[offset + 5] = vertex.y;
   }
 }
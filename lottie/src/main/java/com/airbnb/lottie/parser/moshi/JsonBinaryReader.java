@@ -0,0 +1,509 @@
+package com.airbnb.lottie.parser.moshi;
+
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the pre-tokenized binary form of a Lottie json file that is written by {@link JsonBinaryWriter}.
+ * <p>
+ * The binary form is a flat stream of one byte tags. Names and strings are stored once and then referenced
+ * by index so repeated keys like "a", "k" and "ix" are never decoded twice and numbers are stored as raw ints,
+ * floats or doubles so no text has to be scanned. This is still json, not a serialized model: the existing parsers
+ * read it token by token and build the model exactly like they do from {@link JsonUtf8Reader}. Only the cost of
+ * scanning text and parsing numbers is saved, not the cost of building layers, keyframes and animations.
+ * <p>
+ * Numbers are returned by {@link #nextString()} as they were written in the json.
+ * <p>
+ * The reader works directly against a {@link ByteBuffer} so heap and memory mapped buffers both work.
+ */
+final class JsonBinaryReader extends JsonReader {
+  static final byte[] MAGIC = new byte[]{'L', 'O', 'T', 'B'};
+  /**
+   * Bump this whenever the format changes. Files written with a different version will be rejected.
+   */
+  static final int VERSION = 2;
+
+  static final byte TAG_BEGIN_ARRAY = 1;
+  static final byte TAG_END_ARRAY = 2;
+  static final byte TAG_BEGIN_OBJECT = 3;
+  static final byte TAG_END_OBJECT = 4;
+  /**
+   * Followed by a varint length and that many utf-8 bytes. The string is appended to the string table.
+   */
+  static final byte TAG_NAME = 5;
+  /**
+   * Followed by a varint index into the string table.
+   */
+  static final byte TAG_NAME_REF = 6;
+  static final byte TAG_STRING = 7;
+  static final byte TAG_STRING_REF = 8;
+  /**
+   * Followed by a zig-zag encoded varint.
+   */
+  static final byte TAG_LONG = 9;
+  static final byte TAG_FLOAT = 10;
+  static final byte TAG_DOUBLE = 11;
+  static final byte TAG_TRUE = 12;
+  static final byte TAG_FALSE = 13;
+  static final byte TAG_NULL = 14;
+  /**
+   * A number whose literal isn't what {@link Long#toString(long)}, {@link Float#toString(float)} or
+   * {@link Double#toString(double)} would return for it, such as "1e10" or "1.50". Followed by a varint length and
+   * that many ascii bytes of the literal so {@link #nextString()} returns it unchanged.
+   */
+  static final byte TAG_NUMBER = 15;
+
+  static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final ByteBuffer buffer;
+  private final List<String> strings = new ArrayList<>();
+  private int position;
+  /**
+   * Position right after the most recently decoded string.
+   */
+  private int stringEnd;
+  /**
+   * The most recently decoded string if it was inlined and still has to be added to the string table.
+   */
+  @Nullable private String pendingString;
+
+  JsonBinaryReader(ByteBuffer buffer) throws IOException {
+    this.buffer = buffer;
+    this.position = buffer.position();
+    for (byte b : MAGIC) {
+      if (position >= buffer.limit() || buffer.get(position++) != b) {
+        throw new JsonEncodingException("Not a binary Lottie file");
+      }
+    }
+    int version = readVarint();
+    if (version != VERSION) {
+      throw new JsonEncodingException("Unsupported binary Lottie version " + version + ". Expected " + VERSION);
+    }
+    pushScope(JsonScope.EMPTY_DOCUMENT);
+  }
+
+  /**
+   * Returns true if the buffer starts with the binary Lottie header. The buffer position is not changed.
+   */
+  static boolean hasHeader(ByteBuffer buffer) {
+    int start = buffer.position();
+    if (buffer.limit() - start < MAGIC.length) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (buffer.get(start + i) != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override public void beginArray() throws IOException {
+    expect(TAG_BEGIN_ARRAY, "BEGIN_ARRAY");
+    pushScope(JsonScope.EMPTY_ARRAY);
+    pathIndices[stackSize - 1] = 0;
+  }
+
+  @Override public void endArray() throws IOException {
+    expect(TAG_END_ARRAY, "END_ARRAY");
+    stackSize--;
+    pathIndices[stackSize - 1]++;
+  }
+
+  @Override public void beginObject() throws IOException {
+    expect(TAG_BEGIN_OBJECT, "BEGIN_OBJECT");
+    pushScope(JsonScope.EMPTY_OBJECT);
+  }
+
+  @Override public void endObject() throws IOException {
+    expect(TAG_END_OBJECT, "END_OBJECT");
+    stackSize--;
+    pathNames[stackSize] = null; // Free the last path name so that it can be garbage collected!
+    pathIndices[stackSize - 1]++;
+  }
+
+  @Override public boolean hasNext() throws IOException {
+    if (position >= buffer.limit()) {
+      return false;
+    }
+    byte tag = buffer.get(position);
+    return tag != TAG_END_OBJECT && tag != TAG_END_ARRAY;
+  }
+
+  @Override public Token peek() throws IOException {
+    if (position >= buffer.limit()) {
+      return Token.END_DOCUMENT;
+    }
+    switch (buffer.get(position)) {
+      case TAG_BEGIN_ARRAY:
+        return Token.BEGIN_ARRAY;
+      case TAG_END_ARRAY:
+        return Token.END_ARRAY;
+      case TAG_BEGIN_OBJECT:
+        return Token.BEGIN_OBJECT;
+      case TAG_END_OBJECT:
+        return Token.END_OBJECT;
+      case TAG_NAME:
+      case TAG_NAME_REF:
+        return Token.NAME;
+      case TAG_STRING:
+      case TAG_STRING_REF:
+        return Token.STRING;
+      case TAG_LONG:
+      case TAG_FLOAT:
+      case TAG_DOUBLE:
+      case TAG_NUMBER:
+        return Token.NUMBER;
+      case TAG_TRUE:
+      case TAG_FALSE:
+        return Token.BOOLEAN;
+      case TAG_NULL:
+        return Token.NULL;
+      default:
+        throw syntaxError("Unknown tag " + buffer.get(position));
+    }
+  }
+
+  @Override public String nextName() throws IOException {
+    String result = peekName();
+    if (result == null) {
+      throw new JsonDataException("Expected a name but was " + peek() + " at path " + getPath());
+    }
+    consumeString();
+    pathNames[stackSize - 1] = result;
+    return result;
+  }
+
+  @Override public int selectName(Options options) throws IOException {
+    String name = peekName();
+    if (name == null) {
+      return -1;
+    }
+    String[] candidates = options.strings;
+    for (int i = 0, size = candidates.length; i < size; i++) {
+      if (name.equals(candidates[i])) {
+        consumeString();
+        pathNames[stackSize - 1] = name;
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override public void skipName() throws IOException {
+    if (failOnUnknown) {
+      throw new JsonDataException("Cannot skip unexpected " + peek() + " at " + getPath());
+    }
+    if (peekName() == null) {
+      throw new JsonDataException("Expected a name but was " + peek() + " at path " + getPath());
+    }
+    consumeString();
+    pathNames[stackSize - 1] = "null";
+  }
+
+  @Override public String nextString() throws IOException {
+    String result;
+    byte tag = peekTag();
+    if (tag == TAG_STRING || tag == TAG_STRING_REF) {
+      result = decodeString(tag);
+      consumeString();
+    } else if (tag == TAG_LONG) {
+      position++;
+      result = Long.toString(readZigZagVarint());
+    } else if (tag == TAG_FLOAT) {
+      result = Float.toString(buffer.getFloat(position + 1));
+      position += 5;
+    } else if (tag == TAG_DOUBLE) {
+      result = Double.toString(buffer.getDouble(position + 1));
+      position += 9;
+    } else if (tag == TAG_NUMBER) {
+      result = readNumberLiteral();
+    } else {
+      throw new JsonDataException("Expected a string but was " + peek() + " at path " + getPath());
+    }
+    pathIndices[stackSize - 1]++;
+    return result;
+  }
+
+  @Override public boolean nextBoolean() throws IOException {
+    byte tag = peekTag();
+    if (tag == TAG_TRUE || tag == TAG_FALSE) {
+      position++;
+      pathIndices[stackSize - 1]++;
+      return tag == TAG_TRUE;
+    }
+    throw new JsonDataException("Expected a boolean but was " + peek() + " at path " + getPath());
+  }
+
+  @Override public double nextDouble() throws IOException {
+    double result;
+    byte tag = peekTag();
+    if (tag == TAG_FLOAT) {
+      result = buffer.getFloat(position + 1);
+      position += 5;
+    } else if (tag == TAG_DOUBLE) {
+      result = buffer.getDouble(position + 1);
+      position += 9;
+    } else if (tag == TAG_LONG) {
+      position++;
+      result = (double) readZigZagVarint();
+    } else if (tag == TAG_NUMBER) {
+      int start = position;
+      String literal = readNumberLiteral();
+      try {
+        result = Double.parseDouble(literal);
+      } catch (NumberFormatException e) {
+        position = start;
+        throw new JsonDataException("Expected a double but was " + literal + " at path " + getPath());
+      }
+    } else if (tag == TAG_STRING || tag == TAG_STRING_REF) {
+      String string = decodeString(tag);
+      try {
+        result = Double.parseDouble(string);
+      } catch (NumberFormatException e) {
+        throw new JsonDataException("Expected a double but was " + string + " at path " + getPath());
+      }
+      consumeString();
+    } else {
+      throw new JsonDataException("Expected a double but was " + peek() + " at path " + getPath());
+    }
+    pathIndices[stackSize - 1]++;
+    return result;
+  }
+
+  @Override public int nextInt() throws IOException {
+    double asDouble;
+    byte tag = peekTag();
+    if (tag == TAG_LONG) {
+      int start = position++;
+      long value = readZigZagVarint();
+      int result = (int) value;
+      if (value != result) { // Make sure no precision was lost casting to 'int'.
+        position = start;
+        throw new JsonDataException("Expected an int but was " + value + " at path " + getPath());
+      }
+      pathIndices[stackSize - 1]++;
+      return result;
+    } else if (tag == TAG_FLOAT) {
+      asDouble = buffer.getFloat(position + 1);
+    } else if (tag == TAG_DOUBLE) {
+      asDouble = buffer.getDouble(position + 1);
+    } else if (tag == TAG_NUMBER) {
+      int start = position;
+      String literal = readNumberLiteral();
+      position = start;
+      try {
+        asDouble = Double.parseDouble(literal);
+      } catch (NumberFormatException e) {
+        throw new JsonDataException("Expected an int but was " + literal + " at path " + getPath());
+      }
+    } else if (tag == TAG_STRING || tag == TAG_STRING_REF) {
+      String string = decodeString(tag);
+      try {
+        asDouble = Double.parseDouble(string);
+      } catch (NumberFormatException e) {
+        throw new JsonDataException("Expected an int but was " + string + " at path " + getPath());
+      }
+    } else {
+      throw new JsonDataException("Expected an int but was " + peek() + " at path " + getPath());
+    }
+    int result = (int) asDouble;
+    if (result != asDouble) { // Make sure no precision was lost casting to 'int'.
+      throw new JsonDataException("Expected an int but was " + asDouble + " at path " + getPath());
+    }
+    skipScalar(tag);
+    pathIndices[stackSize - 1]++;
+    return result;
+  }
+
+  @Override public void skipValue() throws IOException {
+    if (failOnUnknown) {
+      throw new JsonDataException("Cannot skip unexpected " + peek() + " at " + getPath());
+    }
+    int count = 0;
+    do {
+      byte tag = peekTag();
+      if (tag == TAG_BEGIN_ARRAY) {
+        position++;
+        pushScope(JsonScope.EMPTY_ARRAY);
+        count++;
+      } else if (tag == TAG_BEGIN_OBJECT) {
+        position++;
+        pushScope(JsonScope.EMPTY_OBJECT);
+        count++;
+      } else if (tag == TAG_END_ARRAY || tag == TAG_END_OBJECT) {
+        count--;
+        if (count < 0) {
+          throw new JsonDataException("Expected a value but was " + peek() + " at path " + getPath());
+        }
+        position++;
+        stackSize--;
+      } else {
+        skipScalar(tag);
+      }
+    } while (count != 0);
+
+    pathIndices[stackSize - 1]++;
+    pathNames[stackSize - 1] = "null";
+  }
+
+  @Override public void close() throws IOException {
+    scopes[0] = JsonScope.CLOSED;
+    stackSize = 1;
+    position = buffer.limit();
+  }
+
+  @Override public String toString() {
+    return "JsonReader(binary)";
+  }
+
+  private byte peekTag() throws IOException {
+    if (position >= buffer.limit()) {
+      throw new JsonDataException("Unexpected end of input at path " + getPath());
+    }
+    return buffer.get(position);
+  }
+
+  private void expect(byte tag, String expected) throws IOException {
+    if (peekTag() != tag) {
+      throw new JsonDataException("Expected " + expected + " but was " + peek() + " at path " + getPath());
+    }
+    position++;
+  }
+
+  /**
+   * Returns the name at the current position or null if the next token is not a name. This does not consume it.
+   */
+  @Nullable
+  private String peekName() throws IOException {
+    if (position >= buffer.limit()) {
+      return null;
+    }
+    byte tag = buffer.get(position);
+    if (tag != TAG_NAME && tag != TAG_NAME_REF) {
+      return null;
+    }
+    return decodeString(tag);
+  }
+
+  /**
+   * Decodes the string at the current position without consuming it. Call {@link #consumeString()} to
+   * consume it and, if it was inlined, add it to the string table.
+   */
+  private String decodeString(byte tag) throws IOException {
+    int start = position;
+    position++;
+    try {
+      if (tag == TAG_NAME_REF || tag == TAG_STRING_REF) {
+        int index = readVarint();
+        stringEnd = position;
+        pendingString = null;
+        return strings.get(index);
+      }
+      int length = readVarint();
+      String result;
+      if (buffer.hasArray()) {
+        result = new String(buffer.array(), buffer.arrayOffset() + position, length, UTF_8);
+      } else {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+          bytes[i] = buffer.get(position + i);
+        }
+        result = new String(bytes, UTF_8);
+      }
+      stringEnd = position + length;
+      pendingString = result;
+      return result;
+    } finally {
+      position = start;
+    }
+  }
+
+  private void consumeString() {
+    if (pendingString != null) {
+      strings.add(pendingString);
+      pendingString = null;
+    }
+    position = stringEnd;
+  }
+
+  private void skipScalar(byte tag) throws IOException {
+    switch (tag) {
+      case TAG_NAME:
+      case TAG_NAME_REF:
+      case TAG_STRING:
+      case TAG_STRING_REF:
+        decodeString(tag);
+        consumeString();
+        break;
+      case TAG_LONG:
+        position++;
+        readVarint64();
+        break;
+      case TAG_FLOAT:
+        position += 5;
+        break;
+      case TAG_DOUBLE:
+        position += 9;
+        break;
+      case TAG_NUMBER:
+        readNumberLiteral();
+        break;
+      case TAG_TRUE:
+      case TAG_FALSE:
+      case TAG_NULL:
+        position++;
+        break;
+      default:
+        throw syntaxError("Unexpected tag " + tag);
+    }
+  }
+
+  /**
+   * Reads the literal of a {@link #TAG_NUMBER} at the current position and consumes it.
+   */
+  private String readNumberLiteral() throws IOException {
+    position++;
+    int length = readVarint();
+    if (position + length > buffer.limit()) {
+      throw syntaxError("Truncated number");
+    }
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) buffer.get(position + i);
+    }
+    position += length;
+    return new String(chars);
+  }
+
+  private int readVarint() throws IOException {
+    return (int) readVarint64();
+  }
+
+  private long readZigZagVarint() throws IOException {
+    long raw = readVarint64();
+    return (raw >>> 1) ^ -(raw & 1);
+  }
+
+  private long readVarint64() throws IOException {
+    long result = 0;
+    int shift = 0;
+    while (shift < 64) {
+      if (position >= buffer.limit()) {
+        throw syntaxError("Truncated varint");
+      }
+      byte b = buffer.get(position++);
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+      shift += 7;
+    }
+    throw syntaxError("Malformed varint");
+  }
+}
@@ -0,0 +1,169 @@
+package com.airbnb.lottie.parser.moshi;
+
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.MAGIC;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_BEGIN_ARRAY;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_BEGIN_OBJECT;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_DOUBLE;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_END_ARRAY;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_END_OBJECT;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_FALSE;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_FLOAT;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_LONG;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_NAME;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_NAME_REF;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_NULL;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_NUMBER;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_STRING;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_STRING_REF;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.TAG_TRUE;
+import static com.airbnb.lottie.parser.moshi.JsonBinaryReader.VERSION;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import okio.BufferedSink;
+import okio.BufferedSource;
+
+/**
+ * Converts json into the binary form read by {@link JsonReader#ofBinary(java.nio.ByteBuffer)}.
+ * <p>
+ * The output is the same json tokens with names and strings deduplicated and numbers stored in binary. It doesn't
+ * contain a parsed model so loading it still runs the regular parsers. See {@link JsonBinaryReader}. It is used for
+ * spans of a document that are parsed later. Use {@link com.airbnb.lottie.parser.LottieCompositionBinaryWriter} to
+ * store a parsed composition.
+ */
+public final class JsonBinaryWriter {
+  private final BufferedSink sink;
+  private final Map<String, Integer> strings = new HashMap<>();
+
+  private JsonBinaryWriter(BufferedSink sink) {
+    this.sink = sink;
+  }
+
+  /**
+   * Reads a json document from {@code json} and writes its binary form to {@code sink}.
+   * Neither source nor sink are closed.
+   */
+  public static void transcode(BufferedSource json, BufferedSink sink) throws IOException {
+    transcode(JsonReader.of(json), sink);
+  }
+
+  /**
+   * Writes the next value of {@code reader} to {@code sink} in binary form.
+   * The sink is flushed but not closed.
+   */
+  public static void transcode(JsonReader reader, BufferedSink sink) throws IOException {
+    JsonBinaryWriter writer = new JsonBinaryWriter(sink);
+    sink.write(MAGIC);
+    writer.writeVarint(VERSION);
+    writer.writeValue(reader);
+    sink.flush();
+  }
+
+  private void writeValue(JsonReader reader) throws IOException {
+    switch (reader.peek()) {
+      case BEGIN_ARRAY:
+        reader.beginArray();
+        sink.writeByte(TAG_BEGIN_ARRAY);
+        while (reader.hasNext()) {
+          writeValue(reader);
+        }
+        reader.endArray();
+        sink.writeByte(TAG_END_ARRAY);
+        break;
+      case BEGIN_OBJECT:
+        reader.beginObject();
+        sink.writeByte(TAG_BEGIN_OBJECT);
+        while (reader.hasNext()) {
+          writeString(TAG_NAME, TAG_NAME_REF, reader.nextName());
+          writeValue(reader);
+        }
+        reader.endObject();
+        sink.writeByte(TAG_END_OBJECT);
+        break;
+      case STRING:
+        writeString(TAG_STRING, TAG_STRING_REF, reader.nextString());
+        break;
+      case NUMBER:
+        writeNumber(reader.nextString());
+        break;
+      case BOOLEAN:
+        sink.writeByte(reader.nextBoolean() ? TAG_TRUE : TAG_FALSE);
+        break;
+      case NULL:
+        reader.skipValue();
+        sink.writeByte(TAG_NULL);
+        break;
+      default:
+        throw new JsonDataException("Unexpected " + reader.peek() + " at path " + reader.getPath());
+    }
+  }
+
+  private void writeString(byte inlineTag, byte refTag, String value) throws IOException {
+    Integer index = strings.get(value);
+    if (index != null) {
+      sink.writeByte(refTag);
+      writeVarint(index);
+      return;
+    }
+    strings.put(value, strings.size());
+    byte[] bytes = value.getBytes(JsonBinaryReader.UTF_8);
+    sink.writeByte(inlineTag);
+    writeVarint(bytes.length);
+    sink.write(bytes);
+  }
+
+  /**
+   * Numbers are only stored in binary when the reader can turn them back into the same literal. Anything else,
+   * like "1e10" or "1.50", is stored as text so {@link JsonReader#nextString()} returns what the json contained.
+   */
+  private void writeNumber(String literal) throws IOException {
+    if (isIntegerLiteral(literal)) {
+      try {
+        long value = Long.parseLong(literal);
+        if (Long.toString(value).equals(literal)) {
+          sink.writeByte(TAG_LONG);
+          writeVarint((value << 1) ^ (value >> 63));
+          return;
+        }
+      } catch (NumberFormatException ignored) {
+        // Fall back to the literal below.
+      }
+    } else {
+      double value = Double.parseDouble(literal);
+      float asFloat = (float) value;
+      if (asFloat == value && Float.toString(asFloat).equals(literal)) {
+        sink.writeByte(TAG_FLOAT);
+        sink.writeInt(Float.floatToIntBits(asFloat));
+        return;
+      } else if (Double.toString(value).equals(literal)) {
+        sink.writeByte(TAG_DOUBLE);
+        sink.writeLong(Double.doubleToLongBits(value));
+        return;
+      }
+    }
+    byte[] bytes = literal.getBytes(JsonBinaryReader.UTF_8);
+    sink.writeByte(TAG_NUMBER);
+    writeVarint(bytes.length);
+    sink.write(bytes);
+  }
+
+  private static boolean isIntegerLiteral(String literal) {
+    for (int i = 0, length = literal.length(); i < length; i++) {
+      char c = literal.charAt(i);
+      if (c == '.' || c == 'e' || c == 'E') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void writeVarint(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      sink.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    sink.writeByte((int) value);
+  }
+}
@@ -17,6 +17,7 @@ package com.airbnb.lottie.parser.moshi;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import okio.Buffer;
@@ -224,6 +225,16 @@ public abstract class JsonReader implements Closeable {
     return new JsonUtf8Reader(source);
   }
 
+  /**
+   * Returns a new instance that reads the binary form written by {@link JsonBinaryWriter} from {@code buffer}.
+   * Reading starts at the buffer's current position and the buffer's position is never modified.
+   *
+   * @throws JsonEncodingException if the buffer doesn't start with a supported binary header.
+   */
+  public static JsonReader ofBinary(ByteBuffer buffer) throws IOException {
+    return new JsonBinaryReader(buffer);
+  }
+
   // Package-private to control subclasses.
   JsonReader() {
     scopes = new int[32];
@@ -0,0 +1,139 @@
+package com.airbnb.lottie.utils;
+
+import android.view.animation.Interpolator;
+
+/**
+ * Cubic bezier easing from (0, 0) to (1, 1).
+ * <p>
+ * {@link androidx.core.view.animation.PathInterpolatorCompat} approximates the curve with a path and searches it on
+ * every call. This samples x(t) into a small table once and then solves x(t) = x with a few Newton-Raphson iterations
+ * starting from the table, falling back to bisection where the curve is too flat for Newton to converge.
+ * {@link #getInterpolation(float)} doesn't allocate.
+ */
+public class CubicBezierInterpolator implements Interpolator {
+  private static final int SAMPLE_COUNT = 11;
+  private static final float SAMPLE_STEP = 1f / (SAMPLE_COUNT - 1);
+  private static final int NEWTON_ITERATIONS = 4;
+  private static final float NEWTON_MIN_SLOPE = 0.001f;
+  private static final float SUBDIVISION_PRECISION = 0.0000001f;
+  private static final int SUBDIVISION_MAX_ITERATIONS = 10;
+
+  private final float x1;
+  private final float y1;
+  private final float x2;
+  private final float y2;
+  private final boolean linear;
+  /**
+   * x(t) at t = i * {@link #SAMPLE_STEP}.
+   */
+  private final float[] samples = new float[SAMPLE_COUNT];
+
+  /**
+   * The x values of the control points are clamped to [0, 1] so that the curve is a function of x.
+   */
+  public CubicBezierInterpolator(float x1, float y1, float x2, float y2) {
+    this.x1 = MiscUtils.clamp(x1, 0f, 1f);
+    this.y1 = y1;
+    this.x2 = MiscUtils.clamp(x2, 0f, 1f);
+    this.y2 = y2;
+    linear = this.x1 == y1 && this.x2 == y2;
+    for (int i = 0; i < SAMPLE_COUNT; i++) {
+      samples[i] = bezier(i * SAMPLE_STEP, this.x1, this.x2);
+    }
+  }
+
+  public float getX1() {
+    return x1;
+  }
+
+  public float getY1() {
+    return y1;
+  }
+
+  public float getX2() {
+    return x2;
+  }
+
+  public float getY2() {
+    return y2;
+  }
+
+  @Override public float getInterpolation(float x) {
+    if (linear) {
+      return x;
+    }
+    if (x <= 0f) {
+      return 0f;
+    }
+    if (x >= 1f) {
+      return 1f;
+    }
+    return bezier(tForX(x), y1, y2);
+  }
+
+  private float tForX(float x) {
+    int i = 1;
+    float intervalStart = 0f;
+    while (i < SAMPLE_COUNT - 1 && samples[i] <= x) {
+      intervalStart += SAMPLE_STEP;
+      i++;
+    }
+    i--;
+
+    float sampleRange = samples[i + 1] - samples[i];
+    float t = sampleRange == 0f ? intervalStart : intervalStart + (x - samples[i]) / sampleRange * SAMPLE_STEP;
+    float slope = slope(t, x1, x2);
+    if (slope >= NEWTON_MIN_SLOPE) {
+      for (int iteration = 0; iteration < NEWTON_ITERATIONS; iteration++) {
+        slope = slope(t, x1, x2);
+        if (slope == 0f) {
+          return t;
+        }
+        t -= (bezier(t, x1, x2) - x) / slope;
+      }
+      return t;
+    } else if (slope == 0f) {
+      return t;
+    }
+    return bisect(x, intervalStart, intervalStart + SAMPLE_STEP);
+  }
+
+  private float bisect(float x, float start, float end) {
+    float t = 0f;
+    float difference;
+    int iteration = 0;
+    do {
+      t = start + (end - start) / 2f;
+      difference = bezier(t, x1, x2) - x;
+      if (difference > 0f) {
+        end = t;
+      } else {
+        start = t;
+      }
+    } while (Math.abs(difference) > SUBDIVISION_PRECISION && ++iteration < SUBDIVISION_MAX_ITERATIONS);
+    return t;
+  }
+
+  /**
+   * One dimension of the curve at t where p1 and p2 are the control points.
+   */
+  private static float bezier(float t, float p1, float p2) {
+    return ((a(p1, p2) * t + b(p1, p2)) * t + c(p1)) * t;
+  }
+
+  private static float slope(float t, float p1, float p2) {
+    return 3f * a(p1, p2) * t * t + 2f * b(p1, p2) * t + c(p1);
+  }
+
+  private static float a(float p1, float p2) {
+    return 1f - 3f * p2 + 3f * p1;
+  }
+
+  private static float b(float p1, float p2) {
+    return 3f * p2 - 6f * p1;
+  }
+
+  private static float c(float p1) {
+    return 3f * p1;
+  }
+}
@@ -0,0 +1,167 @@
+package com.airbnb.lottie.utils;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import okio.Buffer;
+import okio.Source;
+import okio.Timeout;
+
+/**
+ * Helpers to read files through memory maps rather than streams.
+ * Mapped files are paged in by the kernel on demand and aren't copied through intermediate heap buffers.
+ */
+public class MappedFiles {
+  private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+  private static final int LOCAL_FILE_HEADER_SIZE = 30;
+  private static final int FLAG_DATA_DESCRIPTOR = 1 << 3;
+  private static final int METHOD_STORED = 0;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private MappedFiles() {
+  }
+
+  /**
+   * Maps the whole file read only. The mapping stays valid after the file is closed or deleted.
+   */
+  public static MappedByteBuffer map(File file) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  /**
+   * Returns a source that reads the remaining bytes of {@code buffer} without modifying its position.
+   */
+  public static Source source(ByteBuffer buffer) {
+    return new ByteBufferSource(buffer.slice());
+  }
+
+  /**
+   * Returns a stream that reads the remaining bytes of {@code buffer} without modifying its position.
+   */
+  public static InputStream inputStream(ByteBuffer buffer) {
+    return new ByteBufferInputStream(buffer.slice());
+  }
+
+  /**
+   * A zip entry whose data is stored without compression.
+   */
+  public static class StoredEntry {
+    public final String name;
+    /**
+     * A view of the entry's data in the mapped file.
+     */
+    public final ByteBuffer data;
+
+    StoredEntry(String name, ByteBuffer data) {
+      this.name = name;
+      this.data = data;
+    }
+  }
+
+  /**
+   * Walks the local file headers of a zip file and returns views of all of its entries.
+   *
+   * @return null if any entry is compressed or its size isn't known from its local header. Such zips must be read
+   * with a {@link java.util.zip.ZipInputStream}.
+   */
+  @Nullable
+  public static List<StoredEntry> storedZipEntries(ByteBuffer zip) {
+    ByteBuffer buffer = zip.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    List<StoredEntry> entries = new ArrayList<>();
+    int offset = buffer.position();
+    while (offset + LOCAL_FILE_HEADER_SIZE <= buffer.limit() && buffer.getInt(offset) == LOCAL_FILE_HEADER_SIGNATURE) {
+      int flags = buffer.getShort(offset + 6) & 0xFFFF;
+      int method = buffer.getShort(offset + 8) & 0xFFFF;
+      long size = buffer.getInt(offset + 18) & 0xFFFFFFFFL;
+      int nameLength = buffer.getShort(offset + 26) & 0xFFFF;
+      int extraLength = buffer.getShort(offset + 28) & 0xFFFF;
+      if (method != METHOD_STORED || (flags & FLAG_DATA_DESCRIPTOR) != 0) {
+        return null;
+      }
+      int nameOffset = offset + LOCAL_FILE_HEADER_SIZE;
+      int dataOffset = nameOffset + nameLength + extraLength;
+      if (dataOffset + size > buffer.limit()) {
+        return null;
+      }
+      byte[] name = new byte[nameLength];
+      for (int i = 0; i < nameLength; i++) {
+        name[i] = buffer.get(nameOffset + i);
+      }
+      ByteBuffer data = buffer.duplicate();
+      data.position(dataOffset);
+      data.limit(dataOffset + (int) size);
+      entries.add(new StoredEntry(new String(name, UTF_8), data.slice()));
+      offset = dataOffset + (int) size;
+    }
+    return entries;
+  }
+
+  private static class ByteBufferSource implements Source {
+    private final ByteBuffer buffer;
+
+    ByteBufferSource(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override public long read(Buffer sink, long byteCount) throws IOException {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = (int) Math.min(byteCount, buffer.remaining());
+      ByteBuffer chunk = buffer.duplicate();
+      chunk.limit(chunk.position() + count);
+      sink.write(chunk);
+      buffer.position(buffer.position() + count);
+      return count;
+    }
+
+    @Override public Timeout timeout() {
+      return Timeout.NONE;
+    }
+
+    @Override public void close() {
+    }
+  }
+
+  private static class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override public int read(byte[] bytes, int offset, int length) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+
+    @Override public int available() {
+      return buffer.remaining();
+    }
+  }
+}
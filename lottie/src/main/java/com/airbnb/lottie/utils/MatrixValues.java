@@ -0,0 +1,88 @@
+package com.airbnb.lottie.utils;
+
+/**
+ * Operations on the 9 values of a 3x3 matrix in the order of {@link android.graphics.Matrix#getValues(float[])}. They
+ * are plain float math so they can be used without a native {@link android.graphics.Matrix}. The pre operations
+ * multiply the matrix by the other one on the right like the methods of {@link android.graphics.Matrix} that they are
+ * named after.
+ */
+public final class MatrixValues {
+  /**
+   * Sines and cosines closer to zero than this are snapped to zero like {@link android.graphics.Matrix} does so that
+   * rotations by right angles are exact.
+   */
+  private static final float NEARLY_ZERO = 1f / (1 << 12);
+
+  private MatrixValues() {
+  }
+
+  public static float[] identity() {
+    float[] values = new float[9];
+    reset(values);
+    return values;
+  }
+
+  public static void reset(float[] values) {
+    values[0] = 1f;
+    values[1] = 0f;
+    values[2] = 0f;
+    values[3] = 0f;
+    values[4] = 1f;
+    values[5] = 0f;
+    values[6] = 0f;
+    values[7] = 0f;
+    values[8] = 1f;
+  }
+
+  /**
+   * Sets values to values x other.
+   */
+  public static void preConcat(float[] values, float[] other) {
+    for (int row = 0; row < 9; row += 3) {
+      float a = values[row];
+      float b = values[row + 1];
+      float c = values[row + 2];
+      values[row] = a * other[0] + b * other[3] + c * other[6];
+      values[row + 1] = a * other[1] + b * other[4] + c * other[7];
+      values[row + 2] = a * other[2] + b * other[5] + c * other[8];
+    }
+  }
+
+  public static void preTranslate(float[] values, float dx, float dy) {
+    for (int row = 0; row < 9; row += 3) {
+      values[row + 2] += values[row] * dx + values[row + 1] * dy;
+    }
+  }
+
+  public static void preScale(float[] values, float sx, float sy) {
+    for (int row = 0; row < 9; row += 3) {
+      values[row] *= sx;
+      values[row + 1] *= sy;
+    }
+  }
+
+  public static void preRotate(float[] values, float degrees) {
+    double radians = Math.toRadians(degrees);
+    float sin = snapToZero((float) Math.sin(radians));
+    float cos = snapToZero((float) Math.cos(radians));
+    for (int row = 0; row < 9; row += 3) {
+      float a = values[row];
+      float b = values[row + 1];
+      values[row] = a * cos + b * sin;
+      values[row + 1] = b * cos - a * sin;
+    }
+  }
+
+  /**
+   * Rotates around the pivot point like {@link android.graphics.Matrix#preRotate(float, float, float)}.
+   */
+  public static void preRotate(float[] values, float degrees, float px, float py) {
+    preTranslate(values, px, py);
+    preRotate(values, degrees);
+    preTranslate(values, -px, -py);
+  }
+
+  private static float snapToZero(float value) {
+    return Math.abs(value) <= NEARLY_ZERO ? 0f : value;
+  }
+}
@@ -6,42 +6,45 @@ import android.graphics.PointF;
 import androidx.annotation.FloatRange;
 
 import com.airbnb.lottie.animation.content.KeyPathElementContent;
-import com.airbnb.lottie.model.CubicCurveData;
 import com.airbnb.lottie.model.KeyPath;
 import com.airbnb.lottie.model.content.ShapeData;
 
 import java.util.List;
 
 public class MiscUtils {
-  private static PointF pathFromDataCurrentPoint = new PointF();
-
   public static PointF addPoints(PointF p1, PointF p2) {
     return new PointF(p1.x + p2.x, p1.y + p2.y);
   }
 
   public static void getPathFromData(ShapeData shapeData, Path outPath) {
     outPath.reset();
-    PointF initialPoint = shapeData.getInitialPoint();
-    outPath.moveTo(initialPoint.x, initialPoint.y);
-    pathFromDataCurrentPoint.set(initialPoint.x, initialPoint.y);
-    for (int i = 0; i < shapeData.getCurves().size(); i++) {
-      CubicCurveData curveData = shapeData.getCurves().get(i);
-      PointF cp1 = curveData.getControlPoint1();
-      PointF cp2 = curveData.getControlPoint2();
-      PointF vertex = curveData.getVertex();
-
-      if (cp1.equals(pathFromDataCurrentPoint) && cp2.equals(vertex)) {
+    float[] points = shapeData.getPoints();
+    int curveCount = shapeData.getCurveCount();
+    float currentX = points[0];
+    float currentY = points[1];
+    outPath.moveTo(currentX, currentY);
+    for (int i = 0; i < curveCount; i++) {
+      int offset = 2 + i * ShapeData.CURVE_LENGTH;
+      float cp1x = points[offset];
+      float cp1y = points[offset + 1];
+      float cp2x = points[offset + 2];
+      float cp2y = points[offset + 3];
+      float vertexX = points[offset + 4];
+      float vertexY = points[offset + 5];
+
+      if (cp1x == currentX && cp1y == currentY && cp2x == vertexX && cp2y == vertexY) {
         // On some phones like Samsung phones, zero valued control points can cause artifacting.
         // https://github.com/airbnb/lottie-android/issues/275
         //
         // This does its best to add a tiny value to the vertex without affecting the final
         // animation as much as possible.
         // outPath.rMoveTo(0.01f, 0.01f);
-        outPath.lineTo(vertex.x, vertex.y);
+        outPath.lineTo(vertexX, vertexY);
       } else {
-        outPath.cubicTo(cp1.x, cp1.y, cp2.x, cp2.y, vertex.x, vertex.y);
+        outPath.cubicTo(cp1x, cp1y, cp2x, cp2y, vertexX, vertexY);
       }
-      pathFromDataCurrentPoint.set(vertex.x, vertex.y);
+      currentX = vertexX;
+      currentY = vertexY;
     }
     if (shapeData.isClosed()) {
       outPath.close();
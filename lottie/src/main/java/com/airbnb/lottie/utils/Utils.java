@@ -139,13 +139,24 @@ public final class Utils {
 
   public static void applyTrimPathIfNeeded(
       Path path, float startValue, float endValue, float offsetValue) {
-    L.beginSection("applyTrimPathIfNeeded");
     final PathMeasure pathMeasure = threadLocalPathMeasure.get();
+    pathMeasure.setPath(path, false);
+    applyTrimPathIfNeeded(path, pathMeasure, startValue, endValue, offsetValue);
+  }
+
+  /**
+   * Trims path to the first contour of pathMeasure between startValue and endValue.
+   * <p>
+   * pathMeasure has to be set to path or to a path with the same contents. A path measure computes a table of the
+   * lengths of the segments of its contour once so trimming a path repeatedly with the same path measure only has to
+   * search that table rather than measure the whole path again.
+   */
+  public static void applyTrimPathIfNeeded(
+      Path path, PathMeasure pathMeasure, float startValue, float endValue, float offsetValue) {
+    L.beginSection("applyTrimPathIfNeeded");
     final Path tempPath = threadLocalTempPath.get();
     final Path tempPath2 = threadLocalTempPath2.get();
 
-    pathMeasure.setPath(path, false);
-
     float length = pathMeasure.getLength();
     if (startValue == 1f && endValue == 0f) {
       L.endSection("applyTrimPathIfNeeded");
@@ -5,6 +5,7 @@ import android.view.animation.Interpolator;
 
 import androidx.annotation.FloatRange;
 import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 
 import com.airbnb.lottie.LottieComposition;
 
@@ -90,6 +91,12 @@ public class Keyframe<T> {
     endFrame = Float.MAX_VALUE;
   }
 
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  @Nullable
+  public LottieComposition getComposition() {
+    return composition;
+  }
+
   public float getStartProgress() {
     if (composition == null) {
       return 0f;
@@ -0,0 +1,347 @@
+package com.airbnb.lottie.value;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The values of a shape layer content or a mask at one frame. Which values are set depends on {@link #getType()}.
+ * <p>
+ * Paths are packed into a float array: the initial point followed by the first control point, second control point
+ * and vertex of each cubic curve. Straight lines have control points that are equal to their end points. Paths are in
+ * the coordinates of the group that contains them.
+ *
+ * @see com.airbnb.lottie.LottieFrameEvaluator
+ */
+public class LottieContentValues {
+  public enum Type {
+    /**
+     * A group of contents with its own transform. See {@link #getMatrix()}, {@link #getOpacity()} and
+     * {@link #getContents()}.
+     */
+    GROUP,
+    /**
+     * A path, rectangle, ellipse or polystar. See {@link #getPath()} and {@link #isClosed()}.
+     */
+    PATH,
+    /**
+     * See {@link #getColor()} and {@link #getOpacity()}.
+     */
+    FILL,
+    /**
+     * See {@link #getColor()}, {@link #getOpacity()} and {@link #getStrokeWidth()}.
+     */
+    STROKE,
+    /**
+     * See {@link #getGradientColors()}, {@link #getGradientPositions()}, {@link #getGradientPoints()} and
+     * {@link #getOpacity()}.
+     */
+    GRADIENT_FILL,
+    /**
+     * The values of {@link #GRADIENT_FILL} and {@link #getStrokeWidth()}.
+     */
+    GRADIENT_STROKE,
+    /**
+     * See {@link #getTrimStart()}, {@link #getTrimEnd()} and {@link #getTrimOffset()}.
+     */
+    TRIM_PATH,
+    /**
+     * A mask of a layer. See {@link #getMaskMode()}, {@link #getPath()}, {@link #isClosed()}, {@link #getOpacity()}
+     * and {@link #isInverted()}.
+     */
+    MASK,
+    /**
+     * A repeater that draws its contents once for each copy. See {@link #getContents()},
+     * {@link #getRepeaterMatrices()} and {@link #getRepeaterOpacities()}.
+     */
+    REPEATER,
+    /**
+     * Paths that are combined into one path. See {@link #getContents()} and {@link #getMergePathsMode()}.
+     * {@link com.airbnb.lottie.LottieDrawable} only combines them if
+     * {@link com.airbnb.lottie.LottieDrawable#enableMergePathsForKitKatAndAbove(boolean)} is enabled and draws them
+     * as they are otherwise.
+     */
+    MERGE_PATHS
+  }
+
+  public enum MaskMode {
+    ADD,
+    SUBTRACT,
+    INTERSECT
+  }
+
+  /**
+   * How merge paths combine their paths. Other than {@link #MERGE}, which adds the paths together, the modes combine
+   * the last path with the union of the other paths: {@link #SUBTRACT} removes the last path from them.
+   */
+  public enum MergePathsMode {
+    MERGE,
+    ADD,
+    SUBTRACT,
+    INTERSECT,
+    EXCLUDE_INTERSECTIONS
+  }
+
+  private final String name;
+  private final Type type;
+  @Nullable private final float[] matrix;
+  private final float opacity;
+  private final List<LottieContentValues> contents;
+  @Nullable private final float[] path;
+  private final boolean closed;
+  @Nullable private final MaskMode maskMode;
+  private final boolean inverted;
+  @ColorInt private final int color;
+  private final float strokeWidth;
+  @Nullable private final int[] gradientColors;
+  @Nullable private final float[] gradientPositions;
+  @Nullable private final float[] gradientPoints;
+  private final float trimStart;
+  private final float trimEnd;
+  private final float trimOffset;
+  @Nullable private final float[] repeaterMatrices;
+  @Nullable private final float[] repeaterOpacities;
+  @Nullable private final MergePathsMode mergePathsMode;
+
+  private LottieContentValues(String name, Type type, @Nullable float[] matrix, float opacity,
+      List<LottieContentValues> contents, @Nullable float[] path, boolean closed, @Nullable MaskMode maskMode,
+      boolean inverted, int color, float strokeWidth, @Nullable int[] gradientColors,
+      @Nullable float[] gradientPositions, @Nullable float[] gradientPoints, float trimStart, float trimEnd,
+      float trimOffset, @Nullable float[] repeaterMatrices, @Nullable float[] repeaterOpacities,
+      @Nullable MergePathsMode mergePathsMode) {
+    this.name = name;
+    this.type = type;
+    this.matrix = matrix;
+    this.opacity = opacity;
+    this.contents = contents;
+    this.path = path;
+    this.closed = closed;
+    this.maskMode = maskMode;
+    this.inverted = inverted;
+    this.color = color;
+    this.strokeWidth = strokeWidth;
+    this.gradientColors = gradientColors;
+    this.gradientPositions = gradientPositions;
+    this.gradientPoints = gradientPoints;
+    this.trimStart = trimStart;
+    this.trimEnd = trimEnd;
+    this.trimOffset = trimOffset;
+    this.repeaterMatrices = repeaterMatrices;
+    this.repeaterOpacities = repeaterOpacities;
+    this.mergePathsMode = mergePathsMode;
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public static LottieContentValues group(String name, float[] matrix, float opacity,
+      List<LottieContentValues> contents) {
+    return new LottieContentValues(name, Type.GROUP, matrix, opacity, contents, null, false, null, false, 0, 0f, null,
+        null, null, 0f, 0f, 0f, null, null, null);
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public static LottieContentValues path(String name, float[] path, boolean closed) {
+    return new LottieContentValues(name, Type.PATH, null, 1f, Collections.<LottieContentValues>emptyList(), path,
+        closed, null, false, 0, 0f, null, null, null, 0f, 0f, 0f, null, null, null);
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public static LottieContentValues mask(MaskMode maskMode, float[] path, boolean closed, float opacity,
+      boolean inverted) {
+    return new LottieContentValues(maskMode.name(), Type.MASK, null, opacity,
+        Collections.<LottieContentValues>emptyList(), path, closed, maskMode, inverted, 0, 0f, null, null, null, 0f,
+        0f, 0f, null, null, null);
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public static LottieContentValues fill(String name, int color, float opacity) {
+    return new LottieContentValues(name, Type.FILL, null, opacity, Collections.<LottieContentValues>emptyList(), null,
+        false, null, false, color, 0f, null, null, null, 0f, 0f, 0f, null, null, null);
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public static LottieContentValues stroke(String name, int color, float opacity, float strokeWidth) {
+    return new LottieContentValues(name, Type.STROKE, null, opacity, Collections.<LottieContentValues>emptyList(),
+        null, false, null, false, color, strokeWidth, null, null, null, 0f, 0f, 0f, null, null, null);
+  }
+
+  /**
+   * @param strokeWidth ignored for gradient fills.
+   */
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public static LottieContentValues gradient(String name, boolean stroke, int[] colors, float[] positions,
+      float[] points, float opacity, float strokeWidth) {
+    return new LottieContentValues(name, stroke ? Type.GRADIENT_STROKE : Type.GRADIENT_FILL, null, opacity,
+        Collections.<LottieContentValues>emptyList(), null, false, null, false, 0, stroke ? strokeWidth : 0f, colors,
+        positions, points, 0f, 0f, 0f, null, null, null);
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public static LottieContentValues trimPath(String name, float start, float end, float offset) {
+    return new LottieContentValues(name, Type.TRIM_PATH, null, 1f, Collections.<LottieContentValues>emptyList(), null,
+        false, null, false, 0, 0f, null, null, null, start, end, offset, null, null, null);
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public static LottieContentValues repeater(String name, List<LottieContentValues> contents, float[] matrices,
+      float[] opacities) {
+    return new LottieContentValues(name, Type.REPEATER, null, 1f, contents, null, false, null, false, 0, 0f, null,
+        null, null, 0f, 0f, 0f, matrices, opacities, null);
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public static LottieContentValues mergePaths(String name, MergePathsMode mode, List<LottieContentValues> contents) {
+    return new LottieContentValues(name, Type.MERGE_PATHS, null, 1f, contents, null, false, null, false, 0, 0f, null,
+        null, null, 0f, 0f, 0f, null, null, mode);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * The 3x3 matrix of a group in the order of {@link android.graphics.Matrix#getValues(float[])}. It maps the
+   * coordinates of the contents of the group to the coordinates of the group that contains it.
+   */
+  @Nullable
+  public float[] getMatrix() {
+    return matrix;
+  }
+
+  /**
+   * The opacity of this content from 0 to 1. This doesn't include the opacity of its layer or groups.
+   */
+  public float getOpacity() {
+    return opacity;
+  }
+
+  /**
+   * The contents of a group, the contents that a repeater repeats or the paths that merge paths combine, in the order
+   * that they are in the composition.
+   */
+  public List<LottieContentValues> getContents() {
+    return contents;
+  }
+
+  /**
+   * The packed path. See {@link LottieContentValues}.
+   */
+  @Nullable
+  public float[] getPath() {
+    return path;
+  }
+
+  /**
+   * The number of cubic curves in {@link #getPath()}.
+   */
+  public int getCurveCount() {
+    return path == null ? 0 : (path.length - 2) / 6;
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * How a mask is combined with the masks before it. Null for other contents.
+   */
+  @Nullable
+  public MaskMode getMaskMode() {
+    return maskMode;
+  }
+
+  /**
+   * Whether a mask hides what is inside of its path rather than what is outside of it.
+   */
+  public boolean isInverted() {
+    return inverted;
+  }
+
+  @ColorInt
+  public int getColor() {
+    return color;
+  }
+
+  public float getStrokeWidth() {
+    return strokeWidth;
+  }
+
+  @Nullable
+  public int[] getGradientColors() {
+    return gradientColors;
+  }
+
+  @Nullable
+  public float[] getGradientPositions() {
+    return gradientPositions;
+  }
+
+  /**
+   * The start and end point of a gradient: {x0, y0, x1, y1}.
+   */
+  @Nullable
+  public float[] getGradientPoints() {
+    return gradientPoints;
+  }
+
+  /**
+   * The start of a trim path from 0 to 100.
+   */
+  public float getTrimStart() {
+    return trimStart;
+  }
+
+  /**
+   * The end of a trim path from 0 to 100.
+   */
+  public float getTrimEnd() {
+    return trimEnd;
+  }
+
+  /**
+   * The offset of a trim path in degrees.
+   */
+  public float getTrimOffset() {
+    return trimOffset;
+  }
+
+  /**
+   * The number of copies of a repeater.
+   */
+  public int getRepeaterCopies() {
+    return repeaterOpacities == null ? 0 : repeaterOpacities.length;
+  }
+
+  /**
+   * The 3x3 matrix of each copy of a repeater, one after the other, in the order of
+   * {@link android.graphics.Matrix#getValues(float[])}. Each maps the coordinates of the contents of the repeater to
+   * the coordinates of the group that contains it. {@link com.airbnb.lottie.LottieDrawable} draws the last copy first.
+   */
+  @Nullable
+  public float[] getRepeaterMatrices() {
+    return repeaterMatrices;
+  }
+
+  /**
+   * The opacity of each copy of a repeater from 0 to 1.
+   */
+  @Nullable
+  public float[] getRepeaterOpacities() {
+    return repeaterOpacities;
+  }
+
+  @Nullable
+  public MergePathsMode getMergePathsMode() {
+    return mergePathsMode;
+  }
+
+  @Override public String toString() {
+    return "LottieContentValues{" + "name=" + name + ", type=" + type + '}';
+  }
+}
@@ -0,0 +1,131 @@
+package com.airbnb.lottie.value;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import java.util.List;
+
+/**
+ * The values of a layer at one frame.
+ *
+ * @see com.airbnb.lottie.LottieFrameEvaluator
+ */
+public class LottieLayerValues {
+  private final String name;
+  private final long id;
+  private final boolean visible;
+  private final float[] matrix;
+  private final float opacity;
+  @ColorInt private final int solidColor;
+  @Nullable private final String text;
+  private final List<LottieContentValues> masks;
+  private final List<LottieContentValues> contents;
+  private final List<LottieLayerValues> layers;
+  @Nullable private final LottieLayerValues matte;
+  private final boolean matteInverted;
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public LottieLayerValues(String name, long id, boolean visible, float[] matrix, float opacity, int solidColor,
+      @Nullable String text, List<LottieContentValues> masks, List<LottieContentValues> contents,
+      List<LottieLayerValues> layers, @Nullable LottieLayerValues matte, boolean matteInverted) {
+    this.name = name;
+    this.id = id;
+    this.visible = visible;
+    this.matrix = matrix;
+    this.opacity = opacity;
+    this.solidColor = solidColor;
+    this.text = text;
+    this.masks = masks;
+    this.contents = contents;
+    this.layers = layers;
+    this.matte = matte;
+    this.matteInverted = matteInverted;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * Whether the layer is drawn at this frame. Layers are hidden outside of their in and out frames, when they are
+   * hidden in the composition or when the precomp that they are in is hidden.
+   */
+  public boolean isVisible() {
+    return visible;
+  }
+
+  /**
+   * The 3x3 matrix of the layer in the order of {@link android.graphics.Matrix#getValues(float[])}. It maps layer
+   * coordinates to composition coordinates and includes the layers that this layer is parented to and the precomps
+   * that it is in.
+   */
+  public float[] getMatrix() {
+    return matrix;
+  }
+
+  /**
+   * The opacity of the layer from 0 to 1 including the opacity of the precomps that it is in.
+   */
+  public float getOpacity() {
+    return opacity;
+  }
+
+  /**
+   * The color of a solid layer. 0 for other layers.
+   */
+  @ColorInt
+  public int getSolidColor() {
+    return solidColor;
+  }
+
+  /**
+   * The text of a text layer. Null for other layers.
+   */
+  @Nullable
+  public String getText() {
+    return text;
+  }
+
+  public List<LottieContentValues> getMasks() {
+    return masks;
+  }
+
+  /**
+   * The contents of a shape layer in the order that they are in the composition.
+   */
+  public List<LottieContentValues> getContents() {
+    return contents;
+  }
+
+  /**
+   * The layers of a precomp in the order that they are in the composition.
+   */
+  public List<LottieLayerValues> getLayers() {
+    return layers;
+  }
+
+  /**
+   * The layer whose alpha masks this layer. Mattes aren't drawn themselves so they are only returned here and not in
+   * the layers of their composition.
+   */
+  @Nullable
+  public LottieLayerValues getMatte() {
+    return matte;
+  }
+
+  /**
+   * Whether this layer is drawn where its matte is transparent rather than where it is opaque.
+   */
+  public boolean isMatteInverted() {
+    return matteInverted;
+  }
+
+  @Override public String toString() {
+    return "LottieLayerValues{" + "name=" + name + ", visible=" + visible + ", opacity=" + opacity + '}';
+  }
+}
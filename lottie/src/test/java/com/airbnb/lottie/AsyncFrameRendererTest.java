@@ -0,0 +1,120 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncFrameRendererTest extends BaseTest {
+  private final List<Float> renderedProgress = new ArrayList<>();
+  private final List<Runnable> tasks = new ArrayList<>();
+  private final AsyncFrameRenderer.Target target = new AsyncFrameRenderer.Target() {
+    @Override public void renderFrame(Canvas canvas, float progress, int width, int height) {
+      renderedProgress.add(progress);
+    }
+
+    @Override public void onFrameRendered() {
+    }
+  };
+  private final Executor executor = new Executor() {
+    @Override public void execute(Runnable command) {
+      tasks.add(command);
+    }
+  };
+
+  @Test
+  public void testRendersOnExecutor() {
+    AsyncFrameRenderer renderer = new AsyncFrameRenderer(target, executor);
+    renderer.setSize(10, 10);
+    Canvas canvas = new Canvas(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888));
+    assertFalse(renderer.draw(canvas, new Rect(0, 0, 10, 10), new Paint()));
+
+    renderer.requestFrame(0.5f);
+    assertEquals(1, tasks.size());
+    assertTrue(renderedProgress.isEmpty());
+    runTasks();
+    assertEquals(0.5f, renderedProgress.get(0), 0f);
+    assertTrue(renderer.draw(canvas, new Rect(0, 0, 10, 10), new Paint()));
+
+    // The frame is already rendered.
+    renderer.requestFrame(0.5f);
+    assertTrue(tasks.isEmpty());
+    renderer.invalidate();
+    renderer.requestFrame(0.5f);
+    assertEquals(1, tasks.size());
+  }
+
+  @Test
+  public void testSkipsFramesWhileRendering() {
+    AsyncFrameRenderer renderer = new AsyncFrameRenderer(target, executor);
+    renderer.setSize(10, 10);
+    renderer.requestFrame(0.1f);
+    renderer.requestFrame(0.2f);
+    renderer.requestFrame(0.3f);
+    renderer.requestFrame(0.4f);
+    // Only one render is in flight.
+    assertEquals(1, tasks.size());
+    runTasks();
+    // The task renders the latest request and the ones before it are skipped.
+    assertEquals(1, renderedProgress.size());
+    assertEquals(0.4f, renderedProgress.get(0), 0f);
+    assertEquals(3, renderer.getSkippedFrameCount());
+  }
+
+  @Test
+  public void testRecentlyDrawnBuffersAreNotRenderedInto() {
+    AsyncFrameRenderer renderer = new AsyncFrameRenderer(target, executor);
+    renderer.setSize(10, 10);
+    final List<Bitmap> drawn = new ArrayList<>();
+    Canvas canvas = new Canvas(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888)) {
+      @Override public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        drawn.add(bitmap);
+      }
+    };
+    for (int i = 0; i < 4; i++) {
+      renderer.requestFrame(i / 4f);
+      runTasks();
+      assertTrue(renderer.draw(canvas, new Rect(0, 0, 10, 10), new Paint()));
+    }
+
+    // The display list may still draw the last two frames so the third one gets a new bitmap.
+    assertNotSame(drawn.get(0), drawn.get(1));
+    assertNotSame(drawn.get(0), drawn.get(2));
+    assertNotSame(drawn.get(1), drawn.get(2));
+    // The first one hasn't been drawn for two frames.
+    assertSame(drawn.get(0), drawn.get(3));
+  }
+
+  @Test
+  public void testRelease() {
+    AsyncFrameRenderer renderer = new AsyncFrameRenderer(target, executor);
+    renderer.setSize(10, 10);
+    renderer.requestFrame(0.1f);
+    renderer.release();
+    renderer.requestFrame(0.2f);
+    runTasks();
+    assertTrue(renderedProgress.isEmpty());
+    Canvas canvas = new Canvas(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888));
+    assertFalse(renderer.draw(canvas, new Rect(0, 0, 10, 10), new Paint()));
+  }
+
+  private void runTasks() {
+    List<Runnable> tasks = new ArrayList<>(this.tasks);
+    this.tasks.clear();
+    for (Runnable task : tasks) {
+      task.run();
+    }
+  }
+}
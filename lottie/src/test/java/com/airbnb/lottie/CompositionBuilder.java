@@ -0,0 +1,328 @@
+package com.airbnb.lottie;
+
+import androidx.annotation.Nullable;
+
+import com.airbnb.lottie.parser.LottieCompositionMoshiParser;
+import com.airbnb.lottie.parser.moshi.JsonReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okio.Buffer;
+
+/**
+ * Builds the json of small compositions for tests.
+ * <pre>
+ *   LottieComposition composition = new CompositionBuilder()
+ *       .layer(CompositionBuilder.solid(1).position(CompositionBuilder.MOVING_POSITION))
+ *       .build();
+ * </pre>
+ * Compositions are 100x100 and 60 frames long at 60fps unless they are changed. Layers are 10x10 red solids or shapes
+ * that are visible for the whole composition with a static transform unless they are changed.
+ */
+public class CompositionBuilder {
+  public static final String STATIC_OPACITY = "{\"a\":0,\"k\":100}";
+  /**
+   * Fades linearly from 100 to 0 over 60 frames.
+   */
+  public static final String FADING_OPACITY = "{\"a\":1,\"k\":[{\"t\":0,\"s\":[100],\"o\":{\"x\":[0],\"y\":[0]}," +
+      "\"i\":{\"x\":[1],\"y\":[1]}},{\"t\":60,\"s\":[0]}]}";
+  public static final String STATIC_POSITION = "{\"a\":0,\"k\":[80,80,0]}";
+  /**
+   * Moves linearly from (0, 0) to (50, 0) over 60 frames.
+   */
+  public static final String MOVING_POSITION = "{\"a\":1,\"k\":[{\"t\":0,\"s\":[0,0,0],\"o\":{\"x\":0,\"y\":0}," +
+      "\"i\":{\"x\":1,\"y\":1}},{\"t\":60,\"s\":[50,0,0]}]}";
+  /**
+   * Rotates from 0 to 360 degrees over 60 frames.
+   */
+  public static final String SPINNING_ROTATION = "{\"a\":1,\"k\":[{\"i\":{\"x\":[0.833],\"y\":[0.833]}," +
+      "\"o\":{\"x\":[0.167],\"y\":[0.167]},\"t\":0,\"s\":[0]},{\"t\":60,\"s\":[360]}]}";
+
+  private final List<String> assets = new ArrayList<>();
+  private final List<String> layers = new ArrayList<>();
+  private int width = 100;
+  private int height = 100;
+  private int endFrame = 60;
+
+  public CompositionBuilder size(int width, int height) {
+    this.width = width;
+    this.height = height;
+    return this;
+  }
+
+  public CompositionBuilder endFrame(int endFrame) {
+    this.endFrame = endFrame;
+    return this;
+  }
+
+  public CompositionBuilder layer(LayerBuilder layer) {
+    layers.add(layer.toJson());
+    return this;
+  }
+
+  public CompositionBuilder layers(LayerBuilder... layers) {
+    for (LayerBuilder layer : layers) {
+      layer(layer);
+    }
+    return this;
+  }
+
+  /**
+   * Adds a precomp asset. Reference it with {@link #precomp(int, String)}.
+   */
+  public CompositionBuilder precompAsset(String id, LayerBuilder... layers) {
+    StringBuilder sb = new StringBuilder("{\"id\":\"").append(id).append("\",\"layers\":[");
+    for (int i = 0; i < layers.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(layers[i].toJson());
+    }
+    assets.add(sb.append("]}").toString());
+    return this;
+  }
+
+  /**
+   * Adds a 10x10 image asset. Reference it with {@link #image(int, String)}.
+   */
+  public CompositionBuilder imageAsset(String id) {
+    assets.add("{\"id\":\"" + id + "\",\"w\":10,\"h\":10,\"u\":\"images/\",\"p\":\"" + id + ".png\"}");
+    return this;
+  }
+
+  public String toJson() {
+    return "{\"v\":\"5.5.2\",\"fr\":60,\"ip\":0,\"op\":" + endFrame + ",\"w\":" + width + ",\"h\":" + height +
+        ",\"nm\":\"Comp\",\"ddd\":0,\"assets\":[" + join(assets) + "],\"layers\":[" + join(layers) + "]}";
+  }
+
+  public LottieComposition build() throws IOException {
+    return LottieCompositionMoshiParser.parse(JsonReader.of(new Buffer().writeUtf8(toJson())));
+  }
+
+  public static LayerBuilder solid(int index) {
+    return new LayerBuilder(index, 1, "Solid " + index, ",\"sw\":10,\"sh\":10,\"sc\":\"#ff0000\"");
+  }
+
+  /**
+   * A shape layer with {@code shapes}, which are created with {@link #rect(int, int)}, {@link #fill(int)},
+   * {@link #stroke(int)} and {@link #group(float, float, String...)}.
+   */
+  public static LayerBuilder shape(int index, String... shapes) {
+    return new LayerBuilder(index, 4, "Shape " + index, ",\"shapes\":[" + join(shapes) + "]");
+  }
+
+  public static LayerBuilder precomp(int index, String refId) {
+    return new LayerBuilder(index, 0, "Precomp " + index, ",\"refId\":\"" + refId + "\",\"w\":100,\"h\":100");
+  }
+
+  public static LayerBuilder image(int index, String refId) {
+    return new LayerBuilder(index, 2, "Image " + index, ",\"refId\":\"" + refId + "\"");
+  }
+
+  /**
+   * A rectangle centered at (0, 0).
+   */
+  public static String rect(int width, int height) {
+    return "{\"ty\":\"rc\",\"d\":1,\"s\":{\"a\":0,\"k\":[" + width + "," + height + "]},\"p\":{\"a\":0,\"k\":[0,0]}," +
+        "\"r\":{\"a\":0,\"k\":0},\"nm\":\"Rect\"}";
+  }
+
+  /**
+   * A red fill.
+   */
+  public static String fill(int opacity) {
+    return "{\"ty\":\"fl\",\"c\":{\"a\":0,\"k\":[1,0,0,1]},\"o\":{\"a\":0,\"k\":" + opacity + "},\"r\":1," +
+        "\"nm\":\"Fill\"}";
+  }
+
+  /**
+   * An opaque black stroke.
+   */
+  public static String stroke(int width) {
+    return "{\"ty\":\"st\",\"c\":{\"a\":0,\"k\":[0,0,0,1]},\"o\":{\"a\":0,\"k\":100},\"w\":{\"a\":0,\"k\":" + width +
+        "},\"lc\":1,\"lj\":1,\"nm\":\"Stroke\"}";
+  }
+
+  /**
+   * A group of {@code shapes} that is translated by (x, y).
+   */
+  public static String group(float x, float y, String... shapes) {
+    return "{\"ty\":\"gr\",\"it\":[" + join(shapes) + (shapes.length == 0 ? "" : ",") +
+        "{\"ty\":\"tr\",\"p\":{\"a\":0,\"k\":[" + x + "," + y + "]},\"a\":{\"a\":0,\"k\":[0,0]}," +
+        "\"s\":{\"a\":0,\"k\":[100,100]},\"r\":{\"a\":0,\"k\":0},\"o\":{\"a\":0,\"k\":100}}],\"nm\":\"Group\"}";
+  }
+
+  /**
+   * A repeater that moves each copy by (dx, 0) from the one before it and fades the copies from opaque to
+   * {@code endOpacity}.
+   */
+  public static String repeater(int copies, float dx, int endOpacity) {
+    return "{\"ty\":\"rp\",\"c\":{\"a\":0,\"k\":" + copies + "},\"o\":{\"a\":0,\"k\":0}," +
+        "\"tr\":{\"ty\":\"tr\",\"p\":{\"a\":0,\"k\":[" + dx + ",0]},\"a\":{\"a\":0,\"k\":[0,0]}," +
+        "\"s\":{\"a\":0,\"k\":[100,100]},\"r\":{\"a\":0,\"k\":0},\"so\":{\"a\":0,\"k\":100}," +
+        "\"eo\":{\"a\":0,\"k\":" + endOpacity + "}},\"nm\":\"Repeater\"}";
+  }
+
+  /**
+   * Merge paths with the mode of {@link com.airbnb.lottie.model.content.MergePaths.MergePathsMode#forId(int)}.
+   */
+  public static String mergePaths(int mode) {
+    return "{\"ty\":\"mm\",\"mm\":" + mode + ",\"nm\":\"Merge\"}";
+  }
+
+  /**
+   * A trim path that trims each path individually. Static values are created with {@link #value(float)} and animated
+   * ones with {@link #animated(float, float)}.
+   */
+  public static String trimPath(String start, String end, String offset) {
+    return "{\"ty\":\"tm\",\"s\":" + start + ",\"e\":" + end + ",\"o\":" + offset + ",\"m\":2,\"nm\":\"Trim\"}";
+  }
+
+  public static String value(float value) {
+    return "{\"a\":0,\"k\":" + value + "}";
+  }
+
+  /**
+   * Animates a number linearly from {@code from} to {@code to} over 60 frames.
+   */
+  public static String animated(float from, float to) {
+    return "{\"a\":1,\"k\":[{\"t\":0,\"s\":[" + from + "],\"o\":{\"x\":[0],\"y\":[0]}," +
+        "\"i\":{\"x\":[1],\"y\":[1]}},{\"t\":60,\"s\":[" + to + "]}]}";
+  }
+
+  private static String join(List<String> values) {
+    return join(values.toArray(new String[0]));
+  }
+
+  private static String join(String[] values) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(values[i]);
+    }
+    return sb.toString();
+  }
+
+  public static class LayerBuilder {
+    private final int index;
+    private final int type;
+    private final String typeJson;
+    private String name;
+    private String opacity = STATIC_OPACITY;
+    private String rotation = "{\"a\":0,\"k\":0}";
+    private String position = "{\"a\":0,\"k\":[0,0,0]}";
+    private String anchor = "{\"a\":0,\"k\":[0,0,0]}";
+    private float timeStretch = 1;
+    private int inFrame = 0;
+    private int outFrame = 60;
+    private int startFrame = 0;
+    @Nullable private Integer parent;
+    private int matteType = 0;
+    private boolean isMatte;
+    private final List<String> masks = new ArrayList<>();
+
+    private LayerBuilder(int index, int type, String name, String typeJson) {
+      this.index = index;
+      this.type = type;
+      this.name = name;
+      this.typeJson = typeJson;
+    }
+
+    public LayerBuilder name(String name) {
+      this.name = name;
+      return this;
+    }
+
+    public LayerBuilder opacity(String opacity) {
+      this.opacity = opacity;
+      return this;
+    }
+
+    public LayerBuilder opacity(int opacity) {
+      return opacity("{\"a\":0,\"k\":" + opacity + "}");
+    }
+
+    public LayerBuilder rotation(String rotation) {
+      this.rotation = rotation;
+      return this;
+    }
+
+    public LayerBuilder position(String position) {
+      this.position = position;
+      return this;
+    }
+
+    public LayerBuilder position(float x, float y) {
+      return position("{\"a\":0,\"k\":[" + x + "," + y + ",0]}");
+    }
+
+    public LayerBuilder anchor(float x, float y) {
+      anchor = "{\"a\":0,\"k\":[" + x + "," + y + ",0]}";
+      return this;
+    }
+
+    public LayerBuilder timeStretch(float timeStretch) {
+      this.timeStretch = timeStretch;
+      return this;
+    }
+
+    public LayerBuilder inOut(int inFrame, int outFrame) {
+      this.inFrame = inFrame;
+      this.outFrame = outFrame;
+      return this;
+    }
+
+    public LayerBuilder startFrame(int startFrame) {
+      this.startFrame = startFrame;
+      return this;
+    }
+
+    public LayerBuilder parent(int parent) {
+      this.parent = parent;
+      return this;
+    }
+
+    /**
+     * Uses the layer before it as an alpha matte (1) or an inverted alpha matte (2).
+     */
+    public LayerBuilder matteType(int matteType) {
+      this.matteType = matteType;
+      return this;
+    }
+
+    /**
+     * Marks this layer as the matte of the layer after it.
+     */
+    public LayerBuilder isMatte() {
+      isMatte = true;
+      return this;
+    }
+
+    /**
+     * Adds a rectangular mask from (left, top) to (right, bottom).
+     *
+     * @param mode "a" to add, "s" to subtract, "i" to intersect or "n" for none.
+     */
+    public LayerBuilder mask(String mode, boolean inverted, int left, int top, int right, int bottom) {
+      masks.add("{\"inv\":" + inverted + ",\"mode\":\"" + mode + "\",\"pt\":{\"a\":0,\"k\":{\"i\":[[0,0],[0,0],[0,0]," +
+          "[0,0]],\"o\":[[0,0],[0,0],[0,0],[0,0]],\"v\":[[" + left + "," + top + "],[" + right + "," + top + "],[" +
+          right + "," + bottom + "],[" + left + "," + bottom + "]],\"c\":true}},\"o\":{\"a\":0,\"k\":100}}");
+      return this;
+    }
+
+    public String toJson() {
+      return "{\"ddd\":0,\"ind\":" + index + ",\"ty\":" + type + ",\"nm\":\"" + name + "\",\"sr\":" + timeStretch +
+          (parent == null ? "" : ",\"parent\":" + parent) +
+          (matteType == 0 ? "" : ",\"tt\":" + matteType) +
+          (isMatte ? ",\"td\":1" : "") +
+          (masks.isEmpty() ? "" : ",\"hasMask\":true,\"masksProperties\":[" + join(masks) + "]") +
+          ",\"ks\":{\"o\":" + opacity + ",\"r\":" + rotation + ",\"p\":" + position + ",\"a\":" + anchor +
+          ",\"s\":{\"a\":0,\"k\":[100,100,100]}},\"ao\":0" + typeJson +
+          ",\"ip\":" + inFrame + ",\"op\":" + outFrame + ",\"st\":" + startFrame + ",\"bm\":0}";
+    }
+  }
+}
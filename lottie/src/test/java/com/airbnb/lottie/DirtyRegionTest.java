@@ -0,0 +1,73 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.RectF;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DirtyRegionTest extends BaseTest {
+  @Test
+  public void testOnlyChangedLayersAreDirty() throws IOException {
+    LottieDrawable drawable = createDrawable(new CompositionBuilder()
+        .layer(CompositionBuilder.solid(1).position(CompositionBuilder.MOVING_POSITION))
+        .layer(CompositionBuilder.solid(2).position(CompositionBuilder.STATIC_POSITION)));
+    drawable.setDirtyRegionTrackingEnabled(true);
+    Canvas canvas = new Canvas(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    drawable.setFrame(1);
+    // The first update includes every layer.
+    assertRect(0.833f, 0, 90, 90, drawable.getDirtyRegion());
+    drawable.draw(canvas);
+    assertTrue(drawable.getDirtyRegion().isEmpty());
+
+    drawable.setFrame(30);
+    // The moving layer before and after it moved.
+    assertRect(0.833f, 0, 35, 10, drawable.getDirtyRegion());
+    drawable.setFrame(36);
+    // Changes accumulate until the drawable is drawn.
+    assertRect(0.833f, 0, 40, 10, drawable.getDirtyRegion());
+  }
+
+  @Test
+  public void testStaticFrameIsNotDirty() throws IOException {
+    LottieDrawable drawable = createDrawable(new CompositionBuilder()
+        .layer(CompositionBuilder.solid(1).position(CompositionBuilder.STATIC_POSITION)));
+    drawable.setDirtyRegionTrackingEnabled(true);
+    Canvas canvas = new Canvas(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    drawable.setFrame(1);
+    drawable.draw(canvas);
+    drawable.setFrame(30);
+    assertTrue(drawable.getDirtyRegion().isEmpty());
+  }
+
+  @Test
+  public void testReuseUnchangedPixelsEnablesTracking() throws IOException {
+    LottieDrawable drawable = createDrawable(new CompositionBuilder()
+        .layer(CompositionBuilder.solid(1).position(CompositionBuilder.MOVING_POSITION)));
+    drawable.setReuseUnchangedPixelsEnabled(true);
+    assertTrue(drawable.isDirtyRegionTrackingEnabled());
+    Canvas canvas = new Canvas(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    drawable.draw(canvas);
+    drawable.setFrame(30);
+    drawable.draw(canvas);
+    assertTrue(drawable.getDirtyRegion().isEmpty());
+  }
+
+  private static void assertRect(float left, float top, float right, float bottom, RectF rect) {
+    assertEquals(left, rect.left, 0.01f);
+    assertEquals(top, rect.top, 0.01f);
+    assertEquals(right, rect.right, 0.01f);
+    assertEquals(bottom, rect.bottom, 0.01f);
+  }
+
+  private static LottieDrawable createDrawable(CompositionBuilder builder) throws IOException {
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(builder.build());
+    return drawable;
+  }
+}
@@ -0,0 +1,96 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+
+import com.airbnb.lottie.model.KeyPath;
+import com.airbnb.lottie.value.LottieFrameInfo;
+import com.airbnb.lottie.value.LottieValueCallback;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static com.airbnb.lottie.CompositionBuilder.FADING_OPACITY;
+import static com.airbnb.lottie.CompositionBuilder.MOVING_POSITION;
+import static com.airbnb.lottie.CompositionBuilder.STATIC_POSITION;
+import static com.airbnb.lottie.CompositionBuilder.solid;
+import static org.junit.Assert.assertEquals;
+
+public class FrameUpdateTest extends BaseTest {
+  @Test
+  public void testChangedValuesInvalidateOnce() throws IOException {
+    LottieDrawable drawable = createDrawable(new CompositionBuilder().layers(
+        solid(1).opacity(FADING_OPACITY).position(MOVING_POSITION),
+        solid(2).opacity(FADING_OPACITY).position(MOVING_POSITION)));
+    InvalidationCounter counter = new InvalidationCounter();
+    drawable.setCallback(counter);
+    Canvas canvas = new Canvas(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    drawable.setFrame(1);
+    drawable.draw(canvas);
+    counter.count = 0;
+
+    drawable.setFrame(30);
+    // Four values changed but the drawable is invalidated for the frame as a whole.
+    assertEquals(1, counter.count);
+  }
+
+  @Test
+  public void testUnchangedFrameIsNotInvalidated() throws IOException {
+    LottieDrawable drawable = createDrawable(new CompositionBuilder().layer(solid(1).position(STATIC_POSITION)));
+    InvalidationCounter counter = new InvalidationCounter();
+    drawable.setCallback(counter);
+    Canvas canvas = new Canvas(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    drawable.setFrame(1);
+    drawable.draw(canvas);
+    counter.count = 0;
+
+    int invalidationCount = drawable.getInvalidationCount();
+    drawable.setFrame(30);
+    assertEquals(invalidationCount, drawable.getInvalidationCount());
+    assertEquals(0, counter.count);
+  }
+
+  @Test
+  public void testAnimationsCreatedByValueCallbacksAreUpdated() throws IOException {
+    LottieDrawable drawable = createDrawable(new CompositionBuilder().layer(solid(1).position(STATIC_POSITION)));
+    Canvas canvas = new Canvas(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    drawable.setFrame(1);
+    drawable.draw(canvas);
+
+    // The layer has no rotation so the callback creates an animation for it.
+    final float[] overallProgress = new float[1];
+    drawable.addValueCallback(new KeyPath("**"), LottieProperty.TRANSFORM_ROTATION, new LottieValueCallback<Float>() {
+      @Override public Float getValue(LottieFrameInfo<Float> frameInfo) {
+        overallProgress[0] = frameInfo.getOverallProgress();
+        return 0f;
+      }
+    });
+    drawable.setFrame(30);
+    drawable.draw(canvas);
+    assertEquals(0.5f, overallProgress[0], 0.01f);
+  }
+
+  private static LottieDrawable createDrawable(CompositionBuilder builder) throws IOException {
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(builder.build());
+    return drawable;
+  }
+
+  private static final class InvalidationCounter implements Drawable.Callback {
+    private int count;
+
+    @Override public void invalidateDrawable(@NonNull Drawable who) {
+      count++;
+    }
+
+    @Override public void scheduleDrawable(@NonNull Drawable who, @NonNull Runnable what, long when) {
+    }
+
+    @Override public void unscheduleDrawable(@NonNull Drawable who, @NonNull Runnable what) {
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.airbnb.lottie;
+
+import android.view.animation.Interpolator;
+
+import androidx.collection.LongSparseArray;
+import androidx.collection.SparseArrayCompat;
+
+import com.airbnb.lottie.model.Font;
+import com.airbnb.lottie.model.FontCharacter;
+import com.airbnb.lottie.model.Marker;
+import com.airbnb.lottie.model.animatable.AnimatableColorValue;
+import com.airbnb.lottie.model.animatable.AnimatableFloatValue;
+import com.airbnb.lottie.model.animatable.AnimatableIntegerValue;
+import com.airbnb.lottie.model.animatable.AnimatableShapeValue;
+import com.airbnb.lottie.model.animatable.AnimatableTransform;
+import com.airbnb.lottie.model.content.ContentModel;
+import com.airbnb.lottie.model.content.Mask;
+import com.airbnb.lottie.model.content.ShapeData;
+import com.airbnb.lottie.model.content.ShapeFill;
+import com.airbnb.lottie.model.content.ShapeGroup;
+import com.airbnb.lottie.model.content.ShapePath;
+import com.airbnb.lottie.model.layer.Layer;
+import com.airbnb.lottie.value.Keyframe;
+import com.airbnb.lottie.value.LottieContentValues;
+import com.airbnb.lottie.value.LottieLayerValues;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs without Robolectric, where every android.graphics class is a stub that throws, so that creating an evaluator
+ * and evaluating frames can't create a native matrix, path, path measure, point or rect.
+ * <p>
+ * The parsers need the display density so the composition is built from its model instead.
+ */
+public class HeadlessFrameEvaluatorTest {
+  private static final Interpolator LINEAR = new Interpolator() {
+    @Override public float getInterpolation(float input) {
+      return input;
+    }
+  };
+
+  @Test
+  public void testShapeLayer() {
+    LottieComposition composition = new LottieComposition();
+    float[] points = {0, 0, 0, 0, 10, 0, 10, 0, 10, 0, 10, 10, 10, 10, 10, 10, 0, 10, 0, 10};
+    ShapePath square = new ShapePath("Square", 0, new AnimatableShapeValue(Collections.singletonList(
+        new Keyframe<>(new ShapeData(points, 3, true)))), false);
+    ShapeFill fill = new ShapeFill("Fill", true, null,
+        new AnimatableColorValue(Collections.singletonList(new Keyframe<>(0xFFFF0000))),
+        new AnimatableIntegerValue(Collections.singletonList(new Keyframe<>(100))), false);
+    ShapeGroup group = new ShapeGroup("Group", Arrays.<ContentModel>asList(square, fill), false);
+    AnimatableTransform transform = new AnimatableTransform(null, null, null,
+        new AnimatableFloatValue(Collections.singletonList(new Keyframe<>(90f))),
+        new AnimatableIntegerValue(Arrays.asList(
+            new Keyframe<>(composition, 100, 0, LINEAR, 0f, 60f),
+            new Keyframe<>(composition, 0, 0, LINEAR, 60f, null))),
+        null, null, null, null);
+    Layer layer = new Layer(Collections.<ContentModel>singletonList(group), composition, "Shape Layer 1", 1,
+        Layer.LayerType.SHAPE, -1, null, Collections.<Mask>emptyList(), transform, 0, 0, 0, 1f, 0f, 0, 0, null, null,
+        Collections.<Keyframe<Float>>emptyList(), Layer.MatteType.NONE, null, false);
+    LongSparseArray<Layer> layerMap = new LongSparseArray<>();
+    layerMap.put(layer.getId(), layer);
+    composition.init(0, 0, 100, 100, 0f, 60f, 60f, Collections.singletonList(layer), layerMap,
+        new HashMap<String, List<Layer>>(), new HashMap<String, LottieImageAsset>(),
+        new SparseArrayCompat<FontCharacter>(), new HashMap<String, Font>(),
+        Collections.<Marker>emptyList());
+
+    LottieLayerValues values = new LottieFrameEvaluator(composition).evaluateFrame(30).get(0);
+
+    assertEquals("Shape Layer 1", values.getName());
+    assertArrayEquals(new float[]{0f, -1f, 0f, 1f, 0f, 0f, 0f, 0f, 1f}, values.getMatrix(), 0.01f);
+    assertEquals(0.5f, values.getOpacity(), 0.01f);
+    LottieContentValues groupValues = values.getContents().get(0);
+    assertEquals(LottieContentValues.Type.GROUP, groupValues.getType());
+    LottieContentValues squareValues = groupValues.getContents().get(0);
+    assertEquals(LottieContentValues.Type.PATH, squareValues.getType());
+    assertEquals(3, squareValues.getCurveCount());
+    LottieContentValues fillValues = groupValues.getContents().get(1);
+    assertEquals(0xFFFF0000, fillValues.getColor());
+    assertEquals(1f, fillValues.getOpacity(), 0f);
+  }
+}
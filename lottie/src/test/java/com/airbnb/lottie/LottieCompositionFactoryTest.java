@@ -2,15 +2,24 @@ package com.airbnb.lottie;
 
 import com.airbnb.lottie.model.LottieCompositionCache;
 
+import com.airbnb.lottie.parser.LottieCompositionBinaryWriter;
+import com.airbnb.lottie.parser.moshi.JsonBinaryWriter;
 import com.airbnb.lottie.parser.moshi.JsonReader;
 import org.junit.Before;
 import org.junit.Test;
 import org.robolectric.RuntimeEnvironment;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import okio.Buffer;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
@@ -68,6 +77,52 @@ public class LottieCompositionFactoryTest extends BaseTest {
         assertNull(result.getValue());
     }
 
+    @Test
+    public void testLoadBinary() throws IOException {
+        LottieComposition json = LottieCompositionFactory.fromJsonStringSync(JSON, null).getValue();
+        Buffer binary = new Buffer();
+        LottieCompositionBinaryWriter.write(json, binary);
+        LottieResult<LottieComposition> result = LottieCompositionFactory.fromBinarySync(ByteBuffer.wrap(binary.readByteArray()), "binary");
+        assertNull(result.getException());
+        LottieComposition composition = result.getValue();
+        assertTrue(composition != json);
+        assertTrue(LottieCompositionCache.getInstance().get("binary") == composition);
+        assertEquals(json.getBounds(), composition.getBounds());
+        assertEquals(json.getEndFrame(), composition.getEndFrame());
+        assertEquals(json.toString(), composition.toString());
+    }
+
+    @Test
+    public void testBinaryNumbersKeepTheirLiterals() throws IOException {
+        Buffer binary = new Buffer();
+        JsonBinaryWriter.transcode(new Buffer().writeUtf8("[1e10,1.50,-0,0.5,7,123456789.123]"), binary);
+        JsonReader reader = JsonReader.ofBinary(ByteBuffer.wrap(binary.readByteArray()));
+        reader.beginArray();
+        assertEquals("1e10", reader.nextString());
+        assertEquals(1.5, reader.nextDouble());
+        assertEquals("-0", reader.nextString());
+        assertEquals("0.5", reader.nextString());
+        assertEquals(7, reader.nextInt());
+        assertEquals("123456789.123", reader.nextString());
+        reader.endArray();
+    }
+
+    @Test
+    public void testLoadInvalidBinary() {
+        LottieResult<LottieComposition> result = LottieCompositionFactory.fromBinarySync(ByteBuffer.wrap(JSON.getBytes()), null);
+        assertNotNull(result.getException());
+        assertNull(result.getValue());
+    }
+
+    @Test
+    public void testTokenizedJsonIsNotLoadedAsBinary() throws IOException {
+        Buffer tokens = new Buffer();
+        JsonBinaryWriter.transcode(new Buffer().writeUtf8(JSON), tokens);
+        LottieResult<LottieComposition> result = LottieCompositionFactory.fromBinarySync(ByteBuffer.wrap(tokens.readByteArray()), null);
+        assertNotNull(result.getException());
+        assertNull(result.getValue());
+    }
+
     @Test
     public void testLoadInvalidAssetName() {
         LottieResult<LottieComposition> result = LottieCompositionFactory.fromAssetSync(RuntimeEnvironment.application, "square2.json");
@@ -123,11 +178,43 @@ public class LottieCompositionFactoryTest extends BaseTest {
         assertFalse(taskFoo1 == taskFoo2);
     }
 
+    @Test
+    public void testLoadZipFile() throws IOException {
+        File file = writeZip(JSON);
+        LottieResult<LottieComposition> result = LottieCompositionFactory.fromZipFileSync(file, null);
+        assertNull(result.getException());
+        assertNotNull(result.getValue());
+        LottieResult<LottieComposition> fromFile = LottieCompositionFactory.fromFileSync(file, null);
+        assertNull(fromFile.getException());
+        assertEquals(result.getValue().toString(), fromFile.getValue().toString());
+    }
+
+    @Test
+    public void testLoadInvalidZipFile() throws IOException {
+        LottieResult<LottieComposition> result = LottieCompositionFactory.fromZipFileSync(writeZip(NOT_JSON), null);
+        assertNotNull(result.getException());
+        assertNull(result.getValue());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testCannotSetCacheSizeToZero() {
         LottieCompositionFactory.setMaxCacheSize(0);
     }
 
+    private static File writeZip(String json) throws IOException {
+        File file = File.createTempFile("animation", ".lottie");
+        file.deleteOnExit();
+        ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file));
+        zip.putNextEntry(new ZipEntry("manifest.json"));
+        zip.write("{}".getBytes("UTF-8"));
+        zip.closeEntry();
+        zip.putNextEntry(new ZipEntry("animations/animation.json"));
+        zip.write(json.getBytes("UTF-8"));
+        zip.closeEntry();
+        zip.close();
+        return file;
+    }
+
     private static InputStream getNeverCompletingInputStream() {
         return new InputStream() {
             @Override public int read() throws IOException {
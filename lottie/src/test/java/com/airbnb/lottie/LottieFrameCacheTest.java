@@ -0,0 +1,215 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+
+import androidx.collection.LongSparseArray;
+import androidx.collection.SparseArrayCompat;
+
+import com.airbnb.lottie.model.Font;
+import com.airbnb.lottie.model.FontCharacter;
+import com.airbnb.lottie.model.Marker;
+import com.airbnb.lottie.model.layer.Layer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class LottieFrameCacheTest extends BaseTest {
+  private static final int FRAME_BYTES = 10 * 10 * 4;
+  private static final Object OWNER = "owner";
+
+  @Test
+  public void testGetAndPut() {
+    LottieFrameCache cache = new LottieFrameCache(FRAME_BYTES * 2, LottieFrameCache.EvictionPolicy.LEAST_RECENTLY_USED);
+    assertNull(cache.get(OWNER, 0, 10, 10));
+    Bitmap bitmap = cache.obtain(10, 10);
+    assertNotNull(bitmap);
+    cache.put(OWNER, 0, 10, 10, bitmap);
+    assertSame(bitmap, cache.get(OWNER, 0, 10, 10));
+    assertNull(cache.get(OWNER, 0, 20, 20));
+    assertEquals(FRAME_BYTES, cache.sizeBytes());
+    assertEquals(1, cache.hitCount());
+    assertEquals(2, cache.missCount());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEviction() {
+    LottieFrameCache cache = new LottieFrameCache(FRAME_BYTES * 2, LottieFrameCache.EvictionPolicy.LEAST_RECENTLY_USED);
+    Bitmap first = put(cache, 0);
+    put(cache, 1);
+    cache.get(OWNER, 1, 10, 10);
+    // Frame 0 is the least recently used. Its bitmap is left untouched since it may still be drawn.
+    assertNotSame(first, put(cache, 2));
+    assertFalse(first.isRecycled());
+    assertNull(cache.get(OWNER, 0, 10, 10));
+    assertNotNull(cache.get(OWNER, 1, 10, 10));
+    assertNotNull(cache.get(OWNER, 2, 10, 10));
+    assertEquals(1, cache.evictionCount());
+    assertEquals(FRAME_BYTES * 2, cache.sizeBytes());
+  }
+
+  @Test
+  public void testKeepExisting() {
+    LottieFrameCache cache = new LottieFrameCache(FRAME_BYTES * 2, LottieFrameCache.EvictionPolicy.KEEP_EXISTING);
+    put(cache, 0);
+    put(cache, 1);
+    assertNull(cache.obtain(10, 10));
+    assertNotNull(cache.get(OWNER, 0, 10, 10));
+    assertNotNull(cache.get(OWNER, 1, 10, 10));
+    assertEquals(0, cache.evictionCount());
+  }
+
+  @Test
+  public void testFrameLargerThanCache() {
+    LottieFrameCache cache = new LottieFrameCache(FRAME_BYTES, LottieFrameCache.EvictionPolicy.LEAST_RECENTLY_USED);
+    assertNull(cache.obtain(20, 20));
+  }
+
+  @Test
+  public void testShrink() {
+    LottieFrameCache cache = new LottieFrameCache(FRAME_BYTES * 2, LottieFrameCache.EvictionPolicy.LEAST_RECENTLY_USED);
+    put(cache, 0);
+    put(cache, 1);
+    cache.setMaxSizeBytes(FRAME_BYTES);
+    assertEquals(1, cache.size());
+    assertNotNull(cache.get(OWNER, 1, 10, 10));
+  }
+
+  @Test
+  public void testReleaseRemovesFrames() {
+    LottieFrameCache cache = new LottieFrameCache();
+    cache.acquire(OWNER);
+    cache.acquire(OWNER);
+    Bitmap bitmap = put(cache, 0);
+    cache.release(OWNER);
+    assertEquals(1, cache.size());
+    cache.release(OWNER);
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.sizeBytes());
+    assertEquals(0, cache.ownerCount());
+    // A display list may still draw the bitmap.
+    assertFalse(bitmap.isRecycled());
+  }
+
+  @Test
+  public void testOtherOwnersBitmapsAreNotReused() {
+    LottieFrameCache cache = new LottieFrameCache(FRAME_BYTES, LottieFrameCache.EvictionPolicy.LEAST_RECENTLY_USED);
+    cache.acquire(OWNER);
+    Bitmap bitmap = put(cache, 0);
+    Bitmap other = cache.obtain(10, 10);
+    assertNotSame(bitmap, other);
+    cache.release(OWNER);
+    assertFalse(bitmap.isRecycled());
+  }
+
+  @Test
+  public void testDrawableCachesFrames() {
+    LottieDrawable drawable = createDrawable(createComposition());
+    LottieFrameCache cache = new LottieFrameCache();
+    drawable.setFrameCache(cache);
+    Canvas canvas = createCanvas();
+
+    drawable.draw(canvas);
+    drawable.draw(canvas);
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.hitCount());
+
+    drawable.setFrame(5);
+    drawable.draw(canvas);
+    assertEquals(2, cache.size());
+    drawable.setFrame(0);
+    drawable.draw(canvas);
+    assertEquals(2, cache.hitCount());
+
+    drawable.setRenderMode(RenderMode.AUTOMATIC);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testDrawablesShareFrames() {
+    LottieComposition composition = createComposition();
+    LottieFrameCache cache = new LottieFrameCache();
+    LottieDrawable first = createDrawable(composition);
+    LottieDrawable second = createDrawable(composition);
+    LottieDrawable other = createDrawable(createComposition());
+    first.setFrameCache(cache);
+    second.setFrameCache(cache);
+    other.setFrameCache(cache);
+    Canvas canvas = createCanvas();
+
+    first.draw(canvas);
+    second.draw(canvas);
+    other.draw(canvas);
+    assertEquals(2, cache.size());
+    assertEquals(2, cache.ownerCount());
+    assertEquals(1, cache.hitCount());
+
+    first.releaseFrameCache();
+    assertEquals(2, cache.size());
+    second.releaseFrameCache();
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.ownerCount());
+  }
+
+  @Test
+  public void testDynamicPropertiesArentShared() {
+    LottieComposition composition = createComposition();
+    LottieFrameCache cache = new LottieFrameCache();
+    LottieDrawable first = createDrawable(composition);
+    LottieDrawable second = createDrawable(composition);
+    first.setFrameCache(cache);
+    second.setFrameCache(cache);
+    second.setTextDelegate(new TextDelegate(second));
+    Canvas canvas = createCanvas();
+
+    first.draw(canvas);
+    second.draw(canvas);
+    assertEquals(2, cache.size());
+
+    first.setFrameCacheVariant("variant");
+    second.setFrameCacheVariant("variant");
+    first.draw(canvas);
+    second.draw(canvas);
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.ownerCount());
+  }
+
+  private static LottieComposition createComposition() {
+    LottieComposition composition = new LottieComposition();
+    composition.init(new Rect(0, 0, 10, 10), 0, 10, 30, new ArrayList<Layer>(),
+        new LongSparseArray<Layer>(0), new HashMap<String, List<Layer>>(0),
+        new HashMap<String, LottieImageAsset>(0), new SparseArrayCompat<FontCharacter>(0),
+        new HashMap<String, Font>(0), new ArrayList<Marker>());
+    return composition;
+  }
+
+  private static LottieDrawable createDrawable(LottieComposition composition) {
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(composition);
+    drawable.setRenderMode(RenderMode.FRAME_CACHED);
+    drawable.setBounds(0, 0, 10, 10);
+    return drawable;
+  }
+
+  private static Canvas createCanvas() {
+    return new Canvas(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888));
+  }
+
+  private static Bitmap put(LottieFrameCache cache, int frame) {
+    Bitmap bitmap = cache.obtain(10, 10);
+    assertNotNull(bitmap);
+    cache.put(OWNER, frame, 10, 10, bitmap);
+    return bitmap;
+  }
+}
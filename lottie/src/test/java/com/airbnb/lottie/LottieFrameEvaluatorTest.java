@@ -0,0 +1,196 @@
+package com.airbnb.lottie;
+
+import android.graphics.PointF;
+
+import com.airbnb.lottie.model.KeyPath;
+import com.airbnb.lottie.value.LottieContentValues;
+import com.airbnb.lottie.value.LottieLayerValues;
+import com.airbnb.lottie.value.LottieValueCallback;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.airbnb.lottie.CompositionBuilder.FADING_OPACITY;
+import static com.airbnb.lottie.CompositionBuilder.MOVING_POSITION;
+import static com.airbnb.lottie.CompositionBuilder.STATIC_POSITION;
+import static com.airbnb.lottie.CompositionBuilder.fill;
+import static com.airbnb.lottie.CompositionBuilder.group;
+import static com.airbnb.lottie.CompositionBuilder.mergePaths;
+import static com.airbnb.lottie.CompositionBuilder.precomp;
+import static com.airbnb.lottie.CompositionBuilder.rect;
+import static com.airbnb.lottie.CompositionBuilder.repeater;
+import static com.airbnb.lottie.CompositionBuilder.shape;
+import static com.airbnb.lottie.CompositionBuilder.solid;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LottieFrameEvaluatorTest extends BaseTest {
+  @Test
+  public void testLayerTransform() throws IOException {
+    LottieFrameEvaluator evaluator = createEvaluator(new CompositionBuilder()
+        .layer(solid(1).opacity(FADING_OPACITY).position(MOVING_POSITION)));
+
+    LottieLayerValues layer = evaluator.evaluateFrame(30).get(0);
+    assertEquals("Solid 1", layer.getName());
+    assertEquals(25f, layer.getMatrix()[2], 0.01f);
+    assertEquals(0f, layer.getMatrix()[5], 0.01f);
+    assertEquals(0.5f, layer.getOpacity(), 0.01f);
+    assertEquals(0xFFFF0000, layer.getSolidColor());
+
+    layer = evaluator.evaluateFrame(60).get(0);
+    assertEquals(50f, layer.getMatrix()[2], 0.01f);
+    assertEquals(0f, layer.getOpacity(), 0.01f);
+  }
+
+  @Test
+  public void testMatrixOfRotatedLayer() throws IOException {
+    LottieFrameEvaluator evaluator = createEvaluator(new CompositionBuilder()
+        .layer(solid(1).rotation("{\"a\":0,\"k\":90}").position(50, 50).anchor(5, 5)));
+
+    // Rotated by 90 degrees around the anchor point which is moved to the position.
+    assertArrayEquals(new float[]{0f, -1f, 55f, 1f, 0f, 45f, 0f, 0f, 1f},
+        evaluator.evaluateFrame(0).get(0).getMatrix(), 0.01f);
+  }
+
+  @Test
+  public void testVisibilityFollowsInAndOutFrames() throws IOException {
+    LottieFrameEvaluator evaluator = createEvaluator(new CompositionBuilder()
+        .layer(solid(1).position(STATIC_POSITION).inOut(10, 20)));
+
+    assertFalse(evaluator.evaluateFrame(5).get(0).isVisible());
+    assertTrue(evaluator.evaluateFrame(15).get(0).isVisible());
+    assertFalse(evaluator.evaluateFrame(25).get(0).isVisible());
+  }
+
+  @Test
+  public void testInAndOutFramesAreStretchedOnce() throws IOException {
+    LottieFrameEvaluator evaluator = createEvaluator(new CompositionBuilder()
+        .layer(solid(1).position(STATIC_POSITION).inOut(10, 20).timeStretch(2)));
+
+    // The in and out frames are in composition time so stretching the layer doesn't move them.
+    assertFalse(evaluator.evaluateFrame(5).get(0).isVisible());
+    assertTrue(evaluator.evaluateFrame(15).get(0).isVisible());
+    assertFalse(evaluator.evaluateFrame(25).get(0).isVisible());
+  }
+
+  @Test
+  public void testShapeContents() throws IOException {
+    LottieFrameEvaluator evaluator = createEvaluator(new CompositionBuilder()
+        .layer(shape(1, group(50, 40, rect(20, 10), fill(50)))));
+
+    List<LottieContentValues> contents = evaluator.evaluateFrame(0).get(0).getContents();
+    assertEquals(1, contents.size());
+    LottieContentValues group = contents.get(0);
+    assertEquals(LottieContentValues.Type.GROUP, group.getType());
+    assertEquals(50f, group.getMatrix()[2], 0.01f);
+    assertEquals(40f, group.getMatrix()[5], 0.01f);
+    assertEquals(2, group.getContents().size());
+
+    LottieContentValues rect = group.getContents().get(0);
+    assertEquals(LottieContentValues.Type.PATH, rect.getType());
+    assertTrue(rect.isClosed());
+    assertEquals(4, rect.getCurveCount());
+    float[] path = rect.getPath();
+    assertArrayEquals(new float[]{10f, -5f}, new float[]{path[0], path[1]}, 0.01f);
+    assertArrayEquals(new float[]{-10f, 5f}, new float[]{path[12], path[13]}, 0.01f);
+
+    LottieContentValues fill = group.getContents().get(1);
+    assertEquals(LottieContentValues.Type.FILL, fill.getType());
+    assertEquals(0xFFFF0000, fill.getColor());
+    assertEquals(0.5f, fill.getOpacity(), 0.01f);
+  }
+
+  @Test
+  public void testRepeaterTakesContentsBeforeIt() throws IOException {
+    LottieFrameEvaluator evaluator = createEvaluator(new CompositionBuilder()
+        .layer(shape(1, rect(20, 10), repeater(3, 10, 40), fill(100))));
+
+    List<LottieContentValues> contents = evaluator.evaluateFrame(0).get(0).getContents();
+    assertEquals(2, contents.size());
+    LottieContentValues repeater = contents.get(0);
+    assertEquals(LottieContentValues.Type.REPEATER, repeater.getType());
+    assertEquals(1, repeater.getContents().size());
+    assertEquals(LottieContentValues.Type.PATH, repeater.getContents().get(0).getType());
+    assertEquals(3, repeater.getRepeaterCopies());
+    float[] matrices = repeater.getRepeaterMatrices();
+    assertEquals(0f, matrices[2], 0.01f);
+    assertEquals(10f, matrices[9 + 2], 0.01f);
+    assertEquals(20f, matrices[18 + 2], 0.01f);
+    assertArrayEquals(new float[]{1f, 0.8f, 0.6f}, repeater.getRepeaterOpacities(), 0.01f);
+    assertEquals(LottieContentValues.Type.FILL, contents.get(1).getType());
+  }
+
+  @Test
+  public void testMergePathsTakePathsBeforeThem() throws IOException {
+    LottieFrameEvaluator evaluator = createEvaluator(new CompositionBuilder()
+        .layer(shape(1, rect(20, 10), fill(100), rect(10, 10), mergePaths(3))));
+
+    List<LottieContentValues> contents = evaluator.evaluateFrame(0).get(0).getContents();
+    assertEquals(2, contents.size());
+    // The fill isn't a path so it stays where it is.
+    assertEquals(LottieContentValues.Type.FILL, contents.get(0).getType());
+    LottieContentValues mergePaths = contents.get(1);
+    assertEquals(LottieContentValues.Type.MERGE_PATHS, mergePaths.getType());
+    assertEquals(LottieContentValues.MergePathsMode.SUBTRACT, mergePaths.getMergePathsMode());
+    assertEquals(2, mergePaths.getContents().size());
+  }
+
+  @Test
+  public void testValueCallbacks() throws IOException {
+    LottieFrameEvaluator evaluator = createEvaluator(new CompositionBuilder()
+        .layer(shape(1, group(50, 40, rect(20, 10), fill(50)))));
+
+    evaluator.addValueCallback(new KeyPath("Shape 1"), LottieProperty.TRANSFORM_OPACITY,
+        new LottieValueCallback<>(25));
+    evaluator.addValueCallback(new KeyPath("**", "Fill"), LottieProperty.COLOR,
+        new LottieValueCallback<>(0xFF00FF00));
+    evaluator.addValueCallback(new KeyPath("Shape 1", "Group", "Rect"), LottieProperty.RECTANGLE_SIZE,
+        new LottieValueCallback<>(new PointF(40, 40)));
+
+    LottieLayerValues layer = evaluator.evaluateFrame(0).get(0);
+    assertEquals(0.25f, layer.getOpacity(), 0.01f);
+    LottieContentValues group = layer.getContents().get(0);
+    assertEquals(20f, group.getContents().get(0).getPath()[0], 0.01f);
+    assertEquals(0xFF00FF00, group.getContents().get(1).getColor());
+  }
+
+  @Test
+  public void testPrecompLayers() throws IOException {
+    LottieFrameEvaluator evaluator = createEvaluator(new CompositionBuilder()
+        .precompAsset("comp_0", solid(1).position(STATIC_POSITION))
+        .layer(precomp(1, "comp_0").opacity(50).position(10, 10)));
+
+    LottieLayerValues precomp = evaluator.evaluateFrame(30).get(0);
+    assertNull(precomp.getText());
+    assertEquals(1, precomp.getLayers().size());
+    LottieLayerValues child = precomp.getLayers().get(0);
+    assertEquals(90f, child.getMatrix()[2], 0.01f);
+    assertEquals(90f, child.getMatrix()[5], 0.01f);
+    assertEquals(0.5f, child.getOpacity(), 0.01f);
+    assertTrue(child.isVisible());
+  }
+
+  @Test
+  public void testEvaluatorsShareComposition() throws IOException {
+    LottieComposition composition = new CompositionBuilder()
+        .layer(solid(1).opacity(FADING_OPACITY).position(MOVING_POSITION))
+        .build();
+    LottieFrameEvaluator first = new LottieFrameEvaluator(composition);
+    LottieFrameEvaluator second = new LottieFrameEvaluator(composition);
+
+    List<LottieLayerValues> firstLayers = first.evaluateFrame(15);
+    List<LottieLayerValues> secondLayers = second.evaluateFrame(45);
+    // The values of one frame aren't changed by evaluating another.
+    assertEquals(12.5f, firstLayers.get(0).getMatrix()[2], 0.01f);
+    assertEquals(37.5f, secondLayers.get(0).getMatrix()[2], 0.01f);
+  }
+
+  private static LottieFrameEvaluator createEvaluator(CompositionBuilder builder) throws IOException {
+    return new LottieFrameEvaluator(builder.build());
+  }
+}
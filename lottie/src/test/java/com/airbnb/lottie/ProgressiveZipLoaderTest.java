@@ -0,0 +1,150 @@
+package com.airbnb.lottie;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ProgressiveZipLoaderTest extends BaseTest {
+  /**
+   * image_0 is visible on the start frame and image_1 only after frame 30.
+   */
+  private static final String JSON = new CompositionBuilder()
+      .imageAsset("image_0")
+      .imageAsset("image_1")
+      .layer(CompositionBuilder.image(1, "image_0").inOut(0, 30))
+      .layer(CompositionBuilder.image(2, "image_1").inOut(30, 60))
+      .toJson();
+
+  private final List<Runnable> queuedTasks = new ArrayList<>();
+  private Executor executor;
+
+  @Before
+  public void setup() {
+    executor = LottieTask.EXECUTOR;
+    LottieTask.EXECUTOR = new Executor() {
+      @Override public void execute(Runnable command) {
+        queuedTasks.add(command);
+      }
+    };
+  }
+
+  @After
+  public void tearDown() {
+    LottieTask.EXECUTOR = executor;
+  }
+
+  @Test
+  public void testReturnsOnceTheStartFrameIsLoaded() throws IOException {
+    LottieComposition composition = load(zip("data.json", "images/image_0.png", "images/image_1.png")).getValue();
+
+    assertNotNull(composition);
+    assertFalse(composition.isFullyLoaded());
+    assertNotNull(composition.getImages().get("image_0").getBitmap());
+    assertNull(composition.getImages().get("image_1").getBitmap());
+  }
+
+  @Test
+  public void testLoadsTheRemainingImagesInATask() throws IOException {
+    final LottieComposition composition = load(zip("data.json", "images/image_0.png", "images/image_1.png")).getValue();
+    final List<LottieComposition> results = new ArrayList<>();
+    //noinspection ConstantConditions
+    composition.addFullyLoadedListener(new LottieListener<LottieComposition>() {
+      @Override public void onResult(LottieComposition result) {
+        results.add(result);
+      }
+    });
+    assertTrue(results.isEmpty());
+
+    runQueuedTasks();
+
+    assertTrue(composition.isFullyLoaded());
+    assertNotNull(composition.getImages().get("image_1").getBitmap());
+    assertEquals(1, results.size());
+    assertSame(composition, results.get(0));
+  }
+
+  @Test
+  public void testListenersAddedAfterLoadingAreCalledImmediately() throws IOException {
+    LottieComposition composition = load(zip("data.json", "images/image_0.png", "images/image_1.png")).getValue();
+    runQueuedTasks();
+
+    final List<LottieComposition> results = new ArrayList<>();
+    //noinspection ConstantConditions
+    composition.addFullyLoadedListener(new LottieListener<LottieComposition>() {
+      @Override public void onResult(LottieComposition result) {
+        results.add(result);
+      }
+    });
+    assertEquals(1, results.size());
+  }
+
+  @Test
+  public void testImagesBeforeTheJsonAreOnlyDecodedWhenNeeded() throws IOException {
+    LottieComposition composition = load(zip("images/image_0.png", "images/image_1.png", "data.json")).getValue();
+
+    assertNotNull(composition);
+    assertNotNull(composition.getImages().get("image_0").getBitmap());
+    assertNull(composition.getImages().get("image_1").getBitmap());
+
+    runQueuedTasks();
+    assertTrue(composition.isFullyLoaded());
+    assertNotNull(composition.getImages().get("image_1").getBitmap());
+  }
+
+  @Test
+  public void testMissingStartFrameImageFails() throws IOException {
+    LottieResult<LottieComposition> result = load(zip("data.json", "images/image_1.png"));
+
+    assertNull(result.getValue());
+    assertNotNull(result.getException());
+  }
+
+  private void runQueuedTasks() {
+    List<Runnable> tasks = new ArrayList<>(queuedTasks);
+    queuedTasks.clear();
+    for (Runnable task : tasks) {
+      task.run();
+    }
+    // Task listeners are posted to the main thread.
+    ShadowLooper.idleMainLooper();
+  }
+
+  private static LottieResult<LottieComposition> load(byte[] zip) {
+    return new ProgressiveZipLoader(new ZipInputStream(new ByteArrayInputStream(zip)), null).load();
+  }
+
+  private static byte[] zip(String... entryNames) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ZipOutputStream zip = new ZipOutputStream(out);
+    for (String entryName : entryNames) {
+      zip.putNextEntry(new ZipEntry(entryName));
+      if (entryName.endsWith(".json")) {
+        zip.write(JSON.getBytes());
+      } else {
+        // Robolectric decodes any bytes into a placeholder bitmap.
+        zip.write(new byte[]{1, 2, 3, 4});
+      }
+      zip.closeEntry();
+    }
+    zip.close();
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,130 @@
+package com.airbnb.lottie.animation.content;
+
+import android.graphics.Shader;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.model.content.GradientType;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GradientCacheTest extends BaseTest {
+  private static final float[] POSITIONS = {0f, 1f};
+  /**
+   * 2s, which is 120 frames at 60fps and 62 progress steps.
+   */
+  private static final float DURATION_MS = 2000f;
+  private static final int FRAMES = 120;
+
+  @Test
+  public void testSameValuesShareShader() {
+    GradientCache cache = new GradientCache(GradientType.LINEAR, DURATION_MS);
+    Shader shader = get(cache, 10f, new int[]{0xFF000000, 0xFFFFFFFF}, 0f, 0);
+    assertSame(shader, get(cache, 10f, new int[]{0xFF000000, 0xFFFFFFFF}, 0f, 0));
+    assertNotSame(shader, get(cache, 10.1f, new int[]{0xFF000000, 0xFFFFFFFF}, 0f, 0));
+  }
+
+  @Test
+  public void testColorsAreCopied() {
+    GradientCache cache = new GradientCache(GradientType.RADIAL, DURATION_MS);
+    int[] colors = {0xFF000000, 0xFFFFFFFF};
+    Shader shader = get(cache, 10f, colors, 0f, 0);
+    // Animations reuse their color arrays.
+    colors[0] = 0xFFFF0000;
+    assertNotSame(shader, get(cache, 10f, colors, 0f, 0));
+  }
+
+  @Test
+  public void testQuantizedValuesShareShader() {
+    GradientCache cache = new GradientCache(GradientType.LINEAR, DURATION_MS);
+    Shader shader = get(cache, 10.1f, new int[]{0xFF000000, 0xFFFFFFFF}, 0.5f, 4);
+    assertSame(shader, get(cache, 9.9f, new int[]{0xFF010000, 0xFFFFFFFF}, 0.5f, 4));
+    assertNotSame(shader, get(cache, 10.4f, new int[]{0xFF000000, 0xFFFFFFFF}, 0.5f, 4));
+  }
+
+  @Test
+  public void testQuantizeColor() {
+    assertEquals(0xFF000000, GradientCache.quantizeColor(0xFF010101, 4));
+    assertEquals(0xFFFFFFFF, GradientCache.quantizeColor(0xFFFEFEFE, 4));
+    assertEquals(0x80848484, GradientCache.quantizeColor(0x7F838383, 4));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedShaderIsReplaced() {
+    GradientCache cache = new GradientCache(GradientType.LINEAR, DURATION_MS);
+    int[] colors = {0xFF000000, 0xFFFFFFFF};
+    Shader first = get(cache, 0f, colors, 0f, 0);
+    Shader second = get(cache, 1f, colors, 0f, 0);
+    for (int i = 2; i < cache.getMaxSize(); i++) {
+      get(cache, i, colors, 0f, 0);
+    }
+    assertEquals(cache.getMaxSize(), cache.size());
+    // Use the first shader so that the second one is the least recently used.
+    assertSame(first, get(cache, 0f, colors, 0f, 0));
+    get(cache, cache.getMaxSize(), colors, 0f, 0);
+    assertEquals(cache.getMaxSize(), cache.size());
+    assertSame(first, get(cache, 0f, colors, 0f, 0));
+    assertNotSame(second, get(cache, 1f, colors, 0f, 0));
+  }
+
+  @Test
+  public void testLoopingGradientReusesShaders() {
+    GradientCache cache = new GradientCache(GradientType.LINEAR, DURATION_MS);
+    int[] colors = {0xFF000000, 0xFFFFFFFF};
+    Shader[] shaders = new Shader[FRAMES];
+    Set<Shader> created = new HashSet<>();
+    for (int frame = 0; frame < FRAMES; frame++) {
+      shaders[frame] = getAtFrame(cache, frame, colors);
+      created.add(shaders[frame]);
+    }
+    // Frames in the same progress step share a shader and every step fits in the cache.
+    assertTrue(created.size() < FRAMES);
+    assertTrue(created.size() <= cache.getMaxSize());
+
+    for (int loop = 0; loop < 2; loop++) {
+      for (int frame = 0; frame < FRAMES; frame++) {
+        assertSame(shaders[frame], getAtFrame(cache, frame, colors));
+      }
+    }
+  }
+
+  @Test
+  public void testProgressKeysRoundToSteps() {
+    GradientCache cache = new GradientCache(GradientType.LINEAR, DURATION_MS);
+    float step = 1f / 62;
+    assertEquals(cache.getProgressKey(0.5f, 0.5f, 0.5f), cache.getProgressKey(0.5f + step / 4, 0.5f, 0.5f));
+    assertNotEquals(cache.getProgressKey(0.5f, 0.5f, 0.5f), cache.getProgressKey(0.5f + step, 0.5f, 0.5f));
+    assertNotEquals(cache.getProgressKey(0.5f, 0.5f, 0f), cache.getProgressKey(0f, 0.5f, 0.5f));
+    assertNotEquals(cache.getProgressKey(0.5f, 0f, 0.5f), cache.getProgressKey(0.5f, 0.5f, 0f));
+  }
+
+  @Test
+  public void testSizeCoversTheProgressSteps() {
+    assertEquals(63, new GradientCache(GradientType.LINEAR, DURATION_MS).getMaxSize());
+    assertEquals(GradientCache.MIN_SIZE, new GradientCache(GradientType.LINEAR, 100f).getMaxSize());
+    assertEquals(GradientCache.MAX_SIZE, new GradientCache(GradientType.LINEAR, 60_000f).getMaxSize());
+  }
+
+  /**
+   * A gradient that moves and changes color every frame of a 120 frame loop.
+   */
+  private static Shader getAtFrame(GradientCache cache, int frame, int[] colors) {
+    float progress = frame / (float) (FRAMES - 1);
+    colors[0] = 0xFF000000 | frame;
+    long progressKey = cache.getProgressKey(progress, progress, progress);
+    return cache.getShader(progressKey, 0f, 0f, 10f + frame, 0f, colors, POSITIONS, 0f, 0, null);
+  }
+
+  private static Shader get(GradientCache cache, float x1, int[] colors, float pointTolerance, int colorTolerance) {
+    return cache.getShader(GradientCache.NO_PROGRESS_KEY, 0f, 0f, x1, 0f, colors, POSITIONS, pointTolerance,
+        colorTolerance, null);
+  }
+}
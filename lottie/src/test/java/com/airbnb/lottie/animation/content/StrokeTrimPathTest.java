@@ -0,0 +1,125 @@
+package com.airbnb.lottie.animation.content;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.CompositionBuilder;
+import com.airbnb.lottie.LottieDrawable;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.airbnb.lottie.CompositionBuilder.MOVING_POSITION;
+import static com.airbnb.lottie.CompositionBuilder.animated;
+import static com.airbnb.lottie.CompositionBuilder.rect;
+import static com.airbnb.lottie.CompositionBuilder.shape;
+import static com.airbnb.lottie.CompositionBuilder.stroke;
+import static com.airbnb.lottie.CompositionBuilder.trimPath;
+import static com.airbnb.lottie.CompositionBuilder.value;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Strokes with individual trim paths reuse their measured and trimmed paths between draws. Each test changes one of
+ * the inputs between two draws and compares the second one with a drawable that has never drawn before.
+ */
+public class StrokeTrimPathTest extends BaseTest {
+  /**
+   * A rectangle that grows from 40x40 to 80x80 over 60 frames.
+   */
+  private static final String GROWING_RECT = "{\"ty\":\"rc\",\"d\":1,\"s\":{\"a\":1,\"k\":[{\"t\":0,\"s\":[40,40]," +
+      "\"o\":{\"x\":0,\"y\":0},\"i\":{\"x\":1,\"y\":1}},{\"t\":60,\"s\":[80,80]}]},\"p\":{\"a\":0,\"k\":[0,0]}," +
+      "\"r\":{\"a\":0,\"k\":0},\"nm\":\"Rect\"}";
+  private static final String STATIC_TRIM = trimPath(value(0), value(25), value(0));
+
+  @Test
+  public void testPathChangeTrimsAgain() throws IOException {
+    assertRedrawnAfterChange(shape(1, GROWING_RECT, STATIC_TRIM, stroke(2)).position(50, 50));
+  }
+
+  @Test
+  public void testMatrixChangeTrimsAgain() throws IOException {
+    assertRedrawnAfterChange(shape(1, rect(40, 40), STATIC_TRIM, stroke(2)).position(MOVING_POSITION));
+  }
+
+  @Test
+  public void testTrimStartChangeTrimsAgain() throws IOException {
+    assertRedrawnAfterChange(
+        shape(1, rect(40, 40), trimPath(animated(0, 25), value(50), value(0)), stroke(2)).position(50, 50));
+  }
+
+  @Test
+  public void testTrimEndChangeTrimsAgain() throws IOException {
+    assertRedrawnAfterChange(
+        shape(1, rect(40, 40), trimPath(value(0), animated(25, 75), value(0)), stroke(2)).position(50, 50));
+  }
+
+  @Test
+  public void testTrimOffsetChangeTrimsAgain() throws IOException {
+    assertRedrawnAfterChange(
+        shape(1, rect(40, 40), trimPath(value(0), value(25), animated(0, 180)), stroke(2)).position(50, 50));
+  }
+
+  @Test
+  public void testUnchangedStrokeDrawsTheSameSegments() throws IOException {
+    LottieDrawable drawable = createDrawable(shape(1, rect(40, 40), STATIC_TRIM, stroke(2)).position(50, 50));
+    List<RectF> first = draw(drawable, 0f);
+    assertBoundsEqual(first, draw(drawable, 0.5f));
+  }
+
+  private static void assertRedrawnAfterChange(CompositionBuilder.LayerBuilder layer) throws IOException {
+    LottieDrawable drawable = createDrawable(layer);
+    List<RectF> before = draw(drawable, 0f);
+    List<RectF> after = draw(drawable, 0.5f);
+    assertFalse(before.equals(after));
+    assertBoundsEqual(draw(createDrawable(layer), 0.5f), after);
+  }
+
+  private static LottieDrawable createDrawable(CompositionBuilder.LayerBuilder layer) throws IOException {
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(new CompositionBuilder().layer(layer).build());
+    drawable.setBounds(0, 0, 100, 100);
+    return drawable;
+  }
+
+  private static List<RectF> draw(LottieDrawable drawable, float progress) {
+    drawable.setProgress(progress);
+    RecordingCanvas canvas = new RecordingCanvas();
+    drawable.draw(canvas);
+    return canvas.paths;
+  }
+
+  private static void assertBoundsEqual(List<RectF> expected, List<RectF> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).left, actual.get(i).left, 0.01f);
+      assertEquals(expected.get(i).top, actual.get(i).top, 0.01f);
+      assertEquals(expected.get(i).right, actual.get(i).right, 0.01f);
+      assertEquals(expected.get(i).bottom, actual.get(i).bottom, 0.01f);
+    }
+  }
+
+  /**
+   * Records the bounds of the paths drawn into it.
+   */
+  private static class RecordingCanvas extends Canvas {
+    final List<RectF> paths = new ArrayList<>();
+
+    RecordingCanvas() {
+      super(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    }
+
+    @Override public void drawPath(Path path, Paint paint) {
+      RectF bounds = new RectF();
+      path.computeBounds(bounds, true);
+      paths.add(bounds);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.airbnb.lottie.animation.keyframe;
+
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.CompositionBuilder;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.value.Keyframe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class KeyframeSearchTest extends BaseTest {
+  /**
+   * Baked motion capture exports have a keyframe on every frame.
+   */
+  private static final int KEYFRAMES = 5000;
+
+  private List<Keyframe<Float>> keyframes;
+
+  @Before
+  public void setUp() throws IOException {
+    LottieComposition composition = new CompositionBuilder().endFrame(KEYFRAMES).build();
+    Interpolator interpolator = new LinearInterpolator();
+    keyframes = new ArrayList<>(KEYFRAMES);
+    // The value of each frame is the frame.
+    for (int i = 0; i < KEYFRAMES; i++) {
+      keyframes.add(new Keyframe<>(composition, (float) i, (float) i + 1, interpolator, i, (float) i + 1));
+    }
+  }
+
+  @Test
+  public void testForward() {
+    FloatKeyframeAnimation animation = new FloatKeyframeAnimation(keyframes);
+    for (int i = 0; i <= KEYFRAMES * 2; i++) {
+      assertValue(animation, i / (KEYFRAMES * 2f));
+    }
+  }
+
+  @Test
+  public void testReverse() {
+    FloatKeyframeAnimation animation = new FloatKeyframeAnimation(keyframes);
+    for (int i = KEYFRAMES * 2; i >= 0; i--) {
+      assertValue(animation, i / (KEYFRAMES * 2f));
+    }
+  }
+
+  @Test
+  public void testRandomSeeks() {
+    FloatKeyframeAnimation animation = new FloatKeyframeAnimation(keyframes);
+    Random random = new Random(7);
+    for (int i = 0; i < 1000; i++) {
+      assertValue(animation, random.nextFloat());
+    }
+    assertValue(animation, 0f);
+    assertValue(animation, 1f);
+  }
+
+  @Test
+  public void testSearchingTheProgressOfATrack() {
+    FloatKeyframeAnimation animation = new FloatKeyframeAnimation(KeyframeTrack.forFloats(keyframes));
+    Random random = new Random(7);
+    for (int i = 0; i < 1000; i++) {
+      assertValue(animation, random.nextFloat());
+    }
+    for (int i = KEYFRAMES * 2; i >= 0; i--) {
+      assertValue(animation, i / (KEYFRAMES * 2f));
+    }
+  }
+
+  private static void assertValue(FloatKeyframeAnimation animation, float progress) {
+    animation.setProgress(progress);
+    assertEquals(progress * KEYFRAMES, animation.getFloatValue(), 0.01f);
+  }
+}
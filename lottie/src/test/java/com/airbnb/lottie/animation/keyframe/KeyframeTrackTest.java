@@ -0,0 +1,209 @@
+package com.airbnb.lottie.animation.keyframe;
+
+import android.graphics.PointF;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.CompositionBuilder;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.model.animatable.AnimatableFloatValue;
+import com.airbnb.lottie.value.Keyframe;
+import com.airbnb.lottie.value.LottieFrameInfo;
+import com.airbnb.lottie.value.LottieValueCallback;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class KeyframeTrackTest extends BaseTest {
+  private static final int STEPS = 120;
+
+  private final Interpolator linear = new LinearInterpolator();
+  private final Interpolator accelerate = new AccelerateInterpolator();
+  private LottieComposition composition;
+
+  @Before
+  public void setUp() throws IOException {
+    composition = new CompositionBuilder().build();
+  }
+
+  @Test
+  public void testFloatTrackMatchesKeyframes() {
+    List<Keyframe<Float>> keyframes = Arrays.asList(
+        new Keyframe<>(composition, 0f, 100f, linear, 0f, 20f),
+        new Keyframe<>(composition, 100f, 100f, null, 20f, 30f),
+        new Keyframe<>(composition, 100f, -50f, accelerate, 30f, 60f));
+    FloatKeyframeAnimation expected = new FloatKeyframeAnimation(keyframes);
+    FloatKeyframeAnimation actual = new FloatKeyframeAnimation(KeyframeTrack.forFloats(keyframes));
+    for (int i = 0; i <= STEPS; i++) {
+      expected.setProgress(i / (float) STEPS);
+      actual.setProgress(i / (float) STEPS);
+      assertEquals(expected.getFloatValue(), actual.getFloatValue(), 0.0001f);
+    }
+  }
+
+  @Test
+  public void testDiscreteFloatTrackMatchesKeyframes() {
+    List<Keyframe<Float>> keyframes = Arrays.asList(
+        new Keyframe<>(composition, 0f, 100f, linear, 0f, 30f),
+        new Keyframe<>(composition, 100f, 0f, linear, 30f, 60f));
+    FloatKeyframeAnimation expected = new FloatKeyframeAnimation(keyframes);
+    expected.setIsDiscrete();
+    FloatKeyframeAnimation actual = new FloatKeyframeAnimation(KeyframeTrack.forFloats(keyframes));
+    actual.setIsDiscrete();
+    for (int i = 0; i <= STEPS; i++) {
+      expected.setProgress(i / (float) STEPS);
+      actual.setProgress(i / (float) STEPS);
+      assertEquals(expected.getFloatValue(), actual.getFloatValue(), 0.0001f);
+    }
+  }
+
+  @Test
+  public void testColorTrackMatchesKeyframes() {
+    List<Keyframe<Integer>> keyframes = Arrays.asList(
+        new Keyframe<>(composition, 0xFFFF0000, 0xFF00FF00, accelerate, 0f, 30f),
+        new Keyframe<>(composition, 0xFF00FF00, 0x800000FF, linear, 30f, 60f));
+    ColorKeyframeAnimation expected = new ColorKeyframeAnimation(keyframes);
+    ColorKeyframeAnimation actual = new ColorKeyframeAnimation(KeyframeTrack.forIntegers(keyframes));
+    for (int i = 0; i <= STEPS; i++) {
+      expected.setProgress(i / (float) STEPS);
+      actual.setProgress(i / (float) STEPS);
+      assertEquals(expected.getIntValue(), actual.getIntValue());
+    }
+  }
+
+  @Test
+  public void testPointTrackMatchesKeyframes() {
+    List<Keyframe<PointF>> keyframes = Arrays.asList(
+        new Keyframe<>(composition, new PointF(0f, 10f), new PointF(50f, -10f), linear, 0f, 40f),
+        new Keyframe<>(composition, new PointF(50f, -10f), new PointF(20f, 20f), accelerate, 40f, 60f));
+    PointKeyframeAnimation expected = new PointKeyframeAnimation(keyframes);
+    PointKeyframeAnimation actual = new PointKeyframeAnimation(KeyframeTrack.forPoints(keyframes));
+    for (int i = 0; i <= STEPS; i++) {
+      expected.setProgress(i / (float) STEPS);
+      actual.setProgress(i / (float) STEPS);
+      PointF expectedPoint = expected.getValue();
+      PointF actualPoint = actual.getValue();
+      assertEquals(expectedPoint.x, actualPoint.x, 0.0001f);
+      assertEquals(expectedPoint.y, actualPoint.y, 0.0001f);
+    }
+  }
+
+  @Test
+  public void testValueCallbackOverridesTrack() {
+    List<Keyframe<Integer>> keyframes = Arrays.asList(
+        new Keyframe<>(composition, 0, 100, linear, 0f, 30f),
+        new Keyframe<>(composition, 100, 0, linear, 30f, 60f));
+    IntegerKeyframeAnimation animation = new IntegerKeyframeAnimation(KeyframeTrack.forIntegers(keyframes));
+    animation.setProgress(0.25f);
+    assertEquals(50, animation.getIntValue());
+    animation.setValueCallback(new LottieValueCallback<>(7));
+    assertEquals(7, animation.getIntValue());
+  }
+
+  /**
+   * Every animation of an animatable value, one per drawable, evaluates the same track at its own progress.
+   */
+  @Test
+  public void testAnimationsSharingATrackAreIndependent() {
+    AnimatableFloatValue rotation = new AnimatableFloatValue(Arrays.asList(
+        new Keyframe<>(composition, 0f, 90f, linear, 0f, 20f),
+        new Keyframe<>(composition, 90f, 360f, accelerate, 20f, 60f)));
+    FloatKeyframeAnimation first = (FloatKeyframeAnimation) rotation.createAnimation();
+    FloatKeyframeAnimation second = (FloatKeyframeAnimation) rotation.createAnimation();
+    FloatKeyframeAnimation expected = new FloatKeyframeAnimation(rotation.getKeyframes());
+    for (int i = 0; i <= STEPS; i++) {
+      first.setProgress(i / (float) STEPS);
+      second.setProgress(1f - i / (float) STEPS);
+      expected.setProgress(i / (float) STEPS);
+      assertEquals(expected.getFloatValue(), first.getFloatValue(), 0.0001f);
+    }
+    expected.setProgress(0f);
+    assertEquals(expected.getFloatValue(), second.getFloatValue(), 0.0001f);
+  }
+
+  @Test
+  public void testValueCallbackGetsKeyframeOfTrack() {
+    List<Keyframe<Float>> keyframes = Arrays.asList(
+        new Keyframe<>(composition, 0f, 100f, linear, 0f, 30f),
+        new Keyframe<>(composition, 100f, 50f, accelerate, 30f, 60f));
+    FloatKeyframeAnimation animation = new FloatKeyframeAnimation(KeyframeTrack.forFloats(keyframes));
+    final LottieFrameInfo<?>[] frameInfo = new LottieFrameInfo<?>[1];
+    animation.setValueCallback(new LottieValueCallback<Float>() {
+      @Override public Float getValue(LottieFrameInfo<Float> info) {
+        frameInfo[0] = info;
+        return null;
+      }
+    });
+    animation.setProgress(0.75f);
+    assertEquals(87.5f, animation.getFloatValue(), 0.01f);
+    assertEquals(30f, frameInfo[0].getStartFrame(), 0f);
+    assertEquals(60f, frameInfo[0].getEndFrame(), 0f);
+    assertEquals(100f, (Float) frameInfo[0].getStartValue(), 0f);
+    assertEquals(50f, (Float) frameInfo[0].getEndValue(), 0f);
+  }
+
+  @Test
+  public void testPointValueOfKeyframeArgument() {
+    List<Keyframe<PointF>> keyframes = Arrays.asList(
+        new Keyframe<>(composition, new PointF(0f, 0f), new PointF(10f, 10f), linear, 0f, 30f),
+        new Keyframe<>(composition, new PointF(10f, 10f), new PointF(20f, 0f), linear, 30f, 60f));
+    PointKeyframeAnimation animation = new PointKeyframeAnimation(KeyframeTrack.forPoints(keyframes));
+    animation.setProgress(0.75f);
+    // The value of the keyframe that is passed in rather than of the current keyframe of the track.
+    PointF point = animation.getValue(keyframes.get(0), 0.5f);
+    assertEquals(5f, point.x, 0f);
+    assertEquals(5f, point.y, 0f);
+  }
+
+  @Test
+  public void testKeyframesAreCreatedFromTrack() {
+    AnimatableFloatValue value = new AnimatableFloatValue(Arrays.asList(
+        new Keyframe<>(composition, 0f, 90f, linear, 0f, 20f),
+        new Keyframe<>(composition, 90f, 90f, null, 20f, null)));
+    assertNotNull(value.getTrack());
+    List<Keyframe<Float>> keyframes = value.getKeyframes();
+    assertEquals(2, keyframes.size());
+    assertEquals(90f, keyframes.get(0).endValue, 0f);
+    assertSame(linear, keyframes.get(0).interpolator);
+    assertEquals(20f, keyframes.get(0).endFrame, 0f);
+    assertNull(keyframes.get(1).interpolator);
+    assertNull(keyframes.get(1).endFrame);
+    assertEquals(1f, keyframes.get(1).getEndProgress(), 0f);
+  }
+
+  /**
+   * Baked motion capture has a keyframe per frame.
+   */
+  @Test
+  public void testStoresMoreKeyframesThanAShortCanIndex() {
+    int size = Short.MAX_VALUE + 10;
+    List<Keyframe<Float>> keyframes = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      keyframes.add(new Keyframe<>(composition, (float) i, (float) i + 1, linear, (float) i, (float) i + 1));
+    }
+    KeyframeTrack track = KeyframeTrack.forFloats(keyframes);
+    assertNotNull(track);
+    assertEquals(size, track.size());
+  }
+
+  @Test
+  public void testSplitInterpolatorsAreNotStored() {
+    List<Keyframe<PointF>> keyframes = Arrays.asList(
+        new Keyframe<>(composition, new PointF(), new PointF(1f, 1f), linear, accelerate, 0f, 60f));
+    assertNull(KeyframeTrack.forPoints(keyframes));
+    assertNotNull(KeyframeTrack.forPoints(Arrays.asList(
+        new Keyframe<>(composition, new PointF(), new PointF(1f, 1f), linear, 0f, 60f))));
+  }
+}
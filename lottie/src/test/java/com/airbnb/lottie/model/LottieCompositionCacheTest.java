@@ -14,6 +14,9 @@ import org.robolectric.annotation.Config;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.when;
+
+import android.content.ComponentCallbacks2;
 
 public class LottieCompositionCacheTest extends BaseTest  {
 
@@ -42,4 +45,29 @@ public class LottieCompositionCacheTest extends BaseTest  {
     cache.put("foo", composition);
     assertEquals(composition, cache.get("foo"));
   }
+
+  @Test
+  public void testSizedByBytes() {
+    LottieComposition large = Mockito.mock(LottieComposition.class);
+    when(composition.getEstimatedSizeBytes()).thenReturn(100L);
+    when(large.getEstimatedSizeBytes()).thenReturn(900L);
+    cache.resizeBytes(1000);
+    cache.put("foo", composition);
+    cache.put("bar", large);
+    assertEquals(1000, cache.size());
+
+    LottieComposition other = Mockito.mock(LottieComposition.class);
+    when(other.getEstimatedSizeBytes()).thenReturn(100L);
+    cache.put("baz", other);
+    assertNull(cache.get("foo"));
+    assertEquals(large, cache.get("bar"));
+    assertEquals(other, cache.get("baz"));
+  }
+
+  @Test
+  public void testTrimMemory() {
+    cache.put("foo", composition);
+    cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+    assertNull(cache.get("foo"));
+  }
 }
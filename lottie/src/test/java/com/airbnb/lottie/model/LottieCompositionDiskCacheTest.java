@@ -0,0 +1,179 @@
+package com.airbnb.lottie.model;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.L;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieCompositionFactory;
+import com.airbnb.lottie.LottieResult;
+import com.airbnb.lottie.parser.LottieCompositionBinaryReader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LottieCompositionDiskCacheTest extends BaseTest {
+  private static final String JSON = "{\"v\":\"5.5.2\",\"fr\":60,\"ip\":0,\"op\":60,\"w\":100,\"h\":100,\"layers\":[]}";
+  private static final Executor DIRECT = new Executor() {
+    @Override public void execute(Runnable command) {
+      command.run();
+    }
+  };
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private File dir;
+  private File json;
+
+  @Before
+  public void setup() throws IOException {
+    dir = folder.newFolder("compositions");
+    json = folder.newFile("animation.json");
+    write(json, JSON);
+  }
+
+  @After
+  public void tearDown() {
+    L.setCompositionDiskCache(null);
+  }
+
+  @Test
+  public void testMissThenHit() {
+    LottieCompositionDiskCache cache = new LottieCompositionDiskCache(dir, 1024 * 1024, DIRECT);
+    L.setCompositionDiskCache(cache);
+
+    assertNotNull(load().getValue());
+    assertEquals(0, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertTrue(LottieCompositionBinaryReader.hasHeader(cache.get(LottieCompositionDiskCache.keyForFile(json))));
+
+    LottieComposition composition = load().getValue();
+    assertNotNull(composition);
+    assertEquals(60f, composition.getEndFrame(), 0f);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+
+    cache.resetStats();
+    assertEquals(0, cache.getHitCount());
+    assertEquals(0, cache.getMissCount());
+  }
+
+  @Test
+  public void testChangedFileIsParsedAgain() throws IOException {
+    LottieCompositionDiskCache cache = new LottieCompositionDiskCache(dir, 1024 * 1024, DIRECT);
+    L.setCompositionDiskCache(cache);
+    assertNotNull(load().getValue());
+
+    write(json, JSON.replace("\"op\":60", "\"op\":120"));
+    assertTrue(json.setLastModified(json.lastModified() + 2000));
+
+    LottieComposition composition = load().getValue();
+    assertNotNull(composition);
+    assertEquals(120f, composition.getEndFrame(), 0f);
+    assertEquals(0, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+  }
+
+  @Test
+  public void testStreamsAreNotCached() {
+    LottieCompositionDiskCache cache = new LottieCompositionDiskCache(dir, 1024 * 1024, DIRECT);
+    L.setCompositionDiskCache(cache);
+
+    assertNotNull(LottieCompositionFactory.fromJsonInputStreamSync(new ByteArrayInputStream(JSON.getBytes()), null)
+        .getValue());
+    assertEquals(0, cache.getMissCount());
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() {
+    LottieCompositionDiskCache cache = new LottieCompositionDiskCache(dir, 10, DIRECT);
+    cache.put("a", new byte[4]);
+    cache.put("b", new byte[4]);
+    setLastModified("a", 1000);
+    setLastModified("b", 2000);
+
+    cache.put("c", new byte[4]);
+
+    assertNull(cache.get("a"));
+    assertNotNull(cache.get("b"));
+    assertNotNull(cache.get("c"));
+    assertEquals(8, cache.getSize());
+  }
+
+  @Test
+  public void testDoesNotStoreEntriesLargerThanTheCache() {
+    LottieCompositionDiskCache cache = new LottieCompositionDiskCache(dir, 10, DIRECT);
+    cache.put("a", new byte[11]);
+    assertNull(cache.get("a"));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testDeletesEntriesOfOtherVersions() throws IOException {
+    File stale = new File(dir, "a.v" + (LottieCompositionDiskCache.MODEL_VERSION - 1) + ".lottieb");
+    assertTrue(stale.createNewFile());
+
+    LottieCompositionDiskCache cache = new LottieCompositionDiskCache(dir, 1024, DIRECT);
+    assertEquals(0, cache.getSize());
+    assertFalse(stale.exists());
+  }
+
+  @Test
+  public void testReplacesCorruptEntries() {
+    LottieCompositionDiskCache cache = new LottieCompositionDiskCache(dir, 1024 * 1024, DIRECT);
+    L.setCompositionDiskCache(cache);
+    String key = LottieCompositionDiskCache.keyForFile(json);
+    cache.put(key, "corrupt".getBytes());
+
+    assertNotNull(load().getValue());
+    assertEquals(0, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertTrue(LottieCompositionBinaryReader.hasHeader(cache.get(key)));
+  }
+
+  @Test
+  public void testClear() {
+    LottieCompositionDiskCache cache = new LottieCompositionDiskCache(dir, 1024, DIRECT);
+    cache.put("a", new byte[4]);
+    cache.clear();
+    assertNull(cache.get("a"));
+    assertEquals(0, cache.getSize());
+  }
+
+  private LottieResult<LottieComposition> load() {
+    return LottieCompositionFactory.fromFileSync(json, null);
+  }
+
+  private static void write(File file, String contents) throws IOException {
+    OutputStream out = new FileOutputStream(file);
+    try {
+      out.write(contents.getBytes());
+    } finally {
+      out.close();
+    }
+  }
+
+  private void setLastModified(String key, long time) {
+    File[] files = dir.listFiles();
+    for (File file : files) {
+      if (file.getName().startsWith(key + ".")) {
+        assertTrue(file.setLastModified(time));
+      }
+    }
+  }
+}
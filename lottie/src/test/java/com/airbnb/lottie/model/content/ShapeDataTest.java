@@ -0,0 +1,100 @@
+package com.airbnb.lottie.model.content;
+
+import android.graphics.PointF;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.model.CubicCurveData;
+import com.airbnb.lottie.parser.ShapeDataParser;
+import com.airbnb.lottie.parser.moshi.JsonReader;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import okio.Buffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ShapeDataTest extends BaseTest {
+  private static final String TRIANGLE = "{\"c\":%b,\"v\":[[0,0],[10,0],[10,10]],\"i\":[[0,0],[-1,0],[0,-1]]," +
+      "\"o\":[[1,0],[0,1],[0,0]]}";
+
+  @Test
+  public void testParseOpenShape() throws IOException {
+    ShapeData shapeData = parse(String.format(TRIANGLE, false));
+    assertFalse(shapeData.isClosed());
+    assertEquals(2, shapeData.getCurveCount());
+    assertPoint(0, 0, shapeData.getInitialPoint());
+    List<CubicCurveData> curves = shapeData.getCurves();
+    assertEquals(2, curves.size());
+    assertPoint(1, 0, curves.get(0).getControlPoint1());
+    assertPoint(9, 0, curves.get(0).getControlPoint2());
+    assertPoint(10, 0, curves.get(0).getVertex());
+    assertPoint(10, 1, curves.get(1).getControlPoint1());
+    assertPoint(10, 9, curves.get(1).getControlPoint2());
+    assertPoint(10, 10, curves.get(1).getVertex());
+  }
+
+  @Test
+  public void testParseClosedShape() throws IOException {
+    ShapeData shapeData = parse(String.format(TRIANGLE, true));
+    assertTrue(shapeData.isClosed());
+    assertEquals(3, shapeData.getCurveCount());
+    // The closing curve goes back to the initial point.
+    assertPoint(0, 0, shapeData.getCurves().get(2).getVertex());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testCurvesAreUnmodifiable() throws IOException {
+    ShapeData shapeData = parse(String.format(TRIANGLE, true));
+    shapeData.getCurves().add(new CubicCurveData());
+  }
+
+  @Test
+  public void testChangingCopiesDoesNotChangeTheShape() throws IOException {
+    ShapeData shapeData = parse(String.format(TRIANGLE, true));
+    shapeData.getInitialPoint().set(5, 5);
+    shapeData.getCurves().get(0).setVertex(20, 20);
+    assertEquals(0f, shapeData.getPoints()[0], 0f);
+    assertEquals(10f, shapeData.getPoints()[6], 0f);
+  }
+
+  @Test
+  public void testPointsMatchCurves() throws IOException {
+    ShapeData shapeData = parse(String.format(TRIANGLE, true));
+    ShapeData copy = new ShapeData(shapeData.getInitialPoint(), shapeData.isClosed(), shapeData.getCurves());
+    assertEquals(shapeData.getCurveCount(), copy.getCurveCount());
+    for (int i = 0; i < 2 + shapeData.getCurveCount() * ShapeData.CURVE_LENGTH; i++) {
+      assertEquals(shapeData.getPoints()[i], copy.getPoints()[i], 0f);
+    }
+  }
+
+  @Test
+  public void testInterpolateBetween() {
+    ShapeData start = new ShapeData(new float[]{0, 0, 0, 0, 10, 10, 10, 10}, 1, false);
+    ShapeData end = new ShapeData(new float[]{10, 20, 10, 20, 30, 40, 30, 40}, 1, true);
+    ShapeData shapeData = new ShapeData();
+    shapeData.interpolateBetween(start, end, 0.5f);
+    assertTrue(shapeData.isClosed());
+    assertEquals(1, shapeData.getCurveCount());
+    assertPoint(5, 10, shapeData.getInitialPoint());
+    assertPoint(20, 25, shapeData.getCurves().get(0).getVertex());
+
+    // The copies are updated when the shape changes.
+    shapeData.interpolateBetween(start, end, 1f);
+    assertPoint(10, 20, shapeData.getInitialPoint());
+    assertPoint(30, 40, shapeData.getCurves().get(0).getVertex());
+  }
+
+  private static ShapeData parse(String json) throws IOException {
+    return ShapeDataParser.INSTANCE.parse(JsonReader.of(new Buffer().writeUtf8(json)), 1f);
+  }
+
+  private static void assertPoint(float x, float y, PointF point) {
+    assertEquals(x, point.x, 0.0001f);
+    assertEquals(y, point.y, 0.0001f);
+  }
+}
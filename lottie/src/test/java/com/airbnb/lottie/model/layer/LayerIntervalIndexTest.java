@@ -0,0 +1,104 @@
+package com.airbnb.lottie.model.layer;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.CompositionBuilder;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieDrawable;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class LayerIntervalIndexTest extends BaseTest {
+
+  @Test
+  public void testSequentialLayers() throws IOException {
+    LayerIntervalIndex index = new LayerIntervalIndex(createLayers(
+        CompositionBuilder.solid(1).inOut(0, 20),
+        CompositionBuilder.solid(2).inOut(20, 40),
+        CompositionBuilder.solid(3).inOut(40, 60)), null);
+    assertArrayEquals(new int[]{0}, index.activeLayers(10 / 60f));
+    assertArrayEquals(new int[]{1}, index.activeLayers(30 / 60f));
+    assertArrayEquals(new int[]{2}, index.activeLayers(50 / 60f));
+    // The ranges are padded so both layers are active where one ends and the next starts.
+    assertArrayEquals(new int[]{0, 1}, index.activeLayers(20 / 60f));
+    // Progress is clamped to the first and last keyframes of the in/out animation.
+    assertArrayEquals(new int[]{0}, index.activeLayers(-1f));
+  }
+
+  @Test
+  public void testOverlappingLayers() throws IOException {
+    LayerIntervalIndex index = new LayerIntervalIndex(createLayers(
+        CompositionBuilder.solid(1).inOut(0, 60),
+        CompositionBuilder.solid(2).inOut(10, 30),
+        CompositionBuilder.solid(3).inOut(20, 50)), null);
+    assertArrayEquals(new int[]{0}, index.activeLayers(5 / 60f));
+    assertArrayEquals(new int[]{0, 1}, index.activeLayers(15 / 60f));
+    assertArrayEquals(new int[]{0, 1, 2}, index.activeLayers(25 / 60f));
+    assertArrayEquals(new int[]{0, 2}, index.activeLayers(40 / 60f));
+    assertArrayEquals(new int[]{0}, index.activeLayers(55 / 60f));
+  }
+
+  @Test
+  public void testTimeStretch() throws IOException {
+    LayerIntervalIndex index = new LayerIntervalIndex(createLayers(
+        CompositionBuilder.solid(1).timeStretch(2).inOut(10, 20)), null);
+    // The in and out frames were divided by the time stretch once when they were parsed and the layer divides progress
+    // by it once so the layer is visible between frames 10 and 20 of its parent.
+    assertArrayEquals(new int[0], index.activeLayers(5 / 60f));
+    assertArrayEquals(new int[]{0}, index.activeLayers(15 / 60f));
+    assertArrayEquals(new int[0], index.activeLayers(30 / 60f));
+  }
+
+  @Test
+  public void testMatchesLayerVisibility() throws IOException {
+    float[] timeStretches = {0.5f, 1f, 2f, 3f};
+    for (float timeStretch : timeStretches) {
+      List<BaseLayer> layers = createLayers(CompositionBuilder.solid(1).timeStretch(timeStretch).inOut(10, 20));
+      LayerIntervalIndex index = new LayerIntervalIndex(layers, null);
+      BaseLayer layer = layers.get(0);
+      // Frames between whole frames are never within the padding of a boundary.
+      for (int i = 0; i < 60; i++) {
+        float progress = (i + 0.5f) / 60f;
+        layer.setProgress(progress);
+        boolean active = Arrays.binarySearch(index.activeLayers(progress), 0) >= 0;
+        assertEquals("sr " + timeStretch + " at frame " + (i + 0.5f), layer.isVisible(), active);
+      }
+    }
+  }
+
+  @Test
+  public void testAlwaysActive() throws IOException {
+    LayerIntervalIndex index = new LayerIntervalIndex(createLayers(
+        CompositionBuilder.solid(1).inOut(0, 20),
+        CompositionBuilder.solid(2).inOut(20, 40)), new boolean[]{true, false});
+    assertArrayEquals(new int[]{0, 1}, index.activeLayers(30 / 60f));
+    assertArrayEquals(new int[]{0}, index.activeLayers(10 / 60f));
+  }
+
+  @Test
+  public void testSegmentsAreSharedByEqualBoundaries() throws IOException {
+    LayerIntervalIndex index = new LayerIntervalIndex(createLayers(
+        CompositionBuilder.solid(1).inOut(10, 30),
+        CompositionBuilder.solid(2).inOut(10, 30)), null);
+    // Two boundaries split the progress range into three segments.
+    assertEquals(3, index.segmentCount());
+  }
+
+  private static List<BaseLayer> createLayers(CompositionBuilder.LayerBuilder... layers) throws IOException {
+    LottieComposition composition = new CompositionBuilder().layers(layers).build();
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(composition);
+    List<BaseLayer> baseLayers = new ArrayList<>();
+    for (Layer layer : composition.getLayers()) {
+      baseLayers.add(BaseLayer.forModel(layer, drawable, composition));
+    }
+    return baseLayers;
+  }
+}
@@ -0,0 +1,182 @@
+package com.airbnb.lottie.model.layer;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.CompositionBuilder;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieDrawable;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.airbnb.lottie.CompositionBuilder.fill;
+import static com.airbnb.lottie.CompositionBuilder.rect;
+import static com.airbnb.lottie.CompositionBuilder.shape;
+import static com.airbnb.lottie.CompositionBuilder.solid;
+import static com.airbnb.lottie.CompositionBuilder.stroke;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MatteClipTest extends BaseTest {
+  @Test
+  public void testOpaqueFillCanBeClipped() throws IOException {
+    BaseLayer layer = createLayer(shape(1, rect(50, 50), fill(100)).position(50, 50));
+    assertTrue(layer.getOpaqueMattePath(new Path(), new Matrix()));
+  }
+
+  @Test
+  public void testTranslucentFillIsDrawn() throws IOException {
+    BaseLayer layer = createLayer(shape(1, rect(50, 50), fill(50)).position(50, 50));
+    assertFalse(layer.getOpaqueMattePath(new Path(), new Matrix()));
+  }
+
+  @Test
+  public void testTranslucentLayerIsDrawn() throws IOException {
+    BaseLayer layer = createLayer(shape(1, rect(50, 50), fill(100)).position(50, 50).opacity(50));
+    assertFalse(layer.getOpaqueMattePath(new Path(), new Matrix()));
+  }
+
+  @Test
+  public void testStrokeIsDrawn() throws IOException {
+    BaseLayer layer = createLayer(shape(1, rect(50, 50), fill(100), stroke(2)).position(50, 50));
+    assertFalse(layer.getOpaqueMattePath(new Path(), new Matrix()));
+  }
+
+  @Test
+  public void testSolidLayerIsDrawn() throws IOException {
+    BaseLayer layer = createLayer(solid(1));
+    assertFalse(layer.getOpaqueMattePath(new Path(), new Matrix()));
+  }
+
+  @Test
+  public void testMaskUnionMatchesOffscreenBuffer() throws IOException {
+    LottieDrawable drawable = createDrawable(new CompositionBuilder()
+        .layer(solid(1).mask("a", false, 0, 0, 5, 5).mask("a", false, 3, 3, 8, 8)));
+
+    RecordingCanvas clipped = draw(drawable);
+    assertTrue(clipped.saveLayers.isEmpty());
+    assertEquals(1, clipped.clips.size());
+
+    drawable.setOutlineMasksAndMattes(true);
+    RecordingCanvas buffered = draw(drawable);
+    assertTrue(buffered.clips.isEmpty());
+    // The clip covers both masks and nothing else, the same as the buffer that they are applied to.
+    assertBounds(new RectF(0, 0, 8, 8), clipped.clips.get(0));
+    assertBounds(buffered.saveLayers.get(0), clipped.clips.get(0));
+  }
+
+  @Test
+  public void testAlphaMatteMatchesOffscreenBuffer() throws IOException {
+    LottieDrawable drawable = createDrawable(new CompositionBuilder()
+        .layer(shape(1, rect(50, 50), fill(100)).position(50, 50).isMatte())
+        .layer(shape(2, rect(100, 100), fill(100)).position(50, 50).matteType(1)));
+
+    RecordingCanvas clipped = draw(drawable);
+    assertTrue(clipped.saveLayers.isEmpty());
+    assertEquals(1, clipped.clips.size());
+    assertTrue(clipped.clipOuts.isEmpty());
+
+    drawable.setOutlineMasksAndMattes(true);
+    RecordingCanvas buffered = draw(drawable);
+    assertBounds(new RectF(25, 25, 75, 75), clipped.clips.get(0));
+    // The buffer is trimmed to the matte bounds which leave a pixel for anti-aliasing.
+    assertBounds(buffered.saveLayers.get(0), clipped.clips.get(0), 1f);
+  }
+
+  @Test
+  public void testInvertedMatteMatchesOffscreenBuffer() throws IOException {
+    LottieDrawable drawable = createDrawable(new CompositionBuilder()
+        .layer(shape(1, rect(50, 50), fill(100)).position(50, 50).isMatte())
+        .layer(shape(2, rect(100, 100), fill(100)).position(50, 50).matteType(2)));
+
+    RecordingCanvas clipped = draw(drawable);
+    assertTrue(clipped.saveLayers.isEmpty());
+    assertTrue(clipped.clips.isEmpty());
+    assertEquals(1, clipped.clipOuts.size());
+
+    drawable.setOutlineMasksAndMattes(true);
+    RecordingCanvas buffered = draw(drawable);
+    // Inverted mattes can't trim the buffer. The matte is drawn last and cuts out the clipped area.
+    assertBounds(new RectF(0, 0, 100, 100), buffered.saveLayers.get(0));
+    assertBounds(buffered.paths.get(buffered.paths.size() - 1), clipped.clipOuts.get(0));
+  }
+
+  private static BaseLayer createLayer(CompositionBuilder.LayerBuilder layer) throws IOException {
+    LottieComposition composition = new CompositionBuilder().layer(layer).build();
+    return BaseLayer.forModel(composition.getLayers().get(0), new LottieDrawable(), composition);
+  }
+
+  private static LottieDrawable createDrawable(CompositionBuilder builder) throws IOException {
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(builder.build());
+    drawable.setBounds(0, 0, 100, 100);
+    return drawable;
+  }
+
+  private static RecordingCanvas draw(LottieDrawable drawable) {
+    RecordingCanvas canvas = new RecordingCanvas();
+    drawable.draw(canvas);
+    return canvas;
+  }
+
+  private static void assertBounds(RectF expected, RectF actual) {
+    assertBounds(expected, actual, 0.01f);
+  }
+
+  private static void assertBounds(RectF expected, RectF actual, float tolerance) {
+    assertEquals(expected.left, actual.left, tolerance);
+    assertEquals(expected.top, actual.top, tolerance);
+    assertEquals(expected.right, actual.right, tolerance);
+    assertEquals(expected.bottom, actual.bottom, tolerance);
+  }
+
+  /**
+   * Records the bounds of the clips, offscreen buffers and paths. Robolectric doesn't rasterize so the clipped and
+   * buffered draws are compared by the areas that they affect.
+   */
+  private static class RecordingCanvas extends Canvas {
+    final List<RectF> clips = new ArrayList<>();
+    final List<RectF> clipOuts = new ArrayList<>();
+    final List<RectF> saveLayers = new ArrayList<>();
+    final List<RectF> paths = new ArrayList<>();
+
+    RecordingCanvas() {
+      super(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    }
+
+    @Override public boolean clipPath(Path path) {
+      clips.add(bounds(path));
+      return true;
+    }
+
+    @Override public boolean clipOutPath(Path path) {
+      clipOuts.add(bounds(path));
+      return true;
+    }
+
+    @Override public int saveLayer(RectF bounds, Paint paint) {
+      saveLayers.add(new RectF(bounds));
+      return super.saveLayer(bounds, paint);
+    }
+
+    @Override public void drawPath(Path path, Paint paint) {
+      paths.add(bounds(path));
+    }
+
+    private static RectF bounds(Path path) {
+      RectF bounds = new RectF();
+      path.computeBounds(bounds, true);
+      return bounds;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package com.airbnb.lottie.model.layer;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.CompositionBuilder;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieDrawable;
+import com.airbnb.lottie.LottieProperty;
+import com.airbnb.lottie.parser.LayerParser;
+import com.airbnb.lottie.value.LottieValueCallback;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StaticLayersTest extends BaseTest {
+
+  @Test
+  public void testStaticComposition() throws IOException {
+    CompositionLayer layer = createLayer(new CompositionBuilder()
+        .layer(CompositionBuilder.solid(1).position(CompositionBuilder.STATIC_POSITION))
+        .layer(CompositionBuilder.solid(2).position(CompositionBuilder.STATIC_POSITION)));
+    assertTrue(layer.isStatic());
+    assertTrue(layer.canDrawFromBitmap());
+  }
+
+  @Test
+  public void testAnimatedComposition() throws IOException {
+    CompositionLayer layer = createLayer(new CompositionBuilder()
+        .layer(CompositionBuilder.solid(1).position(CompositionBuilder.STATIC_POSITION))
+        .layer(CompositionBuilder.solid(2).position(CompositionBuilder.MOVING_POSITION)));
+    assertFalse(layer.isStatic());
+  }
+
+  @Test
+  public void testValueCallbackIsNotStatic() throws IOException {
+    CompositionLayer layer = createLayer(new CompositionBuilder()
+        .layer(CompositionBuilder.solid(1).position(CompositionBuilder.STATIC_POSITION)));
+    layer.addValueCallback(LottieProperty.TRANSFORM_OPACITY, new LottieValueCallback<>(50));
+    assertFalse(layer.isStatic());
+  }
+
+  @Test
+  public void testBitmapIsRenderedOnceTheMatrixIsStable() throws IOException {
+    CompositionLayer layer = createLayer(new CompositionBuilder()
+        .layer(CompositionBuilder.solid(1).position(CompositionBuilder.STATIC_POSITION)));
+    StaticLayerCache cache = new StaticLayerCache(layer);
+    Canvas canvas = new Canvas(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    Matrix matrix = new Matrix();
+
+    assertFalse(cache.draw(canvas, matrix, 255));
+    assertTrue(cache.draw(canvas, matrix, 255));
+    assertTrue(cache.draw(canvas, matrix, 255));
+
+    matrix.setScale(2f, 2f);
+    assertFalse(cache.draw(canvas, matrix, 255));
+    assertTrue(cache.draw(canvas, matrix, 255));
+    assertFalse(cache.draw(canvas, matrix, 128));
+  }
+
+  @Test
+  public void testLayerLargerThanCanvasIsDrawnDirectly() throws IOException {
+    CompositionLayer layer = createLayer(new CompositionBuilder()
+        .layer(CompositionBuilder.solid(1).position(CompositionBuilder.STATIC_POSITION)));
+    StaticLayerCache cache = new StaticLayerCache(layer);
+    Canvas canvas = new Canvas(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888));
+    Matrix matrix = new Matrix();
+    matrix.setScale(10f, 10f);
+
+    assertFalse(cache.draw(canvas, matrix, 255));
+    assertFalse(cache.draw(canvas, matrix, 255));
+  }
+
+  /**
+   * Robolectric doesn't rasterize so this compares where the cached bitmap is drawn with where the layer is drawn
+   * directly.
+   */
+  @Test
+  public void testCachedBitmapCoversTheDirectDraw() throws IOException {
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(new CompositionBuilder()
+        .layer(CompositionBuilder.solid(1).position(CompositionBuilder.STATIC_POSITION))
+        .build());
+    drawable.setBounds(0, 0, 100, 100);
+
+    RecordingCanvas direct = new RecordingCanvas();
+    drawable.draw(direct);
+    assertEquals(1, direct.paths.size());
+    assertTrue(direct.bitmaps.isEmpty());
+    RectF expected = direct.paths.get(0);
+
+    drawable.setStaticLayerCachingEnabled(true);
+    RecordingCanvas cached = new RecordingCanvas();
+    // The first draw waits for the matrix to be stable. The second one renders the bitmap.
+    drawable.draw(cached);
+    cached.paths.clear();
+    drawable.draw(cached);
+    assertTrue(cached.paths.isEmpty());
+    assertEquals(1, cached.bitmaps.size());
+    RectF bounds = cached.bitmapBounds.get(0);
+    Bitmap bitmap = cached.bitmaps.get(0);
+
+    // The bitmap leaves a pixel for anti-aliasing on each side.
+    assertEquals(expected.left - 1f, bounds.left, 0.01f);
+    assertEquals(expected.top - 1f, bounds.top, 0.01f);
+    assertEquals(expected.right + 1f, bounds.right, 0.01f);
+    assertEquals(expected.bottom + 1f, bounds.bottom, 0.01f);
+    // It is rendered at the resolution of the canvas so it isn't scaled when it is drawn.
+    assertEquals(bounds.width(), bitmap.getWidth(), 0.01f);
+    assertEquals(bounds.height(), bitmap.getHeight(), 0.01f);
+  }
+
+  private static CompositionLayer createLayer(CompositionBuilder builder) throws IOException {
+    LottieComposition composition = builder.build();
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(composition);
+    return new CompositionLayer(drawable, LayerParser.parse(composition), composition.getLayers(), composition);
+  }
+
+  /**
+   * Records the bounds of the paths and bitmaps drawn into it.
+   */
+  private static class RecordingCanvas extends Canvas {
+    final List<RectF> paths = new ArrayList<>();
+    final List<Bitmap> bitmaps = new ArrayList<>();
+    final List<RectF> bitmapBounds = new ArrayList<>();
+
+    RecordingCanvas() {
+      super(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    }
+
+    @Override public void drawPath(Path path, Paint paint) {
+      RectF bounds = new RectF();
+      path.computeBounds(bounds, true);
+      paths.add(bounds);
+    }
+
+    @Override public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+      bitmaps.add(bitmap);
+      bitmapBounds.add(new RectF(dst));
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.airbnb.lottie.model.layer;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.CompositionBuilder;
+import com.airbnb.lottie.LottieComposition;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class VisibleImageAssetsTest extends BaseTest {
+
+  @Test
+  public void testRootImages() throws IOException {
+    LottieComposition composition = new CompositionBuilder()
+        .imageAsset("image_0")
+        .imageAsset("image_1")
+        .layer(CompositionBuilder.image(1, "image_0").inOut(0, 30))
+        .layer(CompositionBuilder.image(2, "image_1").inOut(30, 60))
+        .build();
+    assertEquals(set("image_0"), VisibleImageAssets.atFrame(composition, 0));
+    assertEquals(set("image_1"), VisibleImageAssets.atFrame(composition, 45));
+  }
+
+  @Test
+  public void testPrecompImagesAreOffsetByStartFrame() throws IOException {
+    LottieComposition composition = new CompositionBuilder()
+        .imageAsset("image_0")
+        .imageAsset("image_1")
+        .precompAsset("comp_0",
+            CompositionBuilder.image(1, "image_0").inOut(0, 10),
+            CompositionBuilder.image(2, "image_1").inOut(10, 60))
+        .layer(CompositionBuilder.precomp(1, "comp_0").startFrame(-20))
+        .build();
+    // The precomp starts 20 frames early so frame 0 of the root is frame 20 of the precomp.
+    assertEquals(set("image_1"), VisibleImageAssets.atFrame(composition, 0));
+  }
+
+  private static Set<String> set(String... ids) {
+    return new HashSet<>(Arrays.asList(ids));
+  }
+}
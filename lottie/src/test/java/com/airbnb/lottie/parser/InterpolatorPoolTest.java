@@ -0,0 +1,45 @@
+package com.airbnb.lottie.parser;
+
+import android.view.animation.Interpolator;
+
+import com.airbnb.lottie.BaseTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class InterpolatorPoolTest extends BaseTest {
+
+  @Test
+  public void testSameCurveIsShared() {
+    InterpolatorPool pool = new InterpolatorPool(8);
+    Interpolator a = pool.get(0.42f, 0f, 0.58f, 1f);
+    Interpolator b = pool.get(0.42f, 0f, 0.58f, 1f);
+    assertSame(a, b);
+    assertEquals(1, pool.missCount());
+    assertEquals(1, pool.hitCount());
+  }
+
+  @Test
+  public void testCurvesWithTheSameControlPointValuesAreDistinct() {
+    InterpolatorPool pool = new InterpolatorPool(8);
+    Interpolator a = pool.get(0.5f, 0.2f, 0.4f, 1f);
+    Interpolator b = pool.get(0.2f, 0.5f, 0.4f, 1f);
+    assertNotSame(a, b);
+    assertEquals(2, pool.missCount());
+  }
+
+  @Test
+  public void testEvictedCurvesAreStillSharedWhileInUse() {
+    InterpolatorPool pool = new InterpolatorPool(1);
+    Interpolator a = pool.get(0.42f, 0f, 0.58f, 1f);
+    pool.get(0.33f, 0f, 0.67f, 1f);
+    assertEquals(1, pool.size());
+    assertEquals(1, pool.evictionCount());
+    // a is still strongly referenced here so it can't have been collected.
+    assertSame(a, pool.get(0.42f, 0f, 0.58f, 1f));
+    assertEquals(2, pool.missCount());
+  }
+}
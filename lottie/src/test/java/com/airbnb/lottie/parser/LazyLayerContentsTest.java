@@ -0,0 +1,124 @@
+package com.airbnb.lottie.parser;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.CompositionBuilder;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.model.layer.Layer;
+import com.airbnb.lottie.model.layer.VisibleImageAssets;
+import com.airbnb.lottie.parser.moshi.JsonReader;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import okio.Buffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LazyLayerContentsTest extends BaseTest {
+  private static final String DASHED_STROKE = "{\"ty\":\"st\",\"c\":{\"a\":0,\"k\":[0,0,0,1]},\"o\":{\"a\":0,\"k\":100}," +
+      "\"w\":{\"a\":0,\"k\":2},\"lc\":1,\"lj\":1,\"nm\":\"Stroke\",\"d\":[{\"n\":\"d\",\"nm\":\"dash\"," +
+      "\"v\":{\"a\":0,\"k\":4}},{\"n\":\"o\",\"nm\":\"offset\",\"v\":{\"a\":0,\"k\":0}}]}";
+
+  @Test
+  public void testLazyMatchesEager() throws IOException {
+    String json = ParallelLayerParserTest.createJson(4, 10);
+    LottieComposition eager = parse(json, false);
+    LottieComposition lazy = parse(json, true);
+
+    assertEquals(eager.toString(), lazy.toString());
+    for (int i = 0; i < 4; i++) {
+      List<Layer> eagerPrecomps = eager.getPrecomps("comp_" + i);
+      List<Layer> lazyPrecomps = lazy.getPrecomps("comp_" + i);
+      assertEquals(eagerPrecomps.size(), lazyPrecomps.size());
+      for (int j = 0; j < eagerPrecomps.size(); j++) {
+        assertEquals(eagerPrecomps.get(j).toString(), lazyPrecomps.get(j).toString());
+        assertEquals(eagerPrecomps.get(j).getId(), lazyPrecomps.get(j).getId());
+      }
+    }
+    assertNull(lazy.getPrecomps("missing"));
+  }
+
+  @Test
+  public void testLayersAreBuiltOnFirstUse() throws IOException {
+    String json = ParallelLayerParserTest.createJson(2, 2);
+    LottieComposition composition = parse(json, true);
+    // Every layer exists as soon as the composition is parsed, including the layers of precomps.
+    assertEquals(2, composition.getPrecomps("comp_0").size());
+    Layer layer = composition.getPrecomps("comp_0").get(0);
+    assertFalse(layer.isBuilt());
+
+    String built = layer.toString();
+    assertTrue(layer.isBuilt());
+    assertFalse(composition.getPrecomps("comp_0").get(1).isBuilt());
+    assertEquals(built, layer.toString());
+  }
+
+  @Test
+  public void testEagerLayersAreBuilt() throws IOException {
+    String json = ParallelLayerParserTest.createJson(2, 2);
+    LottieComposition composition = parse(json, false);
+    assertTrue(composition.getLayers().get(0).isBuilt());
+    assertTrue(composition.getPrecomps("comp_0").get(0).isBuilt());
+  }
+
+  @Test
+  public void testEstimatedSizeIsStable() throws IOException {
+    String json = ParallelLayerParserTest.createJson(4, 10);
+    LottieComposition composition = parse(json, true);
+    long size = composition.getEstimatedSizeBytes();
+    for (int i = 0; i < 4; i++) {
+      for (Layer layer : composition.getPrecomps("comp_" + i)) {
+        layer.toString();
+      }
+    }
+    assertEquals(size, composition.getEstimatedSizeBytes());
+  }
+
+  @Test
+  public void testMasksMattesAndDashesAreCountedBeforeParsing() throws IOException {
+    String json = new CompositionBuilder()
+        .precompAsset("comp_0",
+            CompositionBuilder.solid(1).mask("a", false, 0, 0, 5, 5).mask("s", true, 2, 2, 4, 4).matteType(1),
+            CompositionBuilder.solid(2).isMatte(),
+            CompositionBuilder.shape(3, CompositionBuilder.rect(10, 10), DASHED_STROKE))
+        .layer(CompositionBuilder.precomp(1, "comp_0"))
+        .toJson();
+    LottieComposition eager = parse(json, false);
+    LottieComposition lazy = parse(json, true);
+
+    for (Layer layer : lazy.getPrecomps("comp_0")) {
+      assertFalse(layer.isBuilt());
+    }
+    assertEquals(3, eager.getMaskAndMatteCount());
+    assertEquals(eager.getMaskAndMatteCount(), lazy.getMaskAndMatteCount());
+    assertEquals(eager.hasDashPattern(), lazy.hasDashPattern());
+
+    for (Layer layer : lazy.getPrecomps("comp_0")) {
+      layer.toString();
+    }
+    assertEquals(eager.getMaskAndMatteCount(), lazy.getMaskAndMatteCount());
+    assertEquals(eager.hasDashPattern(), lazy.hasDashPattern());
+  }
+
+  @Test
+  public void testLayersWithoutOutFrameMatchEager() throws IOException {
+    String json = new CompositionBuilder()
+        .imageAsset("image_0")
+        .precompAsset("comp_0", CompositionBuilder.image(1, "image_0").inOut(0, 0))
+        .layer(CompositionBuilder.precomp(1, "comp_0"))
+        .toJson();
+    LottieComposition eager = parse(json, false);
+    LottieComposition lazy = parse(json, true);
+
+    assertEquals(VisibleImageAssets.atFrame(eager, 30), VisibleImageAssets.atFrame(lazy, 30));
+  }
+
+  private static LottieComposition parse(String json, boolean lazyLayers) throws IOException {
+    return LottieCompositionMoshiParser.parse(JsonReader.of(new Buffer().writeUtf8(json)), null, lazyLayers);
+  }
+}
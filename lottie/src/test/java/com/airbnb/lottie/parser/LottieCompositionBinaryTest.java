@@ -0,0 +1,223 @@
+package com.airbnb.lottie.parser;
+
+import android.graphics.PointF;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.CompositionBuilder;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.animation.keyframe.BaseKeyframeAnimation;
+import com.airbnb.lottie.model.content.ContentModel;
+import com.airbnb.lottie.model.content.ShapeData;
+import com.airbnb.lottie.model.content.ShapeGroup;
+import com.airbnb.lottie.model.content.ShapePath;
+import com.airbnb.lottie.model.layer.Layer;
+import com.airbnb.lottie.parser.moshi.JsonReader;
+import com.airbnb.lottie.value.Keyframe;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import okio.Buffer;
+
+import static com.airbnb.lottie.CompositionBuilder.FADING_OPACITY;
+import static com.airbnb.lottie.CompositionBuilder.SPINNING_ROTATION;
+import static com.airbnb.lottie.CompositionBuilder.STATIC_POSITION;
+import static com.airbnb.lottie.CompositionBuilder.animated;
+import static com.airbnb.lottie.CompositionBuilder.fill;
+import static com.airbnb.lottie.CompositionBuilder.group;
+import static com.airbnb.lottie.CompositionBuilder.image;
+import static com.airbnb.lottie.CompositionBuilder.precomp;
+import static com.airbnb.lottie.CompositionBuilder.rect;
+import static com.airbnb.lottie.CompositionBuilder.shape;
+import static com.airbnb.lottie.CompositionBuilder.solid;
+import static com.airbnb.lottie.CompositionBuilder.stroke;
+import static com.airbnb.lottie.CompositionBuilder.trimPath;
+import static com.airbnb.lottie.CompositionBuilder.value;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class LottieCompositionBinaryTest extends BaseTest {
+  /**
+   * Moves from (0, 0) to (50, 0) along a curve.
+   */
+  private static final String CURVED_POSITION = "{\"a\":1,\"k\":[{\"t\":0,\"s\":[0,0,0],\"to\":[10,20,0]," +
+      "\"ti\":[-10,20,0],\"o\":{\"x\":0.5,\"y\":0},\"i\":{\"x\":0.5,\"y\":1}},{\"t\":60,\"s\":[50,0,0]}]}";
+  private static final String SPLIT_POSITION = "{\"s\":true,\"x\":{\"a\":0,\"k\":10},\"y\":" +
+      animated(0, 40) + "}";
+  private static final String ELLIPSE = "{\"ty\":\"el\",\"p\":{\"a\":0,\"k\":[0,0]},\"s\":{\"a\":1,\"k\":[" +
+      "{\"t\":0,\"s\":[10,10],\"o\":{\"x\":[0.5],\"y\":[0]},\"i\":{\"x\":[0.5],\"y\":[1]}},{\"t\":30,\"s\":[40,40]}]}," +
+      "\"nm\":\"Ellipse\"}";
+  private static final String STAR = "{\"ty\":\"sr\",\"sy\":1,\"pt\":{\"a\":0,\"k\":5},\"p\":{\"a\":0,\"k\":[0,0]}," +
+      "\"r\":{\"a\":0,\"k\":0},\"ir\":{\"a\":0,\"k\":10},\"is\":{\"a\":0,\"k\":0},\"or\":{\"a\":0,\"k\":20}," +
+      "\"os\":{\"a\":0,\"k\":0},\"nm\":\"Star\"}";
+  private static final String GRADIENT_FILL = "{\"ty\":\"gf\",\"o\":{\"a\":0,\"k\":100},\"r\":1," +
+      "\"g\":{\"p\":2,\"k\":{\"a\":0,\"k\":[0,1,0,0,1,0,0,1]}},\"s\":{\"a\":0,\"k\":[0,0]},\"e\":{\"a\":0,\"k\":[10,0]}," +
+      "\"t\":1,\"nm\":\"Gradient\"}";
+  private static final String REPEATER = "{\"ty\":\"rp\",\"c\":{\"a\":0,\"k\":3},\"o\":{\"a\":0,\"k\":0},\"m\":1," +
+      "\"tr\":{\"ty\":\"tr\",\"p\":{\"a\":0,\"k\":[10,0]},\"a\":{\"a\":0,\"k\":[0,0]},\"s\":{\"a\":0,\"k\":[100,100]}," +
+      "\"r\":{\"a\":0,\"k\":0},\"so\":{\"a\":0,\"k\":100},\"eo\":{\"a\":0,\"k\":100}},\"nm\":\"Repeater\"}";
+  private static final String MERGE_PATHS = "{\"ty\":\"mm\",\"mm\":1,\"nm\":\"Merge\"}";
+  /**
+   * A triangle that holds its first shape until frame 30.
+   */
+  private static final String HELD_PATH = "{\"ty\":\"sh\",\"ks\":{\"a\":1,\"k\":[{\"t\":0,\"h\":1,\"s\":[" +
+      "{\"i\":[[0,0],[0,0],[0,0]],\"o\":[[0,0],[0,0],[0,0]],\"v\":[[0,0],[10,0],[10,10]],\"c\":true}]},{\"t\":30,\"s\":[" +
+      "{\"i\":[[0,0],[0,0],[0,0]],\"o\":[[0,0],[0,0],[0,0]],\"v\":[[0,0],[20,0],[20,20]],\"c\":true}]}]}," +
+      "\"nm\":\"Path\"}";
+
+  @Test
+  public void testSnapshotMatchesParsedModel() throws IOException {
+    LottieComposition parsed = createComposition();
+    LottieComposition read = LottieCompositionBinaryReader.read(ByteBuffer.wrap(write(parsed)));
+
+    assertEquals(parsed.getBounds(), read.getBounds());
+    assertEquals(parsed.getStartFrame(), read.getStartFrame(), 0f);
+    assertEquals(parsed.getEndFrame(), read.getEndFrame(), 0f);
+    assertEquals(parsed.getFrameRate(), read.getFrameRate(), 0f);
+    assertEquals(parsed.getEstimatedSizeBytes(), read.getEstimatedSizeBytes());
+    assertEquals(parsed.getMaskAndMatteCount(), read.getMaskAndMatteCount());
+    assertEquals(parsed.hasDashPattern(), read.hasDashPattern());
+    assertEquals(parsed.getImages().keySet(), read.getImages().keySet());
+    assertEquals(parsed.getPrecomps().keySet(), read.getPrecomps().keySet());
+    assertEquals(parsed.toString(), read.toString());
+    assertEquals(parsed.getMarkers().size(), read.getMarkers().size());
+    assertEquals(parsed.getMarkers().get(0).getName(), read.getMarkers().get(0).getName());
+    assertEquals(parsed.getMarkers().get(0).durationFrames, read.getMarkers().get(0).durationFrames, 0f);
+
+    for (int i = 0; i < parsed.getLayers().size(); i++) {
+      Layer parsedLayer = parsed.getLayers().get(i);
+      Layer readLayer = read.getLayers().get(i);
+      assertTrue(read.layerModelForId(readLayer.getId()) == readLayer);
+      assertEquals(parsedLayer.getParentId(), readLayer.getParentId());
+      assertEquals(parsedLayer.getMatteType(), readLayer.getMatteType());
+      assertEquals(parsedLayer.getMasks().size(), readLayer.getMasks().size());
+      assertEquals(parsedLayer.getShapes().size(), readLayer.getShapes().size());
+      for (float progress = 0f; progress <= 1f; progress += 0.125f) {
+        assertPointsEqual(parsedLayer.getTransform().getPosition().createAnimation(),
+            readLayer.getTransform().getPosition().createAnimation(), progress);
+        assertFloatsEqual(parsedLayer.getTransform().getRotation().createAnimation(),
+            readLayer.getTransform().getRotation().createAnimation(), progress);
+        assertFloatsEqual(parsedLayer.getTransform().getOpacity().createAnimation(),
+            readLayer.getTransform().getOpacity().createAnimation(), progress);
+      }
+    }
+  }
+
+  @Test
+  public void testSnapshotIsStable() throws IOException {
+    byte[] snapshot = write(createComposition());
+    byte[] rewritten = write(LottieCompositionBinaryReader.read(ByteBuffer.wrap(snapshot)));
+    // Everything that is read is written again so a snapshot of a snapshot is identical.
+    assertArrayEquals(snapshot, rewritten);
+  }
+
+  @Test
+  public void testHoldKeyframesKeepTheirStartValue() throws IOException {
+    LottieComposition read = LottieCompositionBinaryReader.read(ByteBuffer.wrap(write(createComposition())));
+    List<ContentModel> shapes = ((ShapeGroup) read.getLayers().get(0).getShapes().get(0)).getItems();
+    ShapePath path = null;
+    for (ContentModel shape : shapes) {
+      if (shape instanceof ShapePath) {
+        path = (ShapePath) shape;
+      }
+    }
+    assertNotNull(path);
+    List<Keyframe<ShapeData>> keyframes = path.getShapePath().getKeyframes();
+    assertTrue(keyframes.get(0).endValue == keyframes.get(0).startValue);
+    assertFalse(keyframes.get(1).startValue == keyframes.get(0).startValue);
+  }
+
+  @Test
+  public void testLazyCompositionIsWrittenInFull() throws IOException {
+    String json = ParallelLayerParserTest.createJson(2, 3);
+    LottieComposition lazy =
+        LottieCompositionMoshiParser.parse(JsonReader.of(new Buffer().writeUtf8(json)), null, true);
+    LottieComposition eager = LottieCompositionMoshiParser.parse(JsonReader.of(new Buffer().writeUtf8(json)));
+    LottieComposition read = LottieCompositionBinaryReader.read(ByteBuffer.wrap(write(lazy)));
+
+    assertTrue(read.getPrecomps("comp_0").get(0).isBuilt());
+    List<Layer> eagerLayers = eager.getPrecomps("comp_1");
+    List<Layer> readLayers = read.getPrecomps("comp_1");
+    for (int i = 0; i < eagerLayers.size(); i++) {
+      assertEquals(eagerLayers.get(i).toString(), readLayers.get(i).toString());
+    }
+  }
+
+  @Test
+  public void testBufferIsNotModified() throws IOException {
+    byte[] snapshot = write(createComposition());
+    ByteBuffer buffer = ByteBuffer.allocate(snapshot.length + 3);
+    buffer.position(3);
+    buffer.put(snapshot);
+    buffer.position(3);
+    assertTrue(LottieCompositionBinaryReader.hasHeader(buffer));
+    LottieCompositionBinaryReader.read(buffer);
+    assertEquals(3, buffer.position());
+  }
+
+  @Test(expected = IOException.class)
+  public void testOtherVersionsAreRejected() throws IOException {
+    byte[] snapshot = write(createComposition());
+    // The version follows the magic and is a single byte varint.
+    snapshot[LottieCompositionBinaryReader.MAGIC.length] += 2;
+    LottieCompositionBinaryReader.read(ByteBuffer.wrap(snapshot));
+  }
+
+  @Test(expected = IOException.class)
+  public void testTruncatedSnapshotsAreRejected() throws IOException {
+    byte[] snapshot = write(createComposition());
+    byte[] truncated = new byte[snapshot.length / 2];
+    System.arraycopy(snapshot, 0, truncated, 0, truncated.length);
+    LottieCompositionBinaryReader.read(ByteBuffer.wrap(truncated));
+  }
+
+  @Test(expected = IOException.class)
+  public void testJsonIsRejected() throws IOException {
+    byte[] json = new CompositionBuilder().layer(solid(1)).toJson().getBytes();
+    assertFalse(LottieCompositionBinaryReader.hasHeader(ByteBuffer.wrap(json)));
+    LottieCompositionBinaryReader.read(ByteBuffer.wrap(json));
+  }
+
+  private static LottieComposition createComposition() throws IOException {
+    String json = new CompositionBuilder()
+        .imageAsset("image_0")
+        .precompAsset("comp_0", solid(1).position(STATIC_POSITION), image(2, "image_0").parent(1))
+        .layers(
+            shape(1,
+                group(10, 10, rect(20, 10), ELLIPSE, STAR, HELD_PATH, MERGE_PATHS, fill(50), GRADIENT_FILL),
+                group(0, 0, rect(10, 10), REPEATER, trimPath(animated(0, 100), value(100), value(0)), stroke(2)))
+                .rotation(SPINNING_ROTATION).position(CURVED_POSITION),
+            solid(2).opacity(FADING_OPACITY).position(SPLIT_POSITION).mask("a", false, 0, 0, 5, 5).isMatte(),
+            precomp(3, "comp_0").matteType(1).timeStretch(2).inOut(10, 50))
+        .toJson()
+        .replace("],\"layers\":[", "],\"markers\":[{\"cm\":\"intro\",\"tm\":0,\"dr\":10}],\"layers\":[");
+    return LottieCompositionMoshiParser.parse(JsonReader.of(new Buffer().writeUtf8(json)));
+  }
+
+  private static byte[] write(LottieComposition composition) throws IOException {
+    Buffer buffer = new Buffer();
+    LottieCompositionBinaryWriter.write(composition, buffer);
+    return buffer.readByteArray();
+  }
+
+  private static void assertPointsEqual(BaseKeyframeAnimation<?, PointF> expected, BaseKeyframeAnimation<?, PointF> actual,
+      float progress) {
+    expected.setProgress(progress);
+    actual.setProgress(progress);
+    assertEquals(expected.getValue().x, actual.getValue().x, 0.001f);
+    assertEquals(expected.getValue().y, actual.getValue().y, 0.001f);
+  }
+
+  private static void assertFloatsEqual(BaseKeyframeAnimation<?, ? extends Number> expected,
+      BaseKeyframeAnimation<?, ? extends Number> actual, float progress) {
+    expected.setProgress(progress);
+    actual.setProgress(progress);
+    assertEquals(expected.getValue().floatValue(), actual.getValue().floatValue(), 0.001f);
+  }
+}
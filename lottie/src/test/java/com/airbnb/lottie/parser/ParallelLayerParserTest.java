@@ -0,0 +1,88 @@
+package com.airbnb.lottie.parser;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.CompositionBuilder;
+import com.airbnb.lottie.CompositionBuilder.LayerBuilder;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.model.layer.Layer;
+import com.airbnb.lottie.parser.moshi.JsonReader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okio.Buffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class ParallelLayerParserTest extends BaseTest {
+  private ExecutorService executor;
+
+  @Before
+  public void setup() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testParallelMatchesSequential() throws IOException {
+    String json = createJson(8, 20);
+    LottieComposition sequential = LottieCompositionMoshiParser.parse(JsonReader.of(new Buffer().writeUtf8(json)));
+    LottieComposition parallel = LottieCompositionMoshiParser.parse(JsonReader.of(new Buffer().writeUtf8(json)), executor);
+
+    assertEquals(sequential.toString(), parallel.toString());
+    assertEquals(sequential.getLayers().size(), parallel.getLayers().size());
+    assertEquals(sequential.getEstimatedSizeBytes(), parallel.getEstimatedSizeBytes());
+    assertEquals(sequential.getMaskAndMatteCount(), parallel.getMaskAndMatteCount());
+    for (int i = 0; i < 8; i++) {
+      List<Layer> sequentialPrecomps = sequential.getPrecomps("comp_" + i);
+      List<Layer> parallelPrecomps = parallel.getPrecomps("comp_" + i);
+      assertNotNull(parallelPrecomps);
+      assertEquals(sequentialPrecomps.size(), parallelPrecomps.size());
+      for (int j = 0; j < sequentialPrecomps.size(); j++) {
+        assertEquals(sequentialPrecomps.get(j).toString(), parallelPrecomps.get(j).toString());
+        assertEquals(sequentialPrecomps.get(j).getId(), parallelPrecomps.get(j).getId());
+      }
+    }
+  }
+
+  @Test
+  public void testParallelOnSaturatedExecutor() throws IOException {
+    ExecutorService singleThread = Executors.newSingleThreadExecutor();
+    try {
+      String json = createJson(4, 4);
+      LottieComposition composition = LottieCompositionMoshiParser.parse(JsonReader.of(new Buffer().writeUtf8(json)), singleThread);
+      assertEquals(4, composition.getLayers().size());
+    } finally {
+      singleThread.shutdownNow();
+    }
+  }
+
+  static String createJson(int precompCount, int layersPerPrecomp) {
+    CompositionBuilder builder = new CompositionBuilder();
+    for (int i = 0; i < precompCount; i++) {
+      LayerBuilder[] layers = new LayerBuilder[layersPerPrecomp];
+      for (int j = 0; j < layersPerPrecomp; j++) {
+        layers[j] = CompositionBuilder.shape(j + 1, CompositionBuilder.rect(100, 100), CompositionBuilder.fill(100))
+            .rotation(CompositionBuilder.SPINNING_ROTATION);
+        // Parent every other layer to the first one in its precomp.
+        if (j % 2 == 1) {
+          layers[j].parent(1);
+        }
+      }
+      builder.precompAsset("comp_" + i, layers);
+      builder.layer(CompositionBuilder.precomp(i + 1, "comp_" + i));
+    }
+    return builder.toJson();
+  }
+}
@@ -0,0 +1,87 @@
+package com.airbnb.lottie.utils;
+
+import com.airbnb.lottie.BaseTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CubicBezierInterpolatorTest extends BaseTest {
+  private static final float[][] CURVES = {
+      {0.25f, 0.1f, 0.25f, 1f}, // ease
+      {0.42f, 0f, 1f, 1f}, // ease in
+      {0f, 0f, 0.58f, 1f}, // ease out
+      {0.42f, 0f, 0.58f, 1f}, // ease in out
+      {0.167f, 0.167f, 0.833f, 0.833f}, // After Effects linear
+      {0.68f, -0.55f, 0.265f, 1.55f}, // overshoot
+      {1f, 0f, 0f, 1f}, // flat in the middle
+      {0f, 1f, 1f, 0f},
+  };
+
+  @Test
+  public void testEndpoints() {
+    for (float[] curve : CURVES) {
+      CubicBezierInterpolator interpolator = new CubicBezierInterpolator(curve[0], curve[1], curve[2], curve[3]);
+      assertEquals(0f, interpolator.getInterpolation(0f), 0f);
+      assertEquals(1f, interpolator.getInterpolation(1f), 0f);
+    }
+  }
+
+  @Test
+  public void testLinear() {
+    CubicBezierInterpolator interpolator = new CubicBezierInterpolator(0.3f, 0.3f, 0.7f, 0.7f);
+    for (int i = 0; i <= 100; i++) {
+      assertEquals(i / 100f, interpolator.getInterpolation(i / 100f), 0f);
+    }
+  }
+
+  @Test
+  public void testAccuracy() {
+    for (float[] curve : CURVES) {
+      CubicBezierInterpolator interpolator = new CubicBezierInterpolator(curve[0], curve[1], curve[2], curve[3]);
+      float maxError = maxError(interpolator, curve);
+      // The error is well below 0.0001 except where x'(t) is 0 inside the curve. There, float precision in x limits t.
+      assertTrue("Max error for " + curveToString(curve) + " was " + maxError, maxError < 0.005f);
+    }
+  }
+
+  private static float maxError(CubicBezierInterpolator interpolator, float[] curve) {
+    float maxError = 0f;
+    for (int i = 0; i <= 1000; i++) {
+      float x = i / 1000f;
+      float expected = (float) exactInterpolation(x, curve);
+      maxError = Math.max(maxError, Math.abs(interpolator.getInterpolation(x) - expected));
+    }
+    return maxError;
+  }
+
+  /**
+   * Solves the curve by bisection in double precision.
+   */
+  private static double exactInterpolation(double x, float[] curve) {
+    double x1 = Math.max(0, Math.min(1, curve[0]));
+    double x2 = Math.max(0, Math.min(1, curve[2]));
+    double start = 0;
+    double end = 1;
+    double t = x;
+    for (int i = 0; i < 100; i++) {
+      t = (start + end) / 2;
+      if (bezier(t, x1, x2) > x) {
+        end = t;
+      } else {
+        start = t;
+      }
+    }
+    return bezier(t, curve[1], curve[3]);
+  }
+
+  private static double bezier(double t, double p1, double p2) {
+    double u = 1 - t;
+    return 3 * u * u * t * p1 + 3 * u * t * t * p2 + t * t * t;
+  }
+
+  private static String curveToString(float[] curve) {
+    return "(" + curve[0] + ", " + curve[1] + ", " + curve[2] + ", " + curve[3] + ")";
+  }
+}
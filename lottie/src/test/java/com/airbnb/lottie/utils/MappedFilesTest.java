@@ -0,0 +1,91 @@
+package com.airbnb.lottie.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import okio.Buffer;
+import okio.Okio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class MappedFilesTest {
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testSource() throws IOException {
+    File file = folder.newFile("animation.json");
+    FileOutputStream output = new FileOutputStream(file);
+    output.write("{\"v\":\"5.5.2\"}".getBytes("UTF-8"));
+    output.close();
+
+    ByteBuffer buffer = MappedFiles.map(file);
+    assertEquals("{\"v\":\"5.5.2\"}", Okio.buffer(MappedFiles.source(buffer)).readUtf8());
+    // The position of the mapping is unchanged so it can be read again.
+    assertEquals(0, buffer.position());
+    assertEquals("{\"v\":\"5.5.2\"}", Okio.buffer(Okio.source(MappedFiles.inputStream(buffer))).readUtf8());
+  }
+
+  @Test
+  public void testStoredZipEntries() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ZipOutputStream zip = new ZipOutputStream(bytes);
+    zip.setMethod(ZipOutputStream.STORED);
+    putStoredEntry(zip, "animation.json", "{}");
+    putStoredEntry(zip, "images/img_0.png", "not really a png");
+    zip.close();
+
+    List<MappedFiles.StoredEntry> entries = MappedFiles.storedZipEntries(ByteBuffer.wrap(bytes.toByteArray()));
+    assertNotNull(entries);
+    assertEquals(2, entries.size());
+    assertEquals("animation.json", entries.get(0).name);
+    assertEquals("{}", read(entries.get(0).data));
+    assertEquals("images/img_0.png", entries.get(1).name);
+    assertEquals("not really a png", read(entries.get(1).data));
+  }
+
+  @Test
+  public void testCompressedZipEntries() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ZipOutputStream zip = new ZipOutputStream(bytes);
+    zip.putNextEntry(new ZipEntry("animation.json"));
+    zip.write("{}".getBytes("UTF-8"));
+    zip.closeEntry();
+    zip.close();
+
+    assertNull(MappedFiles.storedZipEntries(ByteBuffer.wrap(bytes.toByteArray())));
+  }
+
+  private static void putStoredEntry(ZipOutputStream zip, String name, String contents) throws IOException {
+    byte[] data = contents.getBytes("UTF-8");
+    ZipEntry entry = new ZipEntry(name);
+    CRC32 crc = new CRC32();
+    crc.update(data);
+    entry.setSize(data.length);
+    entry.setCompressedSize(data.length);
+    entry.setCrc(crc.getValue());
+    zip.putNextEntry(entry);
+    zip.write(data);
+    zip.closeEntry();
+  }
+
+  private static String read(ByteBuffer buffer) throws IOException {
+    InputStream input = MappedFiles.inputStream(buffer);
+    Buffer sink = new Buffer();
+    sink.readFrom(input);
+    return sink.readUtf8();
+  }
+}
@@ -0,0 +1,56 @@
+package com.airbnb.lottie.utils;
+
+import android.graphics.Matrix;
+
+import com.airbnb.lottie.BaseTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class MatrixValuesTest extends BaseTest {
+  @Test
+  public void testOperationsMatchMatrix() {
+    Matrix matrix = new Matrix();
+    matrix.preTranslate(30f, -20f);
+    matrix.preRotate(33f);
+    matrix.preScale(1.5f, 0.5f);
+    Matrix skew = new Matrix();
+    skew.setValues(new float[]{1f, 0f, 0f, 0.4f, 1f, 0f, 0f, 0f, 1f});
+    matrix.preConcat(skew);
+    matrix.preTranslate(-5f, 7f);
+    float[] expected = new float[9];
+    matrix.getValues(expected);
+
+    float[] values = MatrixValues.identity();
+    MatrixValues.preTranslate(values, 30f, -20f);
+    MatrixValues.preRotate(values, 33f);
+    MatrixValues.preScale(values, 1.5f, 0.5f);
+    MatrixValues.preConcat(values, new float[]{1f, 0f, 0f, 0.4f, 1f, 0f, 0f, 0f, 1f});
+    MatrixValues.preTranslate(values, -5f, 7f);
+
+    assertArrayEquals(expected, values, 0.001f);
+  }
+
+  @Test
+  public void testRotationAroundPivotMatchesMatrix() {
+    Matrix matrix = new Matrix();
+    matrix.preScale(2f, 3f);
+    matrix.preRotate(-70f, 12f, -4f);
+    float[] expected = new float[9];
+    matrix.getValues(expected);
+
+    float[] values = MatrixValues.identity();
+    MatrixValues.preScale(values, 2f, 3f);
+    MatrixValues.preRotate(values, -70f, 12f, -4f);
+
+    assertArrayEquals(expected, values, 0.001f);
+  }
+
+  @Test
+  public void testRightAngleRotationIsExact() {
+    float[] values = MatrixValues.identity();
+    MatrixValues.preRotate(values, 90f);
+    assertArrayEquals(new float[]{0f, -1f, 0f, 1f, 0f, 0f, 0f, 0f, 1f}, values, 0f);
+  }
+}
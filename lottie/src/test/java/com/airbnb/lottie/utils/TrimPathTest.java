@@ -0,0 +1,94 @@
+package com.airbnb.lottie.utils;
+
+import android.graphics.Path;
+import android.graphics.PathMeasure;
+import android.graphics.RectF;
+
+import com.airbnb.lottie.BaseTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TrimPathTest extends BaseTest {
+  @Test
+  public void testTrimmingWithMeasuredPathMatchesMeasuringAgain() {
+    Path source = createStroke(3);
+    PathMeasure pathMeasure = new PathMeasure(source, false);
+    for (float end = 0.1f; end < 1f; end += 0.2f) {
+      Path expected = new Path(source);
+      Utils.applyTrimPathIfNeeded(expected, 0.05f, end, 0.1f);
+      Path actual = new Path(source);
+      Utils.applyTrimPathIfNeeded(actual, pathMeasure, 0.05f, end, 0.1f);
+      assertBoundsEqual(expected, actual);
+      assertEndsEqual(expected, actual);
+    }
+  }
+
+  @Test
+  public void testTrimmedLengthIsTheTrimmedFraction() {
+    Path source = createStroke(3);
+    float length = new PathMeasure(source, false).getLength();
+    PathMeasure pathMeasure = new PathMeasure(source, false);
+    Path trimmed = new Path(source);
+    Utils.applyTrimPathIfNeeded(trimmed, pathMeasure, 0.25f, 0.75f, 0f);
+    assertEquals(length / 2f, new PathMeasure(trimmed, false).getLength(), length * 0.01f);
+  }
+
+  @Test
+  public void testReusedPathMeasureMatchesMeasuringAgain() {
+    Path source = createStroke(5);
+    PathMeasure pathMeasure = new PathMeasure(source, false);
+    for (float end = 0f; end <= 1f; end += 0.25f) {
+      Path expected = new Path(source);
+      Utils.applyTrimPathIfNeeded(expected, 0f, end, 0f);
+      Path actual = new Path(source);
+      // The same path measure trims every frame of a draw-on.
+      Utils.applyTrimPathIfNeeded(actual, pathMeasure, 0f, end, 0f);
+      assertBoundsEqual(expected, actual);
+      assertEndsEqual(expected, actual);
+    }
+  }
+
+  /**
+   * A wavy line of cubic curves like the ones that are traced in draw-on animations.
+   */
+  private static Path createStroke(int seed) {
+    Path path = new Path();
+    path.moveTo(0, seed);
+    for (int i = 0; i < 12; i++) {
+      float x = i * 20f;
+      path.cubicTo(x + 5f, seed - 10f, x + 15f, seed + 10f, x + 20f, seed + (i % 3) * 4f);
+    }
+    return path;
+  }
+
+  private static void assertBoundsEqual(Path expected, Path actual) {
+    RectF expectedBounds = new RectF();
+    RectF actualBounds = new RectF();
+    expected.computeBounds(expectedBounds, false);
+    actual.computeBounds(actualBounds, false);
+    assertEquals(expectedBounds.left, actualBounds.left, 0.01f);
+    assertEquals(expectedBounds.top, actualBounds.top, 0.01f);
+    assertEquals(expectedBounds.right, actualBounds.right, 0.01f);
+    assertEquals(expectedBounds.bottom, actualBounds.bottom, 0.01f);
+  }
+
+  /**
+   * Compares the length and the first and last points of the paths.
+   */
+  private static void assertEndsEqual(Path expected, Path actual) {
+    PathMeasure expectedMeasure = new PathMeasure(expected, false);
+    PathMeasure actualMeasure = new PathMeasure(actual, false);
+    assertEquals(expectedMeasure.getLength(), actualMeasure.getLength(), 0.01f);
+    float[] expectedPoint = new float[2];
+    float[] actualPoint = new float[2];
+    expectedMeasure.getPosTan(0f, expectedPoint, null);
+    actualMeasure.getPosTan(0f, actualPoint, null);
+    assertArrayEquals(expectedPoint, actualPoint, 0.01f);
+    expectedMeasure.getPosTan(expectedMeasure.getLength(), expectedPoint, null);
+    actualMeasure.getPosTan(actualMeasure.getLength(), actualPoint, null);
+    assertArrayEquals(expectedPoint, actualPoint, 0.01f);
+  }
+}
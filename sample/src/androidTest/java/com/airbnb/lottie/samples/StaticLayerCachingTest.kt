@@ -0,0 +1,75 @@
+package com.airbnb.lottie.samples
+
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Color
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.filters.LargeTest
+import androidx.test.platform.app.InstrumentationRegistry
+import com.airbnb.lottie.LottieCompositionFactory
+import com.airbnb.lottie.LottieDrawable
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import kotlin.math.abs
+
+/**
+ * Compares the pixels of layers drawn from static layer bitmaps with the pixels of the same layers drawn directly.
+ * This needs a device because Robolectric doesn't rasterize.
+ */
+@RunWith(AndroidJUnit4::class)
+@LargeTest
+class StaticLayerCachingTest {
+    private val context = InstrumentationRegistry.getInstrumentation().targetContext
+
+    @Test
+    fun cachedLayersMatchDirectDraw() {
+        for (asset in ASSETS) {
+            val direct = render(asset, staticLayerCaching = false)
+            val cached = render(asset, staticLayerCaching = true)
+            val mismatched = mismatchedPixelFraction(direct, cached)
+            // Bitmaps are filtered when they are drawn at a fractional offset so edges may differ slightly.
+            assertTrue("$asset differs in ${mismatched * 100}% of pixels", mismatched < 0.01f)
+        }
+    }
+
+    private fun render(asset: String, staticLayerCaching: Boolean): Bitmap {
+        val composition = LottieCompositionFactory.fromAssetSync(context, asset).value!!
+        val drawable = LottieDrawable()
+        drawable.setComposition(composition)
+        drawable.setBounds(0, 0, composition.bounds.width(), composition.bounds.height())
+        drawable.isStaticLayerCachingEnabled = staticLayerCaching
+        drawable.frame = composition.startFrame.toInt()
+        val bitmap = Bitmap.createBitmap(composition.bounds.width(), composition.bounds.height(), Bitmap.Config.ARGB_8888)
+        val canvas = Canvas(bitmap)
+        // Static layers are rendered into their bitmaps once the matrix they are drawn with is stable.
+        repeat(3) {
+            bitmap.eraseColor(Color.TRANSPARENT)
+            drawable.draw(canvas)
+        }
+        return bitmap
+    }
+
+    private fun mismatchedPixelFraction(expected: Bitmap, actual: Bitmap): Float {
+        val expectedPixels = IntArray(expected.width * expected.height)
+        val actualPixels = IntArray(actual.width * actual.height)
+        expected.getPixels(expectedPixels, 0, expected.width, 0, 0, expected.width, expected.height)
+        actual.getPixels(actualPixels, 0, actual.width, 0, 0, actual.width, actual.height)
+        val mismatched = expectedPixels.indices.count { i ->
+            val e = expectedPixels[i]
+            val a = actualPixels[i]
+            abs(Color.alpha(e) - Color.alpha(a)) > TOLERANCE || abs(Color.red(e) - Color.red(a)) > TOLERANCE ||
+                abs(Color.green(e) - Color.green(a)) > TOLERANCE || abs(Color.blue(e) - Color.blue(a)) > TOLERANCE
+        }
+        return mismatched / expectedPixels.size.toFloat()
+    }
+
+    companion object {
+        private const val TOLERANCE = 16
+        private val ASSETS = listOf(
+            "lottiefiles/books.json",
+            "lottiefiles/a_mountain.json",
+            "lottiefiles/day_night_cycle.json"
+        )
+    }
+}
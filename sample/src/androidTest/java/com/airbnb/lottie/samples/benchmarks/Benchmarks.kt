@@ -0,0 +1,32 @@
+package com.airbnb.lottie.samples.benchmarks
+
+import android.os.SystemClock
+import android.util.Log
+
+/**
+ * Benchmarks run as instrumented tests so they measure real devices and real animations rather than Robolectric
+ * shadows. Results are logged with this tag:
+ *
+ *   ./gradlew :sample:connectedAndroidTest -Pandroid.testInstrumentationRunnerArguments.package=com.airbnb.lottie.samples.benchmarks
+ *   adb logcat -s LottieBenchmark
+ */
+const val BENCHMARK_TAG = "LottieBenchmark"
+
+/**
+ * Runs [block] [warmups] times and then returns the median duration of [iterations] runs in milliseconds.
+ */
+fun medianMillis(warmups: Int = 5, iterations: Int = 21, block: () -> Unit): Double {
+    repeat(warmups) { block() }
+    val durations = LongArray(iterations)
+    for (i in 0 until iterations) {
+        val start = SystemClock.elapsedRealtimeNanos()
+        block()
+        durations[i] = SystemClock.elapsedRealtimeNanos() - start
+    }
+    durations.sort()
+    return durations[iterations / 2] / 1_000_000.0
+}
+
+fun logBenchmark(name: String, vararg results: Pair<String, Double>) {
+    Log.i(BENCHMARK_TAG, "$name: " + results.joinToString { (label, millis) -> "$label=%.3fms".format(millis) })
+}
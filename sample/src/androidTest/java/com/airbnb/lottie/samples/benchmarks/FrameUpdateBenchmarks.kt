@@ -0,0 +1,78 @@
+package com.airbnb.lottie.samples.benchmarks
+
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.drawable.Drawable
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.filters.LargeTest
+import androidx.test.platform.app.InstrumentationRegistry
+import com.airbnb.lottie.LottieCompositionFactory
+import com.airbnb.lottie.LottieDrawable
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+@LargeTest
+class FrameUpdateBenchmarks {
+    private val context = InstrumentationRegistry.getInstrumentation().targetContext
+
+    /**
+     * Measures updating the layers of complex animations for every frame the way the animator does, with and without
+     * drawing each frame. Layers used to update their transform, masks and other animations in separate loops and
+     * invalidate the drawable for every value that changed. They now update one array per layer and the drawable is
+     * invalidated once per frame.
+     *
+     * The old path can't be run next to the new one because it only exists in older versions of the library. This only
+     * uses APIs that both have so run it on the commit before the batched update and on this one and compare the logs.
+     */
+    @Test
+    fun updateFrames() {
+        for (asset in ParseBenchmarks.ASSETS) {
+            val composition = LottieCompositionFactory.fromAssetSync(context, asset).value!!
+            val drawable = LottieDrawable()
+            drawable.setComposition(composition)
+            val bounds = composition.bounds
+            drawable.setBounds(0, 0, bounds.width(), bounds.height())
+            val callback = CountingCallback()
+            drawable.callback = callback
+            val canvas = Canvas(Bitmap.createBitmap(bounds.width(), bounds.height(), Bitmap.Config.ARGB_8888))
+            val startFrame = composition.startFrame.toInt()
+            val endFrame = composition.endFrame.toInt()
+
+            val updateMillis = medianMillis {
+                for (frame in startFrame..endFrame) {
+                    drawable.frame = frame
+                }
+            }
+            val updateAndDrawMillis = medianMillis {
+                for (frame in startFrame..endFrame) {
+                    drawable.frame = frame
+                    drawable.draw(canvas)
+                }
+            }
+            // Keeps the loops from being optimized away.
+            assertTrue(callback.invalidations > 0)
+            logBenchmark("${endFrame - startFrame + 1} frames of $asset",
+                "update" to updateMillis,
+                "update and draw" to updateAndDrawMillis)
+        }
+    }
+
+    /**
+     * Stands in for the view so that invalidating the drawable does what it does when it is on screen.
+     */
+    private class CountingCallback : Drawable.Callback {
+        var invalidations = 0
+
+        override fun invalidateDrawable(who: Drawable) {
+            invalidations++
+        }
+
+        override fun scheduleDrawable(who: Drawable, what: Runnable, `when`: Long) {
+        }
+
+        override fun unscheduleDrawable(who: Drawable, what: Runnable) {
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.airbnb.lottie.samples.benchmarks
+
+import android.view.animation.Interpolator
+import androidx.core.view.animation.PathInterpolatorCompat
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.filters.LargeTest
+import com.airbnb.lottie.utils.CubicBezierInterpolator
+import org.junit.Assert.assertFalse
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+@LargeTest
+class InterpolatorBenchmarks {
+
+    /**
+     * Compares [CubicBezierInterpolator] with the platform path interpolator that keyframes used before it.
+     */
+    @Test
+    fun cubicBezierVsPath() {
+        for (curve in CURVES) {
+            val bezier = CubicBezierInterpolator(curve[0], curve[1], curve[2], curve[3])
+            val path = PathInterpolatorCompat.create(curve[0].coerceAtMost(1f), curve[1], curve[2].coerceAtLeast(0f), curve[3])
+            logBenchmark("interpolate ${curve.contentToString()} x$CALLS",
+                "bezier" to medianMillis { interpolate(bezier) }, "path" to medianMillis { interpolate(path) })
+        }
+    }
+
+    private fun interpolate(interpolator: Interpolator) {
+        var sum = 0f
+        for (i in 0 until CALLS) {
+            sum += interpolator.getInterpolation((i % 1000) / 1000f)
+        }
+        // Keeps the loop from being optimized away.
+        assertFalse(sum.isNaN())
+    }
+
+    companion object {
+        private const val CALLS = 100_000
+        private val CURVES = listOf(
+            floatArrayOf(0.25f, 0.1f, 0.25f, 1f),
+            floatArrayOf(0.42f, 0f, 0.58f, 1f),
+            floatArrayOf(0.167f, 0.167f, 0.833f, 0.833f),
+            floatArrayOf(0.68f, -0.55f, 0.265f, 1.55f)
+        )
+    }
+}
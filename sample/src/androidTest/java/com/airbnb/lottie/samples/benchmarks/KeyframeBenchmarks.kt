@@ -0,0 +1,90 @@
+package com.airbnb.lottie.samples.benchmarks
+
+import android.view.animation.LinearInterpolator
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.filters.LargeTest
+import com.airbnb.lottie.LottieCompositionFactory
+import com.airbnb.lottie.animation.keyframe.FloatKeyframeAnimation
+import com.airbnb.lottie.animation.keyframe.KeyframeTrack
+import com.airbnb.lottie.value.Keyframe
+import org.junit.Assert.assertFalse
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.util.Random
+
+@RunWith(AndroidJUnit4::class)
+@LargeTest
+class KeyframeBenchmarks {
+
+    /**
+     * Compares seeking to random frames of a property with a keyframe on every frame, like baked motion capture, with
+     * scanning the keyframes for the one at each progress as animations did before they searched. Sequential playback
+     * in both directions is logged as well because it checks the neighbours of the current keyframe first.
+     */
+    @Test
+    fun seekVsScan() {
+        val composition = LottieCompositionFactory.fromJsonStringSync(
+            """{"v":"5.5.2","fr":60,"ip":0,"op":$KEYFRAMES,"w":100,"h":100,"layers":[]}""", null).value!!
+        val interpolator = LinearInterpolator()
+        val keyframes = (0 until KEYFRAMES).map {
+            Keyframe(composition, it.toFloat(), it + 1f, interpolator, it.toFloat(), it + 1f)
+        }
+        val random = Random(7)
+        val seeks = FloatArray(SEEKS) { random.nextFloat() }
+        val animation = FloatKeyframeAnimation(keyframes)
+        val trackAnimation = FloatKeyframeAnimation(keyframes, KeyframeTrack.forFloats(keyframes))
+
+        logBenchmark("$SEEKS seeks in $KEYFRAMES keyframes",
+            "scan" to medianMillis { scan(keyframes, seeks) },
+            "search" to medianMillis { seek(animation, seeks) },
+            "search track" to medianMillis { seek(trackAnimation, seeks) })
+        logBenchmark("${KEYFRAMES * 8} sequential frames of $KEYFRAMES keyframes",
+            "search" to medianMillis { playForwardAndBack(animation) },
+            "search track" to medianMillis { playForwardAndBack(trackAnimation) })
+    }
+
+    private fun seek(animation: FloatKeyframeAnimation, seeks: FloatArray) {
+        var sum = 0f
+        for (progress in seeks) {
+            animation.progress = progress
+            sum += animation.floatValue
+        }
+        // Keeps the loop from being optimized away.
+        assertFalse(sum.isNaN())
+    }
+
+    private fun playForwardAndBack(animation: FloatKeyframeAnimation) {
+        val frames = KEYFRAMES * 4
+        var sum = 0f
+        for (i in 0..frames) {
+            animation.progress = i / frames.toFloat()
+            sum += animation.floatValue
+        }
+        for (i in frames downTo 0) {
+            animation.progress = i / frames.toFloat()
+            sum += animation.floatValue
+        }
+        assertFalse(sum.isNaN())
+    }
+
+    /**
+     * The lookup that animations did before they searched: a scan from the last keyframe.
+     */
+    private fun scan(keyframes: List<Keyframe<Float>>, seeks: FloatArray) {
+        var sum = 0
+        for (progress in seeks) {
+            for (i in keyframes.indices.reversed()) {
+                if (progress >= keyframes[i].startProgress) {
+                    sum += i
+                    break
+                }
+            }
+        }
+        assertFalse(sum < 0)
+    }
+
+    companion object {
+        private const val KEYFRAMES = 5000
+        private const val SEEKS = 20_000
+    }
+}
@@ -0,0 +1,80 @@
+package com.airbnb.lottie.samples.benchmarks
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.filters.LargeTest
+import androidx.test.platform.app.InstrumentationRegistry
+import com.airbnb.lottie.LottieCompositionFactory
+import com.airbnb.lottie.model.LottieCompositionCache
+import com.airbnb.lottie.parser.LottieCompositionBinaryWriter
+import com.airbnb.lottie.parser.LottieCompositionMoshiParser
+import com.airbnb.lottie.parser.moshi.JsonReader
+import okio.Buffer
+import org.junit.Assert.assertNotNull
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.nio.ByteBuffer
+import java.util.concurrent.Executors
+
+@RunWith(AndroidJUnit4::class)
+@LargeTest
+class ParseBenchmarks {
+    private val context = InstrumentationRegistry.getInstrumentation().targetContext
+
+    @Before
+    fun setup() {
+        LottieCompositionCache.getInstance().clear()
+    }
+
+    /**
+     * Compares loading the json form of the largest sample animations with loading the model snapshot written by
+     * [LottieCompositionBinaryWriter]. The snapshot is written on the device because it is tied to the display density.
+     */
+    @Test
+    fun jsonVsBinary() {
+        for (asset in ASSETS) {
+            val json = context.assets.open(asset).use { it.readBytes() }
+            val composition = LottieCompositionFactory.fromJsonInputStreamSync(json.inputStream(), null).value!!
+            val binary = Buffer().also { LottieCompositionBinaryWriter.write(composition, it) }.readByteArray()
+            val jsonMillis = medianMillis {
+                assertNotNull(LottieCompositionFactory.fromJsonInputStreamSync(json.inputStream(), null).value)
+            }
+            val binaryMillis = medianMillis {
+                assertNotNull(LottieCompositionFactory.fromBinarySync(ByteBuffer.wrap(binary), null).value)
+            }
+            logBenchmark("parse $asset (${json.size} bytes json, ${binary.size} bytes binary)",
+                "json" to jsonMillis, "binary" to binaryMillis)
+        }
+    }
+
+    /**
+     * Compares parsing layers and precomps one after another with parsing them concurrently on four threads.
+     */
+    @Test
+    fun sequentialVsParallel() {
+        val executor = Executors.newFixedThreadPool(4)
+        try {
+            for (asset in ASSETS) {
+                val json = context.assets.open(asset).use { it.readBytes() }
+                val sequentialMillis = medianMillis {
+                    LottieCompositionMoshiParser.parse(JsonReader.of(Buffer().write(json)))
+                }
+                val parallelMillis = medianMillis {
+                    LottieCompositionMoshiParser.parse(JsonReader.of(Buffer().write(json)), executor)
+                }
+                logBenchmark("parse $asset", "sequential" to sequentialMillis, "parallel" to parallelMillis)
+            }
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    companion object {
+        val ASSETS = listOf(
+            "lottiefiles/books.json",
+            "lottiefiles/yoga_carpet.json",
+            "lottiefiles/cubo_livre.json",
+            "lottiefiles/bitcoin_to_the_moon.json"
+        )
+    }
+}
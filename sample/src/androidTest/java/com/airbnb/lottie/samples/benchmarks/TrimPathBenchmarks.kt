@@ -0,0 +1,88 @@
+package com.airbnb.lottie.samples.benchmarks
+
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Paint
+import android.graphics.Path
+import android.graphics.PathMeasure
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.filters.LargeTest
+import androidx.test.platform.app.InstrumentationRegistry
+import com.airbnb.lottie.LottieCompositionFactory
+import com.airbnb.lottie.LottieDrawable
+import com.airbnb.lottie.utils.Utils
+import org.junit.Assert.assertFalse
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+@LargeTest
+class TrimPathBenchmarks {
+    private val context = InstrumentationRegistry.getInstrumentation().targetContext
+
+    /**
+     * Compares trimming the paths of an animation every frame of a draw-on by measuring each path again with trimming
+     * them with path measures that are only set once, which is what strokes with individual trim paths do now.
+     */
+    @Test
+    fun measureAgainVsMeasured() {
+        for (asset in ASSETS) {
+            val paths = collectPaths(asset)
+            val pathMeasures = paths.map { PathMeasure(it, false) }
+            val path = Path()
+            logBenchmark("trim $asset (${paths.size} paths) x$FRAMES frames",
+                "measure again" to medianMillis { trim(paths, null, path) },
+                "measured" to medianMillis { trim(paths, pathMeasures, path) })
+        }
+    }
+
+    private fun trim(paths: List<Path>, pathMeasures: List<PathMeasure>?, path: Path) {
+        for (frame in 0 until FRAMES) {
+            val end = frame / FRAMES.toFloat()
+            for (i in paths.indices) {
+                path.set(paths[i])
+                if (pathMeasures == null) {
+                    Utils.applyTrimPathIfNeeded(path, 0f, end, 0f)
+                } else {
+                    Utils.applyTrimPathIfNeeded(path, pathMeasures[i], 0f, end, 0f)
+                }
+            }
+        }
+        // Keeps the loop from being optimized away.
+        assertFalse(path.isInverseFillType)
+    }
+
+    /**
+     * Returns the paths that [asset] draws at a few of its frames.
+     */
+    private fun collectPaths(asset: String): List<Path> {
+        val composition = LottieCompositionFactory.fromAssetSync(context, asset).value!!
+        val drawable = LottieDrawable()
+        drawable.setComposition(composition)
+        val bounds = composition.bounds
+        drawable.setBounds(0, 0, bounds.width(), bounds.height())
+        val paths = ArrayList<Path>()
+        val canvas = object : Canvas(Bitmap.createBitmap(bounds.width(), bounds.height(), Bitmap.Config.ARGB_8888)) {
+            override fun drawPath(path: Path, paint: Paint) {
+                paths.add(Path(path))
+            }
+        }
+        for (progress in floatArrayOf(0f, 0.25f, 0.5f, 0.75f, 1f)) {
+            drawable.progress = progress
+            drawable.draw(canvas)
+        }
+        return paths
+    }
+
+    companion object {
+        private const val FRAMES = 120
+        /**
+         * Animations with many trim paths.
+         */
+        private val ASSETS = listOf(
+            "lottiefiles/bitcoin_to_the_moon.json",
+            "lottiefiles/rating.json",
+            "lottiefiles/lottie_logo_1.json"
+        )
+    }
+}